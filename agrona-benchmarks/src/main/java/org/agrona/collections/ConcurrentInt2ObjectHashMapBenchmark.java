@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for lookups in a {@link ConcurrentInt2ObjectHashMap} compared with a {@link ConcurrentHashMap} which
+ * boxes the key, by one or more reader threads.
+ * <p>
+ * The number of readers can be set with {@code -t}. {@link #main(String[])} runs the benchmark for 1, 2, and 4
+ * readers.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class ConcurrentInt2ObjectHashMapBenchmark
+{
+    @Param({ "1024", "65536" })
+    private int size;
+
+    private int mask;
+    private ConcurrentInt2ObjectHashMap<String> int2ObjectMap;
+    private ConcurrentHashMap<Integer, String> concurrentHashMap;
+
+    /**
+     * Default constructor.
+     */
+    public ConcurrentInt2ObjectHashMapBenchmark()
+    {
+    }
+
+    /**
+     * Key sequence for each reader thread.
+     */
+    @State(Scope.Thread)
+    public static class ReaderState
+    {
+        int key;
+
+        /**
+         * Default constructor.
+         */
+        public ReaderState()
+        {
+        }
+    }
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup()
+    {
+        mask = size - 1;
+        int2ObjectMap = new ConcurrentInt2ObjectHashMap<>();
+        concurrentHashMap = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < size; i++)
+        {
+            final int key = key(i);
+            final String value = String.valueOf(key);
+            int2ObjectMap.put(key, value);
+            concurrentHashMap.put(key, value);
+        }
+    }
+
+    /**
+     * Benchmark {@link ConcurrentInt2ObjectHashMap#get(int)}.
+     *
+     * @param state of the reader thread.
+     * @return the value for the key.
+     */
+    @Benchmark
+    public String int2ObjectMapGet(final ReaderState state)
+    {
+        return int2ObjectMap.get(key(state.key++ & mask));
+    }
+
+    /**
+     * Benchmark {@link ConcurrentHashMap#get(Object)} including boxing the key.
+     *
+     * @param state of the reader thread.
+     * @return the value for the key.
+     */
+    @Benchmark
+    public String concurrentHashMapGet(final ReaderState state)
+    {
+        return concurrentHashMap.get(key(state.key++ & mask));
+    }
+
+    private static int key(final int i)
+    {
+        return i * 0x9E3779B9;
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        for (final int readers : new int[]{ 1, 2, 4 })
+        {
+            new Runner(new OptionsBuilder()
+                .include(ConcurrentInt2ObjectHashMapBenchmark.class.getName())
+                .threads(readers)
+                .shouldFailOnError(true)
+                .build())
+                .run();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the latency distribution of {@link Int2IntHashMap#put(int, int)} as the map grows, comparing a map
+ * which rehashes all at once with one which rehashes incrementally. Run with {@link Mode#SampleTime} so the tail
+ * percentiles show the cost of the resize.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class Int2IntHashMapRehashBenchmark
+{
+    private static final int MISSING_VALUE = -1;
+
+    @Param({ "0", "16", "64" })
+    private int incrementalRehashSlots;
+    @Param({ "65536", "1048576" })
+    private int maxSize;
+
+    private int key;
+    private Int2IntHashMap map;
+
+    /**
+     * Default constructor.
+     */
+    public Int2IntHashMapRehashBenchmark()
+    {
+    }
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup()
+    {
+        map = newMap();
+    }
+
+    /**
+     * Benchmark {@link Int2IntHashMap#put(int, int)} of a new key, starting again with an empty map once it has
+     * grown to {@code maxSize} so that each resize is included in the sample.
+     *
+     * @return the previous value for the key.
+     */
+    @Benchmark
+    public int put()
+    {
+        Int2IntHashMap map = this.map;
+        if (map.size() >= maxSize)
+        {
+            map = newMap();
+            this.map = map;
+        }
+
+        final int key = this.key++;
+        return map.put(key * 0x9E3779B9, key);
+    }
+
+    private Int2IntHashMap newMap()
+    {
+        return new Int2IntHashMap(
+            Int2IntHashMap.MIN_CAPACITY, Hashing.DEFAULT_LOAD_FACTOR, MISSING_VALUE, true, incrementalRehashSlots);
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(Int2IntHashMapRehashBenchmark.class.getName()).shouldFailOnError(true).build())
+            .run();
+    }
+}
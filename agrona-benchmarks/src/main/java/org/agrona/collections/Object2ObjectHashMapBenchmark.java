@@ -0,0 +1,216 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for lookups in {@link Object2ObjectHashMap} and {@link ObjectHashSet}, which compare tags of the hash
+ * before calling {@link Object#equals(Object)}, against {@link HashMap} using {@link String} keys and composite keys.
+ * <p>
+ * Lookups are made with copies of the stored keys so {@link Object#equals(Object)} cannot be short-circuited by
+ * identity, as is typical of keys decoded from messages.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class Object2ObjectHashMapBenchmark
+{
+    private static final int LOOKUP_MASK = 1023;
+
+    @Param({ "STRING", "COMPOSITE" })
+    private String keyType;
+    @Param({ "1000", "100000" })
+    private int size;
+
+    private int index;
+    private Object[] hitKeys;
+    private Object[] missKeys;
+    private Object2ObjectHashMap<Object, Object> agronaMap;
+    private ObjectHashSet<Object> agronaSet;
+    private HashMap<Object, Object> jdkMap;
+
+    /**
+     * Default constructor.
+     */
+    public Object2ObjectHashMapBenchmark()
+    {
+    }
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup()
+    {
+        agronaMap = new Object2ObjectHashMap<>();
+        agronaSet = new ObjectHashSet<>();
+        jdkMap = new HashMap<>();
+
+        for (int i = 0; i < size; i++)
+        {
+            final Object key = newKey(i);
+            agronaMap.put(key, key);
+            agronaSet.add(key);
+            jdkMap.put(key, key);
+        }
+
+        final Random random = new Random(42);
+        hitKeys = new Object[LOOKUP_MASK + 1];
+        missKeys = new Object[LOOKUP_MASK + 1];
+        for (int i = 0; i <= LOOKUP_MASK; i++)
+        {
+            hitKeys[i] = newKey(random.nextInt(size));
+            missKeys[i] = newKey(size + random.nextInt(size));
+        }
+    }
+
+    /**
+     * Benchmark {@link Object2ObjectHashMap#get(Object)} of a key which is present.
+     *
+     * @return the value for the key.
+     */
+    @Benchmark
+    public Object agronaMapGetHit()
+    {
+        return agronaMap.get(hitKeys[index++ & LOOKUP_MASK]);
+    }
+
+    /**
+     * Benchmark {@link Object2ObjectHashMap#get(Object)} of a key which is not present.
+     *
+     * @return null as the key is not present.
+     */
+    @Benchmark
+    public Object agronaMapGetMiss()
+    {
+        return agronaMap.get(missKeys[index++ & LOOKUP_MASK]);
+    }
+
+    /**
+     * Benchmark {@link ObjectHashSet#contains(Object)} of a value which is present.
+     *
+     * @return true as the value is present.
+     */
+    @Benchmark
+    public boolean agronaSetContainsHit()
+    {
+        return agronaSet.contains(hitKeys[index++ & LOOKUP_MASK]);
+    }
+
+    /**
+     * Benchmark {@link ObjectHashSet#contains(Object)} of a value which is not present.
+     *
+     * @return false as the value is not present.
+     */
+    @Benchmark
+    public boolean agronaSetContainsMiss()
+    {
+        return agronaSet.contains(missKeys[index++ & LOOKUP_MASK]);
+    }
+
+    /**
+     * Benchmark {@link HashMap#get(Object)} of a key which is present.
+     *
+     * @return the value for the key.
+     */
+    @Benchmark
+    public Object jdkMapGetHit()
+    {
+        return jdkMap.get(hitKeys[index++ & LOOKUP_MASK]);
+    }
+
+    /**
+     * Benchmark {@link HashMap#get(Object)} of a key which is not present.
+     *
+     * @return null as the key is not present.
+     */
+    @Benchmark
+    public Object jdkMapGetMiss()
+    {
+        return jdkMap.get(missKeys[index++ & LOOKUP_MASK]);
+    }
+
+    private Object newKey(final int i)
+    {
+        final String symbol = "INSTRUMENT-" + (i >>> 4) + ".XLON";
+        if ("STRING".equals(keyType))
+        {
+            return symbol + "/" + (i & 15);
+        }
+
+        return new CompositeKey(symbol, i & 15, 1_000_000L + (i & 3));
+    }
+
+    static final class CompositeKey
+    {
+        private final String symbol;
+        private final int venueId;
+        private final long accountId;
+
+        CompositeKey(final String symbol, final int venueId, final long accountId)
+        {
+            this.symbol = symbol;
+            this.venueId = venueId;
+            this.accountId = accountId;
+        }
+
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+
+            if (!(o instanceof CompositeKey))
+            {
+                return false;
+            }
+
+            final CompositeKey that = (CompositeKey)o;
+            return venueId == that.venueId && accountId == that.accountId && symbol.equals(that.symbol);
+        }
+
+        public int hashCode()
+        {
+            return Objects.hash(symbol, venueId, accountId);
+        }
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(Object2ObjectHashMapBenchmark.class.getName()).shouldFailOnError(true).build())
+            .run();
+    }
+}
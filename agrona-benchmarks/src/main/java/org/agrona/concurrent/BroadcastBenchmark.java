@@ -0,0 +1,246 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.concurrent.broadcast.BroadcastReceiver;
+import org.agrona.concurrent.broadcast.BroadcastTransmitter;
+import org.agrona.concurrent.broadcast.CopyBroadcastReceiver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Control;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.agrona.BufferUtil.allocateDirectAligned;
+import static org.agrona.concurrent.broadcast.BroadcastBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * Benchmark for {@link BroadcastTransmitter} with one transmitter thread and one or more receiver threads each using
+ * a {@link CopyBroadcastReceiver}.
+ * <p>
+ * The {@code throughput} group measures the rate at which bursts of messages can be transmitted and received, and
+ * receivers may be lapped by the transmitter. The {@code latency} group samples the time for the transmitter to send
+ * a burst of messages and see them received by all the receivers.
+ * <p>
+ * The receiver method names sort before the transmitter method names so the number of receivers can be set with the
+ * first value of the thread group distribution, e.g. {@code -tg 4,1} for four receivers. {@link #main(String[])}
+ * runs the benchmark for 1, 2, and 4 receivers.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Group)
+public class BroadcastBenchmark
+{
+    private static final int MSG_TYPE_ID = 1;
+    private static final int CAPACITY = 64 * 1024;
+    private static final int COUNTER_STRIDE = 16;
+
+    @Param({ "8", "64", "512" })
+    private int messageLength;
+    @Param({ "1", "16" })
+    private int burstLength;
+
+    private int receiverCount;
+    private long transmitted;
+    private BroadcastTransmitter transmitter;
+    private CopyBroadcastReceiver[] receivers;
+    private MessageHandler[] handlers;
+    private AtomicLongArray receivedCounts;
+    private UnsafeBuffer srcBuffer;
+
+    /**
+     * State for each receiver thread.
+     */
+    @State(Scope.Thread)
+    public static class ReceiverState
+    {
+        int index;
+
+        /**
+         * Default constructor.
+         */
+        public ReceiverState()
+        {
+        }
+
+        /**
+         * Setup.
+         *
+         * @param threadParams for the receiver thread.
+         */
+        @Setup
+        public void setup(final ThreadParams threadParams)
+        {
+            index = threadParams.getSubgroupThreadIndex();
+        }
+    }
+
+    /**
+     * Default constructor.
+     */
+    public BroadcastBenchmark()
+    {
+    }
+
+    /**
+     * Setup.
+     *
+     * @param benchmarkParams to determine the number of receiver threads.
+     */
+    @Setup
+    public void setup(final BenchmarkParams benchmarkParams)
+    {
+        final int[] threadGroups = benchmarkParams.getThreadGroups();
+        if (1 != threadGroups[1])
+        {
+            throw new IllegalStateException("only a single transmitter is supported: transmitters=" + threadGroups[1]);
+        }
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirectAligned(CAPACITY + TRAILER_LENGTH, 64));
+        transmitter = new BroadcastTransmitter(buffer);
+        srcBuffer = new UnsafeBuffer(allocateDirectAligned(512, 64));
+
+        receiverCount = threadGroups[0];
+        receivers = new CopyBroadcastReceiver[receiverCount];
+        handlers = new MessageHandler[receiverCount];
+        final AtomicLongArray receivedCounts = new AtomicLongArray((receiverCount + 1) * COUNTER_STRIDE);
+        this.receivedCounts = receivedCounts;
+
+        for (int i = 0; i < receiverCount; i++)
+        {
+            final int counterIndex = counterIndex(i);
+            receivers[i] = new CopyBroadcastReceiver(new BroadcastReceiver(buffer));
+            handlers[i] = (msgTypeId, msgBuffer, index, length) ->
+                receivedCounts.lazySet(counterIndex, receivedCounts.get(counterIndex) + 1);
+        }
+    }
+
+    /**
+     * Receiver side which receives all the available messages.
+     *
+     * @param receiver state for the receiver thread.
+     * @return number of messages received.
+     */
+    @Benchmark
+    @Group("throughput")
+    @GroupThreads(1)
+    public int receive(final ReceiverState receiver)
+    {
+        return receivers[receiver.index].receive(handlers[receiver.index]);
+    }
+
+    /**
+     * Transmitter side which transmits a burst of messages.
+     */
+    @Benchmark
+    @Group("throughput")
+    @GroupThreads(1)
+    public void transmit()
+    {
+        transmitBurst();
+    }
+
+    /**
+     * Receiver side which receives all the available messages when measuring latency.
+     *
+     * @param receiver state for the receiver thread.
+     * @return number of messages received.
+     */
+    @Benchmark
+    @Group("latency")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int receiveBurst(final ReceiverState receiver)
+    {
+        return receivers[receiver.index].receive(handlers[receiver.index]);
+    }
+
+    /**
+     * Transmitter side which transmits a burst of messages and waits until all the receivers have received them.
+     *
+     * @param control to stop waiting at the end of an iteration.
+     */
+    @Benchmark
+    @Group("latency")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void transmitBurst(final Control control)
+    {
+        transmitBurst();
+
+        for (int i = 0; i < receiverCount; i++)
+        {
+            final int counterIndex = counterIndex(i);
+            while (receivedCounts.get(counterIndex) < transmitted)
+            {
+                if (control.stopMeasurement)
+                {
+                    return;
+                }
+
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void transmitBurst()
+    {
+        final BroadcastTransmitter transmitter = this.transmitter;
+        final UnsafeBuffer srcBuffer = this.srcBuffer;
+        final int length = messageLength;
+
+        for (int i = 0; i < burstLength; i++)
+        {
+            transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, length);
+        }
+
+        transmitted += burstLength;
+    }
+
+    private static int counterIndex(final int receiverIndex)
+    {
+        return (receiverIndex + 1) * COUNTER_STRIDE;
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        for (final int receivers : new int[]{ 1, 2, 4 })
+        {
+            new Runner(new OptionsBuilder()
+                .include(BroadcastBenchmark.class.getName())
+                .threadGroups(receivers, 1)
+                .shouldFailOnError(true)
+                .build())
+                .run();
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Control;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Benchmark for the concurrent {@link Queue} implementations with one consumer thread and one or more producer
+ * threads.
+ * <p>
+ * The {@code throughput} group measures the rate at which bursts of elements can be offered and polled. The
+ * {@code latency} group samples the time for a producer to offer a burst of elements and see them all polled by the
+ * consumer.
+ * <p>
+ * The consumer method names sort before the producer method names so the number of producers can be set with the
+ * second value of the thread group distribution, e.g. {@code -tg 1,4} for four producers. {@link #main(String[])}
+ * runs the benchmark for 1, 2, and 4 producers.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Group)
+public class ConcurrentQueueBenchmark
+{
+    private static final int CAPACITY = 32 * 1024;
+    private static final int COUNTER_STRIDE = 16;
+    private static final int MAX_PRODUCERS = 64;
+    private static final Integer[] ELEMENTS = new Integer[MAX_PRODUCERS];
+
+    static
+    {
+        for (int i = 0; i < MAX_PRODUCERS; i++)
+        {
+            ELEMENTS[i] = i;
+        }
+    }
+
+    @Param
+    private Type type;
+    @Param({ "1", "16", "128" })
+    private int burstLength;
+
+    private Queue<Integer> queue;
+    private AtomicLongArray consumedCounts;
+    private int producerInFlightLimit;
+
+    /**
+     * Type of the {@link Queue} to create.
+     */
+    public enum Type
+    {
+        /**
+         * {@link OneToOneConcurrentArrayQueue} which supports a single producer.
+         */
+        ONE_TO_ONE_ARRAY,
+        /**
+         * {@link ManyToOneConcurrentArrayQueue}.
+         */
+        MANY_TO_ONE_ARRAY,
+        /**
+         * {@link ManyToManyConcurrentArrayQueue}.
+         */
+        MANY_TO_MANY_ARRAY,
+        /**
+         * {@link ManyToOneConcurrentLinkedQueue} which is unbounded so producers are limited by the elements in
+         * flight.
+         */
+        MANY_TO_ONE_LINKED
+    }
+
+    /**
+     * State for each producer thread.
+     */
+    @State(Scope.Thread)
+    public static class ProducerState
+    {
+        int index;
+        Integer element;
+        long produced;
+
+        /**
+         * Default constructor.
+         */
+        public ProducerState()
+        {
+        }
+
+        /**
+         * Setup.
+         *
+         * @param threadParams for the producer thread.
+         */
+        @Setup
+        public void setup(final ThreadParams threadParams)
+        {
+            index = threadParams.getSubgroupThreadIndex();
+            element = ELEMENTS[index];
+        }
+    }
+
+    /**
+     * Default constructor.
+     */
+    public ConcurrentQueueBenchmark()
+    {
+    }
+
+    /**
+     * Setup.
+     *
+     * @param benchmarkParams to determine the number of producer threads.
+     */
+    @Setup
+    public void setup(final BenchmarkParams benchmarkParams)
+    {
+        final int[] threadGroups = benchmarkParams.getThreadGroups();
+        final int producers = threadGroups[1];
+        if (1 != threadGroups[0] || producers > MAX_PRODUCERS || (Type.ONE_TO_ONE_ARRAY == type && producers > 1))
+        {
+            throw new IllegalStateException(
+                "unsupported threads: type=" + type + ", consumers=" + threadGroups[0] + ", producers=" + producers);
+        }
+
+        switch (type)
+        {
+            case ONE_TO_ONE_ARRAY:
+                queue = new OneToOneConcurrentArrayQueue<>(CAPACITY);
+                break;
+            case MANY_TO_ONE_ARRAY:
+                queue = new ManyToOneConcurrentArrayQueue<>(CAPACITY);
+                break;
+            case MANY_TO_MANY_ARRAY:
+                queue = new ManyToManyConcurrentArrayQueue<>(CAPACITY);
+                break;
+            case MANY_TO_ONE_LINKED:
+                queue = new ManyToOneConcurrentLinkedQueue<>();
+                producerInFlightLimit = CAPACITY / producers;
+                break;
+        }
+
+        consumedCounts = new AtomicLongArray((producers + 1) * COUNTER_STRIDE);
+    }
+
+    /**
+     * Consumer side which polls all the available elements.
+     *
+     * @return number of elements polled.
+     */
+    @Benchmark
+    @Group("throughput")
+    @GroupThreads(1)
+    public int consume()
+    {
+        return pollAll();
+    }
+
+    /**
+     * Producer side which offers a burst of elements.
+     *
+     * @param producer state for the producer thread.
+     * @param control  to stop spinning on a full queue at the end of an iteration.
+     */
+    @Benchmark
+    @Group("throughput")
+    @GroupThreads(1)
+    public void produce(final ProducerState producer, final Control control)
+    {
+        for (int i = 0; i < burstLength; i++)
+        {
+            if (!offer(producer, control))
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Consumer side which polls all the available elements when measuring latency.
+     *
+     * @return number of elements polled.
+     */
+    @Benchmark
+    @Group("latency")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int consumeBurst()
+    {
+        return pollAll();
+    }
+
+    /**
+     * Producer side which offers a burst of elements and waits until the consumer has polled them.
+     *
+     * @param producer state for the producer thread.
+     * @param control  to stop waiting at the end of an iteration.
+     */
+    @Benchmark
+    @Group("latency")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void produceBurst(final ProducerState producer, final Control control)
+    {
+        for (int i = 0; i < burstLength; i++)
+        {
+            if (!offer(producer, control))
+            {
+                return;
+            }
+        }
+
+        final int counterIndex = counterIndex(producer.index);
+        while (consumedCounts.get(counterIndex) < producer.produced)
+        {
+            if (control.stopMeasurement)
+            {
+                return;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    private boolean offer(final ProducerState producer, final Control control)
+    {
+        if (0 != producerInFlightLimit)
+        {
+            final int counterIndex = counterIndex(producer.index);
+            while (producer.produced - consumedCounts.get(counterIndex) >= producerInFlightLimit)
+            {
+                if (control.stopMeasurement)
+                {
+                    return false;
+                }
+
+                Thread.onSpinWait();
+            }
+        }
+
+        final Queue<Integer> queue = this.queue;
+        final Integer element = producer.element;
+        while (!queue.offer(element))
+        {
+            if (control.stopMeasurement)
+            {
+                return false;
+            }
+
+            Thread.onSpinWait();
+        }
+
+        producer.produced++;
+
+        return true;
+    }
+
+    private int pollAll()
+    {
+        final Queue<Integer> queue = this.queue;
+        final AtomicLongArray consumedCounts = this.consumedCounts;
+        int count = 0;
+
+        Integer element;
+        while (null != (element = queue.poll()))
+        {
+            final int counterIndex = counterIndex(element);
+            consumedCounts.lazySet(counterIndex, consumedCounts.get(counterIndex) + 1);
+            count++;
+        }
+
+        return count;
+    }
+
+    private static int counterIndex(final int producerIndex)
+    {
+        return (producerIndex + 1) * COUNTER_STRIDE;
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        for (final int producers : new int[]{ 1, 2, 4 })
+        {
+            final OptionsBuilder builder = new OptionsBuilder();
+            builder.include(ConcurrentQueueBenchmark.class.getName()).threadGroups(1, producers);
+
+            if (producers > 1)
+            {
+                builder.param(
+                    "type",
+                    Type.MANY_TO_ONE_ARRAY.name(),
+                    Type.MANY_TO_MANY_ARRAY.name(),
+                    Type.MANY_TO_ONE_LINKED.name());
+            }
+
+            new Runner(builder.shouldFailOnError(true).build()).run();
+        }
+    }
+}
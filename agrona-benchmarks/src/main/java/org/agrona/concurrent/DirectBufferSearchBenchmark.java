@@ -0,0 +1,189 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Benchmark for the {@link org.agrona.DirectBuffer#indexOf(int, int, byte)},
+ * {@link org.agrona.DirectBuffer#indexOf(int, int, org.agrona.DirectBuffer, int, int)}, and
+ * {@link org.agrona.DirectBuffer#mismatch(int, org.agrona.DirectBuffer, int, int)} methods compared with a loop
+ * over {@link UnsafeBuffer#getByte(int)}.
+ * <p>
+ * The value being searched for, and the byte which differs, is the last byte of the range.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class DirectBufferSearchBenchmark
+{
+    private static final byte FILL = 'a';
+    private static final byte DELIMITER = '|';
+
+    @Param
+    private Type buffer;
+    @Param({ "16", "128", "1024", "16384" })
+    private int length;
+
+    private UnsafeBuffer unsafeBuffer;
+    private UnsafeBuffer otherBuffer;
+    private UnsafeBuffer patternBuffer;
+
+    /**
+     * Type of the buffers to create.
+     */
+    public enum Type
+    {
+        /**
+         * On-heap (array-based) buffer.
+         */
+        ARRAY,
+        /**
+         * Off-heap (direct) buffer.
+         */
+        DIRECT
+    }
+
+    /**
+     * Default constructor.
+     */
+    public DirectBufferSearchBenchmark()
+    {
+    }
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup()
+    {
+        switch (buffer)
+        {
+            case ARRAY:
+                unsafeBuffer = new UnsafeBuffer(new byte[length]);
+                otherBuffer = new UnsafeBuffer(new byte[length]);
+                break;
+            case DIRECT:
+                unsafeBuffer = new UnsafeBuffer(allocateDirectAligned(length, 32));
+                otherBuffer = new UnsafeBuffer(allocateDirectAligned(length, 32));
+                break;
+        }
+
+        unsafeBuffer.setMemory(0, length, FILL);
+        unsafeBuffer.putByte(length - 1, DELIMITER);
+        otherBuffer.setMemory(0, length, FILL);
+
+        patternBuffer = new UnsafeBuffer(new byte[]{ FILL, FILL, DELIMITER });
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#indexOf(int, int, byte)} method.
+     *
+     * @return index of the delimiter.
+     */
+    @Benchmark
+    public int indexOfByte()
+    {
+        return unsafeBuffer.indexOf(0, length, DELIMITER);
+    }
+
+    /**
+     * Benchmark a loop over {@link UnsafeBuffer#getByte(int)} to find a byte.
+     *
+     * @return index of the delimiter.
+     */
+    @Benchmark
+    public int indexOfByteLoop()
+    {
+        final UnsafeBuffer unsafeBuffer = this.unsafeBuffer;
+        for (int i = 0, length = this.length; i < length; i++)
+        {
+            if (DELIMITER == unsafeBuffer.getByte(i))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#indexOf(int, int, org.agrona.DirectBuffer, int, int)} method with a pattern
+     * whose first byte occurs at every index.
+     *
+     * @return index of the pattern.
+     */
+    @Benchmark
+    public int indexOfPattern()
+    {
+        return unsafeBuffer.indexOf(0, length, patternBuffer, 0, patternBuffer.capacity());
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#mismatch(int, org.agrona.DirectBuffer, int, int)} method.
+     *
+     * @return offset of the first byte which differs.
+     */
+    @Benchmark
+    public int mismatch()
+    {
+        return unsafeBuffer.mismatch(0, otherBuffer, 0, length);
+    }
+
+    /**
+     * Benchmark a loop over {@link UnsafeBuffer#getByte(int)} to find the first byte which differs.
+     *
+     * @return offset of the first byte which differs.
+     */
+    @Benchmark
+    public int mismatchLoop()
+    {
+        final UnsafeBuffer unsafeBuffer = this.unsafeBuffer;
+        final UnsafeBuffer otherBuffer = this.otherBuffer;
+        for (int i = 0, length = this.length; i < length; i++)
+        {
+            if (unsafeBuffer.getByte(i) != otherBuffer.getByte(i))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(DirectBufferSearchBenchmark.class.getName()).shouldFailOnError(true).build())
+            .run();
+    }
+}
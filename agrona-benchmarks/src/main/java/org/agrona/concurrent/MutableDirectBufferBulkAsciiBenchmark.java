@@ -0,0 +1,224 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Benchmark for the bulk {@link org.agrona.DirectBuffer#parseLongsAscii(int, int, byte, long[], int)},
+ * {@link org.agrona.DirectBuffer#parseScaledLongsAscii(int, int, byte, int, long[], int)}, and
+ * {@link org.agrona.MutableDirectBuffer#putLongsAscii(int, long[], int, int, byte)} methods compared with a loop
+ * parsing or putting one value at a time.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class MutableDirectBufferBulkAsciiBenchmark
+{
+    private static final int SCALE = 4;
+    private static final byte DELIMITER = ',';
+
+    @Param
+    private Type buffer;
+    @Param({ "4", "12", "19" })
+    private int maxDigits;
+    @Param({ "64" })
+    private int count;
+
+    private long[] values;
+    private long[] parsedValues;
+    private int length;
+    private int scaledLength;
+    private UnsafeBuffer longsBuffer;
+    private UnsafeBuffer scaledLongsBuffer;
+    private UnsafeBuffer outputBuffer;
+
+    /**
+     * Type of the buffers to create.
+     */
+    public enum Type
+    {
+        /**
+         * On-heap (array-based) buffer.
+         */
+        ARRAY,
+        /**
+         * Off-heap (direct) buffer.
+         */
+        DIRECT
+    }
+
+    /**
+     * Default constructor.
+     */
+    public MutableDirectBufferBulkAsciiBenchmark()
+    {
+    }
+
+    /**
+     * Setup test data.
+     */
+    @Setup
+    public void setup()
+    {
+        final int capacity = count * 32;
+        switch (buffer)
+        {
+            case ARRAY:
+                longsBuffer = new UnsafeBuffer(new byte[capacity]);
+                scaledLongsBuffer = new UnsafeBuffer(new byte[capacity]);
+                outputBuffer = new UnsafeBuffer(new byte[capacity]);
+                break;
+            case DIRECT:
+                longsBuffer = new UnsafeBuffer(allocateDirectAligned(capacity, 64));
+                scaledLongsBuffer = new UnsafeBuffer(allocateDirectAligned(capacity, 64));
+                outputBuffer = new UnsafeBuffer(allocateDirectAligned(capacity, 64));
+                break;
+        }
+
+        final Random random = new Random(42);
+        values = new long[count];
+        parsedValues = new long[count];
+        for (int i = 0; i < count; i++)
+        {
+            final int digits = 1 + random.nextInt(maxDigits);
+            final long value = Math.floorMod(random.nextLong(), (long)Math.pow(10, Math.min(digits, 18)));
+            values[i] = random.nextBoolean() ? value : -value;
+        }
+
+        length = longsBuffer.putLongsAscii(0, values, 0, count, DELIMITER);
+        scaledLength = scaledLongsBuffer.putScaledLongsAscii(0, values, 0, count, SCALE, DELIMITER);
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#parseLongsAscii(int, int, byte, long[], int)} method.
+     *
+     * @return number of values parsed.
+     */
+    @Benchmark
+    public int parseLongsAscii()
+    {
+        return longsBuffer.parseLongsAscii(0, length, DELIMITER, parsedValues, 0);
+    }
+
+    /**
+     * Benchmark a loop which finds each delimiter and calls {@link UnsafeBuffer#parseLongAscii(int, int)}.
+     *
+     * @return number of values parsed.
+     */
+    @Benchmark
+    public int parseLongAsciiLoop()
+    {
+        final UnsafeBuffer buffer = longsBuffer;
+        final long[] parsedValues = this.parsedValues;
+        final int end = length;
+        int count = 0;
+        for (int i = 0; i < end; )
+        {
+            int delimiterIndex = i;
+            while (delimiterIndex < end && DELIMITER != buffer.getByte(delimiterIndex))
+            {
+                delimiterIndex++;
+            }
+
+            parsedValues[count++] = buffer.parseLongAscii(i, delimiterIndex - i);
+            i = delimiterIndex + 1;
+        }
+
+        return count;
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#parseScaledLongsAscii(int, int, byte, int, long[], int)} method.
+     *
+     * @return number of values parsed.
+     */
+    @Benchmark
+    public int parseScaledLongsAscii()
+    {
+        return scaledLongsBuffer.parseScaledLongsAscii(0, scaledLength, DELIMITER, SCALE, parsedValues, 0);
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#putLongsAscii(int, long[], int, int, byte)} method.
+     *
+     * @return number of bytes written.
+     */
+    @Benchmark
+    public int putLongsAscii()
+    {
+        return outputBuffer.putLongsAscii(0, values, 0, count, DELIMITER);
+    }
+
+    /**
+     * Benchmark a loop which calls {@link UnsafeBuffer#putLongAscii(int, long)} for each value.
+     *
+     * @return number of bytes written.
+     */
+    @Benchmark
+    public int putLongAsciiLoop()
+    {
+        final UnsafeBuffer buffer = outputBuffer;
+        final long[] values = this.values;
+        int index = 0;
+        for (int i = 0, count = this.count; i < count; i++)
+        {
+            if (i > 0)
+            {
+                buffer.putByte(index++, DELIMITER);
+            }
+
+            index += buffer.putLongAscii(index, values[i]);
+        }
+
+        return index;
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#putScaledLongsAscii(int, long[], int, int, int, byte)} method.
+     *
+     * @return number of bytes written.
+     */
+    @Benchmark
+    public int putScaledLongsAscii()
+    {
+        return outputBuffer.putScaledLongsAscii(0, values, 0, count, SCALE, DELIMITER);
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(MutableDirectBufferBulkAsciiBenchmark.class.getName()).shouldFailOnError(true).build())
+            .run();
+    }
+}
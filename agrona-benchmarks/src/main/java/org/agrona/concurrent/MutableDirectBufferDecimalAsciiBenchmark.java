@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.MutableDecimal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the {@link org.agrona.MutableDirectBuffer#putDecimalAscii(int, long, int)} and
+ * {@link org.agrona.DirectBuffer#parseDecimalAscii(int, int, MutableDecimal)} methods compared with
+ * {@link BigDecimal}.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class MutableDirectBufferDecimalAsciiBenchmark
+{
+    private static final int CAPACITY = 32;
+
+    @Param({ "0.5", "-12.25", "123.456789", "-98765432.1", "9223372036.854775807" })
+    private String value;
+
+    private final UnsafeBuffer unsafeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(CAPACITY));
+    private final MutableDecimal decimal = new MutableDecimal();
+    private long mantissa;
+    private int scale;
+    private int length;
+
+    /**
+     * Default constructor.
+     */
+    public MutableDirectBufferDecimalAsciiBenchmark()
+    {
+    }
+
+    /**
+     * Setup test data.
+     */
+    @Setup
+    public void setup()
+    {
+        final BigDecimal bigDecimal = new BigDecimal(value);
+        mantissa = bigDecimal.unscaledValue().longValueExact();
+        scale = bigDecimal.scale();
+        length = unsafeBuffer.putStringWithoutLengthAscii(0, value);
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#putDecimalAscii(int, long, int)} method.
+     *
+     * @return length in bytes of the written value.
+     */
+    @Benchmark
+    public int putDecimalAscii()
+    {
+        return unsafeBuffer.putDecimalAscii(0, mantissa, scale);
+    }
+
+    /**
+     * Benchmark formatting a {@link BigDecimal} then putting it with
+     * {@link UnsafeBuffer#putStringWithoutLengthAscii(int, String)}.
+     *
+     * @return length in bytes of the written value.
+     */
+    @Benchmark
+    public int putBigDecimal()
+    {
+        return unsafeBuffer.putStringWithoutLengthAscii(0, BigDecimal.valueOf(mantissa, scale).toPlainString());
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#parseDecimalAscii(int, int, MutableDecimal)} method.
+     *
+     * @return the parsed mantissa.
+     */
+    @Benchmark
+    public long parseDecimalAscii()
+    {
+        return unsafeBuffer.parseDecimalAscii(0, length, decimal).mantissa();
+    }
+
+    /**
+     * Benchmark getting a {@link String} with {@link UnsafeBuffer#getStringWithoutLengthAscii(int, int)} then
+     * parsing it as a {@link BigDecimal}.
+     *
+     * @return the parsed mantissa.
+     */
+    @Benchmark
+    public long parseBigDecimal()
+    {
+        return new BigDecimal(unsafeBuffer.getStringWithoutLengthAscii(0, length)).unscaledValue().longValue();
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(MutableDirectBufferDecimalAsciiBenchmark.class.getName()).shouldFailOnError(true).build())
+            .run();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the {@link org.agrona.MutableDirectBuffer#putStringUtf8(int, String)},
+ * {@link org.agrona.DirectBuffer#getStringUtf8(int)}, and {@link org.agrona.DirectBuffer#getStringUtf8(int, Appendable)}
+ * methods. Run with {@code -prof gc} to compare the allocation rate of decoding to a {@link String} with appending to
+ * a reused {@link StringBuilder}.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class MutableDirectBufferStringUtf8Benchmark
+{
+    private static final int BUFFER_CAPACITY = 256;
+
+    @Param({
+        "Cupcake ipsum dolor sit amet chupa chups sweet jelly topping.",
+        "Grüße aus München, prix 12€, ça va très bien, merci!" })
+    private String value;
+
+    private final UnsafeBuffer arrayBuffer = new UnsafeBuffer(new byte[BUFFER_CAPACITY]);
+    private final UnsafeBuffer directBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_CAPACITY));
+    private final StringBuilder builder = new StringBuilder(BUFFER_CAPACITY);
+
+    /**
+     * Default constructor.
+     */
+    public MutableDirectBufferStringUtf8Benchmark()
+    {
+    }
+
+    /**
+     * Setup test data.
+     */
+    @Setup
+    public void setup()
+    {
+        arrayBuffer.putStringUtf8(0, value);
+        directBuffer.putStringUtf8(0, value);
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#putStringUtf8(int, String)} method on an on-heap buffer.
+     *
+     * @return length in bytes of the written value.
+     */
+    @Benchmark
+    public int putStringUtf8Array()
+    {
+        return arrayBuffer.putStringUtf8(0, value);
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#putStringUtf8(int, String)} method on an off-heap buffer.
+     *
+     * @return length in bytes of the written value.
+     */
+    @Benchmark
+    public int putStringUtf8Direct()
+    {
+        return directBuffer.putStringUtf8(0, value);
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#getStringUtf8(int)} method on an on-heap buffer.
+     *
+     * @return the decoded value.
+     */
+    @Benchmark
+    public String getStringUtf8Array()
+    {
+        return arrayBuffer.getStringUtf8(0);
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#getStringUtf8(int)} method on an off-heap buffer.
+     *
+     * @return the decoded value.
+     */
+    @Benchmark
+    public String getStringUtf8Direct()
+    {
+        return directBuffer.getStringUtf8(0);
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#getStringUtf8(int, Appendable)} method on an on-heap buffer.
+     *
+     * @return the builder the value was appended to.
+     */
+    @Benchmark
+    public StringBuilder getStringUtf8ToAppendableArray()
+    {
+        final StringBuilder builder = this.builder;
+        builder.setLength(0);
+        arrayBuffer.getStringUtf8(0, builder);
+
+        return builder;
+    }
+
+    /**
+     * Benchmark the {@link UnsafeBuffer#getStringUtf8(int, Appendable)} method on an off-heap buffer.
+     *
+     * @return the builder the value was appended to.
+     */
+    @Benchmark
+    public StringBuilder getStringUtf8ToAppendableDirect()
+    {
+        final StringBuilder builder = this.builder;
+        builder.setLength(0);
+        directBuffer.getStringUtf8(0, builder);
+
+        return builder;
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(MutableDirectBufferStringUtf8Benchmark.class.getName()).shouldFailOnError(true).build())
+            .run();
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.concurrent.ringbuffer.ManyToManyRingBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Control;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.agrona.BufferUtil.allocateDirectAligned;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * Benchmark for the {@link RingBuffer} implementations with one consumer thread and one or more producer threads.
+ * <p>
+ * The {@code throughput} group measures the rate at which bursts of messages can be written and read. The
+ * {@code latency} group samples the time for a producer to write a burst of messages and see them all read by the
+ * consumer.
+ * <p>
+ * The consumer method names sort before the producer method names so the number of producers can be set with the
+ * second value of the thread group distribution, e.g. {@code -tg 1,4} for four producers. {@link #main(String[])}
+ * runs the benchmark for 1, 2, and 4 producers.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Group)
+public class RingBufferBenchmark
+{
+    private static final int MSG_TYPE_ID = 1;
+    private static final int CAPACITY = 64 * 1024;
+    private static final int COUNTER_STRIDE = 16;
+
+    @Param
+    private Type type;
+    @Param({ "8", "64", "512" })
+    private int messageLength;
+    @Param({ "1", "16" })
+    private int burstLength;
+
+    private RingBuffer ringBuffer;
+    private AtomicLongArray consumedCounts;
+    private MessageHandler handler;
+
+    /**
+     * Type of the {@link RingBuffer} to create.
+     */
+    public enum Type
+    {
+        /**
+         * {@link OneToOneRingBuffer} which supports a single producer.
+         */
+        ONE_TO_ONE,
+        /**
+         * {@link ManyToOneRingBuffer}.
+         */
+        MANY_TO_ONE,
+        /**
+         * {@link ManyToManyRingBuffer}.
+         */
+        MANY_TO_MANY
+    }
+
+    /**
+     * State for each producer thread.
+     */
+    @State(Scope.Thread)
+    public static class ProducerState
+    {
+        int counterIndex;
+        long produced;
+        UnsafeBuffer srcBuffer;
+
+        /**
+         * Default constructor.
+         */
+        public ProducerState()
+        {
+        }
+
+        /**
+         * Setup.
+         *
+         * @param threadParams for the producer thread.
+         */
+        @Setup
+        public void setup(final ThreadParams threadParams)
+        {
+            counterIndex = counterIndex(threadParams.getSubgroupThreadIndex());
+            srcBuffer = new UnsafeBuffer(allocateDirectAligned(512, 64));
+            srcBuffer.putInt(0, counterIndex);
+        }
+    }
+
+    /**
+     * Default constructor.
+     */
+    public RingBufferBenchmark()
+    {
+    }
+
+    /**
+     * Setup.
+     *
+     * @param benchmarkParams to determine the number of producer threads.
+     */
+    @Setup
+    public void setup(final BenchmarkParams benchmarkParams)
+    {
+        final int[] threadGroups = benchmarkParams.getThreadGroups();
+        final int producers = threadGroups[1];
+        if (1 != threadGroups[0] || (Type.ONE_TO_ONE == type && producers > 1))
+        {
+            throw new IllegalStateException(
+                "unsupported threads: type=" + type + ", consumers=" + threadGroups[0] + ", producers=" + producers);
+        }
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirectAligned(CAPACITY + TRAILER_LENGTH, 64));
+        switch (type)
+        {
+            case ONE_TO_ONE:
+                ringBuffer = new OneToOneRingBuffer(buffer);
+                break;
+            case MANY_TO_ONE:
+                ringBuffer = new ManyToOneRingBuffer(buffer);
+                break;
+            case MANY_TO_MANY:
+                ringBuffer = new ManyToManyRingBuffer(buffer);
+                break;
+        }
+
+        final AtomicLongArray consumedCounts = new AtomicLongArray((producers + 1) * COUNTER_STRIDE);
+        this.consumedCounts = consumedCounts;
+        handler = (msgTypeId, msgBuffer, index, length) ->
+        {
+            final int counterIndex = msgBuffer.getInt(index);
+            consumedCounts.lazySet(counterIndex, consumedCounts.get(counterIndex) + 1);
+        };
+    }
+
+    /**
+     * Consumer side which reads all the available messages.
+     *
+     * @return number of messages read.
+     */
+    @Benchmark
+    @Group("throughput")
+    @GroupThreads(1)
+    public int consume()
+    {
+        return ringBuffer.read(handler);
+    }
+
+    /**
+     * Producer side which writes a burst of messages.
+     *
+     * @param producer state for the producer thread.
+     * @param control  to stop spinning on a full ring buffer at the end of an iteration.
+     */
+    @Benchmark
+    @Group("throughput")
+    @GroupThreads(1)
+    public void produce(final ProducerState producer, final Control control)
+    {
+        for (int i = 0; i < burstLength; i++)
+        {
+            if (!write(producer, control))
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Consumer side which reads all the available messages when measuring latency.
+     *
+     * @return number of messages read.
+     */
+    @Benchmark
+    @Group("latency")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int consumeBurst()
+    {
+        return ringBuffer.read(handler);
+    }
+
+    /**
+     * Producer side which writes a burst of messages and waits until the consumer has read them.
+     *
+     * @param producer state for the producer thread.
+     * @param control  to stop waiting at the end of an iteration.
+     */
+    @Benchmark
+    @Group("latency")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void produceBurst(final ProducerState producer, final Control control)
+    {
+        for (int i = 0; i < burstLength; i++)
+        {
+            if (!write(producer, control))
+            {
+                return;
+            }
+        }
+
+        while (consumedCounts.get(producer.counterIndex) < producer.produced)
+        {
+            if (control.stopMeasurement)
+            {
+                return;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    private boolean write(final ProducerState producer, final Control control)
+    {
+        final RingBuffer ringBuffer = this.ringBuffer;
+        final UnsafeBuffer srcBuffer = producer.srcBuffer;
+        final int length = messageLength;
+
+        while (!ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, length))
+        {
+            if (control.stopMeasurement)
+            {
+                return false;
+            }
+
+            Thread.onSpinWait();
+        }
+
+        producer.produced++;
+
+        return true;
+    }
+
+    private static int counterIndex(final int producerIndex)
+    {
+        return (producerIndex + 1) * COUNTER_STRIDE;
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        for (final int producers : new int[]{ 1, 2, 4 })
+        {
+            final OptionsBuilder builder = new OptionsBuilder();
+            builder.include(RingBufferBenchmark.class.getName()).threadGroups(1, producers);
+
+            if (producers > 1)
+            {
+                builder.param("type", Type.MANY_TO_ONE.name(), Type.MANY_TO_MANY.name());
+            }
+
+            new Runner(builder.shouldFailOnError(true).build()).run();
+        }
+    }
+}
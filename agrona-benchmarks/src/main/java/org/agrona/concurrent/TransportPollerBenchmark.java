@@ -0,0 +1,188 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.CloseHelper;
+import org.agrona.nio.TransportPoller;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark for selecting and processing ready keys of many {@link DatagramChannel}s in loopback with
+ * {@link TransportPoller#selectNow(Consumer)}, which uses an array backed selected-key set, compared with iterating
+ * {@link Selector#selectedKeys()} of a plain {@link Selector}. Each channel has an unread datagram so it is ready on
+ * every select. Run with {@code -prof gc} to compare the allocation rate.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class TransportPollerBenchmark
+{
+    @Param({ "16", "256", "512" })
+    private int channelCount;
+
+    private final List<DatagramChannel> channels = new ArrayList<>();
+    private final Consumer<SelectionKey> consumer = this::onSelected;
+    private ChannelPoller poller;
+    private Selector selector;
+    private int readyOps;
+
+    /**
+     * Default constructor.
+     */
+    public TransportPollerBenchmark()
+    {
+    }
+
+    /**
+     * Setup test data.
+     *
+     * @throws IOException if a channel or selector cannot be opened.
+     */
+    @Setup
+    public void setup() throws IOException
+    {
+        poller = new ChannelPoller();
+        selector = Selector.open();
+
+        final InetAddress loopback = InetAddress.getLoopbackAddress();
+        final ByteBuffer datagram = ByteBuffer.allocate(1);
+        try (DatagramChannel sender = DatagramChannel.open())
+        {
+            for (int i = 0; i < channelCount; i++)
+            {
+                final DatagramChannel channel = DatagramChannel.open();
+                channels.add(channel);
+                channel.bind(new InetSocketAddress(loopback, 0)).configureBlocking(false);
+                poller.register(channel);
+                channel.register(selector, SelectionKey.OP_READ);
+
+                sender.send(datagram.clear(), channel.getLocalAddress());
+            }
+        }
+    }
+
+    /**
+     * Close the channels and selectors.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.closeAll(channels);
+        CloseHelper.closeAll(poller, selector);
+        channels.clear();
+    }
+
+    /**
+     * Benchmark {@link TransportPoller#selectNow(Consumer)}.
+     *
+     * @return the sum of ready ops.
+     */
+    @Benchmark
+    public int transportPollerSelectNow()
+    {
+        readyOps = 0;
+        poller.selectNow(consumer);
+
+        return readyOps;
+    }
+
+    /**
+     * Benchmark {@link Selector#selectNow()} and iterating {@link Selector#selectedKeys()}.
+     *
+     * @return the sum of ready ops.
+     * @throws IOException if the select fails.
+     */
+    @Benchmark
+    public int selectorSelectedKeysIterator() throws IOException
+    {
+        readyOps = 0;
+        selector.selectNow();
+
+        final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext())
+        {
+            onSelected(iterator.next());
+            iterator.remove();
+        }
+
+        return readyOps;
+    }
+
+    /**
+     * Benchmark {@link Selector#selectNow(Consumer)}.
+     *
+     * @return the sum of ready ops.
+     * @throws IOException if the select fails.
+     */
+    @Benchmark
+    public int selectorSelectNowConsumer() throws IOException
+    {
+        readyOps = 0;
+        selector.selectNow(consumer);
+
+        return readyOps;
+    }
+
+    private void onSelected(final SelectionKey key)
+    {
+        readyOps += key.readyOps();
+    }
+
+    static final class ChannelPoller extends TransportPoller
+    {
+        ChannelPoller()
+        {
+            super(true);
+        }
+
+        void register(final DatagramChannel channel) throws IOException
+        {
+            channel.register(selector, SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(TransportPollerBenchmark.class.getName()).shouldFailOnError(true).build())
+            .run();
+    }
+}
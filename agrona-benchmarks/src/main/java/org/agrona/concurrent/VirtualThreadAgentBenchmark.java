@@ -0,0 +1,209 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Benchmark for running many mostly idle {@link Agent}s on a single core, either round-robin within a
+ * {@link DynamicCompositeAgent} on one platform thread or each on its own virtual thread with a
+ * {@link VirtualThreadIdleStrategy}.
+ * <p>
+ * Each operation signals the next agent in turn and waits until it has processed the signal, so the time per
+ * operation shows how the cost of reaching an agent scales with the number of agents sharing the core. The virtual
+ * thread scheduler is limited to one carrier thread to compare like for like with the single composite thread.
+ * <p>
+ * Virtual threads require Java 21 or later.
+ */
+@Fork(value = 3, jvmArgsPrepend = {
+    "-Dagrona.disable.bounds.checks=true", "-Djdk.virtualThreadScheduler.parallelism=1" })
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class VirtualThreadAgentBenchmark
+{
+    private static final int COUNTER_STRIDE = 16;
+
+    @Param
+    private Type type;
+    @Param({ "16", "256", "1024" })
+    private int agentCount;
+
+    private int nextAgent;
+    private AtomicLongArray signals;
+    private AtomicLongArray processed;
+    private AgentRunner[] runners;
+
+    /**
+     * How the agents are run.
+     */
+    public enum Type
+    {
+        /**
+         * All agents in a {@link DynamicCompositeAgent} run by one {@link AgentRunner} on a platform thread with a
+         * {@link BackoffIdleStrategy}.
+         */
+        DYNAMIC_COMPOSITE_AGENT,
+        /**
+         * Each agent run by its own {@link AgentRunner} on a virtual thread with a {@link VirtualThreadIdleStrategy}.
+         */
+        VIRTUAL_THREAD
+    }
+
+    /**
+     * Default constructor.
+     */
+    public VirtualThreadAgentBenchmark()
+    {
+    }
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup()
+    {
+        signals = new AtomicLongArray(counterIndex(agentCount));
+        processed = new AtomicLongArray(counterIndex(agentCount));
+        nextAgent = 0;
+
+        final Agent[] agents = new Agent[agentCount];
+        for (int i = 0; i < agentCount; i++)
+        {
+            agents[i] = new SignalAgent(signals, processed, counterIndex(i));
+        }
+
+        switch (type)
+        {
+            case DYNAMIC_COMPOSITE_AGENT:
+                runners = new AgentRunner[]{ new AgentRunner(
+                    new BackoffIdleStrategy(),
+                    Throwable::printStackTrace,
+                    null,
+                    new DynamicCompositeAgent("composite", agents)) };
+                AgentRunner.startOnThread(runners[0]);
+                break;
+
+            case VIRTUAL_THREAD:
+                runners = new AgentRunner[agentCount];
+                for (int i = 0; i < agentCount; i++)
+                {
+                    runners[i] = new AgentRunner(
+                        new VirtualThreadIdleStrategy(), Throwable::printStackTrace, null, agents[i]);
+                    AgentRunner.startOnVirtualThread(runners[i]);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        for (final AgentRunner runner : runners)
+        {
+            runner.close();
+        }
+    }
+
+    /**
+     * Signal the next agent and wait until it has processed the signal.
+     *
+     * @param control to stop waiting at the end of an iteration.
+     */
+    @Benchmark
+    public void signalAndWait(final Control control)
+    {
+        final int agent = nextAgent;
+        nextAgent = agent + 1 == agentCount ? 0 : agent + 1;
+
+        final int counterIndex = counterIndex(agent);
+        final long signal = signals.get(counterIndex) + 1;
+        signals.lazySet(counterIndex, signal);
+
+        while (processed.get(counterIndex) < signal)
+        {
+            if (control.stopMeasurement)
+            {
+                return;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    private static int counterIndex(final int agentIndex)
+    {
+        return (agentIndex + 1) * COUNTER_STRIDE;
+    }
+
+    static final class SignalAgent implements Agent
+    {
+        private final AtomicLongArray signals;
+        private final AtomicLongArray processed;
+        private final int counterIndex;
+
+        SignalAgent(final AtomicLongArray signals, final AtomicLongArray processed, final int counterIndex)
+        {
+            this.signals = signals;
+            this.processed = processed;
+            this.counterIndex = counterIndex;
+        }
+
+        public int doWork()
+        {
+            final long signal = signals.get(counterIndex);
+            if (signal > processed.get(counterIndex))
+            {
+                processed.lazySet(counterIndex, signal);
+                return 1;
+            }
+
+            return 0;
+        }
+
+        public String roleName()
+        {
+            return "signal-" + counterIndex;
+        }
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(VirtualThreadAgentBenchmark.class.getName())
+            .shouldFailOnError(true)
+            .build())
+            .run();
+    }
+}
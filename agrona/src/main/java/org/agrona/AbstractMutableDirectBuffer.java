@@ -18,6 +18,7 @@ package org.agrona;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.Objects;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
@@ -26,12 +27,18 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.agrona.AsciiEncoding.*;
 import static org.agrona.BitUtil.*;
 import static org.agrona.BufferUtil.*;
+import static org.agrona.MutableDecimal.MAX_SCALE;
+import static org.agrona.MutableDecimal.checkScale;
 
 /**
  * Common base class for implementing {@link MutableDirectBuffer} interface.
  */
 public abstract class AbstractMutableDirectBuffer implements MutableDirectBuffer
 {
+    private static final byte DECIMAL_POINT = '.';
+    private static final char UTF8_REPLACEMENT_CHAR = '\uFFFD';
+    private static final String NULL_STRING = "null";
+
     /**
      * Byte array reference for on-heap buffers.
      */
@@ -1131,6 +1138,25 @@ public abstract class AbstractMutableDirectBuffer implements MutableDirectBuffer
         return getStringWithoutLengthUtf8(index + STR_HEADER_LEN, length);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int getStringUtf8(final int index, final Appendable appendable)
+    {
+        if (SHOULD_BOUNDS_CHECK)
+        {
+            boundsCheck0(index, STR_HEADER_LEN);
+        }
+
+        final int length = UnsafeApi.getInt(byteArray, addressOffset + index);
+        if (0 == length)
+        {
+            return 0;
+        }
+
+        return getStringWithoutLengthUtf8(index + STR_HEADER_LEN, length, appendable);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1156,6 +1182,31 @@ public abstract class AbstractMutableDirectBuffer implements MutableDirectBuffer
         return getStringWithoutLengthUtf8(index + STR_HEADER_LEN, length);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int getStringUtf8(final int index, final Appendable appendable, final ByteOrder byteOrder)
+    {
+        if (SHOULD_BOUNDS_CHECK)
+        {
+            boundsCheck0(index, STR_HEADER_LEN);
+        }
+
+        int bits = UnsafeApi.getInt(byteArray, addressOffset + index);
+        if (NATIVE_BYTE_ORDER != byteOrder)
+        {
+            bits = Integer.reverseBytes(bits);
+        }
+
+        final int length = bits;
+        if (0 == length)
+        {
+            return 0;
+        }
+
+        return getStringWithoutLengthUtf8(index + STR_HEADER_LEN, length, appendable);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1166,11 +1217,7 @@ public abstract class AbstractMutableDirectBuffer implements MutableDirectBuffer
             boundsCheck0(index + STR_HEADER_LEN, length);
         }
 
-        final byte[] stringInBytes = new byte[length];
-        UnsafeApi.copyMemory(
-            byteArray, addressOffset + index + STR_HEADER_LEN, stringInBytes, ARRAY_BASE_OFFSET, length);
-
-        return new String(stringInBytes, UTF_8);
+        return newStringUtf8(index + STR_HEADER_LEN, length);
     }
 
     /**
@@ -1194,81 +1241,151 @@ public abstract class AbstractMutableDirectBuffer implements MutableDirectBuffer
      */
     public int putStringUtf8(final int index, final String value, final int maxEncodedLength)
     {
-        final byte[] bytes = value != null ? value.getBytes(UTF_8) : NULL_BYTES;
-        if (bytes.length > maxEncodedLength)
+        final int length = putStringUtf8(index, STR_HEADER_LEN, value, maxEncodedLength);
+        UnsafeApi.putInt(byteArray, addressOffset + index, length);
+
+        return STR_HEADER_LEN + length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int putStringUtf8(final int index, final String value, final ByteOrder byteOrder, final int maxEncodedLength)
+    {
+        final int length = putStringUtf8(index, STR_HEADER_LEN, value, maxEncodedLength);
+
+        int bits = length;
+        if (NATIVE_BYTE_ORDER != byteOrder)
         {
-            throw new IllegalArgumentException("Encoded string larger than maximum size: " + maxEncodedLength);
+            bits = Integer.reverseBytes(bits);
         }
 
-        ensureCapacity(index, STR_HEADER_LEN + bytes.length);
+        UnsafeApi.putInt(byteArray, addressOffset + index, bits);
 
-        final byte[] array = byteArray;
-        final long offset = addressOffset + index;
-        UnsafeApi.putInt(array, offset, bytes.length);
-        UnsafeApi.copyMemory(bytes, ARRAY_BASE_OFFSET, array, offset + STR_HEADER_LEN, bytes.length);
+        return STR_HEADER_LEN + length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getStringWithoutLengthUtf8(final int index, final int length)
+    {
+        if (SHOULD_BOUNDS_CHECK)
+        {
+            boundsCheck0(index, length);
+        }
+
+        if (0 == length)
+        {
+            return "";
+        }
 
-        return STR_HEADER_LEN + bytes.length;
+        return newStringUtf8(index, length);
     }
 
     /**
      * {@inheritDoc}
      */
-    public int putStringUtf8(final int index, final String value, final ByteOrder byteOrder, final int maxEncodedLength)
+    public int getStringWithoutLengthUtf8(final int index, final int length, final Appendable appendable)
     {
-        final byte[] bytes = value != null ? value.getBytes(UTF_8) : NULL_BYTES;
-        if (bytes.length > maxEncodedLength)
+        if (SHOULD_BOUNDS_CHECK)
+        {
+            boundsCheck0(index, length);
+        }
+
+        try
+        {
+            appendUtf8(byteArray, addressOffset + index, length, appendable);
+        }
+        catch (final IOException ex)
         {
-            throw new IllegalArgumentException("Encoded string larger than maximum size: " + maxEncodedLength);
+            LangUtil.rethrowUnchecked(ex);
         }
 
-        ensureCapacity(index, STR_HEADER_LEN + bytes.length);
+        return length;
+    }
 
-        int bits = bytes.length;
-        if (NATIVE_BYTE_ORDER != byteOrder)
+    /**
+     * {@inheritDoc}
+     */
+    public int indexOf(final int index, final int length, final byte value)
+    {
+        if (SHOULD_BOUNDS_CHECK)
         {
-            bits = Integer.reverseBytes(bits);
+            boundsCheck0(index, length);
         }
 
-        final byte[] array = byteArray;
-        final long offset = addressOffset + index;
-        UnsafeApi.putInt(array, offset, bits);
-        UnsafeApi.copyMemory(bytes, ARRAY_BASE_OFFSET, array, offset + STR_HEADER_LEN, bytes.length);
+        final int offset = indexOf(byteArray, addressOffset + index, length, value);
 
-        return STR_HEADER_LEN + bytes.length;
+        return offset < 0 ? -1 : index + offset;
     }
 
     /**
      * {@inheritDoc}
      */
-    public String getStringWithoutLengthUtf8(final int index, final int length)
+    public int indexOf(
+        final int index, final int length, final DirectBuffer pattern, final int patternIndex, final int patternLength)
     {
         if (SHOULD_BOUNDS_CHECK)
         {
             boundsCheck0(index, length);
+            pattern.boundsCheck(patternIndex, patternLength);
         }
 
-        if (0 == length)
+        if (0 == patternLength)
         {
-            return "";
+            return index;
         }
 
-        final byte[] stringInBytes = new byte[length];
-        UnsafeApi.copyMemory(byteArray, addressOffset + index, stringInBytes, ARRAY_BASE_OFFSET, length);
+        final byte[] array = byteArray;
+        final long addressOffset = this.addressOffset;
+        final byte[] patternArray = pattern.byteArray();
+        final long patternOffset = pattern.addressOffset() + patternIndex;
+        final byte first = UnsafeApi.getByte(patternArray, patternOffset);
+        final int lastIndex = index + length - patternLength;
 
-        return new String(stringInBytes, UTF_8);
+        int i = index;
+        while (i <= lastIndex)
+        {
+            final int offset = indexOf(array, addressOffset + i, lastIndex - i + 1, first);
+            if (offset < 0)
+            {
+                break;
+            }
+
+            i += offset;
+            if (mismatch(array, addressOffset + i + 1, patternArray, patternOffset + 1, patternLength - 1) < 0)
+            {
+                return i;
+            }
+
+            i++;
+        }
+
+        return -1;
     }
 
     /**
      * {@inheritDoc}
      */
-    public int putStringWithoutLengthUtf8(final int index, final String value)
+    public int mismatch(final int index, final DirectBuffer other, final int otherIndex, final int length)
     {
-        final byte[] bytes = value != null ? value.getBytes(UTF_8) : NULL_BYTES;
-        ensureCapacity(index, bytes.length);
+        if (SHOULD_BOUNDS_CHECK)
+        {
+            boundsCheck0(index, length);
+            other.boundsCheck(otherIndex, length);
+        }
 
-        UnsafeApi.copyMemory(bytes, ARRAY_BASE_OFFSET, byteArray, addressOffset + index, bytes.length);
+        return mismatch(
+            byteArray, addressOffset + index, other.byteArray(), other.addressOffset() + otherIndex, length);
+    }
 
-        return bytes.length;
+    /**
+     * {@inheritDoc}
+     */
+    public int putStringWithoutLengthUtf8(final int index, final String value)
+    {
+        return putStringUtf8(index, 0, value, Integer.MAX_VALUE);
     }
 
     /**
@@ -1411,6 +1528,104 @@ public abstract class AbstractMutableDirectBuffer implements MutableDirectBuffer
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int parseIntsAscii(
+        final int index, final int length, final byte delimiter, final int[] values, final int valuesOffset)
+    {
+        if (SHOULD_BOUNDS_CHECK)
+        {
+            boundsCheck0(index, length);
+        }
+
+        final int end = index + length;
+        int i = index, count = 0;
+        while (i < end)
+        {
+            final int delimiterIndex = delimiterIndex(i, end, delimiter);
+            values[valuesOffset + count] = parseIntAscii(i, delimiterIndex - i);
+            i = delimiterIndex + 1;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int parseLongsAscii(
+        final int index, final int length, final byte delimiter, final long[] values, final int valuesOffset)
+    {
+        if (SHOULD_BOUNDS_CHECK)
+        {
+            boundsCheck0(index, length);
+        }
+
+        final int end = index + length;
+        int i = index, count = 0;
+        while (i < end)
+        {
+            final int delimiterIndex = delimiterIndex(i, end, delimiter);
+            values[valuesOffset + count] = parseLongAscii(i, delimiterIndex - i);
+            i = delimiterIndex + 1;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int parseScaledLongsAscii(
+        final int index,
+        final int length,
+        final byte delimiter,
+        final int scale,
+        final long[] values,
+        final int valuesOffset)
+    {
+        checkScale(scale);
+        if (SHOULD_BOUNDS_CHECK)
+        {
+            boundsCheck0(index, length);
+        }
+
+        final int end = index + length;
+        int i = index, count = 0;
+        while (i < end)
+        {
+            final int delimiterIndex = delimiterIndex(i, end, delimiter);
+            values[valuesOffset + count] = parseScaledLongAscii(i, delimiterIndex - i, scale);
+            i = delimiterIndex + 1;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public MutableDecimal parseDecimalAscii(final int index, final int length, final MutableDecimal decimal)
+    {
+        if (SHOULD_BOUNDS_CHECK)
+        {
+            boundsCheck0(index, length);
+        }
+
+        final int pointOffset = indexOf(byteArray, addressOffset + index, length, DECIMAL_POINT);
+        final int scale = pointOffset < 0 ? 0 : length - pointOffset - 1;
+        if (scale > MAX_SCALE)
+        {
+            throwParseLongError(index, length);
+        }
+
+        return decimal.set(parseScaledLongAscii(index, length, pointOffset, scale), scale);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1597,96 +1812,211 @@ public abstract class AbstractMutableDirectBuffer implements MutableDirectBuffer
     /**
      * {@inheritDoc}
      */
-    public void boundsCheck(final int index, final int length)
-    {
-        boundsCheck0(index, length);
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public boolean equals(final Object obj)
+    public int putIntsAscii(
+        final int index, final int[] values, final int valuesOffset, final int count, final byte delimiter)
     {
-        if (this == obj)
-        {
-            return true;
-        }
-
-        if (obj == null || getClass() != obj.getClass())
+        Objects.checkFromIndexSize(valuesOffset, count, values.length);
+        if (0 == count)
         {
-            return false;
+            return 0;
         }
 
-        final AbstractMutableDirectBuffer that = (AbstractMutableDirectBuffer)obj;
-
-        final int length = capacity;
-        if (length != that.capacity)
+        final int end = valuesOffset + count;
+        int length = count - 1;
+        for (int k = valuesOffset; k < end; k++)
         {
-            return false;
+            length += asciiLength(values[k]);
         }
 
-        final byte[] thisArray = byteArray;
-        final byte[] thatArray = that.byteArray;
-        final long thisOffset = this.addressOffset;
-        final long thatOffset = that.addressOffset;
+        ensureCapacity(index, length);
 
-        int i = 0;
-        for (int end = length & ~7; i < end; i += 8)
+        final byte[] array = byteArray;
+        long offset = addressOffset + index;
+        for (int k = valuesOffset; k < end; k++)
         {
-            if (UnsafeApi.getLong(thisArray, thisOffset + i) != UnsafeApi.getLong(thatArray, thatOffset + i))
+            if (k > valuesOffset)
             {
-                return false;
+                UnsafeApi.putByte(array, offset++, delimiter);
             }
-        }
 
-        for (; i < length; i++)
-        {
-            if (UnsafeApi.getByte(thisArray, thisOffset + i) != UnsafeApi.getByte(thatArray, thatOffset + i))
-            {
-                return false;
-            }
+            offset = putLongAscii(array, offset, values[k]);
         }
 
-        return true;
+        return length;
     }
 
     /**
      * {@inheritDoc}
      */
-    public int hashCode()
+    public int putLongsAscii(
+        final int index, final long[] values, final int valuesOffset, final int count, final byte delimiter)
     {
-        final byte[] array = byteArray;
-        final long addressOffset = this.addressOffset;
-        final int length = capacity;
-        int i = 0, hashCode = 19;
-        for (int end = length & ~7; i < end; i += 8)
+        Objects.checkFromIndexSize(valuesOffset, count, values.length);
+        if (0 == count)
         {
-            hashCode = 31 * hashCode + Long.hashCode(UnsafeApi.getLong(array, addressOffset + i));
+            return 0;
         }
 
-        for (; i < length; i++)
+        final int end = valuesOffset + count;
+        int length = count - 1;
+        for (int k = valuesOffset; k < end; k++)
         {
-            hashCode = 31 * hashCode + UnsafeApi.getByte(array, addressOffset + i);
+            length += asciiLength(values[k]);
         }
 
-        return hashCode;
+        ensureCapacity(index, length);
+
+        final byte[] array = byteArray;
+        long offset = addressOffset + index;
+        for (int k = valuesOffset; k < end; k++)
+        {
+            if (k > valuesOffset)
+            {
+                UnsafeApi.putByte(array, offset++, delimiter);
+            }
+
+            offset = putLongAscii(array, offset, values[k]);
+        }
+
+        return length;
     }
 
     /**
      * {@inheritDoc}
      */
-    public int compareTo(final DirectBuffer that)
+    public int putScaledLongsAscii(
+        final int index,
+        final long[] values,
+        final int valuesOffset,
+        final int count,
+        final int scale,
+        final byte delimiter)
     {
-        if (this == that)
+        checkScale(scale);
+        if (0 == scale)
+        {
+            return putLongsAscii(index, values, valuesOffset, count, delimiter);
+        }
+
+        Objects.checkFromIndexSize(valuesOffset, count, values.length);
+        if (0 == count)
         {
             return 0;
         }
 
-        final int thisCapacity = this.capacity;
-        final int thatCapacity = that.capacity();
-        final byte[] thisArray = byteArray;
-        final byte[] thatArray = that.byteArray();
-        final long thisOffset = this.addressOffset;
+        final int end = valuesOffset + count;
+        int length = count - 1;
+        for (int k = valuesOffset; k < end; k++)
+        {
+            length += scaledLongAsciiLength(values[k], scale);
+        }
+
+        ensureCapacity(index, length);
+
+        final byte[] array = byteArray;
+        long offset = addressOffset + index;
+        for (int k = valuesOffset; k < end; k++)
+        {
+            if (k > valuesOffset)
+            {
+                UnsafeApi.putByte(array, offset++, delimiter);
+            }
+
+            offset = putScaledLongAscii(array, offset, values[k], scale);
+        }
+
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int putDecimalAscii(final int index, final long mantissa, final int scale)
+    {
+        checkScale(scale);
+        if (0 == scale)
+        {
+            return putLongAscii(index, mantissa);
+        }
+
+        final int length = scaledLongAsciiLength(mantissa, scale);
+        ensureCapacity(index, length);
+        putScaledLongAscii(byteArray, addressOffset + index, mantissa, scale);
+
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void boundsCheck(final int index, final int length)
+    {
+        boundsCheck0(index, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean equals(final Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass())
+        {
+            return false;
+        }
+
+        final AbstractMutableDirectBuffer that = (AbstractMutableDirectBuffer)obj;
+
+        final int length = capacity;
+        if (length != that.capacity)
+        {
+            return false;
+        }
+
+        return mismatch(byteArray, addressOffset, that.byteArray, that.addressOffset, length) < 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode()
+    {
+        final byte[] array = byteArray;
+        final long addressOffset = this.addressOffset;
+        final int length = capacity;
+        int i = 0, hashCode = 19;
+        for (int end = length & ~7; i < end; i += 8)
+        {
+            hashCode = 31 * hashCode + Long.hashCode(UnsafeApi.getLong(array, addressOffset + i));
+        }
+
+        for (; i < length; i++)
+        {
+            hashCode = 31 * hashCode + UnsafeApi.getByte(array, addressOffset + i);
+        }
+
+        return hashCode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int compareTo(final DirectBuffer that)
+    {
+        if (this == that)
+        {
+            return 0;
+        }
+
+        final int thisCapacity = this.capacity;
+        final int thatCapacity = that.capacity();
+        final byte[] thisArray = byteArray;
+        final byte[] thatArray = that.byteArray();
+        final long thisOffset = this.addressOffset;
         final long thatOffset = that.addressOffset();
         final int length = Math.min(thisCapacity, thatCapacity);
         int i = 0;
@@ -2004,4 +2334,457 @@ public abstract class AbstractMutableDirectBuffer implements MutableDirectBuffer
 
         putPositiveIntAscii(dest, offset, (int)quotient, i);
     }
+
+    private int delimiterIndex(final int index, final int end, final byte delimiter)
+    {
+        final int offset = indexOf(byteArray, addressOffset + index, end - index, delimiter);
+        return offset < 0 ? end : index + offset;
+    }
+
+    private long parseScaledLongAscii(final int index, final int length, final int scale)
+    {
+        final int pointOffset = indexOf(byteArray, addressOffset + index, length, DECIMAL_POINT);
+        return parseScaledLongAscii(index, length, pointOffset, scale);
+    }
+
+    private long parseScaledLongAscii(final int index, final int length, final int pointOffset, final int scale)
+    {
+        final long scaleFactor = LONG_POW_10[scale];
+        try
+        {
+            if (pointOffset < 0)
+            {
+                return Math.multiplyExact(parseLongAscii(index, length), scaleFactor);
+            }
+
+            final int fractionLength = length - pointOffset - 1;
+            if (fractionLength < 1 || fractionLength > scale)
+            {
+                throwParseLongError(index, length);
+            }
+
+            final long integerPart = Math.multiplyExact(parseLongAscii(index, pointOffset), scaleFactor);
+            final long fraction =
+                parseNaturalLongAscii(index + pointOffset + 1, fractionLength) * LONG_POW_10[scale - fractionLength];
+
+            return MINUS_SIGN == UnsafeApi.getByte(byteArray, addressOffset + index) ?
+                Math.subtractExact(integerPart, fraction) : Math.addExact(integerPart, fraction);
+        }
+        catch (final ArithmeticException ex)
+        {
+            throwParseLongOverflowError(index, length);
+            return 0;
+        }
+    }
+
+    private static int scaledLongAsciiLength(final long value, final int scale)
+    {
+        final long integerPart = value / LONG_POW_10[scale];
+        return scale + 1 + (value < 0 ? 1 + digitCount(-integerPart) : digitCount(integerPart));
+    }
+
+    private static long putScaledLongAscii(final byte[] array, final long offset, final long value, final int scale)
+    {
+        final long scaleFactor = LONG_POW_10[scale];
+        long integerPart = value / scaleFactor;
+        long fraction = value % scaleFactor;
+        long i = offset;
+        if (value < 0)
+        {
+            UnsafeApi.putByte(array, i++, MINUS_SIGN);
+            integerPart = -integerPart;
+            fraction = -fraction;
+        }
+
+        final int integerDigitCount = digitCount(integerPart);
+        putNaturalLongAscii(array, i, integerPart, integerDigitCount);
+        i += integerDigitCount;
+        UnsafeApi.putByte(array, i++, DECIMAL_POINT);
+        putPaddedNaturalLongAscii(array, i, fraction, scale);
+
+        return i + scale;
+    }
+
+    private String newStringUtf8(final int index, final int length)
+    {
+        final byte[] array = byteArray;
+        if (null != array)
+        {
+            return new String(array, (int)(addressOffset - ARRAY_BASE_OFFSET) + index, length, UTF_8);
+        }
+
+        final byte[] stringInBytes = new byte[length];
+        UnsafeApi.copyMemory(null, addressOffset + index, stringInBytes, ARRAY_BASE_OFFSET, length);
+
+        return new String(stringInBytes, UTF_8);
+    }
+
+    private static void appendUtf8(final byte[] array, final long offset, final int length, final Appendable appendable)
+        throws IOException
+    {
+        int i = 0;
+        while (i < length)
+        {
+            if ((length - i) >= SIZE_OF_LONG && 0 == (UnsafeApi.getLong(array, offset + i) & 0x8080808080808080L))
+            {
+                for (final int end = i + SIZE_OF_LONG; i < end; i++)
+                {
+                    appendable.append((char)UnsafeApi.getByte(array, offset + i));
+                }
+                continue;
+            }
+
+            final int b0 = UnsafeApi.getByte(array, offset + i++);
+            if (b0 >= 0)
+            {
+                appendable.append((char)b0);
+            }
+            else
+            {
+                i = appendUtf8Sequence(array, offset, i, length, b0 & 0xFF, appendable);
+            }
+        }
+    }
+
+    // Decode the remainder of a multibyte sequence and return the index after it. Malformed input is replaced the
+    // same as the JDK decoder, i.e. one replacement char per maximal invalid subpart or per encoded surrogate.
+    private static int appendUtf8Sequence(
+        final byte[] array,
+        final long offset,
+        final int index,
+        final int length,
+        final int b0,
+        final Appendable appendable) throws IOException
+    {
+        int i = index;
+        if (b0 >= 0xC2 && b0 <= 0xDF)
+        {
+            final int b1 = utf8Continuation(array, offset, i, length, 0x80, 0xBF);
+            if (b1 >= 0)
+            {
+                appendable.append((char)(((b0 & 0x1F) << 6) | b1));
+                return i + 1;
+            }
+        }
+        else if (b0 >= 0xE0 && b0 <= 0xEF)
+        {
+            final int b1 = utf8Continuation(array, offset, i, length, 0xE0 == b0 ? 0xA0 : 0x80, 0xBF);
+            if (b1 >= 0)
+            {
+                final int b2 = utf8Continuation(array, offset, ++i, length, 0x80, 0xBF);
+                if (b2 >= 0)
+                {
+                    final char c = (char)(((b0 & 0x0F) << 12) | (b1 << 6) | b2);
+                    appendable.append(Character.isSurrogate(c) ? UTF8_REPLACEMENT_CHAR : c);
+                    return i + 1;
+                }
+            }
+        }
+        else if (b0 >= 0xF0 && b0 <= 0xF4)
+        {
+            final int b1 = utf8Continuation(
+                array, offset, i, length, 0xF0 == b0 ? 0x90 : 0x80, 0xF4 == b0 ? 0x8F : 0xBF);
+            if (b1 >= 0)
+            {
+                final int b2 = utf8Continuation(array, offset, ++i, length, 0x80, 0xBF);
+                if (b2 >= 0)
+                {
+                    final int b3 = utf8Continuation(array, offset, ++i, length, 0x80, 0xBF);
+                    if (b3 >= 0)
+                    {
+                        final int codePoint = ((b0 & 0x07) << 18) | (b1 << 12) | (b2 << 6) | b3;
+                        appendable.append(Character.highSurrogate(codePoint));
+                        appendable.append(Character.lowSurrogate(codePoint));
+                        return i + 1;
+                    }
+                }
+            }
+        }
+
+        appendable.append(UTF8_REPLACEMENT_CHAR);
+
+        return i;
+    }
+
+    private static int utf8Continuation(
+        final byte[] array, final long offset, final int index, final int length, final int lower, final int upper)
+    {
+        if (index < length)
+        {
+            final int b = UnsafeApi.getByte(array, offset + index) & 0xFF;
+            if (b >= lower && b <= upper)
+            {
+                return b & 0x3F;
+            }
+        }
+
+        return -1;
+    }
+
+    // Encode a string after a header and return the encoded length. Each char takes at most 3 bytes, so unless the
+    // maximum encoded length could be exceeded, or a buffer which cannot expand might not have room for it, the
+    // common case of ASCII is encoded in a single pass. Otherwise the length is computed before anything is written
+    // so a put which fails leaves the buffer unchanged.
+    private int putStringUtf8(final int index, final int headerLength, final String value, final int maxEncodedLength)
+    {
+        final String string = value != null ? value : NULL_STRING;
+        final int charCount = string.length();
+        final long maxLength = (long)charCount * 3;
+        if (maxLength > maxEncodedLength || (!isExpandable() && index + headerLength + maxLength > capacity()))
+        {
+            final int length = utf8Length(string, 0);
+            if (length > maxEncodedLength)
+            {
+                throw new IllegalArgumentException("Encoded string larger than maximum size: " + maxEncodedLength);
+            }
+
+            ensureCapacity(index, headerLength + length);
+            putUtf8(byteArray, addressOffset + index + headerLength, string, 0);
+
+            return length;
+        }
+
+        ensureCapacity(index, headerLength + charCount);
+
+        final byte[] array = byteArray;
+        final long offset = addressOffset + index + headerLength;
+        for (int i = 0; i < charCount; i++)
+        {
+            final char c = string.charAt(i);
+            if (c >= 0x80)
+            {
+                final int length = i + utf8Length(string, i);
+                ensureCapacity(index, headerLength + length);
+                putUtf8(byteArray, addressOffset + index + headerLength + i, string, i);
+
+                return length;
+            }
+
+            UnsafeApi.putByte(array, offset + i, (byte)c);
+        }
+
+        return charCount;
+    }
+
+    private static int utf8Length(final String value, final int fromIndex)
+    {
+        final int length = value.length();
+        int encodedLength = length - fromIndex;
+        for (int i = fromIndex; i < length; i++)
+        {
+            final char c = value.charAt(i);
+            if (c >= 0x80)
+            {
+                if (c < 0x800)
+                {
+                    encodedLength += 1;
+                }
+                else if (!Character.isSurrogate(c))
+                {
+                    encodedLength += 2;
+                }
+                else if (isSurrogatePair(value, i, length))
+                {
+                    encodedLength += 2;
+                    i++;
+                }
+            }
+        }
+
+        return encodedLength;
+    }
+
+    // Encode the same as String.getBytes(UTF_8), which replaces an unpaired surrogate with '?'.
+    private static void putUtf8(final byte[] array, final long offset, final String value, final int fromIndex)
+    {
+        long i = offset;
+        for (int j = fromIndex, length = value.length(); j < length; j++)
+        {
+            final char c = value.charAt(j);
+            if (c < 0x80)
+            {
+                UnsafeApi.putByte(array, i++, (byte)c);
+            }
+            else if (c < 0x800)
+            {
+                UnsafeApi.putByte(array, i++, (byte)(0xC0 | (c >> 6)));
+                UnsafeApi.putByte(array, i++, (byte)(0x80 | (c & 0x3F)));
+            }
+            else if (!Character.isSurrogate(c))
+            {
+                UnsafeApi.putByte(array, i++, (byte)(0xE0 | (c >> 12)));
+                UnsafeApi.putByte(array, i++, (byte)(0x80 | ((c >> 6) & 0x3F)));
+                UnsafeApi.putByte(array, i++, (byte)(0x80 | (c & 0x3F)));
+            }
+            else if (isSurrogatePair(value, j, length))
+            {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++j));
+                UnsafeApi.putByte(array, i++, (byte)(0xF0 | (codePoint >> 18)));
+                UnsafeApi.putByte(array, i++, (byte)(0x80 | ((codePoint >> 12) & 0x3F)));
+                UnsafeApi.putByte(array, i++, (byte)(0x80 | ((codePoint >> 6) & 0x3F)));
+                UnsafeApi.putByte(array, i++, (byte)(0x80 | (codePoint & 0x3F)));
+            }
+            else
+            {
+                UnsafeApi.putByte(array, i++, (byte)'?');
+            }
+        }
+    }
+
+    private static boolean isSurrogatePair(final String value, final int index, final int length)
+    {
+        return Character.isHighSurrogate(value.charAt(index)) &&
+            (index + 1) < length &&
+            Character.isLowSurrogate(value.charAt(index + 1));
+    }
+
+    private static int asciiLength(final long value)
+    {
+        if (value < 0)
+        {
+            return Long.MIN_VALUE == value ? MIN_LONG_VALUE.length : 1 + digitCount(-value);
+        }
+
+        return digitCount(value);
+    }
+
+    private static long putLongAscii(final byte[] array, final long offset, final long value)
+    {
+        if (value < 0)
+        {
+            if (Long.MIN_VALUE == value)
+            {
+                UnsafeApi.copyMemory(MIN_LONG_VALUE, ARRAY_BASE_OFFSET, array, offset, MIN_LONG_VALUE.length);
+                return offset + MIN_LONG_VALUE.length;
+            }
+
+            UnsafeApi.putByte(array, offset, MINUS_SIGN);
+            final int digitCount = digitCount(-value);
+            putNaturalLongAscii(array, offset + 1, -value, digitCount);
+
+            return offset + 1 + digitCount;
+        }
+
+        final int digitCount = digitCount(value);
+        putNaturalLongAscii(array, offset, value, digitCount);
+
+        return offset + digitCount;
+    }
+
+    private static void putNaturalLongAscii(
+        final byte[] array, final long offset, final long value, final int digitCount)
+    {
+        int i = digitCount;
+        long quotient = value;
+        while (i >= SIZE_OF_LONG)
+        {
+            i -= SIZE_OF_LONG;
+            UnsafeApi.putLong(array, offset + i, eightDigitsAscii((int)(quotient % 100_000_000L)));
+            quotient /= 100_000_000L;
+        }
+
+        if (i > 0)
+        {
+            putPositiveIntAscii(array, offset, (int)quotient, i);
+        }
+    }
+
+    private static void putPaddedNaturalLongAscii(
+        final byte[] array, final long offset, final long value, final int digitCount)
+    {
+        int i = digitCount;
+        long quotient = value;
+        while (i >= SIZE_OF_LONG)
+        {
+            i -= SIZE_OF_LONG;
+            UnsafeApi.putLong(array, offset + i, eightDigitsAscii((int)(quotient % 100_000_000L)));
+            quotient /= 100_000_000L;
+        }
+
+        while (i > 0)
+        {
+            i--;
+            UnsafeApi.putByte(array, offset + i, (byte)(ZERO + (quotient % 10)));
+            quotient /= 10;
+        }
+    }
+
+    // Convert a value of up to eight digits into eight ASCII digits, with leading zeros, in native byte order using
+    // SWAR (SIMD within a register) to divide the halves, then the quarters, then the eighths of the register.
+    private static long eightDigitsAscii(final int value)
+    {
+        final long halves = (value / 10_000) | ((long)(value % 10_000) << 32);
+        final long hundreds = ((halves * 5243) >>> 19) & 0x0000007F0000007FL;
+        final long quarters = hundreds | ((halves - (hundreds * 100)) << 16);
+        final long tens = ((quarters * 103) >>> 10) & 0x000F000F000F000FL;
+        final long digits = (tens | ((quarters - (tens * 10)) << 8)) + 0x3030303030303030L;
+
+        return NATIVE_BYTE_ORDER == LITTLE_ENDIAN ? digits : Long.reverseBytes(digits);
+    }
+
+    private static int mismatch(
+        final byte[] thisArray, final long thisOffset, final byte[] thatArray, final long thatOffset, final int length)
+    {
+        if (null != thisArray && null != thatArray)
+        {
+            final int thisIndex = (int)(thisOffset - ARRAY_BASE_OFFSET);
+            final int thatIndex = (int)(thatOffset - ARRAY_BASE_OFFSET);
+
+            return Arrays.mismatch(thisArray, thisIndex, thisIndex + length, thatArray, thatIndex, thatIndex + length);
+        }
+
+        int i = 0;
+        for (int end = length & ~7; i < end; i += 8)
+        {
+            final long diff =
+                UnsafeApi.getLong(thisArray, thisOffset + i) ^ UnsafeApi.getLong(thatArray, thatOffset + i);
+            if (0 != diff)
+            {
+                return i + (firstByteOffset(diff) >> 3);
+            }
+        }
+
+        for (; i < length; i++)
+        {
+            if (UnsafeApi.getByte(thisArray, thisOffset + i) != UnsafeApi.getByte(thatArray, thatOffset + i))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int indexOf(final byte[] array, final long offset, final int length, final byte value)
+    {
+        final long pattern = 0x0101010101010101L * (value & 0xFF);
+
+        int i = 0;
+        for (int end = length & ~7; i < end; i += 8)
+        {
+            final long word = UnsafeApi.getLong(array, offset + i) ^ pattern;
+            final long lowBits = (word & 0x7F7F7F7F7F7F7F7FL) + 0x7F7F7F7F7F7F7F7FL;
+            final long zeroBytes = ~(lowBits | word | 0x7F7F7F7F7F7F7F7FL);
+            if (0 != zeroBytes)
+            {
+                return i + (firstByteOffset(zeroBytes) >> 3);
+            }
+        }
+
+        for (; i < length; i++)
+        {
+            if (UnsafeApi.getByte(array, offset + i) == value)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int firstByteOffset(final long nonZeroBits)
+    {
+        return LITTLE_ENDIAN == NATIVE_BYTE_ORDER ?
+            Long.numberOfTrailingZeros(nonZeroBits) : Long.numberOfLeadingZeros(nonZeroBits);
+    }
 }
@@ -15,10 +15,14 @@
  */
 package org.agrona;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
+import static org.agrona.AsciiEncoding.LONG_POW_10;
+import static org.agrona.AsciiEncoding.MINUS_SIGN;
 import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.MutableDecimal.checkScale;
 
 /**
  * Abstraction over a range of buffer types that allows fields to be read in native typed fashion.
@@ -239,6 +243,143 @@ public interface DirectBuffer extends Comparable<DirectBuffer>
      */
     long parseLongAscii(int index, int length);
 
+    /**
+     * Parse a range of ASCII encoded integer values separated by a delimiter, such as the fields of a CSV record,
+     * into an array in a single pass. A delimiter at the end of the range is optional.
+     *
+     * @param index        in bytes from which to parse.
+     * @param length       of the range in bytes to parse.
+     * @param delimiter    which separates the values.
+     * @param values       into which the parsed values are stored.
+     * @param valuesOffset in the values array at which to store the first value.
+     * @return the number of values parsed.
+     * @throws AsciiNumberFormatException if a value is empty, is not a number, or is out of range.
+     * @throws IndexOutOfBoundsException  if the values array is too small for the number of values in the range.
+     * @see #parseIntAscii(int, int)
+     */
+    default int parseIntsAscii(
+        final int index, final int length, final byte delimiter, final int[] values, final int valuesOffset)
+    {
+        boundsCheck(index, length);
+
+        final int end = index + length;
+        int i = index, count = 0;
+        while (i < end)
+        {
+            final int delimiterIndex = delimiterIndex(i, end, delimiter);
+            values[valuesOffset + count] = parseIntAscii(i, delimiterIndex - i);
+            i = delimiterIndex + 1;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Parse a range of ASCII encoded long integer values separated by a delimiter, such as the fields of a CSV
+     * record, into an array in a single pass. A delimiter at the end of the range is optional.
+     *
+     * @param index        in bytes from which to parse.
+     * @param length       of the range in bytes to parse.
+     * @param delimiter    which separates the values.
+     * @param values       into which the parsed values are stored.
+     * @param valuesOffset in the values array at which to store the first value.
+     * @return the number of values parsed.
+     * @throws AsciiNumberFormatException if a value is empty, is not a number, or is out of range.
+     * @throws IndexOutOfBoundsException  if the values array is too small for the number of values in the range.
+     * @see #parseLongAscii(int, int)
+     */
+    default int parseLongsAscii(
+        final int index, final int length, final byte delimiter, final long[] values, final int valuesOffset)
+    {
+        boundsCheck(index, length);
+
+        final int end = index + length;
+        int i = index, count = 0;
+        while (i < end)
+        {
+            final int delimiterIndex = delimiterIndex(i, end, delimiter);
+            values[valuesOffset + count] = parseLongAscii(i, delimiterIndex - i);
+            i = delimiterIndex + 1;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Parse a range of ASCII encoded fixed-point decimal values separated by a delimiter, such as prices in a
+     * FIX message or CSV record, into an array of long values scaled by {@code 10^scale} in a single pass. For example,
+     * with a scale of 2 the value {@code -12.5} is parsed as {@code -1250}. A value may have up to {@code scale}
+     * digits after the decimal point, and a delimiter at the end of the range is optional.
+     *
+     * @param index        in bytes from which to parse.
+     * @param length       of the range in bytes to parse.
+     * @param delimiter    which separates the values.
+     * @param scale        number of decimal places the values are scaled by, in the range 0 to 18.
+     * @param values       into which the parsed values are stored.
+     * @param valuesOffset in the values array at which to store the first value.
+     * @return the number of values parsed.
+     * @throws AsciiNumberFormatException if a value is empty, is not a decimal number, has more than {@code scale}
+     *                                    decimal places, or is out of range when scaled.
+     * @throws IndexOutOfBoundsException  if the values array is too small for the number of values in the range.
+     */
+    default int parseScaledLongsAscii(
+        final int index,
+        final int length,
+        final byte delimiter,
+        final int scale,
+        final long[] values,
+        final int valuesOffset)
+    {
+        checkScale(scale);
+        boundsCheck(index, length);
+
+        final int end = index + length;
+        int i = index, count = 0;
+        while (i < end)
+        {
+            final int delimiterIndex = delimiterIndex(i, end, delimiter);
+            final int valueLength = delimiterIndex - i;
+            final int pointIndex = indexOf(i, valueLength, (byte)'.');
+            values[valuesOffset + count] =
+                parseScaledLongAscii(i, valueLength, pointIndex < 0 ? -1 : pointIndex - i, scale);
+            i = delimiterIndex + 1;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Parse an ASCII encoded decimal value, such as the price {@code -123.456789}, into a {@link MutableDecimal}
+     * without allocation. The scale of the result is the number of digits after the decimal point, so {@code 1.50}
+     * is parsed with a mantissa of {@code 150} and a scale of {@code 2}.
+     *
+     * @param index   in bytes from which to parse.
+     * @param length  the length in bytes to parse.
+     * @param decimal into which the parsed value is stored.
+     * @return the decimal for a fluent API.
+     * @throws AsciiNumberFormatException if the value is empty, is not a decimal number, has more than
+     *                                    {@link MutableDecimal#MAX_SCALE} decimal places, or the mantissa is out of
+     *                                    range of a long.
+     * @see MutableDirectBuffer#putDecimalAscii(int, long, int)
+     */
+    default MutableDecimal parseDecimalAscii(final int index, final int length, final MutableDecimal decimal)
+    {
+        boundsCheck(index, length);
+
+        final int pointIndex = indexOf(index, length, (byte)'.');
+        final int pointOffset = pointIndex < 0 ? -1 : pointIndex - index;
+        final int scale = pointOffset < 0 ? 0 : length - pointOffset - 1;
+        if (scale > MutableDecimal.MAX_SCALE)
+        {
+            throw new AsciiNumberFormatException("error parsing long: " + getStringWithoutLengthAscii(index, length));
+        }
+
+        return decimal.set(parseScaledLongAscii(index, length, pointOffset, scale), scale);
+    }
+
     /**
      * Get the value at a given index.
      *
@@ -451,6 +592,28 @@ public interface DirectBuffer extends Comparable<DirectBuffer>
      */
     String getStringUtf8(int index);
 
+    /**
+     * Get a String from bytes encoded in UTF-8 format that is length prefixed and append to an {@link Appendable}.
+     * Malformed input is replaced with {@code '\uFFFD'} the same as {@link #getStringUtf8(int)}.
+     * <p>
+     * The default implementation appends the result of {@link #getStringUtf8(int)}, whereas
+     * {@link AbstractMutableDirectBuffer} decodes into the {@link Appendable} without allocation.
+     *
+     * @param index      at which the String begins.
+     * @param appendable to append the chars to.
+     * @return the number of bytes decoded.
+     */
+    default int getStringUtf8(final int index, final Appendable appendable)
+    {
+        final int length = getInt(index);
+        if (0 == length)
+        {
+            return 0;
+        }
+
+        return getStringWithoutLengthUtf8(index + STR_HEADER_LEN, length, appendable);
+    }
+
     /**
      * Get a String from bytes encoded in UTF-8 format that is length prefixed.
      *
@@ -460,6 +623,28 @@ public interface DirectBuffer extends Comparable<DirectBuffer>
      */
     String getStringUtf8(int index, ByteOrder byteOrder);
 
+    /**
+     * Get a String from bytes encoded in UTF-8 format that is length prefixed and append to an {@link Appendable}.
+     * <p>
+     * The default implementation appends the result of {@link #getStringUtf8(int, ByteOrder)}, whereas
+     * {@link AbstractMutableDirectBuffer} decodes into the {@link Appendable} without allocation.
+     *
+     * @param index      at which the String begins.
+     * @param appendable to append the chars to.
+     * @param byteOrder  for the length at the beginning of the String.
+     * @return the number of bytes decoded.
+     */
+    default int getStringUtf8(final int index, final Appendable appendable, final ByteOrder byteOrder)
+    {
+        final int length = getInt(index, byteOrder);
+        if (0 == length)
+        {
+            return 0;
+        }
+
+        return getStringWithoutLengthUtf8(index + STR_HEADER_LEN, length, appendable);
+    }
+
     /**
      * Get part of String from bytes encoded in UTF-8 format that is length prefixed.
      *
@@ -478,6 +663,126 @@ public interface DirectBuffer extends Comparable<DirectBuffer>
      */
     String getStringWithoutLengthUtf8(int index, int length);
 
+    /**
+     * Get an encoded UTF-8 String from the buffer that does not have a length prefix and append to an
+     * {@link Appendable}.
+     * <p>
+     * The default implementation appends the result of {@link #getStringWithoutLengthUtf8(int, int)}, whereas
+     * {@link AbstractMutableDirectBuffer} decodes into the {@link Appendable} without allocation, detecting runs of
+     * ASCII characters 8 bytes at a time.
+     *
+     * @param index      at which the String begins.
+     * @param length     of the String in bytes to decode.
+     * @param appendable to append the chars to.
+     * @return the number of bytes decoded.
+     */
+    default int getStringWithoutLengthUtf8(final int index, final int length, final Appendable appendable)
+    {
+        try
+        {
+            appendable.append(getStringWithoutLengthUtf8(index, length));
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return length;
+    }
+
+    /**
+     * Find the index of the first occurrence of a byte value in a range of the buffer.
+     *
+     * @param index  at which the search begins.
+     * @param length of the range to search in bytes.
+     * @param value  to search for.
+     * @return the index of the first occurrence of the value in the range or -1 if not found.
+     */
+    default int indexOf(final int index, final int length, final byte value)
+    {
+        boundsCheck(index, length);
+
+        for (int i = index, limit = index + length; i < limit; i++)
+        {
+            if (value == getByte(i))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Find the index of the first occurrence of a pattern of bytes in a range of the buffer.
+     *
+     * @param index         at which the search begins.
+     * @param length        of the range to search in bytes.
+     * @param pattern       buffer containing the bytes to search for.
+     * @param patternIndex  in the pattern buffer at which the pattern begins.
+     * @param patternLength of the pattern in bytes.
+     * @return the index of the first occurrence of the pattern which is contained in the range, {@code index} for
+     * an empty pattern, or -1 if not found.
+     */
+    default int indexOf(
+        final int index, final int length, final DirectBuffer pattern, final int patternIndex, final int patternLength)
+    {
+        boundsCheck(index, length);
+        pattern.boundsCheck(patternIndex, patternLength);
+
+        for (int i = index, lastIndex = index + length - patternLength; i <= lastIndex; i++)
+        {
+            if (contentEquals(i, pattern, patternIndex, patternLength))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Find the relative offset of the first byte which differs between a range of this buffer and a range of
+     * another buffer of the same length.
+     *
+     * @param index      at which the range in this buffer begins.
+     * @param other      buffer to compare with.
+     * @param otherIndex at which the range in the other buffer begins.
+     * @param length     of the ranges in bytes.
+     * @return the relative offset from the start of the ranges of the first byte which differs, or -1 if the ranges
+     * are equal.
+     * @see java.util.Arrays#mismatch(byte[], int, int, byte[], int, int)
+     */
+    default int mismatch(final int index, final DirectBuffer other, final int otherIndex, final int length)
+    {
+        boundsCheck(index, length);
+        other.boundsCheck(otherIndex, length);
+
+        for (int i = 0; i < length; i++)
+        {
+            if (getByte(index + i) != other.getByte(otherIndex + i))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Are the contents of a range of this buffer equal to a range of another buffer of the same length.
+     *
+     * @param index      at which the range in this buffer begins.
+     * @param other      buffer to compare with.
+     * @param otherIndex at which the range in the other buffer begins.
+     * @param length     of the ranges in bytes.
+     * @return true if the ranges contain the same bytes otherwise false.
+     */
+    default boolean contentEquals(final int index, final DirectBuffer other, final int otherIndex, final int length)
+    {
+        return mismatch(index, other, otherIndex, length) < 0;
+    }
+
     /**
      * Check that a given length of bytes is within the bounds from a given index.
      *
@@ -499,4 +804,41 @@ public interface DirectBuffer extends Comparable<DirectBuffer>
      * @see DirectBuffer#byteBuffer()
      */
     int wrapAdjustment();
+
+    private int delimiterIndex(final int index, final int end, final byte delimiter)
+    {
+        final int delimiterIndex = indexOf(index, end - index, delimiter);
+        return delimiterIndex < 0 ? end : delimiterIndex;
+    }
+
+    private long parseScaledLongAscii(final int index, final int length, final int pointOffset, final int scale)
+    {
+        final long scaleFactor = LONG_POW_10[scale];
+        try
+        {
+            if (pointOffset < 0)
+            {
+                return Math.multiplyExact(parseLongAscii(index, length), scaleFactor);
+            }
+
+            final int fractionLength = length - pointOffset - 1;
+            if (fractionLength < 1 || fractionLength > scale)
+            {
+                throw new AsciiNumberFormatException(
+                    "error parsing long: " + getStringWithoutLengthAscii(index, length));
+            }
+
+            final long integerPart = Math.multiplyExact(parseLongAscii(index, pointOffset), scaleFactor);
+            final long fraction =
+                parseNaturalLongAscii(index + pointOffset + 1, fractionLength) * LONG_POW_10[scale - fractionLength];
+
+            return MINUS_SIGN == getByte(index) ?
+                Math.subtractExact(integerPart, fraction) : Math.addExact(integerPart, fraction);
+        }
+        catch (final ArithmeticException ex)
+        {
+            throw new AsciiNumberFormatException(
+                "long overflow parsing: " + getStringWithoutLengthAscii(index, length));
+        }
+    }
 }
@@ -0,0 +1,652 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona;
+
+import org.agrona.DeadlineTimerWheel.TimerConsumer;
+import org.agrona.DeadlineTimerWheel.TimerHandler;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.DeadlineTimerWheel.NULL_DEADLINE;
+
+/**
+ * Hierarchical Timer Wheel for timers scheduled to expire on a deadline, (NOT thread safe).
+ * <p>
+ * Implements the hierarchical scheme from George Varghese and Tony Lauck's paper,
+ * <a href="http://cseweb.ucsd.edu/users/varghese/PAPERS/twheel.ps.Z">'Hashed
+ * and Hierarchical Timing Wheels: data structures to efficiently implement a
+ * timer facility'</a>. The wheel has a number of levels each with {@link #ticksPerWheel()} spokes. A spoke on level
+ * 0 covers a single tick, and a spoke on level {@code n} covers {@code ticksPerWheel^n} ticks. Timers are placed on
+ * the lowest level whose range covers their deadline and are cascaded down to a finer level when the wheel reaches
+ * the start of their spoke, so only timers which expire in the current tick are examined by a {@link #poll}.
+ * Timers beyond the horizon of the top level wait on it and are cascaded again until they are within range.
+ * <p>
+ * Timers are kept in doubly linked lists threaded through arrays so timer scheduling and cancellation are O(1) and
+ * the amortised cost of cascading is at most one move per level for each timer. The arrays grow when needed on
+ * {@link #scheduleTimer(long)}, but do not shrink, and no allocation takes place in {@link #poll}.
+ * <p>
+ * The {@link #scheduleTimer(long)}, {@link #cancelTimer(long)}, and {@link #poll(long, TimerHandler, int)} contract
+ * matches {@link DeadlineTimerWheel}. Timer ids include a generation so the id of an expired or cancelled timer will
+ * not match a timer which later reuses its slot.
+ * <p>
+ * <b>Caveats</b>
+ * <p>
+ * Timers that expire in the same tick are not ordered with one another. As ticks are
+ * fairly coarse resolution normally, this means that some timers may expire out of order.
+ * <p>
+ * <b>Note:</b> Not threadsafe.
+ */
+public class HierarchicalDeadlineTimerWheel
+{
+    /**
+     * Default number of levels for the wheel.
+     */
+    public static final int DEFAULT_LEVELS = 4;
+
+    private static final int INITIAL_TIMER_CAPACITY = 1024;
+    private static final int MAX_TIMER_CAPACITY = 1 << 30;
+    private static final int NULL_INDEX = -1;
+
+    private final long tickResolution;
+    private long startTime;
+    private long currentTick;
+    private long timerCount;
+    private final int ticksPerWheel;
+    private final int tickMask;
+    private final int levels;
+    private final int resolutionBitsToShift;
+    private final int levelBitsToShift;
+    private int freeListHead;
+
+    private final TimeUnit timeUnit;
+    private final int[] spokeHeads;
+    private long[] deadlines;
+    private int[] nextTimers;
+    private int[] prevTimers;
+    private int[] timerSpokes;
+    private int[] generations;
+
+    /**
+     * Construct timer wheel and configure timing with {@link #DEFAULT_LEVELS} and default initial allocation.
+     *
+     * @param timeUnit       for the values used to express the time.
+     * @param startTime      for the wheel (in given {@link TimeUnit}).
+     * @param tickResolution for the wheel, i.e. how many {@link TimeUnit}s per tick.
+     * @param ticksPerWheel  or spokes, for each level of the wheel (must be power of 2).
+     */
+    public HierarchicalDeadlineTimerWheel(
+        final TimeUnit timeUnit, final long startTime, final long tickResolution, final int ticksPerWheel)
+    {
+        this(timeUnit, startTime, tickResolution, ticksPerWheel, DEFAULT_LEVELS, INITIAL_TIMER_CAPACITY);
+    }
+
+    /**
+     * Construct timer wheel and configure timing with provided levels and initial allocation.
+     *
+     * @param timeUnit             for the values used to express the time.
+     * @param startTime            for the wheel (in given {@link TimeUnit}).
+     * @param tickResolution       for the wheel, i.e. how many {@link TimeUnit}s per tick.
+     * @param ticksPerWheel        or spokes, for each level of the wheel (must be power of 2).
+     * @param levels               of the wheel with each level covering {@code ticksPerWheel} times the previous.
+     * @param initialTimerCapacity number of timers for which space is allocated up front.
+     */
+    public HierarchicalDeadlineTimerWheel(
+        final TimeUnit timeUnit,
+        final long startTime,
+        final long tickResolution,
+        final int ticksPerWheel,
+        final int levels,
+        final int initialTimerCapacity)
+    {
+        checkTicksPerWheel(ticksPerWheel);
+        checkResolution(tickResolution);
+        checkLevels(levels, ticksPerWheel);
+        checkInitialTimerCapacity(initialTimerCapacity);
+
+        this.timeUnit = timeUnit;
+        this.ticksPerWheel = ticksPerWheel;
+        this.tickMask = ticksPerWheel - 1;
+        this.levels = levels;
+        this.tickResolution = tickResolution;
+        this.resolutionBitsToShift = Long.numberOfTrailingZeros(tickResolution);
+        this.levelBitsToShift = Integer.numberOfTrailingZeros(ticksPerWheel);
+        this.startTime = startTime;
+
+        spokeHeads = new int[levels * ticksPerWheel];
+        Arrays.fill(spokeHeads, NULL_INDEX);
+
+        deadlines = new long[initialTimerCapacity];
+        nextTimers = new int[initialTimerCapacity];
+        prevTimers = new int[initialTimerCapacity];
+        timerSpokes = new int[initialTimerCapacity];
+        generations = new int[initialTimerCapacity];
+        initFreeTimers(0, initialTimerCapacity);
+    }
+
+    /**
+     * Time unit for the time ticks.
+     *
+     * @return time unit for the ticks.
+     */
+    public TimeUnit timeUnit()
+    {
+        return timeUnit;
+    }
+
+    /**
+     * Resolution of a tick of the wheel in {@link #timeUnit()}s.
+     *
+     * @return resolution of a tick of the wheel in {@link #timeUnit()}s.
+     */
+    public long tickResolution()
+    {
+        return tickResolution;
+    }
+
+    /**
+     * The number of ticks, or spokes, per level of the wheel.
+     *
+     * @return number of ticks, or spokes, per level of the wheel.
+     */
+    public int ticksPerWheel()
+    {
+        return ticksPerWheel;
+    }
+
+    /**
+     * The number of levels in the wheel.
+     *
+     * @return number of levels in the wheel.
+     */
+    public int levels()
+    {
+        return levels;
+    }
+
+    /**
+     * The start time tick for the wheel from which it advances.
+     *
+     * @return start time tick for the wheel from which it advances.
+     */
+    public long startTime()
+    {
+        return startTime;
+    }
+
+    /**
+     * Number of active timers.
+     *
+     * @return number of currently scheduled timers.
+     */
+    public long timerCount()
+    {
+        return timerCount;
+    }
+
+    /**
+     * Reset the start time of the wheel.
+     *
+     * @param startTime to set the wheel to.
+     * @throws IllegalStateException if wheel has any scheduled timers.
+     */
+    public void resetStartTime(final long startTime)
+    {
+        if (timerCount > 0)
+        {
+            throw new IllegalStateException("can not reset startTime with active timers");
+        }
+
+        this.startTime = startTime;
+        this.currentTick = 0;
+    }
+
+    /**
+     * Time of current tick of the wheel in {@link #timeUnit()}s.
+     *
+     * @return time of the current tick of the wheel in {@link #timeUnit()}s.
+     */
+    public long currentTickTime()
+    {
+        return currentTickTime0();
+    }
+
+    /**
+     * Set the current tick of the wheel to examine on the next {@link #poll}.
+     * <p>
+     * If the time passed in is less than the current time, nothing is changed.
+     * No timers will be expired when winding forward. Scheduled timers are placed again relative to the new tick,
+     * which is O(timers), so any that have passed their deadline will be expired on the next {@link #poll}
+     * operations. No guarantee of order for expired timers is assumed when later polled.
+     *
+     * @param now current time to advance to or stay at current time.
+     */
+    public void currentTickTime(final long now)
+    {
+        final long tick = (now - startTime) >> resolutionBitsToShift;
+        if (tick > currentTick)
+        {
+            currentTick = tick;
+
+            if (timerCount > 0)
+            {
+                rescheduleAll();
+            }
+        }
+    }
+
+    /**
+     * Clear out all scheduled timers in the wheel.
+     */
+    public void clear()
+    {
+        if (0 == timerCount)
+        {
+            return;
+        }
+
+        for (int spoke = 0, length = spokeHeads.length; spoke < length; spoke++)
+        {
+            int index = spokeHeads[spoke];
+            spokeHeads[spoke] = NULL_INDEX;
+
+            while (NULL_INDEX != index)
+            {
+                final int next = nextTimers[index];
+                deadlines[index] = NULL_DEADLINE;
+                timerSpokes[index] = NULL_INDEX;
+                freeTimer(index);
+                index = next;
+            }
+        }
+
+        timerCount = 0;
+    }
+
+    /**
+     * Schedule a timer for a given absolute time as a deadline in {@link #timeUnit()}s. A timerId will be assigned
+     * and returned for future reference.
+     *
+     * @param deadline time at or after which the timer should expire.
+     * @return timerId assigned for the scheduled timer.
+     */
+    public long scheduleTimer(final long deadline)
+    {
+        if (NULL_INDEX == freeListHead)
+        {
+            increaseCapacity();
+        }
+
+        final int index = freeListHead;
+        freeListHead = nextTimers[index];
+
+        deadlines[index] = deadline;
+        link(index, spokeFor(deadline));
+        timerCount++;
+
+        return timerId(index);
+    }
+
+    /**
+     * Cancel a previously scheduled timer.
+     *
+     * @param timerId of the timer to cancel.
+     * @return true if successful otherwise false if the timerId did not exist.
+     */
+    public boolean cancelTimer(final long timerId)
+    {
+        final int index = indexForTimerId(timerId);
+
+        if (isScheduled(index, timerId))
+        {
+            unlink(index);
+            deadlines[index] = NULL_DEADLINE;
+            freeTimer(index);
+            timerCount--;
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Poll for timers expired by the deadline passing.
+     *
+     * @param now         current time to compare deadlines against.
+     * @param handler     to call for each expired timer.
+     * @param expiryLimit to process in one poll operation.
+     * @return count of expired timers as a result of this poll operation.
+     */
+    public int poll(final long now, final TimerHandler handler, final int expiryLimit)
+    {
+        int timersExpired = 0;
+
+        if (timerCount > 0)
+        {
+            final int spoke = (int)currentTick & tickMask;
+            int index = spokeHeads[spoke];
+
+            while (NULL_INDEX != index && expiryLimit > timersExpired)
+            {
+                final int next = nextTimers[index];
+                final long deadline = deadlines[index];
+
+                if (now >= deadline)
+                {
+                    final int nextGeneration = NULL_INDEX != next ? generations[next] : 0;
+
+                    unlink(index);
+                    deadlines[index] = NULL_DEADLINE;
+                    timerCount--;
+                    timersExpired++;
+
+                    boolean keepTimer = false;
+                    try
+                    {
+                        keepTimer = !handler.onTimerExpiry(timeUnit, now, timerId(index));
+                    }
+                    finally
+                    {
+                        if (!keepTimer)
+                        {
+                            freeTimer(index);
+                        }
+                    }
+
+                    if (keepTimer)
+                    {
+                        deadlines[index] = deadline;
+                        link(index, spoke);
+                        timerCount++;
+
+                        return --timersExpired;
+                    }
+
+                    // the handler may have cancelled the next timer so start again from the head if it has gone
+                    index = NULL_INDEX != next && spoke == timerSpokes[next] && nextGeneration == generations[next] ?
+                        next : spokeHeads[spoke];
+                }
+                else
+                {
+                    index = next;
+                }
+            }
+
+            if (expiryLimit > timersExpired && now >= currentTickTime0())
+            {
+                currentTick++;
+                cascade();
+            }
+        }
+        else if (now >= currentTickTime0())
+        {
+            currentTick++;
+        }
+
+        return timersExpired;
+    }
+
+    /**
+     * Iterate over wheel so all active timers can be consumed without expiring them.
+     *
+     * @param consumer to call for each active timer.
+     */
+    public void forEach(final TimerConsumer consumer)
+    {
+        long timersRemaining = timerCount;
+
+        for (int spoke = 0, length = spokeHeads.length; spoke < length && timersRemaining > 0; spoke++)
+        {
+            for (int index = spokeHeads[spoke]; NULL_INDEX != index; index = nextTimers[index])
+            {
+                consumer.accept(deadlines[index], timerId(index));
+                timersRemaining--;
+            }
+        }
+    }
+
+    /**
+     * Get the deadline for the given timerId.
+     *
+     * @param timerId of the timer to return the deadline of.
+     * @return deadline for the given timerId or {@link DeadlineTimerWheel#NULL_DEADLINE} if timerId is not
+     * scheduled.
+     */
+    public long deadline(final long timerId)
+    {
+        final int index = indexForTimerId(timerId);
+
+        return isScheduled(index, timerId) ? deadlines[index] : NULL_DEADLINE;
+    }
+
+    private long currentTickTime0()
+    {
+        return ((currentTick + 1L) << resolutionBitsToShift) + startTime;
+    }
+
+    private int spokeFor(final long deadline)
+    {
+        final long currentTick = this.currentTick;
+        final long deadlineTick = Math.max((deadline - startTime) >> resolutionBitsToShift, currentTick);
+        final long ticksToDeadline = deadlineTick - currentTick;
+
+        if (ticksToDeadline < ticksPerWheel)
+        {
+            return (int)deadlineTick & tickMask;
+        }
+
+        final int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(ticksToDeadline)) / levelBitsToShift;
+        if (level < levels)
+        {
+            final int shift = level * levelBitsToShift;
+            return (level * ticksPerWheel) + ((int)(deadlineTick >>> shift) & tickMask);
+        }
+
+        final int topLevel = levels - 1;
+        if (0 == topLevel)
+        {
+            return (int)deadlineTick & tickMask;
+        }
+
+        // beyond the horizon so wait a full rotation of the top level and be cascaded again.
+        final int shift = topLevel * levelBitsToShift;
+        return (topLevel * ticksPerWheel) + ((int)(currentTick >>> shift) & tickMask);
+    }
+
+    private void cascade()
+    {
+        final long currentTick = this.currentTick;
+
+        for (int level = levels - 1; level > 0; level--)
+        {
+            final int shift = level * levelBitsToShift;
+            if (0 == (currentTick & ((1L << shift) - 1)))
+            {
+                final int spoke = (level * ticksPerWheel) + ((int)(currentTick >>> shift) & tickMask);
+                int index = spokeHeads[spoke];
+                spokeHeads[spoke] = NULL_INDEX;
+
+                while (NULL_INDEX != index)
+                {
+                    final int next = nextTimers[index];
+                    link(index, spokeFor(deadlines[index]));
+                    index = next;
+                }
+            }
+        }
+    }
+
+    private void rescheduleAll()
+    {
+        int pending = NULL_INDEX;
+
+        for (int spoke = 0, length = spokeHeads.length; spoke < length; spoke++)
+        {
+            int index = spokeHeads[spoke];
+            spokeHeads[spoke] = NULL_INDEX;
+
+            while (NULL_INDEX != index)
+            {
+                final int next = nextTimers[index];
+                nextTimers[index] = pending;
+                pending = index;
+                index = next;
+            }
+        }
+
+        while (NULL_INDEX != pending)
+        {
+            final int next = nextTimers[pending];
+            link(pending, spokeFor(deadlines[pending]));
+            pending = next;
+        }
+    }
+
+    private void link(final int index, final int spoke)
+    {
+        final int head = spokeHeads[spoke];
+
+        prevTimers[index] = NULL_INDEX;
+        nextTimers[index] = head;
+        timerSpokes[index] = spoke;
+
+        if (NULL_INDEX != head)
+        {
+            prevTimers[head] = index;
+        }
+
+        spokeHeads[spoke] = index;
+    }
+
+    private void unlink(final int index)
+    {
+        final int prev = prevTimers[index];
+        final int next = nextTimers[index];
+
+        if (NULL_INDEX != prev)
+        {
+            nextTimers[prev] = next;
+        }
+        else
+        {
+            spokeHeads[timerSpokes[index]] = next;
+        }
+
+        if (NULL_INDEX != next)
+        {
+            prevTimers[next] = prev;
+        }
+
+        timerSpokes[index] = NULL_INDEX;
+    }
+
+    private void freeTimer(final int index)
+    {
+        generations[index] = (generations[index] + 1) & Integer.MAX_VALUE;
+        nextTimers[index] = freeListHead;
+        freeListHead = index;
+    }
+
+    private boolean isScheduled(final int index, final long timerId)
+    {
+        return index >= 0 && index < deadlines.length &&
+            generations[index] == generationForTimerId(timerId) &&
+            NULL_INDEX != timerSpokes[index];
+    }
+
+    private void initFreeTimers(final int fromIndex, final int toIndex)
+    {
+        Arrays.fill(deadlines, fromIndex, toIndex, NULL_DEADLINE);
+        Arrays.fill(prevTimers, fromIndex, toIndex, NULL_INDEX);
+        Arrays.fill(timerSpokes, fromIndex, toIndex, NULL_INDEX);
+
+        for (int i = fromIndex; i < toIndex - 1; i++)
+        {
+            nextTimers[i] = i + 1;
+        }
+
+        nextTimers[toIndex - 1] = NULL_INDEX;
+        freeListHead = fromIndex;
+    }
+
+    private void increaseCapacity()
+    {
+        final int capacity = deadlines.length;
+        if (capacity >= MAX_TIMER_CAPACITY)
+        {
+            throw new IllegalStateException("max capacity reached at timerCapacity=" + capacity);
+        }
+
+        final int newCapacity = (int)Math.min((long)capacity << 1, MAX_TIMER_CAPACITY);
+
+        deadlines = Arrays.copyOf(deadlines, newCapacity);
+        nextTimers = Arrays.copyOf(nextTimers, newCapacity);
+        prevTimers = Arrays.copyOf(prevTimers, newCapacity);
+        timerSpokes = Arrays.copyOf(timerSpokes, newCapacity);
+        generations = Arrays.copyOf(generations, newCapacity);
+        initFreeTimers(capacity, newCapacity);
+    }
+
+    private long timerId(final int index)
+    {
+        return ((long)generations[index] << 32) | index;
+    }
+
+    private static int generationForTimerId(final long timerId)
+    {
+        return (int)(timerId >> 32);
+    }
+
+    private static int indexForTimerId(final long timerId)
+    {
+        return (int)timerId;
+    }
+
+    private static void checkTicksPerWheel(final int ticksPerWheel)
+    {
+        if (!BitUtil.isPowerOfTwo(ticksPerWheel) || ticksPerWheel < 2)
+        {
+            throw new IllegalArgumentException("ticks per wheel must be a power of 2 greater than 1: " + ticksPerWheel);
+        }
+    }
+
+    private static void checkResolution(final long tickResolution)
+    {
+        if (!BitUtil.isPowerOfTwo(tickResolution))
+        {
+            throw new IllegalArgumentException("tick resolution must be a power of 2: " + tickResolution);
+        }
+    }
+
+    private static void checkLevels(final int levels, final int ticksPerWheel)
+    {
+        final int maxLevels = (Long.SIZE - 2) / Integer.numberOfTrailingZeros(ticksPerWheel);
+        if (levels < 1 || levels > maxLevels)
+        {
+            throw new IllegalArgumentException(
+                "levels must be between 1 and " + maxLevels + " for ticksPerWheel=" + ticksPerWheel + ": " + levels);
+        }
+    }
+
+    private static void checkInitialTimerCapacity(final int initialTimerCapacity)
+    {
+        if (initialTimerCapacity < 1 || initialTimerCapacity > MAX_TIMER_CAPACITY)
+        {
+            throw new IllegalArgumentException("initial timer capacity out of range: " + initialTimerCapacity);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona;
+
+import static org.agrona.AsciiEncoding.LONG_POW_10;
+import static org.agrona.AsciiEncoding.digitCount;
+
+/**
+ * Holder for a fixed-point decimal value that is mutable so it can be reused to avoid allocation, such as when
+ * parsing prices with {@link DirectBuffer#parseDecimalAscii(int, int, MutableDecimal)}. The value is
+ * {@code mantissa * 10^-scale}, e.g. {@code 123.456789} has a mantissa of {@code 123456789} and a scale of
+ * {@code 6}.
+ * <p>
+ * Like {@link java.math.BigDecimal}, two instances are only equal if both the mantissa and scale are equal, so
+ * {@code 1.50} is not equal to {@code 1.5}.
+ */
+public class MutableDecimal extends Number
+{
+    private static final long serialVersionUID = 2434604378406359853L;
+
+    /**
+     * Maximum supported scale, i.e. the number of digits after the decimal point.
+     */
+    public static final int MAX_SCALE = 18;
+
+    /**
+     * The value as an integer before the decimal point is placed.
+     */
+    private long mantissa;
+
+    /**
+     * The number of digits after the decimal point.
+     */
+    private int scale;
+
+    /**
+     * Default constructor for a value of {@code 0}.
+     */
+    public MutableDecimal()
+    {
+    }
+
+    /**
+     * Creates an instance with a value.
+     *
+     * @param mantissa of the value.
+     * @param scale    of the value as the number of digits after the decimal point.
+     * @throws IllegalArgumentException if the scale is not in the range 0 to {@link #MAX_SCALE}.
+     */
+    public MutableDecimal(final long mantissa, final int scale)
+    {
+        set(mantissa, scale);
+    }
+
+    /**
+     * Get the mantissa, which is the value as an integer before the decimal point is placed.
+     *
+     * @return the mantissa.
+     */
+    public long mantissa()
+    {
+        return mantissa;
+    }
+
+    /**
+     * Get the scale, which is the number of digits after the decimal point.
+     *
+     * @return the scale.
+     */
+    public int scale()
+    {
+        return scale;
+    }
+
+    /**
+     * Set the value.
+     *
+     * @param mantissa of the value.
+     * @param scale    of the value as the number of digits after the decimal point.
+     * @return this for a fluent API.
+     * @throws IllegalArgumentException if the scale is not in the range 0 to {@link #MAX_SCALE}.
+     */
+    public MutableDecimal set(final long mantissa, final int scale)
+    {
+        checkScale(scale);
+
+        this.mantissa = mantissa;
+        this.scale = scale;
+
+        return this;
+    }
+
+    /**
+     * Set the value from another instance.
+     *
+     * @param other to copy the value from.
+     * @return this for a fluent API.
+     */
+    public MutableDecimal set(final MutableDecimal other)
+    {
+        mantissa = other.mantissa;
+        scale = other.scale;
+
+        return this;
+    }
+
+    /**
+     * Reset the value to {@code 0}.
+     *
+     * @return this for a fluent API.
+     */
+    public MutableDecimal reset()
+    {
+        mantissa = 0;
+        scale = 0;
+
+        return this;
+    }
+
+    /**
+     * Return value as {@code int} with any fractional part truncated.
+     *
+     * @return value as {@code int}.
+     */
+    public int intValue()
+    {
+        return (int)longValue();
+    }
+
+    /**
+     * Return value as {@code long} with any fractional part truncated.
+     *
+     * @return value as {@code long}.
+     */
+    public long longValue()
+    {
+        return mantissa / LONG_POW_10[scale];
+    }
+
+    /**
+     * Return value as {@code float}.
+     *
+     * @return value as {@code float}.
+     */
+    public float floatValue()
+    {
+        return (float)doubleValue();
+    }
+
+    /**
+     * Return value as {@code double}.
+     *
+     * @return value as {@code double}.
+     */
+    public double doubleValue()
+    {
+        return (double)mantissa / LONG_POW_10[scale];
+    }
+
+    /**
+     * Append the value as plain decimal text, e.g. {@code -0.05}, to a {@link StringBuilder}.
+     *
+     * @param builder to append the value to.
+     * @return the builder for a fluent API.
+     */
+    public StringBuilder appendTo(final StringBuilder builder)
+    {
+        if (0 == scale)
+        {
+            return builder.append(mantissa);
+        }
+
+        final long scaleFactor = LONG_POW_10[scale];
+        final long integerPart = mantissa / scaleFactor;
+        final long fraction = Math.abs(mantissa % scaleFactor);
+        if (mantissa < 0 && 0 == integerPart)
+        {
+            builder.append('-');
+        }
+
+        builder.append(integerPart).append('.');
+        for (int i = digitCount(fraction); i < scale; i++)
+        {
+            builder.append('0');
+        }
+
+        return builder.append(fraction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+
+        final MutableDecimal that = (MutableDecimal)o;
+
+        return mantissa == that.mantissa && scale == that.scale;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode()
+    {
+        return 31 * Long.hashCode(mantissa) + scale;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return appendTo(new StringBuilder(21)).toString();
+    }
+
+    static void checkScale(final int scale)
+    {
+        if (scale < 0 || scale > MAX_SCALE)
+        {
+            throw new IllegalArgumentException("scale out of range 0 - " + MAX_SCALE + ": " + scale);
+        }
+    }
+}
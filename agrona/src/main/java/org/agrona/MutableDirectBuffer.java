@@ -17,6 +17,12 @@ package org.agrona;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Objects;
+
+import static org.agrona.AsciiEncoding.LONG_POW_10;
+import static org.agrona.AsciiEncoding.MINUS_SIGN;
+import static org.agrona.AsciiEncoding.ZERO;
+import static org.agrona.MutableDecimal.checkScale;
 
 /**
  * Abstraction over a range of buffer types that allows fields to be written in native typed fashion.
@@ -135,6 +141,127 @@ public interface MutableDirectBuffer extends DirectBuffer
      */
     int putLongAscii(int index, long value);
 
+    /**
+     * Puts an array of ASCII encoded integers into the buffer separated by a delimiter, such as the fields of a CSV
+     * record. Implementations may check the capacity required for all the values once before they are written.
+     *
+     * @param index        the offset at which to put the first value.
+     * @param values       to write.
+     * @param valuesOffset in the values array of the first value to write.
+     * @param count        of values to write.
+     * @param delimiter    to put between the values.
+     * @return the number of bytes that the values and delimiters took up encoded.
+     * @see #putIntAscii(int, int)
+     */
+    default int putIntsAscii(
+        final int index, final int[] values, final int valuesOffset, final int count, final byte delimiter)
+    {
+        Objects.checkFromIndexSize(valuesOffset, count, values.length);
+
+        int i = index;
+        for (int k = valuesOffset, end = valuesOffset + count; k < end; k++)
+        {
+            if (k > valuesOffset)
+            {
+                putByte(i++, delimiter);
+            }
+
+            i += putIntAscii(i, values[k]);
+        }
+
+        return i - index;
+    }
+
+    /**
+     * Puts an array of ASCII encoded long integers into the buffer separated by a delimiter, such as the fields of a
+     * CSV record. Implementations may check the capacity required for all the values once before they are written.
+     *
+     * @param index        the offset at which to put the first value.
+     * @param values       to write.
+     * @param valuesOffset in the values array of the first value to write.
+     * @param count        of values to write.
+     * @param delimiter    to put between the values.
+     * @return the number of bytes that the values and delimiters took up encoded.
+     * @see #putLongAscii(int, long)
+     */
+    default int putLongsAscii(
+        final int index, final long[] values, final int valuesOffset, final int count, final byte delimiter)
+    {
+        Objects.checkFromIndexSize(valuesOffset, count, values.length);
+
+        int i = index;
+        for (int k = valuesOffset, end = valuesOffset + count; k < end; k++)
+        {
+            if (k > valuesOffset)
+            {
+                putByte(i++, delimiter);
+            }
+
+            i += putLongAscii(i, values[k]);
+        }
+
+        return i - index;
+    }
+
+    /**
+     * Puts an array of long values scaled by {@code 10^scale} into the buffer as ASCII encoded fixed-point decimals
+     * separated by a delimiter. For example, with a scale of 2 the value {@code -1250} is put as {@code -12.50}.
+     * Values are written with exactly {@code scale} digits after the decimal point, and with no decimal point when
+     * the scale is 0.
+     *
+     * @param index        the offset at which to put the first value.
+     * @param values       to write.
+     * @param valuesOffset in the values array of the first value to write.
+     * @param count        of values to write.
+     * @param scale        number of decimal places the values are scaled by, in the range 0 to 18.
+     * @param delimiter    to put between the values.
+     * @return the number of bytes that the values and delimiters took up encoded.
+     * @see DirectBuffer#parseScaledLongsAscii(int, int, byte, int, long[], int)
+     */
+    default int putScaledLongsAscii(
+        final int index,
+        final long[] values,
+        final int valuesOffset,
+        final int count,
+        final int scale,
+        final byte delimiter)
+    {
+        checkScale(scale);
+        Objects.checkFromIndexSize(valuesOffset, count, values.length);
+
+        int i = index;
+        for (int k = valuesOffset, end = valuesOffset + count; k < end; k++)
+        {
+            if (k > valuesOffset)
+            {
+                putByte(i++, delimiter);
+            }
+
+            i += putScaledLongAscii(i, values[k], scale);
+        }
+
+        return i - index;
+    }
+
+    /**
+     * Puts an ASCII encoded fixed-point decimal value of {@code mantissa * 10^-scale} into the buffer without
+     * allocation. For example, a mantissa of {@code 123456789} with a scale of 6 is put as {@code 123.456789}, and
+     * with a scale of 0 no decimal point is put.
+     *
+     * @param index    the offset at which to put the value.
+     * @param mantissa of the value.
+     * @param scale    number of digits after the decimal point, in the range 0 to {@link MutableDecimal#MAX_SCALE}.
+     * @return the number of bytes that the value took up encoded.
+     * @throws IllegalArgumentException if the scale is out of range.
+     * @see DirectBuffer#parseDecimalAscii(int, int, MutableDecimal)
+     */
+    default int putDecimalAscii(final int index, final long mantissa, final int scale)
+    {
+        checkScale(scale);
+
+        return putScaledLongAscii(index, mantissa, scale);
+    }
+
     /**
      * Put a value to a given index.
      *
@@ -394,4 +521,35 @@ public interface MutableDirectBuffer extends DirectBuffer
      * @return the number of bytes encoded.
      */
     int putStringWithoutLengthUtf8(int index, String value);
+
+    private int putScaledLongAscii(final int index, final long value, final int scale)
+    {
+        if (0 == scale)
+        {
+            return putLongAscii(index, value);
+        }
+
+        final long scaleFactor = LONG_POW_10[scale];
+        long integerPart = value / scaleFactor;
+        long fraction = value % scaleFactor;
+        int i = index;
+        if (value < 0)
+        {
+            putByte(i++, MINUS_SIGN);
+            integerPart = -integerPart;
+            fraction = -fraction;
+        }
+
+        i += putNaturalLongAscii(i, integerPart);
+        putByte(i++, (byte)'.');
+
+        final int end = i + scale;
+        for (int j = end - 1; j >= i; j--)
+        {
+            putByte(j, (byte)(ZERO + (fraction % 10)));
+            fraction /= 10;
+        }
+
+        return end - index;
+    }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.checksum;
+
+/**
+ * A {@link Checksum} for which the checksums of adjacent regions, computed independently, can be combined into the
+ * checksum of the whole region. This allows large regions to be checksummed in parallel.
+ * <p>
+ * <b>Note:</b> Instances should be threadsafe and stateless.
+ */
+public interface CombinableChecksum extends Checksum
+{
+    /**
+     * Combine the checksums of two adjacent regions into the checksum of the region formed by appending the second
+     * region to the first.
+     *
+     * @param checksum1 of the first region.
+     * @param checksum2 of the second region.
+     * @param length2   of the second region in bytes.
+     * @return checksum of the two regions as if computed in a single pass.
+     */
+    int combine(int checksum1, int checksum2, long length2);
+}
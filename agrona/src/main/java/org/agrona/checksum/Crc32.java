@@ -23,9 +23,9 @@ import java.lang.reflect.Method;
 import java.util.zip.CRC32;
 
 /**
- * Implementation of the {@link Checksum} interface that computes CRC-32 checksum.
+ * Implementation of the {@link CombinableChecksum} interface that computes CRC-32 checksum.
  */
-public final class Crc32 implements Checksum
+public final class Crc32 implements CombinableChecksum
 {
     /**
      * Singleton instance to compute CRC-32 checksum.
@@ -33,6 +33,7 @@ public final class Crc32 implements Checksum
     public static final Crc32 INSTANCE = new Crc32();
 
     private static final MethodHandle UPDATE_BYTE_BUFFER;
+    private static final CrcCombiner COMBINER = new CrcCombiner(0xEDB88320);
 
     static
     {
@@ -70,4 +71,12 @@ public final class Crc32 implements Checksum
             return -1;
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int combine(final int checksum1, final int checksum2, final long length2)
+    {
+        return COMBINER.combine(checksum1, checksum2, length2);
+    }
 }
@@ -25,14 +25,14 @@ import static java.lang.invoke.MethodHandles.*;
 import static java.lang.invoke.MethodType.methodType;
 
 /**
- * Implementation of the {@link Checksum} interface that computes CRC-32C checksum.
+ * Implementation of the {@link CombinableChecksum} interface that computes CRC-32C checksum.
  *
  * <p>
  * CRC-32C is defined in <a href="http://www.ietf.org/rfc/rfc3720.txt">RFC 3720</a>:
  * Internet Small Computer Systems Interface (iSCSI).
  * </p>
  */
-public final class Crc32c implements Checksum
+public final class Crc32c implements CombinableChecksum
 {
     /**
      * Single instance to compute CRC-32C checksum.
@@ -40,6 +40,7 @@ public final class Crc32c implements Checksum
     public static final Crc32c INSTANCE = new Crc32c();
 
     private static final MethodHandle UPDATE_DIRECT_BYTE_BUFFER;
+    private static final CrcCombiner COMBINER = new CrcCombiner(0x82F63B78);
 
     static
     {
@@ -90,4 +91,12 @@ public final class Crc32c implements Checksum
             return -1;
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int combine(final int checksum1, final int checksum2, final long length2)
+    {
+        return COMBINER.combine(checksum1, checksum2, length2);
+    }
 }
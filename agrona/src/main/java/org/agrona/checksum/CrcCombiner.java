@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.checksum;
+
+/**
+ * Combines reflected 32-bit CRCs, which are pre and post conditioned with all ones, of adjacent regions by
+ * multiplying the first CRC by {@code x^(8 * length2)} modulo the polynomial in GF(2), as per zlib's
+ * {@code crc32_combine}. The cost is O(log(length2)) multiplications rather than a pass over the second region.
+ */
+final class CrcCombiner
+{
+    private static final int X0 = 0x80000000;
+
+    private final int reflectedPolynomial;
+    private final int[] x2nTable = new int[32];
+
+    CrcCombiner(final int reflectedPolynomial)
+    {
+        this.reflectedPolynomial = reflectedPolynomial;
+
+        int p = X0 >>> 1;
+        x2nTable[0] = p;
+        for (int n = 1; n < x2nTable.length; n++)
+        {
+            p = multiplyModP(p, p);
+            x2nTable[n] = p;
+        }
+    }
+
+    int combine(final int crc1, final int crc2, final long length2)
+    {
+        if (length2 < 0)
+        {
+            throw new IllegalArgumentException("length2 must be non-negative: " + length2);
+        }
+
+        return multiplyModP(x2nModP(length2, 3), crc1) ^ crc2;
+    }
+
+    private int multiplyModP(final int a, final int b)
+    {
+        final int polynomial = reflectedPolynomial;
+        int m = X0;
+        int p = 0;
+        int multiplicand = b;
+
+        while (true)
+        {
+            if (0 != (a & m))
+            {
+                p ^= multiplicand;
+                if (0 == (a & (m - 1)))
+                {
+                    break;
+                }
+            }
+
+            m >>>= 1;
+            multiplicand = 0 != (multiplicand & 1) ? (multiplicand >>> 1) ^ polynomial : multiplicand >>> 1;
+        }
+
+        return p;
+    }
+
+    private int x2nModP(final long n, final int k)
+    {
+        int p = X0;
+        long remaining = n;
+        int index = k;
+
+        while (0 != remaining)
+        {
+            if (0 != (remaining & 1))
+            {
+                p = multiplyModP(x2nTable[index & 31], p);
+            }
+
+            remaining >>>= 1;
+            index++;
+        }
+
+        return p;
+    }
+}
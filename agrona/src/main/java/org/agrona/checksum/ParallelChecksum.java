@@ -0,0 +1,167 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.checksum;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A {@link CombinableChecksum} which splits regions longer than a chunk length into chunks which are checksummed in
+ * parallel on a {@link ForkJoinPool} by a delegate, and then combined. This is useful for large off-heap regions,
+ * such as memory-mapped files, where the time to checksum can then scale with the number of cores.
+ * <p>
+ * Regions no longer than the chunk length are checksummed on the calling thread. Longer regions are always
+ * checksummed on the configured pool, even when called from a task running in another pool. The result is the same
+ * as the delegate computing the checksum of the whole region.
+ */
+public final class ParallelChecksum implements CombinableChecksum
+{
+    /**
+     * Default length in bytes of the chunks which are checksummed in parallel.
+     */
+    public static final int DEFAULT_CHUNK_LENGTH = 1024 * 1024;
+
+    private final CombinableChecksum checksum;
+    private final ForkJoinPool pool;
+    private final int chunkLength;
+
+    /**
+     * Construct a parallel checksum using the {@link ForkJoinPool#commonPool()} and {@link #DEFAULT_CHUNK_LENGTH}.
+     *
+     * @param checksum to delegate to for computing the checksum of each chunk.
+     */
+    public ParallelChecksum(final CombinableChecksum checksum)
+    {
+        this(checksum, ForkJoinPool.commonPool(), DEFAULT_CHUNK_LENGTH);
+    }
+
+    /**
+     * Construct a parallel checksum.
+     *
+     * @param checksum    to delegate to for computing the checksum of each chunk.
+     * @param pool        on which the chunks are checksummed.
+     * @param chunkLength in bytes below which a region will not be split further.
+     */
+    public ParallelChecksum(final CombinableChecksum checksum, final ForkJoinPool pool, final int chunkLength)
+    {
+        if (chunkLength < 1)
+        {
+            throw new IllegalArgumentException("chunkLength must be positive: " + chunkLength);
+        }
+
+        this.checksum = Objects.requireNonNull(checksum, "checksum");
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.chunkLength = chunkLength;
+    }
+
+    /**
+     * The delegate used to compute the checksum of each chunk.
+     *
+     * @return the delegate used to compute the checksum of each chunk.
+     */
+    public CombinableChecksum checksum()
+    {
+        return checksum;
+    }
+
+    /**
+     * Length in bytes below which a region will not be split further.
+     *
+     * @return length in bytes below which a region will not be split further.
+     */
+    public int chunkLength()
+    {
+        return chunkLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int compute(final long address, final int offset, final int length)
+    {
+        if (length <= chunkLength)
+        {
+            return checksum.compute(address, offset, length);
+        }
+
+        final ChecksumTask task = new ChecksumTask(checksum, chunkLength, address, offset, length);
+
+        return pool == ForkJoinTask.getPool() ? task.invoke() : pool.invoke(task);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int combine(final int checksum1, final int checksum2, final long length2)
+    {
+        return checksum.combine(checksum1, checksum2, length2);
+    }
+
+    private static final class ChecksumTask extends RecursiveTask<Integer>
+    {
+        private static final long serialVersionUID = -5218447390412651373L;
+
+        private final transient CombinableChecksum checksum;
+        private final int chunkLength;
+        private final long address;
+        private final int offset;
+        private final int length;
+
+        ChecksumTask(
+            final CombinableChecksum checksum,
+            final int chunkLength,
+            final long address,
+            final int offset,
+            final int length)
+        {
+            this.checksum = checksum;
+            this.chunkLength = chunkLength;
+            this.address = address;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        protected Integer compute()
+        {
+            return compute(checksum, chunkLength, address, offset, length);
+        }
+
+        private static int compute(
+            final CombinableChecksum checksum,
+            final int chunkLength,
+            final long address,
+            final int offset,
+            final int length)
+        {
+            if (length <= chunkLength)
+            {
+                return checksum.compute(address, offset, length);
+            }
+
+            final int firstLength = length >>> 1;
+            final int secondLength = length - firstLength;
+            final ChecksumTask second = new ChecksumTask(
+                checksum, chunkLength, address, offset + firstLength, secondLength);
+            second.fork();
+
+            final int firstChecksum = compute(checksum, chunkLength, address, offset, firstLength);
+
+            return checksum.combine(firstChecksum, second.join(), secondLength);
+        }
+    }
+}
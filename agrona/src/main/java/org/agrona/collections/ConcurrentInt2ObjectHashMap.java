@@ -0,0 +1,450 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.agrona.BitUtil;
+import org.agrona.UnsafeApi;
+import org.agrona.generation.DoNotSub;
+
+import java.util.function.IntFunction;
+
+import static java.util.Objects.requireNonNull;
+import static org.agrona.BitUtil.findNextPositivePowerOfTwo;
+import static org.agrona.collections.CollectionUtil.validateLoadFactor;
+
+/**
+ * Concurrent map specialised for int keys using open addressing and linear probing, for lookup tables which are read
+ * by many threads and updated rarely.
+ * <p>
+ * Lookups are wait-free, they do not lock, allocate, box the key, or retry. Updates are serialised by a lock held by
+ * the map so they can be made from many threads, but the map is designed for a low rate of updates relative to
+ * lookups. A removed entry is replaced by a marker rather than compacting the chain it belongs to, so a concurrent
+ * lookup never misses an entry which has moved. The markers are purged when the table is rebuilt, which copies the
+ * entries to a new table, doubling the capacity if required, and then publishes it so lookups in progress complete on
+ * the previous table.
+ * <p>
+ * A lookup sees a value once the update which stored it has completed. Iteration via
+ * {@link #forEachInt(IntObjConsumer)} is weakly consistent, i.e. it may or may not see updates made while it runs.
+ * Null values are not supported.
+ *
+ * @param <V> type of values stored in the map.
+ */
+public class ConcurrentInt2ObjectHashMap<V>
+{
+    @DoNotSub static final int MIN_CAPACITY = 8;
+    private static final Object REMOVED = new Object();
+    private static final long ARRAY_BASE_OFFSET = UnsafeApi.arrayBaseOffset(Object[].class);
+    @DoNotSub private static final int SHIFT_FOR_SCALE =
+        BitUtil.calculateShiftForScale(UnsafeApi.arrayIndexScale(Object[].class));
+
+    private final float loadFactor;
+    private final Object lock = new Object();
+    @DoNotSub private volatile int size;
+    @DoNotSub private int usedSlots;
+    @DoNotSub private int resizeThreshold;
+    private volatile Table table;
+
+    /**
+     * Construct a new map with {@link #MIN_CAPACITY} and {@link Hashing#DEFAULT_LOAD_FACTOR}.
+     */
+    public ConcurrentInt2ObjectHashMap()
+    {
+        this(MIN_CAPACITY, Hashing.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct a new map with a given initial capacity and load factor.
+     *
+     * @param initialCapacity for the backing array.
+     * @param loadFactor      limit, including removed entries not yet purged, for rebuilding the table on puts.
+     */
+    public ConcurrentInt2ObjectHashMap(
+        @DoNotSub final int initialCapacity,
+        final float loadFactor)
+    {
+        validateLoadFactor(loadFactor);
+
+        this.loadFactor = loadFactor;
+        /* @DoNotSub */ final int capacity = findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, initialCapacity));
+        /* @DoNotSub */ resizeThreshold = (int)(capacity * loadFactor);
+        table = new Table(capacity);
+    }
+
+    /**
+     * Get the load factor beyond which the table will be rebuilt.
+     *
+     * @return load factor for when the table should be rebuilt.
+     */
+    public float loadFactor()
+    {
+        return loadFactor;
+    }
+
+    /**
+     * Get the total capacity for the map to which the load factor will be a fraction of.
+     *
+     * @return the total capacity for the map.
+     */
+    @DoNotSub public int capacity()
+    {
+        return table.values.length;
+    }
+
+    /**
+     * Get the number of slots, occupied by entries or by removed entries not yet purged, which when reached will
+     * cause the table to be rebuilt on the next put of a new key.
+     *
+     * @return the threshold when the table will be rebuilt.
+     */
+    @DoNotSub public int resizeThreshold()
+    {
+        return resizeThreshold;
+    }
+
+    /**
+     * Get the number of entries in the map.
+     *
+     * @return the number of entries in the map.
+     */
+    @DoNotSub public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Is the map empty.
+     *
+     * @return true if the map has no entries.
+     */
+    public boolean isEmpty()
+    {
+        return 0 == size;
+    }
+
+    /**
+     * Does the map contain the key. This method is wait-free.
+     *
+     * @param key to look up.
+     * @return true if the map contains the key.
+     */
+    public boolean containsKey(final int key)
+    {
+        return null != get(key);
+    }
+
+    /**
+     * Get the value for a key. This method is wait-free.
+     *
+     * @param key to look up.
+     * @return the value for the key or {@code null} if the map does not contain the key.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final int key)
+    {
+        final Table table = this.table;
+        final int[] keys = table.keys;
+        final Object[] values = table.values;
+        @DoNotSub final int mask = values.length - 1;
+        @DoNotSub int index = Hashing.hash(key, mask);
+
+        Object value;
+        while (null != (value = UnsafeApi.getReferenceAcquire(values, offset(index))))
+        {
+            if (key == keys[index])
+            {
+                return REMOVED != value ? (V)value : null;
+            }
+
+            index = ++index & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the value for a key, or a default if the map does not contain the key. This method is wait-free.
+     *
+     * @param key          to look up.
+     * @param defaultValue to be returned if the map does not contain the key.
+     * @return the value for the key or {@code defaultValue} if the map does not contain the key.
+     */
+    public V getOrDefault(final int key, final V defaultValue)
+    {
+        final V value = get(key);
+        return null != value ? value : defaultValue;
+    }
+
+    /**
+     * Put a value for a key, replacing the existing value if present.
+     *
+     * @param key   for the value.
+     * @param value to be stored, which must not be null.
+     * @return the previous value for the key or {@code null} if the map did not contain the key.
+     */
+    public V put(final int key, final V value)
+    {
+        requireNonNull(value, "value cannot be null");
+        synchronized (lock)
+        {
+            return store(key, value, false);
+        }
+    }
+
+    /**
+     * Put a value for a key if the map does not contain the key.
+     *
+     * @param key   for the value.
+     * @param value to be stored, which must not be null.
+     * @return the existing value for the key, or {@code null} if the map did not contain the key and the value was
+     * stored.
+     */
+    public V putIfAbsent(final int key, final V value)
+    {
+        requireNonNull(value, "value cannot be null");
+        synchronized (lock)
+        {
+            return store(key, value, true);
+        }
+    }
+
+    /**
+     * Get the value for a key or, if the map does not contain the key, compute it with the mapping function and store
+     * it if not {@code null}. When the key is present this method is wait-free, otherwise the mapping function is
+     * invoked while holding the update lock so it should be short and must not update this map.
+     *
+     * @param key             to look up.
+     * @param mappingFunction to compute the value if the map does not contain the key.
+     * @return the existing or computed value for the key, which may be {@code null} if computed.
+     */
+    public V computeIfAbsent(final int key, final IntFunction<? extends V> mappingFunction)
+    {
+        requireNonNull(mappingFunction);
+        V value = get(key);
+        if (null == value)
+        {
+            synchronized (lock)
+            {
+                value = get(key);
+                if (null == value)
+                {
+                    value = mappingFunction.apply(key);
+                    if (null != value)
+                    {
+                        store(key, value, false);
+                    }
+                }
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Remove the entry for a key.
+     *
+     * @param key to be removed.
+     * @return the value for the removed key or {@code null} if the map did not contain the key.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final int key)
+    {
+        synchronized (lock)
+        {
+            final Table table = this.table;
+            final int[] keys = table.keys;
+            final Object[] values = table.values;
+            @DoNotSub final int mask = values.length - 1;
+            @DoNotSub int index = Hashing.hash(key, mask);
+
+            Object value;
+            while (null != (value = values[index]))
+            {
+                if (key == keys[index])
+                {
+                    if (REMOVED == value)
+                    {
+                        break;
+                    }
+
+                    UnsafeApi.putReferenceRelease(values, offset(index), REMOVED);
+                    size = size - 1;
+                    return (V)value;
+                }
+
+                index = ++index & mask;
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Remove all entries by publishing a new empty table of the same capacity.
+     */
+    public void clear()
+    {
+        synchronized (lock)
+        {
+            table = new Table(table.values.length);
+            usedSlots = 0;
+            size = 0;
+        }
+    }
+
+    /**
+     * Iterate over the entries of the map without allocating. The iteration is weakly consistent, i.e. it may or may
+     * not see updates made while it runs.
+     *
+     * @param consumer to be called for each entry.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachInt(final IntObjConsumer<V> consumer)
+    {
+        requireNonNull(consumer);
+        final Table table = this.table;
+        final int[] keys = table.keys;
+        final Object[] values = table.values;
+
+        for (@DoNotSub int index = 0, length = values.length; index < length; index++)
+        {
+            final Object value = UnsafeApi.getReferenceAcquire(values, offset(index));
+            if (null != value && REMOVED != value)
+            {
+                consumer.accept(keys[index], (V)value);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEachInt((key, value) -> sb.append(key).append('=').append(value).append(", "));
+        if (sb.length() > 1)
+        {
+            sb.setLength(sb.length() - 2);
+        }
+
+        return sb.append('}').toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private V store(final int key, final Object value, final boolean onlyIfAbsent)
+    {
+        final Table table = this.table;
+        final int[] keys = table.keys;
+        final Object[] values = table.values;
+        @DoNotSub final int mask = values.length - 1;
+        @DoNotSub int index = Hashing.hash(key, mask);
+
+        Object oldValue;
+        while (null != (oldValue = values[index]))
+        {
+            if (key == keys[index])
+            {
+                if (REMOVED == oldValue)
+                {
+                    UnsafeApi.putReferenceRelease(values, offset(index), value);
+                    size = size + 1;
+                    return null;
+                }
+
+                if (!onlyIfAbsent)
+                {
+                    UnsafeApi.putReferenceRelease(values, offset(index), value);
+                }
+
+                return (V)oldValue;
+            }
+
+            index = ++index & mask;
+        }
+
+        if (usedSlots >= resizeThreshold)
+        {
+            rebuild(table);
+            return store(key, value, onlyIfAbsent);
+        }
+
+        // the key is written before the value is released so a lookup which sees the value sees the key
+        keys[index] = key;
+        UnsafeApi.putReferenceRelease(values, offset(index), value);
+        usedSlots++;
+        size = size + 1;
+
+        return null;
+    }
+
+    private void rebuild(final Table oldTable)
+    {
+        final int[] oldKeys = oldTable.keys;
+        final Object[] oldValues = oldTable.values;
+        @DoNotSub final int oldCapacity = oldValues.length;
+        @DoNotSub final int newCapacity = (size + 1) * 2 > resizeThreshold ? oldCapacity << 1 : oldCapacity;
+        if (newCapacity < 0)
+        {
+            throw new IllegalStateException("max capacity reached at size=" + size);
+        }
+
+        final Table newTable = new Table(newCapacity);
+        final int[] keys = newTable.keys;
+        final Object[] values = newTable.values;
+        @DoNotSub final int mask = newCapacity - 1;
+        @DoNotSub int usedSlots = 0;
+
+        for (@DoNotSub int i = 0; i < oldCapacity; i++)
+        {
+            final Object value = oldValues[i];
+            if (null != value && REMOVED != value)
+            {
+                final int key = oldKeys[i];
+                @DoNotSub int index = Hashing.hash(key, mask);
+                while (null != values[index])
+                {
+                    index = ++index & mask;
+                }
+
+                keys[index] = key;
+                values[index] = value;
+                usedSlots++;
+            }
+        }
+
+        this.usedSlots = usedSlots;
+        /* @DoNotSub */ resizeThreshold = (int)(newCapacity * loadFactor);
+        table = newTable;
+    }
+
+    private static long offset(@DoNotSub final int index)
+    {
+        return ARRAY_BASE_OFFSET + ((long)index << SHIFT_FOR_SCALE);
+    }
+
+    private static final class Table
+    {
+        final int[] keys;
+        final Object[] values;
+
+        Table(@DoNotSub final int capacity)
+        {
+            keys = new int[capacity];
+            values = new Object[capacity];
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import java.util.Arrays;
+
+import static org.agrona.BitUtil.findNextPositivePowerOfTwo;
+
+/**
+ * Count-min sketch which estimates how often items have been seen recently, for use as the admission filter of a
+ * cache as described by TinyLFU.
+ * <p>
+ * Four 4-bit counters are kept for each item in a compact {@code long[]}, with each {@code long} holding sixteen
+ * counters. The estimated frequency is the minimum of the four counters so is never less than the true count, capped
+ * at 15. When the number of increments reaches ten times the number of items the sketch was sized for, all counters
+ * are halved so the sketch ages and follows changes in popularity.
+ * <p>
+ * Items are identified by a well distributed hash such as from {@link Hashing#hash(int)} or
+ * {@link Hashing#hash(long)}.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe.
+ */
+public final class FrequencySketch
+{
+    /**
+     * Maximum frequency which can be estimated.
+     */
+    public static final int MAX_FREQUENCY = 15;
+
+    private static final int SAMPLE_SIZE_MULTIPLIER = 10;
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    private static final long ONE_MASK = 0x1111_1111_1111_1111L;
+    private static final long[] SEEDS =
+    {
+        0xC3A5_C85C_97CB_3127L, 0xB492_B66F_BE98_F273L, 0x9AE1_6A3B_2F90_404FL, 0xCBF2_9CE4_8422_2325L
+    };
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Construct a sketch sized for a number of items, such as the capacity of a cache.
+     *
+     * @param maximumSize number of items for which frequencies are to be estimated.
+     * @throws IllegalArgumentException if {@code maximumSize} is less than 1 or too large.
+     */
+    public FrequencySketch(final int maximumSize)
+    {
+        if (maximumSize < 1 || maximumSize > (1 << 30) / SAMPLE_SIZE_MULTIPLIER)
+        {
+            throw new IllegalArgumentException("invalid maximumSize: " + maximumSize);
+        }
+
+        table = new long[findNextPositivePowerOfTwo(maximumSize)];
+        tableMask = table.length - 1;
+        sampleSize = maximumSize * SAMPLE_SIZE_MULTIPLIER;
+    }
+
+    /**
+     * Estimate the frequency of an item.
+     *
+     * @param hash of the item.
+     * @return the estimated frequency from 0 to {@link #MAX_FREQUENCY}.
+     */
+    public int frequency(final int hash)
+    {
+        final long[] table = this.table;
+        final int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+
+        for (int i = 0; i < 4; i++)
+        {
+            final int count = (int)((table[indexOf(hash, i)] >>> ((start + i) << 2)) & 0xF);
+            frequency = Math.min(frequency, count);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Increment the frequency of an item, halving all frequencies if the sample size has been reached.
+     *
+     * @param hash of the item.
+     */
+    public void increment(final int hash)
+    {
+        final int start = (hash & 3) << 2;
+        boolean isIncremented = false;
+
+        for (int i = 0; i < 4; i++)
+        {
+            isIncremented |= incrementAt(indexOf(hash, i), start + i);
+        }
+
+        if (isIncremented && ++additions >= sampleSize)
+        {
+            halve();
+        }
+    }
+
+    /**
+     * Reset all the frequencies to zero.
+     */
+    public void clear()
+    {
+        Arrays.fill(table, 0L);
+        additions = 0;
+    }
+
+    private boolean incrementAt(final int index, final int counterIndex)
+    {
+        final int offset = counterIndex << 2;
+        final long mask = 0xFL << offset;
+        final long word = table[index];
+
+        if ((word & mask) != mask)
+        {
+            table[index] = word + (1L << offset);
+            return true;
+        }
+
+        return false;
+    }
+
+    private int indexOf(final int hash, final int i)
+    {
+        long x = (hash + SEEDS[i]) * SEEDS[i];
+        x += x >>> 32;
+
+        return (int)x & tableMask;
+    }
+
+    private void halve()
+    {
+        final long[] table = this.table;
+        int oddCount = 0;
+
+        for (int i = 0; i < table.length; i++)
+        {
+            oddCount += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        additions = (additions >>> 1) - (oddCount >>> 2);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Tags of 7 bits of the hash for each slot of an open addressing table with linear probing, kept in a parallel
+ * {@code byte[]} so a lookup can check a group of 8 slots at once using SWAR (SIMD within a register) and only call
+ * {@link Object#equals(Object)} on a key whose tag matches, in the style of a SwissTable.
+ * <p>
+ * An empty slot has a tag of zero and an occupied slot has the high bit set. The tags of the first
+ * {@code GROUP_WIDTH - 1} slots are mirrored after the last slot so a group can be loaded from any slot without
+ * wrapping.
+ */
+final class HashTags
+{
+    static final int GROUP_WIDTH = 8;
+    static final byte EMPTY = 0;
+
+    private static final long LSB_MASK = 0x0101_0101_0101_0101L;
+    private static final long MSB_MASK = 0x8080_8080_8080_8080L;
+    private static final VarHandle GROUP_VH = MethodHandles.byteArrayViewVarHandle(
+        long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private HashTags()
+    {
+    }
+
+    /**
+     * Allocate the tags for a table.
+     *
+     * @param capacity of the table which must be a power of 2 of at least {@link #GROUP_WIDTH}.
+     * @return the tags with all slots empty.
+     */
+    static byte[] allocate(final int capacity)
+    {
+        return new byte[capacity + GROUP_WIDTH - 1];
+    }
+
+    /**
+     * Tag for a key computed from the top bits of a multiplicative hash, so it is independent of the low bits used
+     * to index the table.
+     *
+     * @param hashCode of the key.
+     * @return the tag for the key.
+     */
+    static byte tag(final int hashCode)
+    {
+        return (byte)(0x80 | ((hashCode * 0x9E3779B9) >>> 25));
+    }
+
+    /**
+     * Set the tag for a slot including its mirror.
+     *
+     * @param tags to be updated.
+     * @param slot to be tagged.
+     * @param tag  for the slot, or {@link #EMPTY}.
+     */
+    static void set(final byte[] tags, final int slot, final byte tag)
+    {
+        tags[slot] = tag;
+        if (slot < GROUP_WIDTH - 1)
+        {
+            tags[tags.length - (GROUP_WIDTH - 1) + slot] = tag;
+        }
+    }
+
+    /**
+     * Clear all the tags.
+     *
+     * @param tags to be cleared.
+     */
+    static void clear(final byte[] tags)
+    {
+        Arrays.fill(tags, EMPTY);
+    }
+
+    /**
+     * Find the slot of a key by probing groups of tags from a starting slot.
+     *
+     * @param tags      for the table.
+     * @param keys      array holding the key of slot {@code n} at index {@code n << keyShift}.
+     * @param keyShift  to convert a slot to the index of its key.
+     * @param key       to be found.
+     * @param tag       of the key.
+     * @param startSlot from which to probe.
+     * @return the slot of the key or -1 if not found.
+     */
+    static int find(
+        final byte[] tags,
+        final Object[] keys,
+        final int keyShift,
+        final Object key,
+        final byte tag,
+        final int startSlot)
+    {
+        final int slotMask = tags.length - GROUP_WIDTH;
+        final long tagPattern = LSB_MASK * (tag & 0xFF);
+        int slot = startSlot;
+
+        while (true)
+        {
+            final long group = (long)GROUP_VH.get(tags, slot);
+            final long empties = zeroBytes(group);
+            long matches = zeroBytes(group ^ tagPattern);
+            if (0 != empties)
+            {
+                // only slots before the first empty one are in the probe chain
+                matches &= empties ^ (empties - 1);
+            }
+
+            while (0 != matches)
+            {
+                final int matchSlot = (slot + (Long.numberOfTrailingZeros(matches) >>> 3)) & slotMask;
+                final Object candidate = keys[matchSlot << keyShift];
+                if (candidate == key || candidate.equals(key))
+                {
+                    return matchSlot;
+                }
+
+                matches &= matches - 1;
+            }
+
+            if (0 != empties)
+            {
+                return -1;
+            }
+
+            slot = (slot + GROUP_WIDTH) & slotMask;
+        }
+    }
+
+    /**
+     * Set the high bit of each byte which is zero. Bytes above a zero byte may also be set due to the borrow, which
+     * is harmless when only the lowest zero byte is relied upon or candidates are confirmed.
+     */
+    private static long zeroBytes(final long word)
+    {
+        return (word - LSB_MASK) & ~word & MSB_MASK;
+    }
+}
@@ -37,6 +37,13 @@ import static org.agrona.collections.CollectionUtil.validateLoadFactor;
 
 /**
  * An open-addressing with linear probing hash map specialised for primitive key and value pairs.
+ * <p>
+ * By default, when the size exceeds the {@link #resizeThreshold()} the map is rehashed to a table of twice the
+ * capacity in a single operation, which takes time proportional to the capacity. Alternatively the map can be
+ * constructed to rehash incrementally, see {@link #incrementalRehashSlots()}, so that the previous table is kept and
+ * a bounded number of its slots are moved to the new table on each mutating operation.
+ * While an incremental rehash is in progress lookups check both tables, and bulk operations such as iteration first
+ * complete the rehash.
  */
 public class Int2IntHashMap implements Map<Integer, Integer>
 {
@@ -47,8 +54,13 @@ public class Int2IntHashMap implements Map<Integer, Integer>
     @DoNotSub private int resizeThreshold;
     @DoNotSub private int size = 0;
     private final boolean shouldAvoidAllocation;
+    @DoNotSub private final int incrementalRehashSlots;
+    @DoNotSub private int rehashKeyIndex;
+    @DoNotSub private int rehashRemainingSlots;
+    @DoNotSub private int rehashStepSlots;
 
     private int[] entries;
+    private int[] rehashEntries;
     private KeySet keySet;
     private ValueCollection values;
     private EntrySet entrySet;
@@ -91,12 +103,44 @@ public class Int2IntHashMap implements Map<Integer, Integer>
         @DoNotSub final float loadFactor,
         final int missingValue,
         final boolean shouldAvoidAllocation)
+    {
+        this(initialCapacity, loadFactor, missingValue, shouldAvoidAllocation, 0);
+    }
+
+    /**
+     * Create a map instance with specified parameters which can rehash incrementally to bound the latency of
+     * mutating operations when the map grows.
+     * <p>
+     * When rehashing incrementally the previous table is retained until all of its slots have been moved, so the
+     * memory for both tables is held for longer than when rehashing all at once.
+     *
+     * @param initialCapacity        for the map to override {@link #MIN_CAPACITY}
+     * @param loadFactor             for the map to override {@link Hashing#DEFAULT_LOAD_FACTOR}.
+     * @param missingValue           for the map that represents null.
+     * @param shouldAvoidAllocation  should allocation be avoided by caching iterators and map entries.
+     * @param incrementalRehashSlots number of slots of the previous table to move on each mutating operation while
+     *                               rehashing, or {@code 0} to rehash all at once. More are moved when needed
+     *                               for a rehash to complete before the map grows again.
+     * @throws IllegalArgumentException if {@code incrementalRehashSlots} is negative.
+     */
+    public Int2IntHashMap(
+        @DoNotSub final int initialCapacity,
+        @DoNotSub final float loadFactor,
+        final int missingValue,
+        final boolean shouldAvoidAllocation,
+        @DoNotSub final int incrementalRehashSlots)
     {
         validateLoadFactor(loadFactor);
+        if (incrementalRehashSlots < 0)
+        {
+            throw new IllegalArgumentException("incrementalRehashSlots must not be negative: " +
+                incrementalRehashSlots);
+        }
 
         this.loadFactor = loadFactor;
         this.missingValue = missingValue;
         this.shouldAvoidAllocation = shouldAvoidAllocation;
+        this.incrementalRehashSlots = incrementalRehashSlots;
 
         capacity(findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, initialCapacity)));
     }
@@ -113,8 +157,16 @@ public class Int2IntHashMap implements Map<Integer, Integer>
         this.size = mapToCopy.size;
         this.shouldAvoidAllocation = mapToCopy.shouldAvoidAllocation;
         this.missingValue = mapToCopy.missingValue;
+        this.incrementalRehashSlots = mapToCopy.incrementalRehashSlots;
 
         entries = mapToCopy.entries.clone();
+        if (null != mapToCopy.rehashEntries)
+        {
+            rehashEntries = mapToCopy.rehashEntries.clone();
+            rehashKeyIndex = mapToCopy.rehashKeyIndex;
+            rehashRemainingSlots = mapToCopy.rehashRemainingSlots;
+            rehashStepSlots = mapToCopy.rehashStepSlots;
+        }
     }
 
     /**
@@ -158,6 +210,39 @@ public class Int2IntHashMap implements Map<Integer, Integer>
         return resizeThreshold;
     }
 
+    /**
+     * Get the number of slots of the previous table moved on each mutating operation while rehashing incrementally.
+     * More are moved when needed for a rehash to complete before the map grows again.
+     *
+     * @return the number of slots moved on each mutating operation, or {@code 0} if the map rehashes all at once.
+     */
+    @DoNotSub public int incrementalRehashSlots()
+    {
+        return incrementalRehashSlots;
+    }
+
+    /**
+     * Is an incremental rehash in progress, i.e. are some entries still in the previous table.
+     *
+     * @return true if an incremental rehash is in progress.
+     */
+    public boolean isRehashing()
+    {
+        return null != rehashEntries;
+    }
+
+    /**
+     * Complete an incremental rehash in progress by moving all the remaining entries of the previous table, e.g.
+     * when the map is not on a latency sensitive path. Does nothing if a rehash is not in progress.
+     */
+    public void completeRehash()
+    {
+        if (null != rehashEntries)
+        {
+            rehashSlots(rehashRemainingSlots);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -213,6 +298,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
             index = next(index, mask);
         }
 
+        if (missingValue == value && null != rehashEntries)
+        {
+            value = rehashGet(key);
+        }
+
         return value;
     }
 
@@ -232,6 +322,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
             throw new IllegalArgumentException("cannot accept missingValue");
         }
 
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
         @DoNotSub int index = Hashing.evenHash(key, mask);
@@ -277,6 +372,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
             throw new IllegalArgumentException("cannot accept missingValue");
         }
 
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
         @DoNotSub int index = Hashing.evenHash(key, mask);
@@ -307,8 +407,134 @@ public class Int2IntHashMap implements Map<Integer, Integer>
         {
             // entries.length = 2 * capacity
             @DoNotSub final int newCapacity = entries.length;
+            if (0 == incrementalRehashSlots)
+            {
+                rehash(newCapacity);
+            }
+            else
+            {
+                startRehash(newCapacity);
+            }
+        }
+    }
+
+    private void startRehash(@DoNotSub final int newCapacity)
+    {
+        completeRehash();
+
+        final int missingValue = this.missingValue;
+        final int[] oldEntries = entries;
+        @DoNotSub final int length = oldEntries.length;
+
+        @DoNotSub int emptyKeyIndex = 0;
+        while (emptyKeyIndex < length && missingValue != oldEntries[emptyKeyIndex + 1])
+        {
+            emptyKeyIndex += 2;
+        }
+
+        if (emptyKeyIndex == length)
+        {
             rehash(newCapacity);
+            return;
         }
+
+        capacity(newCapacity);
+
+        // slots are moved in descending order from an empty slot so those remaining are never split from their chain
+        rehashEntries = oldEntries;
+        rehashKeyIndex = emptyKeyIndex;
+        rehashRemainingSlots = (length >> 1) - 1;
+
+        // move enough slots on each mutating operation for the rehash to complete before the map grows again
+        rehashStepSlots = Math.max(
+            incrementalRehashSlots, (rehashRemainingSlots - 1) / (resizeThreshold - size + 1) + 1);
+    }
+
+    private void rehashStep(final int key)
+    {
+        final int missingValue = this.missingValue;
+        final int[] oldEntries = rehashEntries;
+        @DoNotSub final int mask = oldEntries.length - 1;
+        @DoNotSub int index = Hashing.evenHash(key, mask);
+
+        int value;
+        while (missingValue != (value = oldEntries[index + 1]))
+        {
+            if (key == oldEntries[index])
+            {
+                oldEntries[index + 1] = missingValue;
+                compactChain(oldEntries, index);
+                rehashEntry(key, value);
+                break;
+            }
+
+            index = next(index, mask);
+        }
+
+        rehashSlots(Math.min(rehashStepSlots, rehashRemainingSlots));
+    }
+
+    private void rehashSlots(@DoNotSub final int slots)
+    {
+        final int missingValue = this.missingValue;
+        final int[] oldEntries = rehashEntries;
+        @DoNotSub final int mask = oldEntries.length - 1;
+        @DoNotSub int keyIndex = rehashKeyIndex;
+
+        for (@DoNotSub int i = 0; i < slots; i++)
+        {
+            keyIndex = (keyIndex - 2) & mask;
+            final int value = oldEntries[keyIndex + 1];
+            if (missingValue != value)
+            {
+                oldEntries[keyIndex + 1] = missingValue;
+                rehashEntry(oldEntries[keyIndex], value);
+            }
+        }
+
+        rehashKeyIndex = keyIndex;
+        rehashRemainingSlots -= slots;
+        if (0 == rehashRemainingSlots)
+        {
+            rehashEntries = null;
+        }
+    }
+
+    private void rehashEntry(final int key, final int value)
+    {
+        final int missingValue = this.missingValue;
+        final int[] entries = this.entries;
+        @DoNotSub final int mask = entries.length - 1;
+        @DoNotSub int index = Hashing.evenHash(key, mask);
+
+        while (missingValue != entries[index + 1])
+        {
+            index = next(index, mask);
+        }
+
+        entries[index] = key;
+        entries[index + 1] = value;
+    }
+
+    private int rehashGet(final int key)
+    {
+        final int missingValue = this.missingValue;
+        final int[] oldEntries = rehashEntries;
+        @DoNotSub final int mask = oldEntries.length - 1;
+        @DoNotSub int index = Hashing.evenHash(key, mask);
+
+        int value;
+        while (missingValue != (value = oldEntries[index + 1]))
+        {
+            if (key == oldEntries[index])
+            {
+                break;
+            }
+
+            index = next(index, mask);
+        }
+
+        return value;
     }
 
     private void rehash(@DoNotSub final int newCapacity)
@@ -365,6 +591,7 @@ public class Int2IntHashMap implements Map<Integer, Integer>
     public void forEachInt(final IntIntConsumer consumer)
     {
         requireNonNull(consumer);
+        completeRehash();
         final int missingValue = this.missingValue;
         final int[] entries = this.entries;
         @DoNotSub final int length = entries.length;
@@ -402,6 +629,7 @@ public class Int2IntHashMap implements Map<Integer, Integer>
         final int missingValue = this.missingValue;
         if (missingValue != value)
         {
+            completeRehash();
             final int[] entries = this.entries;
             @DoNotSub final int length = entries.length;
             @DoNotSub int remaining = size;
@@ -434,6 +662,8 @@ public class Int2IntHashMap implements Map<Integer, Integer>
             Arrays.fill(entries, missingValue);
             size = 0;
         }
+
+        rehashEntries = null;
     }
 
     /**
@@ -442,6 +672,7 @@ public class Int2IntHashMap implements Map<Integer, Integer>
      */
     public void compact()
     {
+        completeRehash();
         @DoNotSub final int idealCapacity = (int)Math.round(size() * (1.0d / loadFactor));
         rehash(findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, idealCapacity)));
     }
@@ -456,6 +687,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
     public int computeIfAbsent(final int key, final IntUnaryOperator mappingFunction)
     {
         requireNonNull(mappingFunction);
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
@@ -493,6 +729,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
     public int computeIfPresent(final int key, final IntBinaryOperator remappingFunction)
     {
         requireNonNull(remappingFunction);
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
@@ -533,6 +774,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
     public int compute(final int key, final IntBinaryOperator remappingFunction)
     {
         requireNonNull(remappingFunction);
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
@@ -733,6 +979,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
      */
     public int remove(final int key)
     {
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
@@ -766,6 +1017,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
      */
     public boolean remove(final int key, final int value)
     {
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
@@ -811,6 +1067,12 @@ public class Int2IntHashMap implements Map<Integer, Integer>
         {
             throw new IllegalArgumentException("cannot accept missingValue");
         }
+
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
         @DoNotSub int index = Hashing.evenHash(key, mask);
@@ -847,11 +1109,17 @@ public class Int2IntHashMap implements Map<Integer, Integer>
         return newValue;
     }
 
+    private void compactChain(@DoNotSub final int deleteKeyIndex)
+    {
+        compactChain(entries, deleteKeyIndex);
+    }
+
     @SuppressWarnings("FinalParameters")
-    private void compactChain(@DoNotSub int deleteKeyIndex)
+    private void compactChain(
+        final int[] entries,
+        @DoNotSub int deleteKeyIndex)
     {
         final int missingValue = this.missingValue;
-        final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
         @DoNotSub int keyIndex = deleteKeyIndex;
 
@@ -886,6 +1154,7 @@ public class Int2IntHashMap implements Map<Integer, Integer>
      */
     public int minValue()
     {
+        completeRehash();
         final int missingValue = this.missingValue;
         int min = 0 == size ? missingValue : Integer.MAX_VALUE;
         final int[] entries = this.entries;
@@ -910,6 +1179,7 @@ public class Int2IntHashMap implements Map<Integer, Integer>
      */
     public int maxValue()
     {
+        completeRehash();
         final int missingValue = this.missingValue;
         int max = 0 == size ? missingValue : Integer.MIN_VALUE;
         final int[] entries = this.entries;
@@ -963,6 +1233,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
      */
     public int replace(final int key, final int value)
     {
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
@@ -993,6 +1268,11 @@ public class Int2IntHashMap implements Map<Integer, Integer>
      */
     public boolean replace(final int key, final int oldValue, final int newValue)
     {
+        if (null != rehashEntries)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final int[] entries = this.entries;
         @DoNotSub final int mask = entries.length - 1;
@@ -1028,6 +1308,7 @@ public class Int2IntHashMap implements Map<Integer, Integer>
     public void replaceAllInt(final IntIntFunction function)
     {
         requireNonNull(function);
+        completeRehash();
         final int missingValue = this.missingValue;
         final int[] entries = this.entries;
         @DoNotSub final int length = entries.length;
@@ -1116,6 +1397,7 @@ public class Int2IntHashMap implements Map<Integer, Integer>
 
         final void reset()
         {
+            completeRehash();
             isPositionValid = false;
             remaining = Int2IntHashMap.this.size;
             final int missingValue = Int2IntHashMap.this.missingValue;
@@ -56,6 +56,26 @@ public class Int2NullableObjectHashMap<V> extends Int2ObjectHashMap<V>
         super(initialCapacity, loadFactor, shouldAvoidAllocation);
     }
 
+    /**
+     * Construct a new map which can rehash incrementally to bound the latency of mutating operations when the map
+     * grows.
+     *
+     * @param initialCapacity        for the backing array.
+     * @param loadFactor             limit for resizing on puts.
+     * @param shouldAvoidAllocation  should allocation be avoided by caching iterators and map entries.
+     * @param incrementalRehashSlots number of slots of the previous table to move on each mutating operation while
+     *                               rehashing, or {@code 0} to rehash all at once. More are moved when needed
+     *                               for a rehash to complete before the map grows again.
+     */
+    public Int2NullableObjectHashMap(
+        @DoNotSub final int initialCapacity,
+        final float loadFactor,
+        final boolean shouldAvoidAllocation,
+        @DoNotSub final int incrementalRehashSlots)
+    {
+        super(initialCapacity, loadFactor, shouldAvoidAllocation, incrementalRehashSlots);
+    }
+
     /**
      * Copy construct a new map from an existing one.
      *
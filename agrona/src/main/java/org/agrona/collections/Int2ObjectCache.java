@@ -15,6 +15,7 @@
  */
 package org.agrona.collections;
 
+import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.generation.DoNotSub;
 
 import java.util.AbstractCollection;
@@ -44,6 +45,16 @@ import static org.agrona.collections.CollectionUtil.validatePositivePowerOfTwo;
  * references are 32-bit references and 64-byte cache lines, YMMV). A linear search within a cache line is much
  * less costly than a cache-miss to another line.
  * <p>
+ * Optionally a {@link FrequencySketch} of recent accesses can be used as an admission filter, as described by TinyLFU,
+ * so that when a set is full a new entry only replaces the oldest if the new key has been accessed more often. This
+ * stops scans of keys which are used once from flushing out frequently used entries. A rejected value is passed to
+ * the eviction consumer as it is not retained, unless it is returned to the caller by {@code computeIfAbsent},
+ * {@code compute} or {@code merge}.
+ * <p>
+ * The statistics for each set can be recorded to {@link AtomicCounter}s, see
+ * {@link #recordSetStatistics(AtomicCounter[], AtomicCounter[], AtomicCounter[])}, to tune the number of sets and the
+ * set size from production use.
+ * <p>
  * Null values are not supported by this cache.
  *
  * @param <V> type of values stored in the {@link Map}
@@ -64,6 +75,7 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
     private long cachePuts = 0;
     private long cacheHits = 0;
     private long cacheMisses = 0;
+    private long cacheRejections = 0;
 
     @DoNotSub private int size;
     @DoNotSub private final int capacity;
@@ -74,6 +86,10 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
     private final int[] keys;
     private final Object[] values;
     private final Consumer<V> evictionConsumer;
+    private final FrequencySketch admissionSketch;
+    private AtomicCounter[] setHitCounters;
+    private AtomicCounter[] setMissCounters;
+    private AtomicCounter[] setEvictionCounters;
 
     private ValueCollection valueCollection;
     private KeySet keySet;
@@ -90,6 +106,24 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
         @DoNotSub final int numSets,
         @DoNotSub final int setSize,
         final Consumer<V> evictionConsumer)
+    {
+        this(numSets, setSize, evictionConsumer, false);
+    }
+
+    /**
+     * Constructs cache with provided configuration and optionally an admission filter.
+     *
+     * @param numSets                  number of sets, must be power or two.
+     * @param setSize                  size of a single set, must be power or two.
+     * @param evictionConsumer         consumer to be notified when entry is being evicted from the cache.
+     * @param shouldUseAdmissionFilter should a new entry only replace the oldest in a full set if its key has been
+     *                                 accessed more often, according to a {@link FrequencySketch}.
+     */
+    public Int2ObjectCache(
+        @DoNotSub final int numSets,
+        @DoNotSub final int setSize,
+        final Consumer<V> evictionConsumer,
+        final boolean shouldUseAdmissionFilter)
     {
         validatePositivePowerOfTwo(numSets);
         validatePositivePowerOfTwo(setSize);
@@ -109,6 +143,60 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
         keys = new int[capacity];
         values = new Object[capacity];
         this.evictionConsumer = evictionConsumer;
+        admissionSketch = shouldUseAdmissionFilter ? new FrequencySketch(capacity) : null;
+    }
+
+    /**
+     * Get the number of sets in the cache.
+     *
+     * @return the number of sets in the cache.
+     */
+    @DoNotSub public int numSets()
+    {
+        return mask + 1;
+    }
+
+    /**
+     * Get the size of a single set.
+     *
+     * @return the size of a single set.
+     */
+    @DoNotSub public int setSize()
+    {
+        return setSize;
+    }
+
+    /**
+     * Is an admission filter used so a new entry only replaces the oldest in a full set if its key has been accessed
+     * more often.
+     *
+     * @return true if an admission filter is used.
+     */
+    public boolean isAdmissionFiltered()
+    {
+        return null != admissionSketch;
+    }
+
+    /**
+     * Record the statistics for each set to counters which can be observed by other threads. Each array must hold a
+     * counter for each set, indexed by set number, or be null so that statistic is not recorded. The counters are
+     * incremented with release semantics by the thread using the cache.
+     *
+     * @param hitCounters      for cache hits on the {@link #get(int)} method, or null.
+     * @param missCounters     for cache misses on the {@link #get(int)} method, or null.
+     * @param evictionCounters for entries evicted to make space for a new entry, or null.
+     * @throws IllegalArgumentException if an array does not have a counter for each set.
+     */
+    public void recordSetStatistics(
+        final AtomicCounter[] hitCounters, final AtomicCounter[] missCounters, final AtomicCounter[] evictionCounters)
+    {
+        validateSetCounters(hitCounters);
+        validateSetCounters(missCounters);
+        validateSetCounters(evictionCounters);
+
+        setHitCounters = hitCounters;
+        setMissCounters = missCounters;
+        setEvictionCounters = evictionCounters;
     }
 
     /**
@@ -141,6 +229,16 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
         return cachePuts;
     }
 
+    /**
+     * The number of new entries which were not put in the cache because the admission filter rejected them.
+     *
+     * @return number of new entries which were rejected by the admission filter.
+     */
+    public long cacheRejections()
+    {
+        return cacheRejections;
+    }
+
     /**
      * Reset the cache statistics counters to zero.
      */
@@ -149,6 +247,7 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
         cacheHits = 0;
         cacheMisses = 0;
         cachePuts = 0;
+        cacheRejections = 0;
     }
 
     /**
@@ -255,6 +354,11 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
     @SuppressWarnings("unchecked")
     public V get(final int key)
     {
+        if (null != admissionSketch)
+        {
+            admissionSketch.increment(Hashing.hash(key));
+        }
+
         @DoNotSub final int setNumber = Hashing.hash(key, mask);
         @DoNotSub final int setBeginIndex = setNumber << setSizeShift;
 
@@ -271,11 +375,13 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
             if (key == keys[i])
             {
                 cacheHits++;
+                increment(setHitCounters, setNumber);
                 return (V)value;
             }
         }
 
         cacheMisses++;
+        increment(setMissCounters, setNumber);
         return null;
     }
 
@@ -340,6 +446,9 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
      * {@link java.util.function.IntFunction} and put it in the  cache.
      * <p>
      * Primitive specialized version of {@link Map#computeIfAbsent}.
+     * <p>
+     * If the admission filter rejects the new entry then the value is returned without being cached, and is not passed
+     * to the eviction consumer.
      *
      * @param key             to search on.
      * @param mappingFunction to provide a value if the get returns null.
@@ -354,7 +463,7 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
             value = mappingFunction.apply(key);
             if (null != value)
             {
-                put(key, value);
+                insert(key, value);
             }
         }
 
@@ -390,7 +499,7 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
             final V newValue = remappingFunction.apply(key, oldValue);
             if (null != newValue)
             {
-                put(key, newValue);
+                insert(key, newValue);
                 return newValue;
             }
             else
@@ -415,6 +524,9 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
      * current mapping).
      * <p>
      * Primitive specialized version of {@link Map#compute(Object, BiFunction)}.
+     * <p>
+     * If the admission filter rejects a new entry then the value is returned without being cached, and is not passed
+     * to the eviction consumer.
      *
      * @param key               with which the specified value is to be associated.
      * @param remappingFunction the function to compute a value.
@@ -426,7 +538,7 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
         final V newValue = remappingFunction.apply(key, oldValue);
         if (null != newValue)
         {
-            put(key, newValue);
+            insert(key, newValue);
             return newValue;
         }
         else
@@ -454,6 +566,9 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
      * or removes if the result is {@code null}.
      * <p>
      * Primitive specialized version of {@link Map#merge(Object, Object, BiFunction)}.
+     * <p>
+     * If the admission filter rejects a new entry then the value is returned without being cached, and is not passed
+     * to the eviction consumer.
      *
      * @param key               with which the resulting value is to be associated.
      * @param value             the non-null value to be merged with the existing value associated with the key or,
@@ -471,7 +586,7 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
         final V newValue = null == oldValue ? value : remappingFunction.apply(oldValue, value);
         if (null != newValue)
         {
-            put(key, newValue);
+            insert(key, newValue);
             return newValue;
         }
         else
@@ -495,6 +610,9 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
      * {@code null}, else returns the current value.
      * <p>
      * Primitive specialized version of {@link Map#putIfAbsent(Object, Object)}.
+     * <p>
+     * As with {@code put}, if the admission filter rejects the new entry then the value is passed to the eviction
+     * consumer as it is not retained.
      *
      * @param key   with which the specified value is to be associated.
      * @param value to be associated with the specified key.
@@ -503,10 +621,14 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
      */
     public V putIfAbsent(final int key, final V value)
     {
+        requireNonNull(value, "null values are not supported");
         final V existingValue = get(key);
         if (null == existingValue)
         {
-            put(key, value);
+            if (!insert(key, value))
+            {
+                evictionConsumer.accept(value);
+            }
             return null;
         }
         return existingValue;
@@ -527,11 +649,25 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
      * @param value to be inserted in the {@link Map}
      * @return always null (as per JCache API, as opposed to {@link Map})
      */
-    @SuppressWarnings("unchecked")
     public V put(final int key, final V value)
     {
         requireNonNull(value, "null values are not supported");
+        if (null != admissionSketch)
+        {
+            admissionSketch.increment(Hashing.hash(key));
+        }
+
+        if (!insert(key, value))
+        {
+            evictionConsumer.accept(value);
+        }
 
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean insert(final int key, final V value)
+    {
         @DoNotSub final int setNumber = Hashing.hash(key, mask);
         @DoNotSub final int setBeginIndex = setNumber << setSizeShift;
         @DoNotSub int i = setBeginIndex;
@@ -555,6 +691,13 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
             }
         }
 
+        final boolean shouldEvictOldest = i == setBeginIndex + setSize;
+        if (shouldEvictOldest && null != admissionSketch && !isAdmitted(key, keys[i - 1]))
+        {
+            cacheRejections++;
+            return false;
+        }
+
         if (null == evictedValue)
         {
             evictedValue = values[setBeginIndex + (setSize - 1)];
@@ -567,6 +710,11 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
 
         cachePuts++;
 
+        if (shouldEvictOldest)
+        {
+            increment(setEvictionCounters, setNumber);
+        }
+
         if (null != evictedValue)
         {
             evictionConsumer.accept((V)evictedValue);
@@ -576,7 +724,31 @@ public class Int2ObjectCache<V> implements Map<Integer, V>
             ++size;
         }
 
-        return null;
+        return true;
+    }
+
+    private boolean isAdmitted(final int candidateKey, final int victimKey)
+    {
+        final FrequencySketch admissionSketch = this.admissionSketch;
+        return admissionSketch.frequency(Hashing.hash(candidateKey)) >
+            admissionSketch.frequency(Hashing.hash(victimKey));
+    }
+
+    private void validateSetCounters(final AtomicCounter[] counters)
+    {
+        if (null != counters && counters.length != numSets())
+        {
+            throw new IllegalArgumentException(
+                "counters must have one per set: numSets=" + numSets() + " length=" + counters.length);
+        }
+    }
+
+    private static void increment(final AtomicCounter[] counters, @DoNotSub final int setNumber)
+    {
+        if (null != counters)
+        {
+            counters[setNumber].incrementRelease();
+        }
     }
 
     /**
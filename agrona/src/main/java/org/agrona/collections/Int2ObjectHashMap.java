@@ -38,6 +38,12 @@ import static org.agrona.collections.CollectionUtil.validateLoadFactor;
 /**
  * {@link java.util.Map} implementation specialised for int keys using open addressing and
  * linear probing for cache efficient access.
+ * <p>
+ * By default, when the size exceeds the {@link #resizeThreshold()} the map is rehashed to a table of twice the
+ * capacity in a single operation, which takes time proportional to the capacity. Alternatively the map can be
+ * constructed to rehash incrementally, see {@link #incrementalRehashSlots()}, so that the previous table is kept and
+ * a bounded number of its slots are moved to the new table on each mutating operation. While an incremental rehash
+ * is in progress lookups check both tables, and bulk operations such as iteration first complete the rehash.
  *
  * @param <V> type of values stored in the {@link java.util.Map}
  */
@@ -49,9 +55,15 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
     @DoNotSub private int resizeThreshold;
     @DoNotSub private int size;
     private final boolean shouldAvoidAllocation;
+    @DoNotSub private final int incrementalRehashSlots;
+    @DoNotSub private int rehashIndex;
+    @DoNotSub private int rehashRemainingSlots;
+    @DoNotSub private int rehashStepSlots;
 
     private int[] keys;
     private Object[] values;
+    private int[] rehashKeys;
+    private Object[] rehashValues;
 
     private ValueCollection valueCollection;
     private KeySet keySet;
@@ -89,11 +101,41 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         @DoNotSub final int initialCapacity,
         final float loadFactor,
         final boolean shouldAvoidAllocation)
+    {
+        this(initialCapacity, loadFactor, shouldAvoidAllocation, 0);
+    }
+
+    /**
+     * Construct a new map which can rehash incrementally to bound the latency of mutating operations when the map
+     * grows.
+     * <p>
+     * When rehashing incrementally the previous table is retained until all of its slots have been moved, so the
+     * memory for both tables is held for longer than when rehashing all at once.
+     *
+     * @param initialCapacity        for the backing array.
+     * @param loadFactor             limit for resizing on puts.
+     * @param shouldAvoidAllocation  should allocation be avoided by caching iterators and map entries.
+     * @param incrementalRehashSlots number of slots of the previous table to move on each mutating operation while
+     *                               rehashing, or {@code 0} to rehash all at once. More are moved when needed
+     *                               for a rehash to complete before the map grows again.
+     * @throws IllegalArgumentException if {@code incrementalRehashSlots} is negative.
+     */
+    public Int2ObjectHashMap(
+        @DoNotSub final int initialCapacity,
+        final float loadFactor,
+        final boolean shouldAvoidAllocation,
+        @DoNotSub final int incrementalRehashSlots)
     {
         validateLoadFactor(loadFactor);
+        if (incrementalRehashSlots < 0)
+        {
+            throw new IllegalArgumentException("incrementalRehashSlots must not be negative: " +
+                incrementalRehashSlots);
+        }
 
         this.loadFactor = loadFactor;
         this.shouldAvoidAllocation = shouldAvoidAllocation;
+        this.incrementalRehashSlots = incrementalRehashSlots;
 
         /* @DoNotSub */ final int capacity = findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, initialCapacity));
         /* @DoNotSub */ resizeThreshold = (int)(capacity * loadFactor);
@@ -113,9 +155,18 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         this.resizeThreshold = mapToCopy.resizeThreshold;
         this.size = mapToCopy.size;
         this.shouldAvoidAllocation = mapToCopy.shouldAvoidAllocation;
+        this.incrementalRehashSlots = mapToCopy.incrementalRehashSlots;
 
         keys = mapToCopy.keys.clone();
         values = mapToCopy.values.clone();
+        if (null != mapToCopy.rehashValues)
+        {
+            rehashKeys = mapToCopy.rehashKeys.clone();
+            rehashValues = mapToCopy.rehashValues.clone();
+            rehashIndex = mapToCopy.rehashIndex;
+            rehashRemainingSlots = mapToCopy.rehashRemainingSlots;
+            rehashStepSlots = mapToCopy.rehashStepSlots;
+        }
     }
 
     /**
@@ -149,6 +200,39 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         return resizeThreshold;
     }
 
+    /**
+     * Get the number of slots of the previous table moved on each mutating operation while rehashing incrementally.
+     * More are moved when needed for a rehash to complete before the map grows again.
+     *
+     * @return the number of slots moved on each mutating operation, or {@code 0} if the map rehashes all at once.
+     */
+    @DoNotSub public int incrementalRehashSlots()
+    {
+        return incrementalRehashSlots;
+    }
+
+    /**
+     * Is an incremental rehash in progress, i.e. are some entries still in the previous table.
+     *
+     * @return true if an incremental rehash is in progress.
+     */
+    public boolean isRehashing()
+    {
+        return null != rehashValues;
+    }
+
+    /**
+     * Complete an incremental rehash in progress by moving all the remaining entries of the previous table, e.g.
+     * when the map is not on a latency sensitive path. Does nothing if a rehash is not in progress.
+     */
+    public void completeRehash()
+    {
+        if (null != rehashValues)
+        {
+            rehashSlots(rehashRemainingSlots);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -197,6 +281,7 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
     public void forEachInt(final IntObjConsumer<V> consumer)
     {
         requireNonNull(consumer);
+        completeRehash();
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int length = values.length;
@@ -245,6 +330,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
             index = ++index & mask;
         }
 
+        if (!found && null != rehashValues)
+        {
+            found = null != rehashGet(key);
+        }
+
         return found;
     }
 
@@ -258,6 +348,7 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
 
         if (null != val)
         {
+            completeRehash();
             final Object[] values = this.values;
             @DoNotSub final int length = values.length;
             for (@DoNotSub int i = 0, remaining = size; remaining > 0 && i < length; i++)
@@ -337,6 +428,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
             index = ++index & mask;
         }
 
+        if (null == value && null != rehashValues)
+        {
+            value = rehashGet(key);
+        }
+
         return (V)value;
     }
 
@@ -361,6 +457,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
     public V computeIfAbsent(final int key, final IntFunction<? extends V> mappingFunction)
     {
         requireNonNull(mappingFunction);
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -420,6 +521,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         final int key, final IntObjectToObjectFunction<? super V, ? extends V> remappingFunction)
     {
         requireNonNull(remappingFunction);
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -476,6 +582,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
     public V compute(final int key, final IntObjectToObjectFunction<? super V, ? extends V> remappingFunction)
     {
         requireNonNull(remappingFunction);
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -539,6 +650,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
     {
         requireNonNull(value);
         requireNonNull(remappingFunction);
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -601,6 +717,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         final V val = (V)mapNullValue(value);
         requireNonNull(val, "value cannot be null");
 
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -649,6 +770,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
      */
     public V remove(final int key)
     {
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -693,6 +819,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         final Object val = mapNullValue(value);
         if (null != val)
         {
+            if (null != rehashValues)
+            {
+                rehashStep(key);
+            }
+
             final int[] keys = this.keys;
             final Object[] values = this.values;
             @DoNotSub final int mask = values.length - 1;
@@ -730,6 +861,9 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
             Arrays.fill(values, null);
             size = 0;
         }
+
+        rehashKeys = null;
+        rehashValues = null;
     }
 
     /**
@@ -738,6 +872,7 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
      */
     public void compact()
     {
+        completeRehash();
         @DoNotSub final int idealCapacity = (int)Math.round(size() * (1.0d / loadFactor));
         rehash(findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, idealCapacity)));
     }
@@ -782,6 +917,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         final V val = (V)mapNullValue(value);
         requireNonNull(val, "value cannot be null");
 
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -905,6 +1045,7 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
             return false;
         }
 
+        completeRehash();
         final int[] keys = this.keys;
         final Object[] values = this.values;
         for (@DoNotSub int i = 0, length = values.length; i < length; i++)
@@ -928,6 +1069,7 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
      */
     @DoNotSub public int hashCode()
     {
+        completeRehash();
         @DoNotSub int result = 0;
 
         final int[] keys = this.keys;
@@ -981,6 +1123,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         final V val = (V)mapNullValue(value);
         requireNonNull(val, "value cannot be null");
 
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -1015,6 +1162,11 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         final V val = (V)mapNullValue(newValue);
         requireNonNull(val, "value cannot be null");
 
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -1059,6 +1211,7 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
     public void replaceAllInt(final IntObjectToObjectFunction<? super V, ? extends V> function)
     {
         requireNonNull(function);
+        completeRehash();
         final int[] keys = this.keys;
         final Object[] values = this.values;
         @DoNotSub final int length = values.length;
@@ -1085,7 +1238,136 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
             throw new IllegalStateException("max capacity reached at size=" + size);
         }
 
-        rehash(newCapacity);
+        if (0 == incrementalRehashSlots)
+        {
+            rehash(newCapacity);
+        }
+        else
+        {
+            startRehash(newCapacity);
+        }
+    }
+
+    private void startRehash(@DoNotSub final int newCapacity)
+    {
+        completeRehash();
+
+        final Object[] oldValues = values;
+        @DoNotSub final int length = oldValues.length;
+
+        @DoNotSub int emptyIndex = 0;
+        while (emptyIndex < length && null != oldValues[emptyIndex])
+        {
+            emptyIndex++;
+        }
+
+        if (emptyIndex == length)
+        {
+            rehash(newCapacity);
+            return;
+        }
+
+        // slots are moved in descending order from an empty slot so those remaining are never split from their chain
+        rehashKeys = keys;
+        rehashValues = oldValues;
+        rehashIndex = emptyIndex;
+        rehashRemainingSlots = length - 1;
+
+        /* @DoNotSub */ resizeThreshold = (int)(newCapacity * loadFactor);
+        keys = new int[newCapacity];
+        values = new Object[newCapacity];
+
+        // move enough slots on each mutating operation for the rehash to complete before the map grows again
+        rehashStepSlots = Math.max(
+            incrementalRehashSlots, (rehashRemainingSlots - 1) / (resizeThreshold - size + 1) + 1);
+    }
+
+    private void rehashStep(final int key)
+    {
+        final int[] oldKeys = rehashKeys;
+        final Object[] oldValues = rehashValues;
+        @DoNotSub final int mask = oldValues.length - 1;
+        @DoNotSub int index = Hashing.hash(key, mask);
+
+        Object value;
+        while (null != (value = oldValues[index]))
+        {
+            if (key == oldKeys[index])
+            {
+                oldValues[index] = null;
+                compactChain(oldKeys, oldValues, index);
+                rehashEntry(key, value);
+                break;
+            }
+
+            index = ++index & mask;
+        }
+
+        rehashSlots(Math.min(rehashStepSlots, rehashRemainingSlots));
+    }
+
+    private void rehashSlots(@DoNotSub final int slots)
+    {
+        final int[] oldKeys = rehashKeys;
+        final Object[] oldValues = rehashValues;
+        @DoNotSub final int mask = oldValues.length - 1;
+        @DoNotSub int index = rehashIndex;
+
+        for (@DoNotSub int i = 0; i < slots; i++)
+        {
+            index = --index & mask;
+            final Object value = oldValues[index];
+            if (null != value)
+            {
+                oldValues[index] = null;
+                rehashEntry(oldKeys[index], value);
+            }
+        }
+
+        rehashIndex = index;
+        rehashRemainingSlots -= slots;
+        if (0 == rehashRemainingSlots)
+        {
+            rehashKeys = null;
+            rehashValues = null;
+        }
+    }
+
+    private void rehashEntry(final int key, final Object value)
+    {
+        final int[] keys = this.keys;
+        final Object[] values = this.values;
+        @DoNotSub final int mask = values.length - 1;
+        @DoNotSub int index = Hashing.hash(key, mask);
+
+        while (null != values[index])
+        {
+            index = ++index & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    private Object rehashGet(final int key)
+    {
+        final int[] oldKeys = rehashKeys;
+        final Object[] oldValues = rehashValues;
+        @DoNotSub final int mask = oldValues.length - 1;
+        @DoNotSub int index = Hashing.hash(key, mask);
+
+        Object value;
+        while (null != (value = oldValues[index]))
+        {
+            if (key == oldKeys[index])
+            {
+                break;
+            }
+
+            index = ++index & mask;
+        }
+
+        return value;
     }
 
     private void rehash(@DoNotSub final int newCapacity)
@@ -1119,11 +1401,17 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
         this.values = tempValues;
     }
 
+    private void compactChain(@DoNotSub final int deleteIndex)
+    {
+        compactChain(keys, values, deleteIndex);
+    }
+
     @SuppressWarnings("FinalParameters")
-    private void compactChain(@DoNotSub int deleteIndex)
+    private static void compactChain(
+        final int[] keys,
+        final Object[] values,
+        @DoNotSub int deleteIndex)
     {
-        final int[] keys = this.keys;
-        final Object[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
         @DoNotSub int index = deleteIndex;
         while (true)
@@ -1316,6 +1604,7 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
          */
         public void forEach(final Consumer<? super V> action)
         {
+            completeRehash();
             @DoNotSub int remaining =
                 Int2ObjectHashMap.this.size;
 
@@ -1553,6 +1842,7 @@ public class Int2ObjectHashMap<V> implements Map<Integer, V>
 
         final void reset()
         {
+            completeRehash();
             remaining = Int2ObjectHashMap.this.size;
             final Object[] values = Int2ObjectHashMap.this.values;
             @DoNotSub final int capacity = values.length;
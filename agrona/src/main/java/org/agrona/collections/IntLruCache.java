@@ -17,27 +17,40 @@ package org.agrona.collections;
 
 import org.agrona.generation.DoNotSub;
 
+import java.util.Arrays;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 
+import static org.agrona.BitUtil.findNextPositivePowerOfTwo;
+
 /**
  * A fixed capacity cache of int keyed values that evicts the least-recently-used element when it runs out of space.
  * <p>
  * When an element is evicted it is closed by calling the closer function with the element as an argument.
  * <p>
  * When a new key arrives the factory function is called in order to create the new element associated with that key.
+ * <p>
+ * Elements are held in parallel arrays which form a doubly-linked list in order of use, and are found by an open
+ * addressing index of the keys, so lookup, promotion, and eviction take constant time and do not allocate.
  *
  * @param <E> the type of element that this cache holds.
  */
 public final class IntLruCache<E> implements AutoCloseable
 {
+    @DoNotSub private static final int NULL_INDEX = -1;
+
     @DoNotSub private final int capacity;
     private final IntFunction<E> factory;
     private final Consumer<E> closer;
     private final int[] keys;
     private final Object[] values;
+    @DoNotSub private final int[] previousIndices;
+    @DoNotSub private final int[] nextIndices;
+    @DoNotSub private final int[] slots;
 
     @DoNotSub private int size;
+    @DoNotSub private int headIndex = NULL_INDEX;
+    @DoNotSub private int tailIndex = NULL_INDEX;
 
     /**
      * Constructor.
@@ -56,6 +69,10 @@ public final class IntLruCache<E> implements AutoCloseable
         this.closer = closer;
         keys = new int[capacity];
         values = new Object[capacity];
+        /* @DoNotSub */ previousIndices = new int[capacity];
+        /* @DoNotSub */ nextIndices = new int[capacity];
+        /* @DoNotSub */ slots = new int[findNextPositivePowerOfTwo(Math.max(2, capacity << 1))];
+        Arrays.fill(slots, NULL_INDEX);
 
         size = 0;
     }
@@ -70,57 +87,53 @@ public final class IntLruCache<E> implements AutoCloseable
     @SuppressWarnings("unchecked")
     public E lookup(final int key)
     {
-        @DoNotSub int size = this.size;
         final int[] keys = this.keys;
-        final Object[] values = this.values;
+        @DoNotSub final int[] slots = this.slots;
+        @DoNotSub final int mask = slots.length - 1;
+        @DoNotSub int slotIndex = Hashing.hash(key, mask);
 
-        for (@DoNotSub int i = 0; i < size; i++)
+        @DoNotSub int index;
+        while (NULL_INDEX != (index = slots[slotIndex]))
         {
-            if (key == keys[i])
+            if (key == keys[index])
             {
-                final E value = (E)values[i];
-
-                makeMostRecent(key, value, i);
+                makeMostRecent(index);
 
-                return value;
+                return (E)values[index];
             }
+
+            slotIndex = ++slotIndex & mask;
         }
 
         final E value = factory.apply(key);
 
         if (value != null)
         {
+            E evictedValue = null;
             if (capacity == size)
             {
-                closer.accept((E)values[size - 1]);
+                index = tailIndex;
+                evictedValue = (E)values[index];
+                unlink(index);
+                removeSlot(keys[index]);
             }
             else
             {
-                size++;
-                this.size = size;
+                index = size++;
             }
 
-            makeMostRecent(key, value, size - 1);
-        }
-
-        return value;
-    }
+            keys[index] = key;
+            values[index] = value;
+            addSlot(key, index);
+            linkAsMostRecent(index);
 
-    private void makeMostRecent(
-        final int key,
-        final Object value,
-        @DoNotSub final int fromIndex)
-    {
-        final int[] keys = this.keys;
-        final Object[] values = this.values;
-        for (@DoNotSub int i = fromIndex; i > 0; i--)
-        {
-            keys[i] = keys[i - 1];
-            values[i] = values[i - 1];
+            if (null != evictedValue)
+            {
+                closer.accept(evictedValue);
+            }
         }
 
-        keys[0] = key;
-        values[0] = value;
+        return value;
     }
 
     /**
@@ -141,9 +154,112 @@ public final class IntLruCache<E> implements AutoCloseable
     {
         final Consumer<E> closer = this.closer;
         final Object[] values = this.values;
-        for (@DoNotSub int i = 0, size = this.size; i < size; i++)
+        @DoNotSub final int[] nextIndices = this.nextIndices;
+        for (@DoNotSub int index = headIndex; NULL_INDEX != index; index = nextIndices[index])
         {
-            closer.accept((E)values[i]);
+            closer.accept((E)values[index]);
+        }
+    }
+
+    private void makeMostRecent(@DoNotSub final int index)
+    {
+        if (headIndex != index)
+        {
+            unlink(index);
+            linkAsMostRecent(index);
+        }
+    }
+
+    private void linkAsMostRecent(@DoNotSub final int index)
+    {
+        @DoNotSub final int headIndex = this.headIndex;
+        previousIndices[index] = NULL_INDEX;
+        nextIndices[index] = headIndex;
+        if (NULL_INDEX != headIndex)
+        {
+            previousIndices[headIndex] = index;
+        }
+        else
+        {
+            tailIndex = index;
+        }
+
+        this.headIndex = index;
+    }
+
+    private void unlink(@DoNotSub final int index)
+    {
+        @DoNotSub final int previousIndex = previousIndices[index];
+        @DoNotSub final int nextIndex = nextIndices[index];
+
+        if (NULL_INDEX != previousIndex)
+        {
+            nextIndices[previousIndex] = nextIndex;
+        }
+        else
+        {
+            headIndex = nextIndex;
+        }
+
+        if (NULL_INDEX != nextIndex)
+        {
+            previousIndices[nextIndex] = previousIndex;
+        }
+        else
+        {
+            tailIndex = previousIndex;
+        }
+    }
+
+    private void addSlot(
+        final int key,
+        @DoNotSub final int index)
+    {
+        @DoNotSub final int[] slots = this.slots;
+        @DoNotSub final int mask = slots.length - 1;
+        @DoNotSub int slotIndex = Hashing.hash(key, mask);
+
+        while (NULL_INDEX != slots[slotIndex])
+        {
+            slotIndex = ++slotIndex & mask;
+        }
+
+        slots[slotIndex] = index;
+    }
+
+    private void removeSlot(final int key)
+    {
+        final int[] keys = this.keys;
+        @DoNotSub final int[] slots = this.slots;
+        @DoNotSub final int mask = slots.length - 1;
+        @DoNotSub int deleteIndex = Hashing.hash(key, mask);
+
+        while (key != keys[slots[deleteIndex]])
+        {
+            deleteIndex = ++deleteIndex & mask;
+        }
+
+        slots[deleteIndex] = NULL_INDEX;
+
+        @DoNotSub int slotIndex = deleteIndex;
+        while (true)
+        {
+            slotIndex = ++slotIndex & mask;
+            @DoNotSub final int index = slots[slotIndex];
+            if (NULL_INDEX == index)
+            {
+                return;
+            }
+
+            @DoNotSub final int hash = Hashing.hash(keys[index], mask);
+
+            if ((slotIndex < hash && (hash <= deleteIndex || deleteIndex <= slotIndex)) ||
+                (hash <= deleteIndex && deleteIndex <= slotIndex))
+            {
+                slots[deleteIndex] = index;
+                slots[slotIndex] = NULL_INDEX;
+                deleteIndex = slotIndex;
+            }
         }
     }
 }
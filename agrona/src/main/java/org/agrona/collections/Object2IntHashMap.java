@@ -37,6 +37,11 @@ import static org.agrona.collections.CollectionUtil.validateLoadFactor;
  * {@link java.util.Map} implementation specialised for int values using open addressing and
  * linear probing for cache efficient access. The implementation is mirror copy of {@link Int2ObjectHashMap}
  * and it also relies on missing value concept from {@link Int2IntHashMap}.
+ * <p>
+ * As with {@link Int2ObjectHashMap} the map can be constructed to rehash incrementally when it grows, see
+ * {@link #incrementalRehashSlots()}, which bounds the latency of mutating operations at the cost of holding the
+ * previous table until all of its slots have been moved. While an incremental rehash is in progress lookups check
+ * both tables, and bulk operations such as iteration first complete the rehash.
  *
  * @param <K> type of keys stored in the {@link java.util.Map}
  */
@@ -49,9 +54,15 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
     @DoNotSub private int resizeThreshold;
     @DoNotSub private int size;
     private final boolean shouldAvoidAllocation;
+    @DoNotSub private final int incrementalRehashSlots;
+    @DoNotSub private int rehashIndex;
+    @DoNotSub private int rehashRemainingSlots;
+    @DoNotSub private int rehashStepSlots;
 
     private K[] keys;
     private int[] values;
+    private K[] rehashKeys;
+    private int[] rehashValues;
 
     private ValueCollection valueCollection;
     private KeySet keySet;
@@ -90,14 +101,42 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
      * @param missingValue          value to be used as a null marker in the map.
      * @param shouldAvoidAllocation should allocation be avoided by caching iterators and map entries.
      */
-    @SuppressWarnings("unchecked")
     public Object2IntHashMap(
         @DoNotSub final int initialCapacity,
         final float loadFactor,
         final int missingValue,
         final boolean shouldAvoidAllocation)
+    {
+        this(initialCapacity, loadFactor, missingValue, shouldAvoidAllocation, 0);
+    }
+
+    /**
+     * Construct a new map which can rehash incrementally to bound the latency of mutating operations when the map
+     * grows.
+     *
+     * @param initialCapacity        for the backing array.
+     * @param loadFactor             limit for resizing on puts.
+     * @param missingValue           value to be used as a null marker in the map.
+     * @param shouldAvoidAllocation  should allocation be avoided by caching iterators and map entries.
+     * @param incrementalRehashSlots number of slots of the previous table to move on each mutating operation while
+     *                               rehashing, or {@code 0} to rehash all at once. More are moved when needed
+     *                               for a rehash to complete before the map grows again.
+     * @throws IllegalArgumentException if {@code incrementalRehashSlots} is negative.
+     */
+    @SuppressWarnings("unchecked")
+    public Object2IntHashMap(
+        @DoNotSub final int initialCapacity,
+        final float loadFactor,
+        final int missingValue,
+        final boolean shouldAvoidAllocation,
+        @DoNotSub final int incrementalRehashSlots)
     {
         validateLoadFactor(loadFactor);
+        if (incrementalRehashSlots < 0)
+        {
+            throw new IllegalArgumentException("incrementalRehashSlots must not be negative: " +
+                incrementalRehashSlots);
+        }
 
         this.loadFactor = loadFactor;
         /* @DoNotSub */ final int capacity = findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, initialCapacity));
@@ -105,6 +144,7 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
 
         this.missingValue = missingValue;
         this.shouldAvoidAllocation = shouldAvoidAllocation;
+        this.incrementalRehashSlots = incrementalRehashSlots;
         keys = (K[])new Object[capacity];
         values = new int[capacity];
         Arrays.fill(values, missingValue);
@@ -122,9 +162,18 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
         this.size = mapToCopy.size;
         this.missingValue = mapToCopy.missingValue;
         this.shouldAvoidAllocation = mapToCopy.shouldAvoidAllocation;
+        this.incrementalRehashSlots = mapToCopy.incrementalRehashSlots;
 
         keys = mapToCopy.keys.clone();
         values = mapToCopy.values.clone();
+        if (null != mapToCopy.rehashValues)
+        {
+            rehashKeys = mapToCopy.rehashKeys.clone();
+            rehashValues = mapToCopy.rehashValues.clone();
+            rehashIndex = mapToCopy.rehashIndex;
+            rehashRemainingSlots = mapToCopy.rehashRemainingSlots;
+            rehashStepSlots = mapToCopy.rehashStepSlots;
+        }
     }
 
     /**
@@ -168,6 +217,39 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
         return resizeThreshold;
     }
 
+    /**
+     * Get the number of slots of the previous table moved on each mutating operation while rehashing incrementally.
+     * More are moved when needed for a rehash to complete before the map grows again.
+     *
+     * @return the number of slots moved on each mutating operation, or {@code 0} if the map rehashes all at once.
+     */
+    @DoNotSub public int incrementalRehashSlots()
+    {
+        return incrementalRehashSlots;
+    }
+
+    /**
+     * Is an incremental rehash in progress, i.e. are some entries still in the previous table.
+     *
+     * @return true if an incremental rehash is in progress.
+     */
+    public boolean isRehashing()
+    {
+        return null != rehashValues;
+    }
+
+    /**
+     * Complete an incremental rehash in progress by moving all the remaining entries of the previous table, e.g.
+     * when the map is not on a latency sensitive path. Does nothing if a rehash is not in progress.
+     */
+    public void completeRehash()
+    {
+        if (null != rehashValues)
+        {
+            rehashSlots(rehashRemainingSlots);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -218,6 +300,7 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
             return false;
         }
 
+        completeRehash();
         boolean found = false;
         final int[] values = this.values;
         for (final int v : values)
@@ -284,6 +367,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
             index = ++index & mask;
         }
 
+        if (missingValue == value && null != rehashValues)
+        {
+            value = rehashGet(key);
+        }
+
         return value;
     }
 
@@ -301,6 +389,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
     public int computeIfAbsent(final K key, final ToIntFunction<? super K> mappingFunction)
     {
         requireNonNull(key);
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final K[] keys = this.keys;
         final int[] values = this.values;
@@ -346,6 +439,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
     public int computeIfPresent(final K key, final ObjectIntToIntFunction<? super K> remappingFunction)
     {
         requireNonNull(key);
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final K[] keys = this.keys;
         final int[] values = this.values;
@@ -391,6 +489,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
     public int compute(final K key, final ObjectIntToIntFunction<? super K> remappingFunction)
     {
         requireNonNull(key);
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final K[] keys = this.keys;
         final int[] values = this.values;
@@ -455,6 +558,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
             throw new IllegalArgumentException("cannot accept missingValue");
         }
 
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final K[] keys = this.keys;
         final int[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -517,6 +625,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
             throw new IllegalArgumentException("cannot accept missingValue");
         }
 
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final K[] keys = this.keys;
         final int[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -573,6 +686,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
             throw new IllegalArgumentException("cannot accept missingValue");
         }
 
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final K[] keys = this.keys;
         final int[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -615,6 +733,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
      */
     public boolean remove(final Object key, final int value)
     {
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final K[] keys = this.keys;
         final int[] values = this.values;
@@ -663,6 +786,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
     public int removeKey(final K key)
     {
         requireNonNull(key);
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final int missingValue = this.missingValue;
         final K[] keys = this.keys;
         final int[] values = this.values;
@@ -699,6 +827,9 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
             Arrays.fill(values, missingValue);
             size = 0;
         }
+
+        rehashKeys = null;
+        rehashValues = null;
     }
 
     /**
@@ -707,6 +838,7 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
      */
     public void compact()
     {
+        completeRehash();
         @DoNotSub final int idealCapacity = (int)Math.round(size() * (1.0d / loadFactor));
         rehash(findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, idealCapacity)));
     }
@@ -832,6 +964,7 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
             return false;
         }
 
+        completeRehash();
         final K[] keys = this.keys;
         final int[] values = this.values;
         final int missingValue = this.missingValue;
@@ -864,6 +997,7 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
      */
     @DoNotSub public int hashCode()
     {
+        completeRehash();
         @DoNotSub int result = 0;
 
         final K[] keys = this.keys;
@@ -897,6 +1031,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
             throw new IllegalArgumentException("cannot accept missingValue");
         }
 
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final K[] keys = this.keys;
         final int[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -934,6 +1073,11 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
             throw new IllegalArgumentException("cannot accept missingValue");
         }
 
+        if (null != rehashValues)
+        {
+            rehashStep(key);
+        }
+
         final K[] keys = this.keys;
         final int[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
@@ -969,6 +1113,7 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
     public void replaceAllInt(final ObjectIntToIntFunction<? super K> function)
     {
         requireNonNull(function);
+        completeRehash();
         final int missingValue = this.missingValue;
         final K[] keys = this.keys;
         final int[] values = this.values;
@@ -1007,6 +1152,7 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
     public void forEachInt(final ObjIntConsumer<? super K> action)
     {
         requireNonNull(action);
+        completeRehash();
         final int missingValue = this.missingValue;
         final K[] keys = this.keys;
         final int[] values = this.values;
@@ -1033,8 +1179,147 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
                 throw new IllegalStateException("max capacity reached at size=" + size);
             }
 
+            if (0 == incrementalRehashSlots)
+            {
+                rehash(newCapacity);
+            }
+            else
+            {
+                startRehash(newCapacity);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void startRehash(@DoNotSub final int newCapacity)
+    {
+        completeRehash();
+
+        final int missingValue = this.missingValue;
+        final int[] oldValues = values;
+        @DoNotSub final int length = oldValues.length;
+
+        @DoNotSub int emptyIndex = 0;
+        while (emptyIndex < length && missingValue != oldValues[emptyIndex])
+        {
+            emptyIndex++;
+        }
+
+        if (emptyIndex == length)
+        {
             rehash(newCapacity);
+            return;
         }
+
+        // slots are moved in descending order from an empty slot so those remaining are never split from their chain
+        rehashKeys = keys;
+        rehashValues = oldValues;
+        rehashIndex = emptyIndex;
+        rehashRemainingSlots = length - 1;
+
+        /* @DoNotSub */ resizeThreshold = (int)(newCapacity * loadFactor);
+        keys = (K[])new Object[newCapacity];
+        values = new int[newCapacity];
+        Arrays.fill(values, missingValue);
+
+        // move enough slots on each mutating operation for the rehash to complete before the map grows again
+        rehashStepSlots = Math.max(
+            incrementalRehashSlots, (rehashRemainingSlots - 1) / (resizeThreshold - size + 1) + 1);
+    }
+
+    private void rehashStep(final Object key)
+    {
+        final int missingValue = this.missingValue;
+        final K[] oldKeys = rehashKeys;
+        final int[] oldValues = rehashValues;
+        @DoNotSub final int mask = oldValues.length - 1;
+        @DoNotSub int index = Hashing.hash(key, mask);
+
+        int value;
+        while (missingValue != (value = oldValues[index]))
+        {
+            final K oldKey = oldKeys[index];
+            if (Objects.equals(oldKey, key))
+            {
+                oldKeys[index] = null;
+                oldValues[index] = missingValue;
+                compactChain(oldKeys, oldValues, index);
+                rehashEntry(oldKey, value);
+                break;
+            }
+
+            index = ++index & mask;
+        }
+
+        rehashSlots(Math.min(rehashStepSlots, rehashRemainingSlots));
+    }
+
+    private void rehashSlots(@DoNotSub final int slots)
+    {
+        final int missingValue = this.missingValue;
+        final K[] oldKeys = rehashKeys;
+        final int[] oldValues = rehashValues;
+        @DoNotSub final int mask = oldValues.length - 1;
+        @DoNotSub int index = rehashIndex;
+
+        for (@DoNotSub int i = 0; i < slots; i++)
+        {
+            index = --index & mask;
+            final int value = oldValues[index];
+            if (missingValue != value)
+            {
+                rehashEntry(oldKeys[index], value);
+                oldKeys[index] = null;
+                oldValues[index] = missingValue;
+            }
+        }
+
+        rehashIndex = index;
+        rehashRemainingSlots -= slots;
+        if (0 == rehashRemainingSlots)
+        {
+            rehashKeys = null;
+            rehashValues = null;
+        }
+    }
+
+    private void rehashEntry(final K key, final int value)
+    {
+        final int missingValue = this.missingValue;
+        final K[] keys = this.keys;
+        final int[] values = this.values;
+        @DoNotSub final int mask = values.length - 1;
+        @DoNotSub int index = Hashing.hash(key, mask);
+
+        while (missingValue != values[index])
+        {
+            index = ++index & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    private int rehashGet(final K key)
+    {
+        final int missingValue = this.missingValue;
+        final K[] oldKeys = rehashKeys;
+        final int[] oldValues = rehashValues;
+        @DoNotSub final int mask = oldValues.length - 1;
+        @DoNotSub int index = Hashing.hash(key, mask);
+
+        int value;
+        while (missingValue != (value = oldValues[index]))
+        {
+            if (Objects.equals(oldKeys[index], key))
+            {
+                break;
+            }
+
+            index = ++index & mask;
+        }
+
+        return value;
     }
 
     private void rehash(@DoNotSub final int newCapacity)
@@ -1070,11 +1355,17 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
         this.values = tempValues;
     }
 
+    private void compactChain(@DoNotSub final int deleteIndex)
+    {
+        compactChain(keys, values, deleteIndex);
+    }
+
     @SuppressWarnings("FinalParameters")
-    private void compactChain(@DoNotSub int deleteIndex)
+    private void compactChain(
+        final K[] keys,
+        final int[] values,
+        @DoNotSub int deleteIndex)
     {
-        final K[] keys = this.keys;
-        final int[] values = this.values;
         @DoNotSub final int mask = values.length - 1;
         @DoNotSub int index = deleteIndex;
 
@@ -1469,6 +1760,7 @@ public class Object2IntHashMap<K> implements Map<K, Integer>
 
         final void reset()
         {
+            completeRehash();
             remaining = Object2IntHashMap.this.size;
             final int[] values = Object2IntHashMap.this.values;
             @DoNotSub final int capacity = values.length;
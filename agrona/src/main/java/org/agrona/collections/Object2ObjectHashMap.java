@@ -33,6 +33,9 @@ import static org.agrona.collections.CollectionUtil.validateLoadFactor;
 
 /**
  * An open-addressing with linear probing hash map, same algorithm as {@link Int2IntHashMap}.
+ * <p>
+ * A 7-bit tag of the hash of each key is kept in a parallel array so lookups can check 8 slots at a time and only
+ * call {@link Object#equals(Object)} on keys whose tag matches, which helps when keys are expensive to compare.
  *
  * @param <K> the type of keys maintained by this map.
  * @param <V> the type of mapped values.
@@ -47,6 +50,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
     private final boolean shouldAvoidAllocation;
 
     private Object[] entries;
+    private byte[] tags;
     private KeySet keySet;
     private ValueCollection valueCollection;
     private EntrySet entrySet;
@@ -100,6 +104,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
         this.shouldAvoidAllocation = mapToCopy.shouldAvoidAllocation;
 
         entries = mapToCopy.entries.clone();
+        tags = mapToCopy.tags.clone();
     }
 
     /**
@@ -160,24 +165,12 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
     @SuppressWarnings("unchecked")
     private V getMapped(final Object key)
     {
-        Objects.requireNonNull(key);
-
+        final int hashCode = key.hashCode();
         final Object[] entries = this.entries;
-        final int mask = entries.length - 1;
-        int keyIndex = Hashing.evenHash(key.hashCode(), mask);
+        final int slot = HashTags.find(
+            tags, entries, 1, key, HashTags.tag(hashCode), Hashing.evenHash(hashCode, entries.length - 1) >> 1);
 
-        Object value;
-        while (null != (value = entries[keyIndex + 1]))
-        {
-            if (Objects.equals(entries[keyIndex], key))
-            {
-                break;
-            }
-
-            keyIndex = next(keyIndex, mask);
-        }
-
-        return (V)value;
+        return -1 == slot ? null : (V)entries[(slot << 1) + 1];
     }
 
     /**
@@ -193,14 +186,17 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
         final Object val = mapNullValue(value);
         requireNonNull(val, "value cannot be null");
 
+        final int hashCode = key.hashCode();
+        final byte tag = HashTags.tag(hashCode);
         final Object[] entries = this.entries;
+        final byte[] tags = this.tags;
         final int mask = entries.length - 1;
-        int keyIndex = Hashing.evenHash(key.hashCode(), mask);
+        int keyIndex = Hashing.evenHash(hashCode, mask);
 
         Object oldValue;
         while (null != (oldValue = entries[keyIndex + 1]))
         {
-            if (Objects.equals(entries[keyIndex], key))
+            if (tag == tags[keyIndex >> 1] && Objects.equals(entries[keyIndex], key))
             {
                 break;
             }
@@ -212,6 +208,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
         {
             ++size;
             entries[keyIndex] = key;
+            HashTags.set(tags, keyIndex >> 1, tag);
         }
 
         entries[keyIndex + 1] = val;
@@ -239,6 +236,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
         capacity(newCapacity);
 
         final Object[] newEntries = entries;
+        final byte[] newTags = tags;
         final int mask = entries.length - 1;
 
         for (int keyIndex = 0; keyIndex < length; keyIndex += 2)
@@ -247,7 +245,8 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
             if (null != value)
             {
                 final Object key = oldEntries[keyIndex];
-                int index = Hashing.evenHash(key.hashCode(), mask);
+                final int hashCode = key.hashCode();
+                int index = Hashing.evenHash(hashCode, mask);
 
                 while (null != newEntries[index + 1])
                 {
@@ -256,6 +255,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
 
                 newEntries[index] = key;
                 newEntries[index + 1] = value;
+                HashTags.set(newTags, index >> 1, HashTags.tag(hashCode));
             }
         }
     }
@@ -297,6 +297,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
         if (size > 0)
         {
             Arrays.fill(entries, null);
+            HashTags.clear(tags);
             size = 0;
         }
     }
@@ -394,17 +395,21 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
      */
     public V remove(final Object key)
     {
+        final int hashCode = key.hashCode();
+        final byte tag = HashTags.tag(hashCode);
         final Object[] entries = this.entries;
+        final byte[] tags = this.tags;
         final int mask = entries.length - 1;
-        int keyIndex = Hashing.evenHash(key.hashCode(), mask);
+        int keyIndex = Hashing.evenHash(hashCode, mask);
 
         Object value;
         while (null != (value = entries[keyIndex + 1]))
         {
-            if (Objects.equals(entries[keyIndex], key))
+            if (tag == tags[keyIndex >> 1] && Objects.equals(entries[keyIndex], key))
             {
                 entries[keyIndex] = null;
                 entries[keyIndex + 1] = null;
+                HashTags.set(tags, keyIndex >> 1, HashTags.EMPTY);
                 size--;
 
                 compactChain(keyIndex);
@@ -421,6 +426,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
     private void compactChain(int deleteKeyIndex)
     {
         final Object[] entries = this.entries;
+        final byte[] tags = this.tags;
         final int mask = entries.length - 1;
         int keyIndex = deleteKeyIndex;
 
@@ -441,9 +447,11 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
             {
                 entries[deleteKeyIndex] = key;
                 entries[deleteKeyIndex + 1] = value;
+                HashTags.set(tags, deleteKeyIndex >> 1, tags[keyIndex >> 1]);
 
                 entries[keyIndex] = null;
                 entries[keyIndex + 1] = null;
+                HashTags.set(tags, keyIndex >> 1, HashTags.EMPTY);
                 deleteKeyIndex = keyIndex;
             }
         }
@@ -509,14 +517,17 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
      */
     public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction)
     {
+        final int hashCode = key.hashCode();
+        final byte tag = HashTags.tag(hashCode);
         final Object[] entries = this.entries;
+        final byte[] tags = this.tags;
         final int mask = entries.length - 1;
-        int keyIndex = Hashing.evenHash(key.hashCode(), mask);
+        int keyIndex = Hashing.evenHash(hashCode, mask);
 
         Object mappedValue;
         while (null != (mappedValue = entries[keyIndex + 1]))
         {
-            if (Objects.equals(entries[keyIndex], key))
+            if (tag == tags[keyIndex >> 1] && Objects.equals(entries[keyIndex], key))
             {
                 break;
             }
@@ -531,6 +542,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
             if (mappedValue == null)
             {
                 entries[keyIndex] = key;
+                HashTags.set(tags, keyIndex >> 1, tag);
                 ++size;
                 increaseCapacity();
             }
@@ -545,14 +557,17 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
     @Override
     public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction)
     {
+        final int hashCode = key.hashCode();
+        final byte tag = HashTags.tag(hashCode);
         final Object[] entries = this.entries;
+        final byte[] tags = this.tags;
         final int mask = entries.length - 1;
-        int keyIndex = Hashing.evenHash(key.hashCode(), mask);
+        int keyIndex = Hashing.evenHash(hashCode, mask);
 
         Object mappedValue;
         while (null != (mappedValue = entries[keyIndex + 1]))
         {
-            if (Objects.equals(entries[keyIndex], key))
+            if (tag == tags[keyIndex >> 1] && Objects.equals(entries[keyIndex], key))
             {
                 break;
             }
@@ -568,6 +583,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
             if (value == null)
             {
                 entries[keyIndex] = null;
+                HashTags.set(tags, keyIndex >> 1, HashTags.EMPTY);
                 size--;
                 compactChain(keyIndex);
             }
@@ -582,14 +598,17 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
     @Override
     public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction)
     {
+        final int hashCode = key.hashCode();
+        final byte tag = HashTags.tag(hashCode);
         final Object[] entries = this.entries;
+        final byte[] tags = this.tags;
         final int mask = entries.length - 1;
-        int keyIndex = Hashing.evenHash(key.hashCode(), mask);
+        int keyIndex = Hashing.evenHash(hashCode, mask);
 
         Object mappedValue;
         while (null != (mappedValue = entries[keyIndex + 1]))
         {
-            if (Objects.equals(entries[keyIndex], key))
+            if (tag == tags[keyIndex >> 1] && Objects.equals(entries[keyIndex], key))
             {
                 break;
             }
@@ -606,6 +625,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
             if (mappedValue == null)
             {
                 entries[keyIndex] = key;
+                HashTags.set(tags, keyIndex >> 1, tag);
                 size++;
                 increaseCapacity();
             }
@@ -615,6 +635,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
         {
             entries[keyIndex] = null;
             entries[keyIndex + 1] = null;
+            HashTags.set(tags, keyIndex >> 1, HashTags.EMPTY);
             size--;
             compactChain(keyIndex);
         }
@@ -662,6 +683,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
 
         resizeThreshold = (int)(newCapacity * loadFactor);
         entries = new Object[entriesLength];
+        tags = HashTags.allocate(newCapacity);
     }
 
     // ---------------- Utility Classes ----------------
@@ -770,6 +792,7 @@ public class Object2ObjectHashMap<K, V> implements Map<K, V>
                 final Object[] entries = Object2ObjectHashMap.this.entries;
                 entries[position] = null;
                 entries[position + 1] = null;
+                HashTags.set(tags, position >> 1, HashTags.EMPTY);
                 --size;
 
                 compactChain(position);
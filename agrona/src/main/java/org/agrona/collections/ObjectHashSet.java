@@ -32,6 +32,9 @@ import static org.agrona.collections.CollectionUtil.validateLoadFactor;
  * Open-addressing with linear-probing expandable hash set. Allocation free in steady state use when expanded.
  * Ability to be notified when resizing occurs so that appropriate sizing can be implemented.
  * <p>
+ * A 7-bit tag of the hash of each value is kept in a parallel array so lookups can check 8 slots at a time and only
+ * call {@link Object#equals(Object)} on values whose tag matches, which helps when values are expensive to compare.
+ * <p>
  * Not Threadsafe.
  * <p>
  * This HashSet caches its iterator object by default, which can be overridden, so nested iteration is not supported.
@@ -56,6 +59,7 @@ public class ObjectHashSet<T> extends AbstractSet<T>
     private int size;
 
     private T[] values;
+    private byte[] tags;
     private ObjectIterator iterator;
     private IntConsumer resizeNotifier;
 
@@ -109,6 +113,7 @@ public class ObjectHashSet<T> extends AbstractSet<T>
         final int capacity = findNextPositivePowerOfTwo(Math.max(DEFAULT_INITIAL_CAPACITY, proposedCapacity));
         resizeThreshold = (int)(capacity * loadFactor);
         values = (T[])new Object[capacity];
+        tags = HashTags.allocate(capacity);
     }
 
     /**
@@ -160,12 +165,16 @@ public class ObjectHashSet<T> extends AbstractSet<T>
     public boolean add(final T value)
     {
         Objects.requireNonNull(value);
+        final int hashCode = value.hashCode();
+        final byte tag = HashTags.tag(hashCode);
+        final T[] values = this.values;
+        final byte[] tags = this.tags;
         final int mask = values.length - 1;
-        int index = Hashing.hash(value.hashCode(), mask);
+        int index = Hashing.hash(hashCode, mask);
 
         while (values[index] != MISSING_VALUE)
         {
-            if (values[index].equals(value))
+            if (tag == tags[index] && values[index].equals(value))
             {
                 return false;
             }
@@ -174,6 +183,7 @@ public class ObjectHashSet<T> extends AbstractSet<T>
         }
 
         values[index] = value;
+        HashTags.set(tags, index, tag);
         size++;
 
         if (size > resizeThreshold)
@@ -206,23 +216,27 @@ public class ObjectHashSet<T> extends AbstractSet<T>
         resizeThreshold = (int)(newCapacity * loadFactor);
 
         final T[] tempValues = (T[])new Object[newCapacity];
+        final byte[] tempTags = HashTags.allocate(newCapacity);
         Arrays.fill(tempValues, MISSING_VALUE);
 
         for (final T value : values)
         {
             if (value != MISSING_VALUE)
             {
-                int newHash = Hashing.hash(value.hashCode(), mask);
+                final int hashCode = value.hashCode();
+                int newHash = Hashing.hash(hashCode, mask);
                 while (tempValues[newHash] != MISSING_VALUE)
                 {
                     newHash = ++newHash & mask;
                 }
 
                 tempValues[newHash] = value;
+                HashTags.set(tempTags, newHash, HashTags.tag(hashCode));
             }
         }
 
         values = tempValues;
+        tags = tempTags;
     }
 
     /**
@@ -231,15 +245,19 @@ public class ObjectHashSet<T> extends AbstractSet<T>
      */
     public boolean remove(final Object value)
     {
+        final int hashCode = value.hashCode();
+        final byte tag = HashTags.tag(hashCode);
         final Object[] values = this.values;
+        final byte[] tags = this.tags;
         final int mask = values.length - 1;
-        int index = Hashing.hash(value.hashCode(), mask);
+        int index = Hashing.hash(hashCode, mask);
 
         while (values[index] != MISSING_VALUE)
         {
-            if (values[index].equals(value))
+            if (tag == tags[index] && values[index].equals(value))
             {
                 values[index] = MISSING_VALUE;
+                HashTags.set(tags, index, HashTags.EMPTY);
                 compactChain(index);
                 size--;
                 return true;
@@ -260,6 +278,7 @@ public class ObjectHashSet<T> extends AbstractSet<T>
     void compactChain(int deleteIndex)
     {
         final Object[] values = this.values;
+        final byte[] tags = this.tags;
         final int mask = values.length - 1;
 
         int index = deleteIndex;
@@ -277,8 +296,10 @@ public class ObjectHashSet<T> extends AbstractSet<T>
                 (hash <= deleteIndex && deleteIndex <= index))
             {
                 values[deleteIndex] = values[index];
+                HashTags.set(tags, deleteIndex, tags[index]);
 
                 values[index] = MISSING_VALUE;
+                HashTags.set(tags, index, HashTags.EMPTY);
                 deleteIndex = index;
             }
         }
@@ -299,20 +320,11 @@ public class ObjectHashSet<T> extends AbstractSet<T>
      */
     public boolean contains(final Object value)
     {
-        final int mask = values.length - 1;
-        int index = Hashing.hash(value.hashCode(), mask);
-
-        while (values[index] != MISSING_VALUE)
-        {
-            if (value == values[index] || values[index].equals(value))
-            {
-                return true;
-            }
-
-            index = next(index, mask);
-        }
+        final int hashCode = value.hashCode();
+        final T[] values = this.values;
 
-        return false;
+        return -1 != HashTags.find(
+            tags, values, 0, value, HashTags.tag(hashCode), Hashing.hash(hashCode, values.length - 1));
     }
 
     /**
@@ -339,6 +351,7 @@ public class ObjectHashSet<T> extends AbstractSet<T>
         if (size > 0)
         {
             Arrays.fill(values, MISSING_VALUE);
+            HashTags.clear(tags);
             size = 0;
         }
     }
@@ -493,6 +506,7 @@ public class ObjectHashSet<T> extends AbstractSet<T>
         }
 
         System.arraycopy(that.values, 0, this.values, 0, this.values.length);
+        System.arraycopy(that.tags, 0, this.tags, 0, this.tags.length);
         this.size = that.size;
     }
 
@@ -707,6 +721,7 @@ public class ObjectHashSet<T> extends AbstractSet<T>
                 final T[] values = ObjectHashSet.this.values;
                 final int position = position(values);
                 values[position] = (T)MISSING_VALUE;
+                HashTags.set(tags, position, HashTags.EMPTY);
                 --size;
 
                 compactChain(position);
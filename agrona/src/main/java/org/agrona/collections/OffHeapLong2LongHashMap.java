@@ -0,0 +1,666 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.agrona.BitUtil;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.File;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.collections.CollectionUtil.validateLoadFactor;
+
+/**
+ * An open-addressing with linear probing hash map specialised for primitive long key and value pairs which stores
+ * its entries in an {@link AtomicBuffer} rather than on the Java heap.
+ * <p>
+ * Storing the entries off-heap means they are not visible to the garbage collector, and when the buffer is a
+ * memory-mapped file the map can be shared with other processes and re-attached to after a restart. Capacity is
+ * fixed when the buffer is initialised and a {@link #put(long, long)} which would exceed the load factor will throw
+ * {@link IllegalStateException}.
+ * <p>
+ * <b>Note:</b> the map supports a single writer and many concurrent readers. Readers, in the same or other
+ * processes, may call {@link #get(long)}, {@link #containsKey(long)} and {@link #size()} concurrently with the writer.
+ * Lookups which overlap a {@link #remove(long)} or {@link #clear()} will retry as entries are moved within the probe
+ * chain. If the writer dies part way through one of these operations the modification count is left odd, and
+ * attaching to the map will throw {@link IllegalStateException} so the buffer can be re-initialised.
+ * <p>
+ * The buffer layout is a header of two cache lines followed by the entries:
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                        Layout Version                         |
+ *  +---------------------------------------------------------------+
+ *  |                           Capacity                            |
+ *  +---------------------------------------------------------------+
+ *  |                          Load Factor                          |
+ *  +---------------------------------------------------------------+
+ *  |                          Max Size                             |
+ *  +---------------------------------------------------------------+
+ *  |                         Missing Value                         |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                      Pad to Cache Line                       ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ *  |                             Size                              |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                      Modification Count                       |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                      Pad to Cache Line                       ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ *  |                        Key 0 (long)                           |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                        Value 0 (long)                         |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                             ...                              ...
+ * </pre>
+ */
+public final class OffHeapLong2LongHashMap implements AutoCloseable
+{
+    /**
+     * Version of the buffer layout which is checked when attaching to an existing buffer.
+     */
+    public static final int LAYOUT_VERSION = 1;
+
+    /**
+     * Offset in the header at which the layout version is stored.
+     */
+    public static final int LAYOUT_VERSION_OFFSET = 0;
+
+    /**
+     * Offset in the header at which the capacity, in number of entries, is stored.
+     */
+    public static final int CAPACITY_OFFSET = LAYOUT_VERSION_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Offset in the header at which the load factor is stored.
+     */
+    public static final int LOAD_FACTOR_OFFSET = CAPACITY_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Offset in the header at which the maximum number of entries is stored.
+     */
+    public static final int MAX_SIZE_OFFSET = LOAD_FACTOR_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Offset in the header at which the missing value is stored.
+     */
+    public static final int MISSING_VALUE_OFFSET = MAX_SIZE_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Offset in the header at which the number of entries is stored.
+     */
+    public static final int SIZE_OFFSET = CACHE_LINE_LENGTH;
+
+    /**
+     * Offset in the header at which the modification count, used by readers to detect entries being moved, is
+     * stored.
+     */
+    public static final int MODIFICATION_COUNT_OFFSET = SIZE_OFFSET + SIZE_OF_LONG;
+
+    /**
+     * Length of the header which precedes the entries.
+     */
+    public static final int HEADER_LENGTH = CACHE_LINE_LENGTH * 2;
+
+    /**
+     * Length of an entry made up of a key and a value.
+     */
+    public static final int ENTRY_LENGTH = SIZE_OF_LONG * 2;
+
+    /**
+     * Minimum capacity, in number of entries, for the map.
+     */
+    public static final int MIN_CAPACITY = 8;
+
+    private final int capacity;
+    private final int maxSize;
+    private final long missingValue;
+    private final AtomicBuffer buffer;
+    private final MappedByteBuffer mappedByteBuffer;
+
+    /**
+     * Initialise a new map in the provided buffer, clearing any existing entries. The capacity is determined by the
+     * length of the buffer which must be {@link #requiredBufferLength(int)} for a power of 2 capacity.
+     *
+     * @param buffer       to store the header and entries.
+     * @param loadFactor   to limit the number of entries as a fraction of the capacity.
+     * @param missingValue for the map that represents null.
+     * @throws IllegalArgumentException if the buffer length is not valid for a power of 2 capacity.
+     */
+    public OffHeapLong2LongHashMap(final AtomicBuffer buffer, final float loadFactor, final long missingValue)
+    {
+        this(buffer, loadFactor, missingValue, null);
+    }
+
+    /**
+     * Attach to a map which has previously been initialised in the provided buffer, possibly by another process.
+     *
+     * @param buffer which contains the header and entries.
+     * @throws IllegalStateException if the buffer does not contain an initialised map with a matching layout, or a
+     *                               writer stopped part way through a {@link #remove(long)} or {@link #clear()}
+     *                               leaving the entries inconsistent.
+     */
+    public OffHeapLong2LongHashMap(final AtomicBuffer buffer)
+    {
+        this(buffer, null);
+    }
+
+    private OffHeapLong2LongHashMap(
+        final AtomicBuffer buffer,
+        final float loadFactor,
+        final long missingValue,
+        final MappedByteBuffer mappedByteBuffer)
+    {
+        validateLoadFactor(loadFactor);
+        buffer.verifyAlignment();
+
+        final int capacity = capacityForLength(buffer.capacity());
+        if (!BitUtil.isPowerOfTwo(capacity) || capacity < MIN_CAPACITY ||
+            buffer.capacity() != HEADER_LENGTH + (capacity * ENTRY_LENGTH))
+        {
+            throw new IllegalArgumentException(
+                "buffer length must be HEADER_LENGTH plus a power of 2 capacity of at least " + MIN_CAPACITY +
+                " entries: bufferLength=" + buffer.capacity());
+        }
+
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.maxSize = Math.min((int)(capacity * loadFactor), capacity - 1);
+        this.missingValue = missingValue;
+        this.mappedByteBuffer = mappedByteBuffer;
+
+        buffer.putIntRelease(LAYOUT_VERSION_OFFSET, 0);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putFloat(LOAD_FACTOR_OFFSET, loadFactor);
+        buffer.putInt(MAX_SIZE_OFFSET, maxSize);
+        buffer.putLong(MISSING_VALUE_OFFSET, missingValue);
+        buffer.putLong(SIZE_OFFSET, 0);
+        buffer.putLong(MODIFICATION_COUNT_OFFSET, 0);
+        fillEntries(buffer, capacity, missingValue);
+        buffer.putIntRelease(LAYOUT_VERSION_OFFSET, LAYOUT_VERSION);
+    }
+
+    private OffHeapLong2LongHashMap(final AtomicBuffer buffer, final MappedByteBuffer mappedByteBuffer)
+    {
+        buffer.verifyAlignment();
+
+        if (buffer.capacity() < HEADER_LENGTH)
+        {
+            throw new IllegalStateException("buffer too short for header: length=" + buffer.capacity());
+        }
+
+        final int layoutVersion = buffer.getIntVolatile(LAYOUT_VERSION_OFFSET);
+        if (LAYOUT_VERSION != layoutVersion)
+        {
+            throw new IllegalStateException(
+                "invalid layout version: expected=" + LAYOUT_VERSION + ", actual=" + layoutVersion);
+        }
+
+        final int capacity = buffer.getInt(CAPACITY_OFFSET);
+        if (capacity != capacityForLength(buffer.capacity()))
+        {
+            throw new IllegalStateException(
+                "capacity does not match buffer length: capacity=" + capacity + ", bufferLength=" + buffer.capacity());
+        }
+
+        final int maxSize = buffer.getInt(MAX_SIZE_OFFSET);
+        if (maxSize < 0 || maxSize >= capacity)
+        {
+            throw new IllegalStateException(
+                "max size must be less than capacity: maxSize=" + maxSize + ", capacity=" + capacity);
+        }
+
+        final long modificationCount = buffer.getLongVolatile(MODIFICATION_COUNT_OFFSET);
+        if (0 != (modificationCount & 1))
+        {
+            throw new IllegalStateException(
+                "map was left mid modification by a writer which did not complete: modificationCount=" +
+                modificationCount);
+        }
+
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.maxSize = maxSize;
+        this.missingValue = buffer.getLong(MISSING_VALUE_OFFSET);
+        this.mappedByteBuffer = mappedByteBuffer;
+    }
+
+    /**
+     * Create a new file, which must not already exist, of the length required for a capacity and initialise a new map
+     * in it. The file remains mapped until {@link #close()} is called.
+     *
+     * @param file         to be created and mapped.
+     * @param capacity     of the map in number of entries which must be a power of 2.
+     * @param loadFactor   to limit the number of entries as a fraction of the capacity.
+     * @param missingValue for the map that represents null.
+     * @return a new map stored in the mapped file.
+     * @see IoUtil#mapNewFile(File, long)
+     */
+    public static OffHeapLong2LongHashMap mapNewFile(
+        final File file, final int capacity, final float loadFactor, final long missingValue)
+    {
+        final MappedByteBuffer mappedByteBuffer = IoUtil.mapNewFile(file, requiredBufferLength(capacity), false);
+        try
+        {
+            return new OffHeapLong2LongHashMap(
+                new UnsafeBuffer(mappedByteBuffer), loadFactor, missingValue, mappedByteBuffer);
+        }
+        catch (final RuntimeException ex)
+        {
+            IoUtil.unmap(mappedByteBuffer);
+            throw ex;
+        }
+    }
+
+    /**
+     * Map an existing file, previously created with {@link #mapNewFile(File, int, float, long)}, and attach to the
+     * map stored in it. The file remains mapped until {@link #close()} is called.
+     *
+     * @param file to be mapped.
+     * @return the map stored in the mapped file.
+     * @throws IllegalStateException if the file does not contain a consistent map as for
+     *                               {@link #OffHeapLong2LongHashMap(AtomicBuffer)}.
+     * @see IoUtil#mapExistingFile(File, String)
+     */
+    public static OffHeapLong2LongHashMap mapExistingFile(final File file)
+    {
+        final MappedByteBuffer mappedByteBuffer = IoUtil.mapExistingFile(file, "Long2Long hash map");
+        try
+        {
+            return new OffHeapLong2LongHashMap(new UnsafeBuffer(mappedByteBuffer), mappedByteBuffer);
+        }
+        catch (final RuntimeException ex)
+        {
+            IoUtil.unmap(mappedByteBuffer);
+            throw ex;
+        }
+    }
+
+    /**
+     * The length of buffer required to store the header and entries for a given capacity.
+     *
+     * @param capacity of the map in number of entries which must be a power of 2.
+     * @return the length of buffer required.
+     * @throws IllegalArgumentException if the capacity is not a power of 2 or the required length would overflow.
+     */
+    public static int requiredBufferLength(final int capacity)
+    {
+        if (!BitUtil.isPowerOfTwo(capacity) || capacity < MIN_CAPACITY)
+        {
+            throw new IllegalArgumentException(
+                "capacity must be a power of 2 of at least " + MIN_CAPACITY + ": capacity=" + capacity);
+        }
+
+        final long length = HEADER_LENGTH + ((long)capacity * ENTRY_LENGTH);
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("capacity is too large: capacity=" + capacity);
+        }
+
+        return (int)length;
+    }
+
+    /**
+     * Unmap the file if the map was created with {@link #mapNewFile(File, int, float, long)} or
+     * {@link #mapExistingFile(File)}, otherwise does nothing as the buffer is owned by the caller.
+     */
+    public void close()
+    {
+        if (null != mappedByteBuffer)
+        {
+            IoUtil.unmap(mappedByteBuffer);
+        }
+    }
+
+    /**
+     * The underlying buffer in which the header and entries are stored.
+     *
+     * @return the underlying buffer in which the header and entries are stored.
+     */
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * The value to be used as a null marker in the map.
+     *
+     * @return value to be used as a null marker in the map.
+     */
+    public long missingValue()
+    {
+        return missingValue;
+    }
+
+    /**
+     * Get the total capacity for the map in number of entries.
+     *
+     * @return the total capacity for the map.
+     */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Get the maximum number of entries the map can hold which is the capacity multiplied by the load factor.
+     *
+     * @return the maximum number of entries the map can hold.
+     */
+    public int maxSize()
+    {
+        return maxSize;
+    }
+
+    /**
+     * The number of entries in the map.
+     *
+     * @return the number of entries in the map.
+     */
+    public int size()
+    {
+        return (int)buffer.getLongVolatile(SIZE_OFFSET);
+    }
+
+    /**
+     * Is the map empty.
+     *
+     * @return true if the map contains no entries.
+     */
+    public boolean isEmpty()
+    {
+        return 0 == size();
+    }
+
+    /**
+     * Get a value using provided key. This may be called concurrently with the writer.
+     *
+     * @param key lookup key.
+     * @return value associated with the key or {@link #missingValue()} if key is not found in the map.
+     */
+    public long get(final long key)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final long missingValue = this.missingValue;
+        final int mask = capacity - 1;
+
+        long modificationCount;
+        long value;
+        do
+        {
+            modificationCount = buffer.getLongVolatile(MODIFICATION_COUNT_OFFSET);
+            if (0 != (modificationCount & 1))
+            {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            int index = Hashing.hash(key, mask);
+            while (missingValue != (value = buffer.getLongAcquire(valueOffset(index))))
+            {
+                if (key == buffer.getLong(keyOffset(index)))
+                {
+                    break;
+                }
+
+                index = next(index, mask);
+            }
+
+            VarHandle.loadLoadFence();
+            if (modificationCount == buffer.getLongVolatile(MODIFICATION_COUNT_OFFSET))
+            {
+                return value;
+            }
+        }
+        while (true);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or {@code defaultValue} if this map contains no
+     * mapping for the key.
+     *
+     * @param key          whose associated value is to be returned.
+     * @param defaultValue to be returned if there is no value in the map for a given {@code key}.
+     * @return the value to which the specified key is mapped, or {@code defaultValue} if this map contains no mapping
+     * for the key.
+     */
+    public long getOrDefault(final long key, final long defaultValue)
+    {
+        final long value = get(key);
+        return missingValue != value ? value : defaultValue;
+    }
+
+    /**
+     * Does the map contain a mapping for the key. This may be called concurrently with the writer.
+     *
+     * @param key the key to check.
+     * @return true if the map contains key as a key, false otherwise.
+     */
+    public boolean containsKey(final long key)
+    {
+        return missingValue != get(key);
+    }
+
+    /**
+     * Put a key value pair in the map. Must only be called by the single writer.
+     *
+     * @param key   lookup key.
+     * @param value new value, must not be {@link #missingValue()}.
+     * @return previous value associated with the key, or {@link #missingValue()} if none found.
+     * @throws IllegalArgumentException if value is {@link #missingValue()}.
+     * @throws IllegalStateException    if the key is new and the map has reached {@link #maxSize()}.
+     */
+    public long put(final long key, final long value)
+    {
+        final long missingValue = this.missingValue;
+        if (missingValue == value)
+        {
+            throw new IllegalArgumentException("cannot accept missingValue");
+        }
+
+        final AtomicBuffer buffer = this.buffer;
+        final int mask = capacity - 1;
+        int index = Hashing.hash(key, mask);
+
+        long oldValue;
+        while (missingValue != (oldValue = buffer.getLong(valueOffset(index))))
+        {
+            if (key == buffer.getLong(keyOffset(index)))
+            {
+                break;
+            }
+
+            index = next(index, mask);
+        }
+
+        if (missingValue == oldValue)
+        {
+            final long size = buffer.getLong(SIZE_OFFSET);
+            if (size >= maxSize)
+            {
+                throw new IllegalStateException("map is full: maxSize=" + maxSize + ", capacity=" + capacity);
+            }
+
+            buffer.putLong(keyOffset(index), key);
+            buffer.putLongRelease(valueOffset(index), value);
+            buffer.putLongRelease(SIZE_OFFSET, size + 1);
+        }
+        else
+        {
+            buffer.putLongRelease(valueOffset(index), value);
+        }
+
+        return oldValue;
+    }
+
+    /**
+     * Remove value from the map using given key. Must only be called by the single writer.
+     *
+     * @param key whose mapping is to be removed from the map.
+     * @return removed value or {@link #missingValue()} if key was not found in the map.
+     */
+    public long remove(final long key)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final long missingValue = this.missingValue;
+        final int mask = capacity - 1;
+        int index = Hashing.hash(key, mask);
+
+        long oldValue;
+        while (missingValue != (oldValue = buffer.getLong(valueOffset(index))))
+        {
+            if (key == buffer.getLong(keyOffset(index)))
+            {
+                final long modificationCount = beginModification(buffer);
+
+                buffer.putLong(valueOffset(index), missingValue);
+                compactChain(buffer, index);
+                buffer.putLongRelease(SIZE_OFFSET, buffer.getLong(SIZE_OFFSET) - 1);
+
+                endModification(buffer, modificationCount);
+                break;
+            }
+
+            index = next(index, mask);
+        }
+
+        return oldValue;
+    }
+
+    /**
+     * Remove all entries from the map. Must only be called by the single writer.
+     */
+    public void clear()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        if (buffer.getLong(SIZE_OFFSET) > 0)
+        {
+            final long modificationCount = beginModification(buffer);
+
+            fillEntries(buffer, capacity, missingValue);
+            buffer.putLongRelease(SIZE_OFFSET, 0);
+
+            endModification(buffer, modificationCount);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "OffHeapLong2LongHashMap{" +
+            "capacity=" + capacity +
+            ", maxSize=" + maxSize +
+            ", size=" + size() +
+            ", missingValue=" + missingValue +
+            '}';
+    }
+
+    private void compactChain(final AtomicBuffer buffer, final int deleteIndex)
+    {
+        final long missingValue = this.missingValue;
+        final int mask = capacity - 1;
+        int deleteKeyIndex = deleteIndex;
+        int index = deleteIndex;
+
+        while (true)
+        {
+            index = next(index, mask);
+            final long value = buffer.getLong(valueOffset(index));
+            if (missingValue == value)
+            {
+                break;
+            }
+
+            final long key = buffer.getLong(keyOffset(index));
+            final int hash = Hashing.hash(key, mask);
+
+            if ((index < hash && (hash <= deleteKeyIndex || deleteKeyIndex <= index)) ||
+                (hash <= deleteKeyIndex && deleteKeyIndex <= index))
+            {
+                buffer.putLong(keyOffset(deleteKeyIndex), key);
+                buffer.putLong(valueOffset(deleteKeyIndex), value);
+
+                buffer.putLong(valueOffset(index), missingValue);
+                deleteKeyIndex = index;
+            }
+        }
+    }
+
+    private static long beginModification(final AtomicBuffer buffer)
+    {
+        final long modificationCount = buffer.getLong(MODIFICATION_COUNT_OFFSET);
+        buffer.putLongRelease(MODIFICATION_COUNT_OFFSET, modificationCount + 1);
+        VarHandle.storeStoreFence();
+
+        return modificationCount;
+    }
+
+    private static void endModification(final AtomicBuffer buffer, final long modificationCount)
+    {
+        buffer.putLongRelease(MODIFICATION_COUNT_OFFSET, modificationCount + 2);
+    }
+
+    private static void fillEntries(final AtomicBuffer buffer, final int capacity, final long missingValue)
+    {
+        if (0 == missingValue)
+        {
+            buffer.setMemory(HEADER_LENGTH, capacity * ENTRY_LENGTH, (byte)0);
+        }
+        else
+        {
+            for (int i = 0; i < capacity; i++)
+            {
+                buffer.putLong(valueOffset(i), missingValue);
+            }
+        }
+    }
+
+    private static int capacityForLength(final int bufferLength)
+    {
+        return (bufferLength - HEADER_LENGTH) / ENTRY_LENGTH;
+    }
+
+    private static int keyOffset(final int index)
+    {
+        return HEADER_LENGTH + (index * ENTRY_LENGTH);
+    }
+
+    private static int valueOffset(final int index)
+    {
+        return HEADER_LENGTH + (index * ENTRY_LENGTH) + SIZE_OF_LONG;
+    }
+
+    private static int next(final int index, final int mask)
+    {
+        return (index + 1) & mask;
+    }
+}
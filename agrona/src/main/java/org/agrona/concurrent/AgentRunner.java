@@ -16,8 +16,12 @@
 package org.agrona.concurrent;
 
 import org.agrona.ErrorHandler;
+import org.agrona.LangUtil;
 import org.agrona.concurrent.status.AtomicCounter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.nio.channels.ClosedByInterruptException;
 import java.util.Objects;
 import java.util.concurrent.ThreadFactory;
@@ -42,6 +46,30 @@ public class AgentRunner implements Runnable, AutoCloseable
      */
     public static final int RETRY_CLOSE_TIMEOUT_MS = 5000;
 
+    private static final MethodHandle NEW_VIRTUAL_THREAD_FACTORY;
+
+    static
+    {
+        MethodHandle newVirtualThreadFactory = null;
+        try
+        {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            final MethodHandle ofVirtual = lookup.findStatic(
+                Thread.class, "ofVirtual", MethodType.methodType(builderClass));
+            final MethodHandle factory = lookup.findVirtual(
+                builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+
+            newVirtualThreadFactory = MethodHandles.filterReturnValue(ofVirtual, factory);
+        }
+        catch (final ReflectiveOperationException ignore)
+        {
+            // virtual threads are not available before Java 21
+        }
+
+        NEW_VIRTUAL_THREAD_FACTORY = newVirtualThreadFactory;
+    }
+
     private volatile boolean isRunning = true;
     private volatile boolean isClosed = false;
 
@@ -102,6 +130,56 @@ public class AgentRunner implements Runnable, AutoCloseable
         return thread;
     }
 
+    /**
+     * Start the given agent runner on a new virtual thread. This is suited to agents which are idle most of the time,
+     * and which use an {@link IdleStrategy} that does not spin such as {@link VirtualThreadIdleStrategy}, so many
+     * agents can share a small number of carrier threads.
+     *
+     * @param runner the agent runner to start.
+     * @return the new virtual thread that has been started.
+     * @throws UnsupportedOperationException if virtual threads are not supported by the Java runtime.
+     * @see #virtualThreadFactory()
+     */
+    public static Thread startOnVirtualThread(final AgentRunner runner)
+    {
+        return startOnThread(runner, virtualThreadFactory());
+    }
+
+    /**
+     * Is creating virtual threads supported by the Java runtime, which requires Java 21 or later.
+     *
+     * @return true if creating virtual threads is supported by the Java runtime.
+     */
+    public static boolean isVirtualThreadSupported()
+    {
+        return null != NEW_VIRTUAL_THREAD_FACTORY;
+    }
+
+    /**
+     * Create a new {@link ThreadFactory} which creates virtual threads, for use with
+     * {@link #startOnThread(AgentRunner, ThreadFactory)}.
+     *
+     * @return a new {@link ThreadFactory} which creates virtual threads.
+     * @throws UnsupportedOperationException if virtual threads are not supported by the Java runtime.
+     */
+    public static ThreadFactory virtualThreadFactory()
+    {
+        if (null == NEW_VIRTUAL_THREAD_FACTORY)
+        {
+            throw new UnsupportedOperationException("virtual threads require Java 21 or later");
+        }
+
+        try
+        {
+            return (ThreadFactory)NEW_VIRTUAL_THREAD_FACTORY.invokeExact();
+        }
+        catch (final Throwable t)
+        {
+            LangUtil.rethrowUnchecked(t);
+            return null;
+        }
+    }
+
     /**
      * The {@link Agent} which is contained.
      *
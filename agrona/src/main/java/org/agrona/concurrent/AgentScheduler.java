@@ -0,0 +1,646 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.nio.channels.ClosedByInterruptException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Scheduler which runs a number of {@link Agent}s over a smaller number of threads, balancing the agents between
+ * the threads based on the work counts recently returned from {@link Agent#doWork()}.
+ * <p>
+ * Each thread has its own {@link IdleStrategy} and runs the agents it owns in a duty cycle like a
+ * {@link DynamicCompositeAgent}. The load of an agent is a decaying sum of its recent work counts, and the load of a
+ * thread is the sum of the loads of its agents. Periodically a thread with less load than the most loaded thread asks
+ * that thread to hand over an agent, and the busiest agent whose move would reduce the imbalance is transferred.
+ * A thread which runs a single agent is never asked, so one busy agent does not bounce between threads.
+ * <p>
+ * An agent is owned by one thread at a time so {@link Agent#onStart()}, {@link Agent#doWork()}, and
+ * {@link Agent#onClose()} are never called concurrently, and a transfer between threads establishes a happens-before
+ * relationship. {@link Agent#onStart()} is called once by the first thread to run the agent and
+ * {@link Agent#onClose()} is called once when the agent terminates or the scheduler is closed. Agents should not
+ * depend on which thread they run, or remain, on.
+ * <p>
+ * An agent which throws an {@link AgentTerminationException} is closed and removed without stopping the other
+ * agents. Other exceptions are passed to the {@link ErrorHandler} and the agent continues to be scheduled.
+ * <p>
+ * <b>Note:</b> An instance should only be started once and then discarded, it should not be reused.
+ */
+public class AgentScheduler implements AutoCloseable
+{
+    /**
+     * Default interval at which each thread checks if it should take an agent from a more loaded thread.
+     */
+    public static final long DEFAULT_REBALANCE_INTERVAL_NS = 1_000_000L;
+
+    /**
+     * Shift applied to decay the load of an agent each duty cycle, giving a load of {@code workCount << 4} for an
+     * agent which consistently returns the same work count.
+     */
+    public static final int LOAD_DECAY_SHIFT = 4;
+
+    private static final int INIT = 0;
+    private static final int ACTIVE = 1;
+    private static final int CLOSED = 2;
+
+    private volatile boolean isRunning = true;
+    private volatile boolean isClosed = false;
+
+    private final long rebalanceIntervalNs;
+    private final String roleName;
+    private final ErrorHandler errorHandler;
+    private final AtomicCounter errorCounter;
+    private final Task[] initialTasks;
+    private final Worker[] workers;
+    private final AtomicInteger state = new AtomicInteger(INIT);
+
+    /**
+     * Create a scheduler for a list of agents using the {@link #DEFAULT_REBALANCE_INTERVAL_NS}.
+     *
+     * @param roleName             for the scheduler which is used as the prefix for thread names.
+     * @param threadCount          number of threads over which the agents are run.
+     * @param idleStrategySupplier to provide an {@link IdleStrategy} for each thread.
+     * @param errorHandler         to be called if an {@link Throwable} is encountered.
+     * @param errorCounter         to be incremented each time an exception is encountered. This may be null.
+     * @param agents               to be scheduled, no null agents allowed.
+     */
+    public AgentScheduler(
+        final String roleName,
+        final int threadCount,
+        final Supplier<? extends IdleStrategy> idleStrategySupplier,
+        final ErrorHandler errorHandler,
+        final AtomicCounter errorCounter,
+        final List<? extends Agent> agents)
+    {
+        this(
+            roleName,
+            threadCount,
+            idleStrategySupplier,
+            errorHandler,
+            errorCounter,
+            agents,
+            DEFAULT_REBALANCE_INTERVAL_NS);
+    }
+
+    /**
+     * Create a scheduler for a list of agents.
+     *
+     * @param roleName             for the scheduler which is used as the prefix for thread names.
+     * @param threadCount          number of threads over which the agents are run.
+     * @param idleStrategySupplier to provide an {@link IdleStrategy} for each thread.
+     * @param errorHandler         to be called if an {@link Throwable} is encountered.
+     * @param errorCounter         to be incremented each time an exception is encountered. This may be null.
+     * @param agents               to be scheduled, no null agents allowed.
+     * @param rebalanceIntervalNs  interval at which each thread checks if it should take an agent from a more loaded
+     *                             thread.
+     */
+    public AgentScheduler(
+        final String roleName,
+        final int threadCount,
+        final Supplier<? extends IdleStrategy> idleStrategySupplier,
+        final ErrorHandler errorHandler,
+        final AtomicCounter errorCounter,
+        final List<? extends Agent> agents,
+        final long rebalanceIntervalNs)
+    {
+        Objects.requireNonNull(roleName, "roleName");
+        Objects.requireNonNull(idleStrategySupplier, "idleStrategySupplier");
+        Objects.requireNonNull(errorHandler, "errorHandler");
+        Objects.requireNonNull(agents, "agents");
+
+        if (threadCount < 1)
+        {
+            throw new IllegalArgumentException("threadCount must be greater than 0: " + threadCount);
+        }
+
+        if (rebalanceIntervalNs < 0)
+        {
+            throw new IllegalArgumentException("rebalanceIntervalNs must not be negative: " + rebalanceIntervalNs);
+        }
+
+        this.roleName = roleName;
+        this.errorHandler = errorHandler;
+        this.errorCounter = errorCounter;
+        this.rebalanceIntervalNs = rebalanceIntervalNs;
+
+        initialTasks = new Task[agents.size()];
+        int i = 0;
+        for (final Agent agent : agents)
+        {
+            Objects.requireNonNull(agent, "agent cannot be null");
+            initialTasks[i++] = new Task(agent);
+        }
+
+        final int queueCapacity = Math.max(2, initialTasks.length);
+        workers = new Worker[threadCount];
+        for (int j = 0; j < threadCount; j++)
+        {
+            final IdleStrategy idleStrategy = Objects.requireNonNull(idleStrategySupplier.get(), "idleStrategy");
+            workers[j] = new Worker(j, idleStrategy, queueCapacity);
+        }
+    }
+
+    /**
+     * Role name of the scheduler which is used as the prefix for thread names.
+     *
+     * @return role name of the scheduler.
+     */
+    public String roleName()
+    {
+        return roleName;
+    }
+
+    /**
+     * Number of threads over which the agents are run.
+     *
+     * @return number of threads over which the agents are run.
+     */
+    public int threadCount()
+    {
+        return workers.length;
+    }
+
+    /**
+     * Number of agents owned by a thread as of its last duty cycle.
+     *
+     * @param threadIndex of the thread in the range 0 to {@link #threadCount()} - 1.
+     * @return number of agents owned by the thread.
+     */
+    public int agentCount(final int threadIndex)
+    {
+        return workers[threadIndex].agentCount;
+    }
+
+    /**
+     * Load of a thread as of its last duty cycle, which is the sum of the decaying work counts of its agents.
+     *
+     * @param threadIndex of the thread in the range 0 to {@link #threadCount()} - 1.
+     * @return load of the thread.
+     * @see #LOAD_DECAY_SHIFT
+     */
+    public long load(final int threadIndex)
+    {
+        return workers[threadIndex].load;
+    }
+
+    /**
+     * The thread which runs the agents for an index, or null if the scheduler has not been started.
+     *
+     * @param threadIndex of the thread in the range 0 to {@link #threadCount()} - 1.
+     * @return the thread which runs the agents for an index.
+     */
+    public Thread thread(final int threadIndex)
+    {
+        return workers[threadIndex].thread;
+    }
+
+    /**
+     * Have all the agents been closed?
+     *
+     * @return true if all the agents have been closed.
+     */
+    public boolean isClosed()
+    {
+        return isClosed;
+    }
+
+    /**
+     * Start the threads of the scheduler with a default {@link ThreadFactory}.
+     *
+     * @throws IllegalStateException if the scheduler has already been started or closed.
+     */
+    public void start()
+    {
+        start(Thread::new);
+    }
+
+    /**
+     * Start the threads of the scheduler. The agents are initially assigned to the threads in a round-robin order.
+     *
+     * @param threadFactory to create the threads.
+     * @throws IllegalStateException if the scheduler has already been started or closed.
+     */
+    public void start(final ThreadFactory threadFactory)
+    {
+        if (!state.compareAndSet(INIT, ACTIVE))
+        {
+            throw new IllegalStateException("scheduler has already been started or closed");
+        }
+
+        for (int i = 0; i < initialTasks.length; i++)
+        {
+            workers[i % workers.length].transfer(initialTasks[i]);
+        }
+
+        for (final Worker worker : workers)
+        {
+            final Thread thread = threadFactory.newThread(worker);
+            thread.setName(roleName + "-" + worker.index);
+            worker.thread = thread;
+        }
+
+        for (final Worker worker : workers)
+        {
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * Stop the threads and close the agents.
+     * <p>
+     * This is equivalent to calling {@link #close(int, Consumer)} using the
+     * {@link AgentRunner#RETRY_CLOSE_TIMEOUT_MS} value and a null action.
+     */
+    public final void close()
+    {
+        close(AgentRunner.RETRY_CLOSE_TIMEOUT_MS, null);
+    }
+
+    /**
+     * Stop the threads and close the agents.
+     * <p>
+     * This will wait for each thread to close its agents and exit. If a thread does not exit within the retry close
+     * timeout then it is interrupted and the wait is retried. If the scheduler was never started then the agents are
+     * closed on the calling thread.
+     *
+     * @param retryCloseTimeoutMs how long to wait before retrying.
+     * @param closeFailAction     function to invoke before retrying after close timeout.
+     * @see AgentRunner#close(int, Consumer)
+     */
+    public final void close(final int retryCloseTimeoutMs, final Consumer<Thread> closeFailAction)
+    {
+        final int previousState = state.getAndSet(CLOSED);
+        if (CLOSED == previousState)
+        {
+            return;
+        }
+
+        isRunning = false;
+
+        try
+        {
+            if (INIT == previousState)
+            {
+                for (final Task task : initialTasks)
+                {
+                    closeAgent(task);
+                }
+            }
+            else
+            {
+                for (final Worker worker : workers)
+                {
+                    awaitExit(worker.thread, retryCloseTimeoutMs, closeFailAction);
+                }
+
+                for (final Worker worker : workers)
+                {
+                    worker.closeTransferredTasks();
+                }
+            }
+        }
+        finally
+        {
+            isClosed = true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "AgentScheduler{" +
+            "roleName=" + roleName +
+            ", threadCount=" + workers.length +
+            ", agentCount=" + initialTasks.length +
+            ", rebalanceIntervalNs=" + rebalanceIntervalNs +
+            '}';
+    }
+
+    private void awaitExit(final Thread thread, final int retryCloseTimeoutMs, final Consumer<Thread> closeFailAction)
+    {
+        while (true)
+        {
+            try
+            {
+                thread.join(retryCloseTimeoutMs);
+
+                if (!thread.isAlive())
+                {
+                    return;
+                }
+
+                failAction(closeFailAction, thread, "timeout, retrying...");
+
+                if (!thread.isInterrupted())
+                {
+                    thread.interrupt();
+                }
+            }
+            catch (final InterruptedException ignore)
+            {
+                Thread.currentThread().interrupt();
+                failAction(closeFailAction, thread, "thread interrupt");
+
+                if (!thread.isInterrupted())
+                {
+                    thread.interrupt();
+                }
+
+                return;
+            }
+        }
+    }
+
+    private void failAction(final Consumer<Thread> closeFailAction, final Thread thread, final String message)
+    {
+        if (null == closeFailAction)
+        {
+            System.err.println(thread.getName() + " failed to close due to " + message);
+        }
+        else
+        {
+            closeFailAction.accept(thread);
+        }
+    }
+
+    private void closeAgent(final Task task)
+    {
+        try
+        {
+            task.agent.onClose();
+        }
+        catch (final Throwable t)
+        {
+            handleError(t);
+        }
+    }
+
+    private void handleError(final Throwable throwable)
+    {
+        if (null != errorCounter && !errorCounter.isClosed())
+        {
+            errorCounter.increment();
+        }
+
+        errorHandler.onError(throwable);
+    }
+
+    static final class Task
+    {
+        final Agent agent;
+        boolean isStarted;
+        long load;
+
+        Task(final Agent agent)
+        {
+            this.agent = agent;
+        }
+    }
+
+    final class Worker implements Runnable
+    {
+        volatile long load;
+        volatile int agentCount;
+        volatile boolean isWorkerRunning = true;
+        volatile Thread thread;
+
+        final int index;
+        private final IdleStrategy idleStrategy;
+        private final ManyToOneConcurrentArrayQueue<Task> transferQueue;
+        private final AtomicReference<Worker> stealRequest = new AtomicReference<>();
+        private final Consumer<Task> adoptFunction = this::adopt;
+        private Task[] tasks = new Task[4];
+        private int taskCount;
+        private long ownedLoad;
+        private long nextRebalanceNs;
+
+        Worker(final int index, final IdleStrategy idleStrategy, final int queueCapacity)
+        {
+            this.index = index;
+            this.idleStrategy = idleStrategy;
+            this.transferQueue = new ManyToOneConcurrentArrayQueue<>(queueCapacity);
+        }
+
+        public void run()
+        {
+            nextRebalanceNs = System.nanoTime() + rebalanceIntervalNs;
+
+            try
+            {
+                while (isRunning && isWorkerRunning)
+                {
+                    final int workCount = doWork();
+                    idleStrategy.idle(workCount);
+                    if (workCount <= 0 && Thread.currentThread().isInterrupted())
+                    {
+                        isWorkerRunning = false;
+                    }
+                }
+            }
+            finally
+            {
+                isWorkerRunning = false;
+                for (int i = 0; i < taskCount; i++)
+                {
+                    closeAgent(tasks[i]);
+                    tasks[i] = null;
+                }
+
+                taskCount = 0;
+                agentCount = 0;
+                load = 0;
+            }
+        }
+
+        void transfer(final Task task)
+        {
+            if (!transferQueue.offer(task))
+            {
+                throw new IllegalStateException("transfer queue is full for thread " + index);
+            }
+        }
+
+        void closeTransferredTasks()
+        {
+            Task task;
+            while (null != (task = transferQueue.poll()))
+            {
+                closeAgent(task);
+            }
+        }
+
+        private int doWork()
+        {
+            int workCount = transferQueue.drain(adoptFunction);
+
+            long load = 0;
+            for (int i = 0; i < taskCount && isWorkerRunning; )
+            {
+                final Task task = tasks[i];
+                int taskWorkCount = 0;
+                try
+                {
+                    taskWorkCount = Math.max(0, task.agent.doWork());
+                }
+                catch (final InterruptedException | ClosedByInterruptException ignore)
+                {
+                    isWorkerRunning = false;
+                    Thread.currentThread().interrupt();
+                }
+                catch (final AgentTerminationException ex)
+                {
+                    handleError(ex);
+                    removeTask(i);
+                    closeAgent(task);
+                    continue;
+                }
+                catch (final Throwable t)
+                {
+                    handleError(t);
+                }
+
+                workCount += taskWorkCount;
+                task.load += taskWorkCount - (task.load >> LOAD_DECAY_SHIFT);
+                load += task.load;
+                i++;
+            }
+
+            ownedLoad = load;
+
+            final Worker thief = stealRequest.get();
+            if (null != thief)
+            {
+                handOver(thief);
+                stealRequest.set(null);
+            }
+
+            this.load = ownedLoad;
+            agentCount = taskCount;
+
+            if (workers.length > 1)
+            {
+                final long nowNs = System.nanoTime();
+                if (nowNs - nextRebalanceNs >= 0)
+                {
+                    nextRebalanceNs = nowNs + rebalanceIntervalNs;
+                    requestSteal();
+                }
+            }
+
+            return workCount;
+        }
+
+        private void adopt(final Task task)
+        {
+            if (!task.isStarted)
+            {
+                task.isStarted = true;
+                try
+                {
+                    task.agent.onStart();
+                }
+                catch (final Throwable t)
+                {
+                    handleError(t);
+                    closeAgent(task);
+                    return;
+                }
+            }
+
+            if (taskCount == tasks.length)
+            {
+                final Task[] newTasks = new Task[taskCount << 1];
+                System.arraycopy(tasks, 0, newTasks, 0, taskCount);
+                tasks = newTasks;
+            }
+
+            tasks[taskCount++] = task;
+        }
+
+        private void removeTask(final int i)
+        {
+            final int lastIndex = --taskCount;
+            tasks[i] = tasks[lastIndex];
+            tasks[lastIndex] = null;
+        }
+
+        private void requestSteal()
+        {
+            final long ownLoad = ownedLoad;
+            Worker victim = null;
+            long victimLoad = ownLoad;
+
+            for (final Worker worker : workers)
+            {
+                if (worker != this && worker.agentCount > 1)
+                {
+                    final long workerLoad = worker.load;
+                    if (workerLoad > victimLoad)
+                    {
+                        victim = worker;
+                        victimLoad = workerLoad;
+                    }
+                }
+            }
+
+            if (null != victim)
+            {
+                victim.stealRequest.compareAndSet(null, this);
+            }
+        }
+
+        private void handOver(final Worker thief)
+        {
+            if (taskCount < 2 || !thief.isWorkerRunning)
+            {
+                return;
+            }
+
+            final long imbalance = ownedLoad - thief.load;
+            int candidate = -1;
+            long candidateLoad = -1;
+
+            for (int i = 0; i < taskCount; i++)
+            {
+                final long taskLoad = tasks[i].load;
+                if (taskLoad < imbalance && taskLoad > candidateLoad)
+                {
+                    candidate = i;
+                    candidateLoad = taskLoad;
+                }
+            }
+
+            if (candidate >= 0)
+            {
+                final Task task = tasks[candidate];
+                removeTask(candidate);
+                ownedLoad -= task.load;
+                thief.transfer(task);
+            }
+        }
+    }
+}
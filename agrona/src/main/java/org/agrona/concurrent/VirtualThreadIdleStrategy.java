@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Idling strategy for agents which run on virtual threads, such as those started with
+ * {@link AgentRunner#startOnVirtualThread(AgentRunner)}.
+ * <p>
+ * {@link Thread#yield()} for maxYields, then
+ * {@link LockSupport#parkNanos(long)} on an exponential backoff to maxParkPeriodNs.
+ * <p>
+ * The strategy never spins, as a spinning virtual thread holds on to its carrier thread and prevents other virtual
+ * threads from running. A virtual thread which yields or parks is unmounted from its carrier thread so many mostly
+ * idle agents can share a small number of carrier threads. When used on a platform thread it behaves like a
+ * {@link BackoffIdleStrategy} with no spinning.
+ */
+public final class VirtualThreadIdleStrategy implements IdleStrategy
+{
+    /**
+     * Name to be returned from {@link #alias()}.
+     */
+    public static final String ALIAS = "virtual-thread";
+
+    /**
+     * Default number of times the strategy will yield without work before going to next state.
+     */
+    public static final long DEFAULT_MAX_YIELDS = 5L;
+
+    /**
+     * Default minimum interval the strategy will park a thread.
+     */
+    public static final long DEFAULT_MIN_PARK_PERIOD_NS = 10_000L;
+
+    /**
+     * Default maximum interval the strategy will park a thread.
+     */
+    public static final long DEFAULT_MAX_PARK_PERIOD_NS = 1_000_000L;
+
+    private static final int NOT_IDLE = 0;
+    private static final int YIELDING = 1;
+    private static final int PARKING = 2;
+
+    private final long maxYields;
+    private final long minParkPeriodNs;
+    private final long maxParkPeriodNs;
+    private int state = NOT_IDLE;
+    private long yields;
+    private long parkPeriodNs;
+
+    /**
+     * Default constructor using {@link #DEFAULT_MAX_YIELDS}, {@link #DEFAULT_MIN_PARK_PERIOD_NS}, and
+     * {@link #DEFAULT_MAX_PARK_PERIOD_NS}.
+     */
+    public VirtualThreadIdleStrategy()
+    {
+        this(DEFAULT_MAX_YIELDS, DEFAULT_MIN_PARK_PERIOD_NS, DEFAULT_MAX_PARK_PERIOD_NS);
+    }
+
+    /**
+     * Create a set of state tracking idle behavior.
+     *
+     * @param maxYields       to perform before moving to {@link LockSupport#parkNanos(long)}
+     * @param minParkPeriodNs to use when initiating parking
+     * @param maxParkPeriodNs to use when parking
+     */
+    public VirtualThreadIdleStrategy(final long maxYields, final long minParkPeriodNs, final long maxParkPeriodNs)
+    {
+        this.maxYields = maxYields;
+        this.minParkPeriodNs = minParkPeriodNs;
+        this.maxParkPeriodNs = maxParkPeriodNs;
+        this.parkPeriodNs = minParkPeriodNs;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void idle(final int workCount)
+    {
+        if (workCount > 0)
+        {
+            reset();
+        }
+        else
+        {
+            idle();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void idle()
+    {
+        switch (state)
+        {
+            case NOT_IDLE:
+            case YIELDING:
+                if (++yields > maxYields)
+                {
+                    state = PARKING;
+                    parkPeriodNs = minParkPeriodNs;
+                }
+                else
+                {
+                    state = YIELDING;
+                    Thread.yield();
+                }
+                break;
+
+            case PARKING:
+                LockSupport.parkNanos(parkPeriodNs);
+                parkPeriodNs = Math.min(parkPeriodNs << 1, maxParkPeriodNs);
+                break;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void reset()
+    {
+        yields = 0;
+        parkPeriodNs = minParkPeriodNs;
+        state = NOT_IDLE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String alias()
+    {
+        return ALIAS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "VirtualThreadIdleStrategy{" +
+            "alias=" + ALIAS +
+            ", maxYields=" + maxYields +
+            ", minParkPeriodNs=" + minParkPeriodNs +
+            ", maxParkPeriodNs=" + maxParkPeriodNs +
+            '}';
+    }
+}
@@ -38,6 +38,18 @@ public final class BroadcastBufferDescriptor
      */
     public static final int LATEST_COUNTER_OFFSET;
 
+    /**
+     * Offset within the trailer for where the intended number of the latest record is stored before the latest
+     * sequence value is updated.
+     */
+    public static final int LATEST_RECORD_NUMBER_INTENT_OFFSET;
+
+    /**
+     * Offset within the trailer for where the number of the latest record is stored, which counts the records
+     * transmitted from zero and does not include padding records.
+     */
+    public static final int LATEST_RECORD_NUMBER_OFFSET;
+
     /**
      * Total size of the trailer.
      */
@@ -54,6 +66,12 @@ public final class BroadcastBufferDescriptor
         offset += SIZE_OF_LONG;
         LATEST_COUNTER_OFFSET = offset;
 
+        offset += SIZE_OF_LONG;
+        LATEST_RECORD_NUMBER_INTENT_OFFSET = offset;
+
+        offset += SIZE_OF_LONG;
+        LATEST_RECORD_NUMBER_OFFSET = offset;
+
         TRAILER_LENGTH = CACHE_LINE_LENGTH * 2;
     }
 
@@ -17,6 +17,7 @@ package org.agrona.concurrent.broadcast;
 
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
 
 import java.lang.invoke.VarHandle;
 import java.util.concurrent.atomic.AtomicLong;
@@ -30,7 +31,9 @@ import static org.agrona.concurrent.broadcast.RecordDescriptor.*;
  * a transmission stream at any point by consuming the latest message at the point of joining and forward.
  * <p>
  * If a Receiver cannot keep up with the transmission stream then loss will be experienced. Loss is not an
- * error condition.
+ * error condition. When lapped the receiver resyncs to the latest complete record and the exact number of bytes and
+ * records lost is accumulated in {@link #lostBytes()} and {@link #lostRecords()}, which can also be published with
+ * the lag of the receiver into {@link AtomicCounter}s for monitoring.
  * <p>
  * <b>Note:</b> Each Receiver is not threadsafe but there can be zero or many receivers to a transmission stream.
  */
@@ -38,6 +41,7 @@ public class BroadcastReceiver
 {
     private long cursor;
     private long nextRecord;
+    private long nextRecordNumber;
     private int recordOffset;
 
     private final int capacity;
@@ -45,12 +49,19 @@ public class BroadcastReceiver
     private final int tailCounterIndex;
 
     private final int latestCounterIndex;
+    private final int latestRecordNumberIntentIndex;
+    private final int latestRecordNumberIndex;
     private final AtomicBuffer buffer;
+    private final AtomicCounter lagCounter;
+    private final AtomicCounter lostBytesCounter;
+    private final AtomicCounter lostRecordsCounter;
 
     // The lapped counter is accessed using 'opaque' access which is a great for performance
     // monitoring. It will not provide any ordering guarantees with respect to loads/stores
     // to other addresses, at will provide atomicity and coherence.
     private final AtomicLong lappedCount = new AtomicLong();
+    private final AtomicLong lostBytes = new AtomicLong();
+    private final AtomicLong lostRecords = new AtomicLong();
 
     /**
      * Construct a new broadcast receiver based on an underlying {@link AtomicBuffer}.
@@ -62,8 +73,34 @@ public class BroadcastReceiver
      * plus {@link BroadcastBufferDescriptor#TRAILER_LENGTH} in capacity.
      */
     public BroadcastReceiver(final AtomicBuffer buffer)
+    {
+        this(buffer, null, null, null);
+    }
+
+    /**
+     * Construct a new broadcast receiver based on an underlying {@link AtomicBuffer} which publishes its lag and loss
+     * into counters. The underlying buffer must a power of 2 in size plus sufficient space
+     * for the {@link BroadcastBufferDescriptor#TRAILER_LENGTH}.
+     *
+     * @param buffer             via which messages will be exchanged.
+     * @param lagCounter         to be set to the number of bytes the receiver is behind the tail after each message
+     *                           is received, or null if not required.
+     * @param lostBytesCounter   to be incremented by the number of bytes lost when lapped, or null if not required.
+     * @param lostRecordsCounter to be incremented by the number of records lost when lapped, or null if not
+     *                           required.
+     * @throws IllegalStateException if the buffer capacity is not a power of 2
+     * plus {@link BroadcastBufferDescriptor#TRAILER_LENGTH} in capacity.
+     */
+    public BroadcastReceiver(
+        final AtomicBuffer buffer,
+        final AtomicCounter lagCounter,
+        final AtomicCounter lostBytesCounter,
+        final AtomicCounter lostRecordsCounter)
     {
         this.buffer = buffer;
+        this.lagCounter = lagCounter;
+        this.lostBytesCounter = lostBytesCounter;
+        this.lostRecordsCounter = lostRecordsCounter;
         this.capacity = buffer.capacity() - TRAILER_LENGTH;
 
         checkCapacity(capacity);
@@ -72,8 +109,10 @@ public class BroadcastReceiver
         tailIntentCounterIndex = capacity + TAIL_INTENT_COUNTER_OFFSET;
         tailCounterIndex = capacity + TAIL_COUNTER_OFFSET;
         latestCounterIndex = capacity + LATEST_COUNTER_OFFSET;
+        latestRecordNumberIntentIndex = capacity + LATEST_RECORD_NUMBER_INTENT_OFFSET;
+        latestRecordNumberIndex = capacity + LATEST_RECORD_NUMBER_OFFSET;
 
-        cursor = nextRecord = buffer.getLongVolatile(latestCounterIndex);
+        cursor = nextRecord = readLatest();
         recordOffset = (int)cursor & (capacity - 1);
     }
 
@@ -101,6 +140,33 @@ public class BroadcastReceiver
         return lappedCount.getOpaque();
     }
 
+    /**
+     * Get the total number of bytes of the transmission stream, including headers and padding, which this receiver
+     * has lost by being lapped.
+     * <p>
+     * <b>Note:</b> This method is threadsafe for calling from an external monitoring thread. It will not
+     * provide any ordering guarantees with respect to loads/stores to other addresses.
+     *
+     * @return the total number of bytes lost.
+     */
+    public long lostBytes()
+    {
+        return lostBytes.getOpaque();
+    }
+
+    /**
+     * Get the total number of records, not including padding, which this receiver has lost by being lapped.
+     * <p>
+     * <b>Note:</b> This method is threadsafe for calling from an external monitoring thread. It will not
+     * provide any ordering guarantees with respect to loads/stores to other addresses.
+     *
+     * @return the total number of records lost.
+     */
+    public long lostRecords()
+    {
+        return lostRecords.getOpaque();
+    }
+
     /**
      * Type of the message received.
      *
@@ -144,7 +210,8 @@ public class BroadcastReceiver
     /**
      * Non-blocking receive of next message from the transmission stream.
      * <p>
-     * If loss has occurred then {@link #lappedCount()} will be incremented.
+     * If loss has occurred then {@link #lappedCount()} will be incremented, the receiver will resync to the latest
+     * complete record, and the loss will be added to {@link #lostBytes()} and {@link #lostRecords()}.
      *
      * @return true if transmission is available with {@link #offset()}, {@link #length()} and {@link #typeId()}
      * set for the next message to be consumed. If no transmission is available then false.
@@ -163,10 +230,12 @@ public class BroadcastReceiver
 
             if (!validate(cursor, buffer, capacity))
             {
+                final long expectedRecordNumber = nextRecordNumber;
                 lappedCount.setOpaque(lappedCount.getPlain() + 1);
 
-                cursor = buffer.getLongVolatile(latestCounterIndex);
+                cursor = readLatest();
                 recordOffset = (int)cursor & (capacity - 1);
+                onLoss(cursor - nextRecord, nextRecordNumber - expectedRecordNumber);
             }
 
             this.cursor = cursor;
@@ -180,12 +249,39 @@ public class BroadcastReceiver
             }
 
             this.recordOffset = recordOffset;
+            nextRecordNumber++;
             isAvailable = true;
+
+            if (null != lagCounter)
+            {
+                lagCounter.setOpaque(tail - nextRecord);
+            }
         }
 
         return isAvailable;
     }
 
+    /**
+     * Resync to the latest complete record when {@link #validate()} returns false because the record last
+     * received was overwritten while being read. The record and any after it up to the latest are added to
+     * {@link #lostBytes()} and {@link #lostRecords()}, and the next call to {@link #receiveNext()} will receive the
+     * latest record. If the record last received is still valid then this has no effect.
+     */
+    public void resync()
+    {
+        if (!validate())
+        {
+            final long currentRecordNumber = nextRecordNumber - 1;
+            final long latest = readLatest();
+
+            lappedCount.setOpaque(lappedCount.getPlain() + 1);
+            onLoss(latest - cursor, nextRecordNumber - currentRecordNumber);
+
+            cursor = nextRecord = latest;
+            recordOffset = (int)latest & (capacity - 1);
+        }
+    }
+
     /**
      * Validate that the current received record is still valid and has not been overwritten.
      * <p>
@@ -205,4 +301,38 @@ public class BroadcastReceiver
     {
         return (cursor + capacity) > buffer.getLongVolatile(tailIntentCounterIndex);
     }
+
+    private long readLatest()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        long recordNumber;
+        long latest;
+
+        do
+        {
+            recordNumber = buffer.getLongVolatile(latestRecordNumberIndex);
+            latest = buffer.getLongVolatile(latestCounterIndex);
+        }
+        while (recordNumber != buffer.getLongVolatile(latestRecordNumberIntentIndex));
+
+        nextRecordNumber = recordNumber;
+
+        return latest;
+    }
+
+    private void onLoss(final long bytes, final long records)
+    {
+        lostBytes.setOpaque(lostBytes.getPlain() + bytes);
+        lostRecords.setOpaque(lostRecords.getPlain() + records);
+
+        if (null != lostBytesCounter)
+        {
+            lostBytesCounter.getAndAddOpaque(bytes);
+        }
+
+        if (null != lostRecordsCounter)
+        {
+            lostRecordsCounter.getAndAddOpaque(records);
+        }
+    }
 }
@@ -27,6 +27,9 @@ import static org.agrona.concurrent.broadcast.RecordDescriptor.*;
 /**
  * Transmit messages via an underlying broadcast buffer to zero or more {@link BroadcastReceiver}s.
  * <p>
+ * Messages can be copied from another buffer with {@link #transmit(int, DirectBuffer, int, int)}, or encoded in place
+ * with {@link #tryClaim(int, int)} followed by {@link #commit(int)}.
+ * <p>
  * <b>Note:</b> This class is not threadsafe. Only one transmitter is allowed per broadcast buffer.
  */
 public class BroadcastTransmitter
@@ -37,6 +40,13 @@ public class BroadcastTransmitter
     private final int tailIntentCountIndex;
     private final int tailCounterIndex;
     private final int latestCounterIndex;
+    private final int latestRecordNumberIntentIndex;
+    private final int latestRecordNumberIndex;
+    private long tailIntent;
+    private long claimedTail;
+    private int claimedRecordOffset;
+    private int claimedRecordLengthAligned;
+    private boolean isClaimed;
 
     /**
      * Construct a new broadcast transmitter based on an underlying {@link org.agrona.concurrent.AtomicBuffer}.
@@ -59,6 +69,9 @@ public class BroadcastTransmitter
         this.tailIntentCountIndex = capacity + TAIL_INTENT_COUNTER_OFFSET;
         this.tailCounterIndex = capacity + TAIL_COUNTER_OFFSET;
         this.latestCounterIndex = capacity + LATEST_COUNTER_OFFSET;
+        this.latestRecordNumberIntentIndex = capacity + LATEST_RECORD_NUMBER_INTENT_OFFSET;
+        this.latestRecordNumberIndex = capacity + LATEST_RECORD_NUMBER_OFFSET;
+        this.tailIntent = buffer.getLongVolatile(tailIntentCountIndex);
     }
 
     /**
@@ -81,6 +94,17 @@ public class BroadcastTransmitter
         return maxMsgLength;
     }
 
+    /**
+     * The underlying buffer of the broadcast buffer, into which messages can be encoded after {@link #tryClaim(int,
+     * int)}.
+     *
+     * @return the underlying buffer of the broadcast buffer.
+     */
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
     /**
      * Transmit a message to {@link BroadcastReceiver}s via the broadcast buffer.
      *
@@ -90,13 +114,102 @@ public class BroadcastTransmitter
      * @param length    in bytes of the encoded message.
      * @throws IllegalArgumentException of the msgTypeId is not valid,
      * or if the message length is greater than {@link #maxMsgLength()}.
+     * @throws IllegalStateException if a claim is in progress.
      */
     public void transmit(final int msgTypeId, final DirectBuffer srcBuffer, final int srcIndex, final int length)
     {
         checkTypeId(msgTypeId);
         checkMessageLength(length);
+        checkNotClaimed();
 
         final AtomicBuffer buffer = this.buffer;
+        final int recordOffset = claim(buffer, msgTypeId, length);
+
+        buffer.putBytes(msgOffset(recordOffset), srcBuffer, srcIndex, length);
+
+        publish(buffer);
+    }
+
+    /**
+     * Claim space in the broadcast buffer for a message so it can be encoded directly into the {@link #buffer()},
+     * such as with an {@link org.agrona.sbe.MessageEncoderFlyweight}, and then made visible to receivers with
+     * {@link #commit(int)}. Receivers do not see the message until it is committed. Unlike a ring-buffer the claim
+     * always succeeds as broadcast messages overwrite older messages which receivers may not have read.
+     * <p>
+     * Only one claim can be in progress at a time and it must be committed or aborted before the next message is
+     * transmitted or claimed:
+     * <pre>
+     * {@code
+     *     final int index = transmitter.tryClaim(msgTypeId, encoder.sbeBlockLength());
+     *     try
+     *     {
+     *         encoder.wrap(transmitter.buffer(), index);
+     *         // encode the message
+     *         ...
+     *         transmitter.commit(index); // make the message visible to receivers
+     *     }
+     *     catch (final Exception ex)
+     *     {
+     *         transmitter.abort(index); // discard the message
+     *         ...
+     *     }
+     * }
+     * </pre>
+     *
+     * @param msgTypeId type of the message encoding. Will be written into the header upon successful claim.
+     * @param length    of the claim in bytes. A claim length cannot be greater than {@link #maxMsgLength()}.
+     * @return index into the {@link #buffer()} at which the message is to be encoded.
+     * @throws IllegalArgumentException if the {@code msgTypeId} is less than {@code 1}.
+     * @throws IllegalArgumentException if the {@code length} is negative or is greater than {@link #maxMsgLength()}.
+     * @throws IllegalStateException    if a claim is already in progress.
+     * @see #commit(int)
+     * @see #abort(int)
+     */
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        checkTypeId(msgTypeId);
+        checkMessageLength(length);
+        checkNotClaimed();
+
+        final int recordOffset = claim(buffer, msgTypeId, length);
+        isClaimed = true;
+
+        return msgOffset(recordOffset);
+    }
+
+    /**
+     * Commit a message which was encoded in the previously claimed space thus making it visible to receivers.
+     *
+     * @param index at which the encoded message begins, i.e. value returned from the {@link #tryClaim(int, int)} call.
+     * @throws IllegalArgumentException if the {@code index} is not that of the claim in progress.
+     * @throws IllegalStateException    if no claim is in progress.
+     * @see #tryClaim(int, int)
+     */
+    public void commit(final int index)
+    {
+        checkClaimed(index);
+        isClaimed = false;
+
+        publish(buffer);
+    }
+
+    /**
+     * Abort a claim so the message is never visible to receivers and the claimed space is reused by the next message.
+     * Receivers which had not read older messages in the claimed space will still see them as lost.
+     *
+     * @param index at which the encoded message begins, i.e. value returned from the {@link #tryClaim(int, int)} call.
+     * @throws IllegalArgumentException if the {@code index} is not that of the claim in progress.
+     * @throws IllegalStateException    if no claim is in progress.
+     * @see #tryClaim(int, int)
+     */
+    public void abort(final int index)
+    {
+        checkClaimed(index);
+        isClaimed = false;
+    }
+
+    private int claim(final AtomicBuffer buffer, final int msgTypeId, final int length)
+    {
         long currentTail = buffer.getLong(tailCounterIndex);
         int recordOffset = (int)currentTail & (capacity - 1);
         final int recordLength = HEADER_LENGTH + length;
@@ -120,26 +233,77 @@ public class BroadcastTransmitter
         buffer.putInt(lengthOffset(recordOffset), recordLength);
         buffer.putInt(typeOffset(recordOffset), msgTypeId);
 
-        buffer.putBytes(msgOffset(recordOffset), srcBuffer, srcIndex, length);
+        claimedTail = currentTail;
+        claimedRecordOffset = recordOffset;
+        claimedRecordLengthAligned = recordLengthAligned;
+
+        return recordOffset;
+    }
+
+    private void publish(final AtomicBuffer buffer)
+    {
+        final long claimedTail = this.claimedTail;
 
-        buffer.putLongRelease(latestCounterIndex, currentTail);
-        buffer.putLongRelease(tailCounterIndex, currentTail + recordLengthAligned);
+        signalLatest(buffer, claimedTail);
+        buffer.putLongRelease(tailCounterIndex, claimedTail + claimedRecordLengthAligned);
     }
 
     private void signalTailIntent(final AtomicBuffer buffer, final long newTail)
     {
-        buffer.putLongRelease(tailIntentCountIndex, newTail);
+        // an aborted claim may have overwritten beyond the new tail so the intent never goes backwards
+        if (newTail > tailIntent)
+        {
+            tailIntent = newTail;
+        }
+
+        buffer.putLongRelease(tailIntentCountIndex, tailIntent);
         VarHandle.releaseFence();
     }
 
+    private void signalLatest(final AtomicBuffer buffer, final long latest)
+    {
+        final long recordNumber = 0 == latest ? 0 : buffer.getLong(latestRecordNumberIndex) + 1;
+
+        buffer.putLongRelease(latestRecordNumberIntentIndex, recordNumber);
+        buffer.putLongRelease(latestCounterIndex, latest);
+        buffer.putLongRelease(latestRecordNumberIndex, recordNumber);
+    }
+
     private static void insertPaddingRecord(final AtomicBuffer buffer, final int recordOffset, final int length)
     {
         buffer.putInt(lengthOffset(recordOffset), length);
         buffer.putInt(typeOffset(recordOffset), PADDING_MSG_TYPE_ID);
     }
 
+    private void checkNotClaimed()
+    {
+        if (isClaimed)
+        {
+            throw new IllegalStateException("claim in progress at index=" + msgOffset(claimedRecordOffset));
+        }
+    }
+
+    private void checkClaimed(final int index)
+    {
+        if (!isClaimed)
+        {
+            throw new IllegalStateException("no claim in progress");
+        }
+
+        if (index != msgOffset(claimedRecordOffset))
+        {
+            throw new IllegalArgumentException(
+                "invalid message index " + index + ", claimed index=" + msgOffset(claimedRecordOffset));
+        }
+    }
+
     private void checkMessageLength(final int length)
     {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("invalid message length=" + length);
+        }
+
         if (length > maxMsgLength)
         {
             throw new IllegalArgumentException(
@@ -120,4 +120,50 @@ public class CopyBroadcastReceiver
 
         return messagesReceived;
     }
+
+    /**
+     * Receive one message from the broadcast buffer and resync to the latest complete record if the receiver is
+     * lapped rather than throwing an exception. Any loss is recorded in {@link BroadcastReceiver#lostBytes()} and
+     * {@link BroadcastReceiver#lostRecords()}.
+     *
+     * @param handler to be called for each message received.
+     * @return the number of messages that have been received.
+     */
+    public int receiveWithResync(final MessageHandler handler)
+    {
+        int messagesReceived = 0;
+        final BroadcastReceiver receiver = this.receiver;
+
+        if (receiver.receiveNext())
+        {
+            final int length = receiver.length();
+            final int capacity = scratchBuffer.capacity();
+            if (length < 0 || (length > capacity && !scratchBuffer.isExpandable()))
+            {
+                if (receiver.validate())
+                {
+                    throw new IllegalStateException(
+                        "buffer required length of " + length + " but only has " + capacity);
+                }
+
+                receiver.resync();
+                return 0;
+            }
+
+            final int msgTypeId = receiver.typeId();
+            scratchBuffer.putBytes(0, receiver.buffer(), receiver.offset(), length);
+
+            if (receiver.validate())
+            {
+                handler.onMessage(msgTypeId, scratchBuffer, 0, length);
+                messagesReceived = 1;
+            }
+            else
+            {
+                receiver.resync();
+            }
+        }
+
+        return messagesReceived;
+    }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+
+import static org.agrona.concurrent.broadcast.BroadcastBufferDescriptor.*;
+import static org.agrona.concurrent.broadcast.RecordDescriptor.*;
+
+/**
+ * Transmit messages from many threads via an underlying broadcast buffer to zero or more
+ * {@link BroadcastReceiver}s.
+ * <p>
+ * Transmitters reserve space for a record by a compare-and-set of the tail intent counter, write the record, then
+ * commit it by advancing the tail counter once all earlier records have been committed. Records are therefore made
+ * visible in the order they were claimed, and the buffer has the same {@link BroadcastBufferDescriptor} layout as
+ * one written by a {@link BroadcastTransmitter}, so the existing {@link BroadcastReceiver} and
+ * {@link CopyBroadcastReceiver} can be used unchanged. A receiver never sees a record which is claimed but not yet
+ * committed, and records claimed ahead of the tail count towards lapping a receiver as they may overwrite it.
+ * <p>
+ * A transmitter which is descheduled between claiming and committing a record delays the commit of later records,
+ * and transmitters will not claim more than the capacity of the buffer ahead of the tail. Transmitters waiting for
+ * either spin briefly then yield so the descheduled transmitter can run when there are more threads than cores.
+ * <p>
+ * <b>Note:</b> This class is threadsafe and can be shared by many transmitting threads, but the buffer must not also
+ * be used by a {@link BroadcastTransmitter}.
+ */
+public class ManyToManyBroadcastTransmitter
+{
+    private static final int MAX_SPINS = 100;
+
+    private final AtomicBuffer buffer;
+    private final int capacity;
+    private final int maxMsgLength;
+    private final int tailIntentCountIndex;
+    private final int tailCounterIndex;
+    private final int latestCounterIndex;
+    private final int latestRecordNumberIntentIndex;
+    private final int latestRecordNumberIndex;
+
+    /**
+     * Construct a new broadcast transmitter based on an underlying {@link org.agrona.concurrent.AtomicBuffer}.
+     * The underlying buffer must a power of 2 in size plus sufficient space
+     * for the {@link BroadcastBufferDescriptor#TRAILER_LENGTH}.
+     *
+     * @param buffer via which messages will be exchanged.
+     * @throws IllegalStateException if the buffer capacity is not a power of 2
+     * plus {@link BroadcastBufferDescriptor#TRAILER_LENGTH} in capacity.
+     */
+    public ManyToManyBroadcastTransmitter(final AtomicBuffer buffer)
+    {
+        this.buffer = buffer;
+        this.capacity = buffer.capacity() - TRAILER_LENGTH;
+
+        checkCapacity(capacity);
+        buffer.verifyAlignment();
+
+        this.maxMsgLength = calculateMaxMessageLength(capacity);
+        this.tailIntentCountIndex = capacity + TAIL_INTENT_COUNTER_OFFSET;
+        this.tailCounterIndex = capacity + TAIL_COUNTER_OFFSET;
+        this.latestCounterIndex = capacity + LATEST_COUNTER_OFFSET;
+        this.latestRecordNumberIntentIndex = capacity + LATEST_RECORD_NUMBER_INTENT_OFFSET;
+        this.latestRecordNumberIndex = capacity + LATEST_RECORD_NUMBER_OFFSET;
+    }
+
+    /**
+     * Get the capacity of the underlying broadcast buffer.
+     *
+     * @return the capacity of the underlying broadcast buffer.
+     */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Get the maximum message length that can be transmitted for a buffer.
+     *
+     * @return the maximum message length that can be transmitted for a buffer.
+     */
+    public int maxMsgLength()
+    {
+        return maxMsgLength;
+    }
+
+    /**
+     * Transmit a message to {@link BroadcastReceiver}s via the broadcast buffer.
+     *
+     * @param msgTypeId type of the message to be transmitted.
+     * @param srcBuffer containing the encoded message to be transmitted.
+     * @param srcIndex  srcIndex in the source buffer at which the encoded message begins.
+     * @param length    in bytes of the encoded message.
+     * @throws IllegalArgumentException of the msgTypeId is not valid,
+     * or if the message length is greater than {@link #maxMsgLength()}.
+     * @throws IndexOutOfBoundsException if the message is not within the source buffer, which is checked before
+     * claiming so a failed transmit cannot block other transmitters.
+     */
+    public void transmit(final int msgTypeId, final DirectBuffer srcBuffer, final int srcIndex, final int length)
+    {
+        checkTypeId(msgTypeId);
+        checkMessageLength(length);
+        srcBuffer.boundsCheck(srcIndex, length);
+
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = HEADER_LENGTH + length;
+        final int recordLengthAligned = BitUtil.align(recordLength, RECORD_ALIGNMENT);
+        final long claimedTail = claim(buffer, recordLengthAligned);
+
+        long currentTail = claimedTail;
+        int recordOffset = (int)currentTail & (capacity - 1);
+        final int toEndOfBuffer = capacity - recordOffset;
+        if (toEndOfBuffer < recordLengthAligned)
+        {
+            insertPaddingRecord(buffer, recordOffset, toEndOfBuffer);
+
+            currentTail += toEndOfBuffer;
+            recordOffset = 0;
+        }
+
+        buffer.putInt(lengthOffset(recordOffset), recordLength);
+        buffer.putInt(typeOffset(recordOffset), msgTypeId);
+
+        buffer.putBytes(msgOffset(recordOffset), srcBuffer, srcIndex, length);
+
+        commit(buffer, claimedTail, currentTail, currentTail + recordLengthAligned);
+    }
+
+    private long claim(final AtomicBuffer buffer, final int recordLengthAligned)
+    {
+        final int capacity = this.capacity;
+        for (int spins = 0; true; spins++)
+        {
+            final long currentTail = buffer.getLongVolatile(tailIntentCountIndex);
+            final int toEndOfBuffer = capacity - ((int)currentTail & (capacity - 1));
+            final long newTail = currentTail + recordLengthAligned +
+                (toEndOfBuffer < recordLengthAligned ? toEndOfBuffer : 0);
+
+            if (newTail - buffer.getLongVolatile(tailCounterIndex) > capacity)
+            {
+                // do not overwrite records which other transmitters have claimed but not yet committed
+                idle(spins);
+            }
+            else if (buffer.compareAndSetLong(tailIntentCountIndex, currentTail, newTail))
+            {
+                return currentTail;
+            }
+        }
+    }
+
+    private void commit(final AtomicBuffer buffer, final long claimedTail, final long recordTail, final long newTail)
+    {
+        for (int spins = 0; buffer.getLongVolatile(tailCounterIndex) != claimedTail; spins++)
+        {
+            idle(spins);
+        }
+
+        final long recordNumber = 0 == recordTail ? 0 : buffer.getLong(latestRecordNumberIndex) + 1;
+
+        buffer.putLongRelease(latestRecordNumberIntentIndex, recordNumber);
+        buffer.putLongRelease(latestCounterIndex, recordTail);
+        buffer.putLongRelease(latestRecordNumberIndex, recordNumber);
+        buffer.putLongRelease(tailCounterIndex, newTail);
+    }
+
+    private static void idle(final int spins)
+    {
+        if (spins < MAX_SPINS)
+        {
+            Thread.onSpinWait();
+        }
+        else
+        {
+            Thread.yield();
+        }
+    }
+
+    private static void insertPaddingRecord(final AtomicBuffer buffer, final int recordOffset, final int length)
+    {
+        buffer.putInt(lengthOffset(recordOffset), length);
+        buffer.putInt(typeOffset(recordOffset), PADDING_MSG_TYPE_ID);
+    }
+
+    private void checkMessageLength(final int length)
+    {
+        if (length > maxMsgLength)
+        {
+            throw new IllegalArgumentException(
+                "encoded message exceeds maxMsgLength of " + maxMsgLength + ", length=" + length);
+        }
+    }
+}
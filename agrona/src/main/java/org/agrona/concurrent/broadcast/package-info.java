@@ -15,6 +15,6 @@
  */
 
 /**
- * Data structure for broadcasting messages from one source to many receivers via shared memory.
+ * Data structure for broadcasting messages from one or many sources to many receivers via shared memory.
  */
 package org.agrona.concurrent.broadcast;
\ No newline at end of file
@@ -0,0 +1,663 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+
+import java.lang.invoke.VarHandle;
+
+import static java.lang.Math.max;
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ControlledMessageHandler.Action.*;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.*;
+
+/**
+ * A ring-buffer that supports the exchange of messages from many producers to many consumers.
+ * <p>
+ * Producers claim space with a CAS on the tail the same as the {@link ManyToOneRingBuffer}. Consumers claim one
+ * record at a time with a CAS on the head so that each message is delivered to exactly one consumer. Once a consumer
+ * has processed a record it marks the record as consumed and the space is released back to the producers, in order,
+ * by whichever consumer finds a run of consumed records at the released position. The released position is kept in
+ * the {@link RingBufferDescriptor#HEAD_CACHE_POSITION_OFFSET} slot of the trailer so the layout remains the same as
+ * the other ring-buffers and all state lives in the underlying buffer for use across processes.
+ * <p>
+ * Records are delivered in order of claim, but consumers process concurrently, so there is no ordering guarantee
+ * across consumers. A consumer which dies while holding a claimed record will prevent that space, and all space after
+ * it, from being released.
+ * <p>
+ * <b>Note:</b> a {@link ControlledMessageHandler.Action#ABORT} can only return a record to the ring-buffer when no
+ * other consumer has claimed a subsequent record. When this is not possible the same message is delivered to the
+ * handler again until it is not aborted.
+ */
+public final class ManyToManyRingBuffer implements RingBuffer
+{
+    /**
+     * Minimal required capacity of the ring buffer excluding {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     */
+    public static final int MIN_CAPACITY = HEADER_LENGTH;
+
+    /**
+     * Record type written by a consumer once it has finished with a record so that the space can be released.
+     */
+    static final int CONSUMED_MSG_TYPE_ID = Integer.MIN_VALUE;
+
+    /**
+     * Bit set on the released position while a consumer is zeroing consumed records ready for reuse.
+     */
+    static final long RELEASE_LOCK_BIT = Long.MIN_VALUE;
+
+    private final int capacity;
+    private final int maxMsgLength;
+    private final int tailPositionIndex;
+    private final int releasedPositionIndex;
+    private final int headPositionIndex;
+    private final int correlationIdCounterIndex;
+    private final int consumerHeartbeatIndex;
+    private final AtomicBuffer buffer;
+
+    /**
+     * Construct a new {@link RingBuffer} based on an underlying {@link AtomicBuffer}.
+     * The underlying buffer must a power of 2 in size plus sufficient space
+     * for the {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     *
+     * @param buffer via which events will be exchanged.
+     * @throws IllegalArgumentException if the buffer capacity is not a power of 2 plus
+     *                                  {@link RingBufferDescriptor#TRAILER_LENGTH} or if capacity is less than
+     *                                  {@link #MIN_CAPACITY}.
+     */
+    public ManyToManyRingBuffer(final AtomicBuffer buffer)
+    {
+        capacity = checkCapacity(buffer.capacity(), MIN_CAPACITY);
+
+        buffer.verifyAlignment();
+
+        this.buffer = buffer;
+        maxMsgLength = MIN_CAPACITY == capacity ? 0 : max(HEADER_LENGTH, capacity >> 3);
+        tailPositionIndex = capacity + TAIL_POSITION_OFFSET;
+        releasedPositionIndex = capacity + HEAD_CACHE_POSITION_OFFSET;
+        headPositionIndex = capacity + HEAD_POSITION_OFFSET;
+        correlationIdCounterIndex = capacity + CORRELATION_COUNTER_OFFSET;
+        consumerHeartbeatIndex = capacity + CONSUMER_HEARTBEAT_OFFSET;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean write(final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        checkTypeId(msgTypeId);
+        checkMsgLength(length);
+
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = length + HEADER_LENGTH;
+        final int recordIndex = claimCapacity(buffer, recordLength);
+
+        if (INSUFFICIENT_CAPACITY == recordIndex)
+        {
+            return false;
+        }
+
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+        VarHandle.releaseFence();
+
+        buffer.putBytes(encodedMsgOffset(recordIndex), srcBuffer, offset, length);
+        buffer.putInt(typeOffset(recordIndex), msgTypeId);
+        buffer.putIntRelease(lengthOffset(recordIndex), recordLength);
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        checkTypeId(msgTypeId);
+        checkMsgLength(length);
+
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = length + HEADER_LENGTH;
+        final int recordIndex = claimCapacity(buffer, recordLength);
+
+        if (INSUFFICIENT_CAPACITY == recordIndex)
+        {
+            return recordIndex;
+        }
+
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+        VarHandle.releaseFence();
+        buffer.putInt(typeOffset(recordIndex), msgTypeId);
+
+        return encodedMsgOffset(recordIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void commit(final int index)
+    {
+        final int recordIndex = computeRecordIndex(index);
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = verifyClaimedSpaceNotReleased(buffer, recordIndex);
+
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void abort(final int index)
+    {
+        final int recordIndex = computeRecordIndex(index);
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = verifyClaimedSpaceNotReleased(buffer, recordIndex);
+
+        buffer.putInt(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int read(final MessageHandler handler)
+    {
+        return read(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int read(final MessageHandler handler, final int messageCountLimit)
+    {
+        int messagesRead = 0;
+
+        final AtomicBuffer buffer = this.buffer;
+        final int headPositionIndex = this.headPositionIndex;
+        final int mask = capacity - 1;
+        final long tail = buffer.getLongVolatile(tailPositionIndex);
+
+        try
+        {
+            while (messagesRead < messageCountLimit)
+            {
+                final long head = buffer.getLongVolatile(headPositionIndex);
+                if (head >= tail)
+                {
+                    break;
+                }
+
+                final int recordIndex = (int)head & mask;
+                final int recordLength = buffer.getIntVolatile(lengthOffset(recordIndex));
+                if (recordLength <= 0)
+                {
+                    break;
+                }
+
+                if (!buffer.compareAndSetLong(headPositionIndex, head, head + align(recordLength, ALIGNMENT)))
+                {
+                    continue;
+                }
+
+                try
+                {
+                    final int messageTypeId = buffer.getInt(typeOffset(recordIndex));
+                    if (PADDING_MSG_TYPE_ID != messageTypeId)
+                    {
+                        handler.onMessage(
+                            messageTypeId, buffer, recordIndex + HEADER_LENGTH, recordLength - HEADER_LENGTH);
+                        ++messagesRead;
+                    }
+                }
+                finally
+                {
+                    buffer.putIntVolatile(typeOffset(recordIndex), CONSUMED_MSG_TYPE_ID);
+                }
+            }
+        }
+        finally
+        {
+            releaseConsumed(buffer);
+        }
+
+        return messagesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int controlledRead(final ControlledMessageHandler handler)
+    {
+        return controlledRead(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int controlledRead(final ControlledMessageHandler handler, final int messageCountLimit)
+    {
+        int messagesRead = 0;
+
+        final AtomicBuffer buffer = this.buffer;
+        final int headPositionIndex = this.headPositionIndex;
+        final int mask = capacity - 1;
+        final long tail = buffer.getLongVolatile(tailPositionIndex);
+
+        try
+        {
+            while (messagesRead < messageCountLimit)
+            {
+                final long head = buffer.getLongVolatile(headPositionIndex);
+                if (head >= tail)
+                {
+                    break;
+                }
+
+                final int recordIndex = (int)head & mask;
+                final int recordLength = buffer.getIntVolatile(lengthOffset(recordIndex));
+                if (recordLength <= 0)
+                {
+                    break;
+                }
+
+                final long nextHead = head + align(recordLength, ALIGNMENT);
+                if (!buffer.compareAndSetLong(headPositionIndex, head, nextHead))
+                {
+                    continue;
+                }
+
+                boolean isConsumed = true;
+                ControlledMessageHandler.Action action = CONTINUE;
+                try
+                {
+                    final int messageTypeId = buffer.getInt(typeOffset(recordIndex));
+                    if (PADDING_MSG_TYPE_ID == messageTypeId)
+                    {
+                        continue;
+                    }
+
+                    final int msgIndex = recordIndex + HEADER_LENGTH;
+                    final int msgLength = recordLength - HEADER_LENGTH;
+                    action = handler.onMessage(messageTypeId, buffer, msgIndex, msgLength);
+
+                    while (ABORT == action)
+                    {
+                        if (buffer.compareAndSetLong(headPositionIndex, nextHead, head))
+                        {
+                            isConsumed = false;
+                            break;
+                        }
+
+                        action = handler.onMessage(messageTypeId, buffer, msgIndex, msgLength);
+                    }
+                }
+                finally
+                {
+                    if (isConsumed)
+                    {
+                        buffer.putIntVolatile(typeOffset(recordIndex), CONSUMED_MSG_TYPE_ID);
+                    }
+                }
+
+                if (!isConsumed)
+                {
+                    break;
+                }
+
+                ++messagesRead;
+
+                if (BREAK == action)
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            releaseConsumed(buffer);
+        }
+
+        return messagesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int maxMsgLength()
+    {
+        return maxMsgLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long nextCorrelationId()
+    {
+        return buffer.getAndAddLong(correlationIdCounterIndex, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void consumerHeartbeatTime(final long time)
+    {
+        buffer.putLongRelease(consumerHeartbeatIndex, time);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long consumerHeartbeatTime()
+    {
+        return buffer.getLongVolatile(consumerHeartbeatIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long producerPosition()
+    {
+        return buffer.getLongVolatile(tailPositionIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is the position up to which records have been claimed by consumers which may still be processing them.
+     *
+     * @see #releasedPosition()
+     */
+    public long consumerPosition()
+    {
+        return buffer.getLongVolatile(headPositionIndex);
+    }
+
+    /**
+     * The position in bytes from start up up to which consumed records have been released for reuse by the producers.
+     * The figure includes the headers.
+     *
+     * @return the count of bytes released by the consumers.
+     */
+    public long releasedPosition()
+    {
+        return buffer.getLongVolatile(releasedPositionIndex) & ~RELEASE_LOCK_BIT;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int headPositionIndex = this.headPositionIndex;
+        final int tailPositionIndex = this.tailPositionIndex;
+        long headBefore;
+        long tail;
+        long headAfter = buffer.getLongVolatile(headPositionIndex);
+
+        do
+        {
+            headBefore = headAfter;
+            tail = buffer.getLongVolatile(tailPositionIndex);
+            headAfter = buffer.getLongVolatile(headPositionIndex);
+        }
+        while (headAfter != headBefore);
+
+        final long size = tail - headAfter;
+        if (size < 0)
+        {
+            return 0;
+        }
+        else if (size > capacity)
+        {
+            return capacity;
+        }
+
+        return (int)size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean unblock()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final long headPosition = buffer.getLongVolatile(headPositionIndex);
+        final long tailPosition = buffer.getLongVolatile(tailPositionIndex);
+
+        if (headPosition == tailPosition)
+        {
+            return false;
+        }
+
+        final int mask = capacity - 1;
+        final int consumerIndex = (int)(headPosition & mask);
+        final int producerIndex = (int)(tailPosition & mask);
+
+        boolean unblocked = false;
+        int length = buffer.getIntVolatile(consumerIndex);
+        if (length < 0)
+        {
+            buffer.putInt(typeOffset(consumerIndex), PADDING_MSG_TYPE_ID);
+            buffer.putIntRelease(lengthOffset(consumerIndex), -length);
+            unblocked = true;
+        }
+        else if (0 == length)
+        {
+            // go from (consumerIndex to producerIndex) or (consumerIndex to capacity)
+            final int limit = producerIndex > consumerIndex ? producerIndex : capacity;
+            int i = consumerIndex + ALIGNMENT;
+
+            do
+            {
+                // read the top int of every long (looking for length aligned to 8=ALIGNMENT)
+                length = buffer.getIntVolatile(i);
+                if (0 != length)
+                {
+                    if (scanBackToConfirmStillZeroed(buffer, i, consumerIndex))
+                    {
+                        buffer.putInt(typeOffset(consumerIndex), PADDING_MSG_TYPE_ID);
+                        buffer.putIntRelease(lengthOffset(consumerIndex), i - consumerIndex);
+                        unblocked = true;
+                    }
+
+                    break;
+                }
+
+                i += ALIGNMENT;
+            }
+            while (i < limit);
+        }
+
+        return unblocked;
+    }
+
+    private static boolean scanBackToConfirmStillZeroed(final AtomicBuffer buffer, final int from, final int limit)
+    {
+        int i = from - ALIGNMENT;
+        boolean allZeros = true;
+        while (i >= limit)
+        {
+            if (0 != buffer.getIntVolatile(i))
+            {
+                allZeros = false;
+                break;
+            }
+
+            i -= ALIGNMENT;
+        }
+
+        return allZeros;
+    }
+
+    private void releaseConsumed(final AtomicBuffer buffer)
+    {
+        final int releasedPositionIndex = this.releasedPositionIndex;
+        final int capacity = this.capacity;
+        final int mask = capacity - 1;
+
+        while (true)
+        {
+            final long released = buffer.getLongVolatile(releasedPositionIndex);
+            if (released < 0)
+            {
+                // another consumer is releasing and will check again after it is done
+                return;
+            }
+
+            final int releasedIndex = (int)released & mask;
+            if (!isConsumed(buffer, releasedIndex))
+            {
+                return;
+            }
+
+            if (!buffer.compareAndSetLong(releasedPositionIndex, released, released | RELEASE_LOCK_BIT))
+            {
+                continue;
+            }
+
+            final int maxBlockLength = capacity - releasedIndex;
+            int bytesReleased = 0;
+            do
+            {
+                bytesReleased += align(buffer.getInt(lengthOffset(releasedIndex + bytesReleased)), ALIGNMENT);
+            }
+            while (bytesReleased < maxBlockLength && isConsumed(buffer, releasedIndex + bytesReleased));
+
+            buffer.setMemory(releasedIndex, bytesReleased, (byte)0);
+            buffer.putLongVolatile(releasedPositionIndex, released + bytesReleased);
+        }
+    }
+
+    private static boolean isConsumed(final AtomicBuffer buffer, final int recordIndex)
+    {
+        return buffer.getIntVolatile(lengthOffset(recordIndex)) > 0 &&
+            CONSUMED_MSG_TYPE_ID == buffer.getIntVolatile(typeOffset(recordIndex));
+    }
+
+    private void checkMsgLength(final int length)
+    {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("invalid message length=" + length);
+        }
+        else if (length > maxMsgLength)
+        {
+            throw new IllegalArgumentException(
+                "encoded message exceeds maxMsgLength=" + maxMsgLength + ", length=" + length);
+        }
+    }
+
+    private int claimCapacity(final AtomicBuffer buffer, final int recordLength)
+    {
+        final int requiredCapacity = align(recordLength, ALIGNMENT);
+        final int capacity = this.capacity;
+        final int tailPositionIndex = this.tailPositionIndex;
+        final int releasedPositionIndex = this.releasedPositionIndex;
+        final int mask = capacity - 1;
+
+        long tail;
+        long newTail;
+        int tailIndex;
+        int padding;
+        int writeIndex;
+        do
+        {
+            final long released = buffer.getLongVolatile(releasedPositionIndex) & ~RELEASE_LOCK_BIT;
+            tail = buffer.getLongVolatile(tailPositionIndex);
+
+            if (requiredCapacity > (capacity - (int)(tail - released)))
+            {
+                return INSUFFICIENT_CAPACITY;
+            }
+
+            newTail = tail + requiredCapacity;
+
+            padding = 0;
+            tailIndex = (int)tail & mask;
+            writeIndex = tailIndex;
+            final int toBufferEndLength = capacity - tailIndex;
+
+            if (requiredCapacity > toBufferEndLength)
+            {
+                writeIndex = 0;
+
+                if (requiredCapacity > ((int)released & mask))
+                {
+                    writeIndex = INSUFFICIENT_CAPACITY;
+                    newTail = tail; // Do not claim any actual space, only pad to the buffer end
+                }
+
+                padding = toBufferEndLength;
+                newTail += padding;
+            }
+        }
+        while (!buffer.compareAndSetLong(tailPositionIndex, tail, newTail));
+
+        if (0 != padding)
+        {
+            buffer.putIntRelease(lengthOffset(tailIndex), -padding);
+            VarHandle.releaseFence();
+
+            buffer.putInt(typeOffset(tailIndex), PADDING_MSG_TYPE_ID);
+            buffer.putIntRelease(lengthOffset(tailIndex), padding);
+        }
+
+        return writeIndex;
+    }
+
+    private int computeRecordIndex(final int index)
+    {
+        final int recordIndex = index - HEADER_LENGTH;
+        if (recordIndex < 0 || recordIndex > (capacity - HEADER_LENGTH))
+        {
+            throw new IllegalArgumentException("invalid message index " + index);
+        }
+
+        return recordIndex;
+    }
+
+    private int verifyClaimedSpaceNotReleased(final AtomicBuffer buffer, final int recordIndex)
+    {
+        final int recordLength = buffer.getInt(lengthOffset(recordIndex));
+        if (recordLength < 0)
+        {
+            return recordLength;
+        }
+
+        throw new IllegalStateException("claimed space previously " +
+            (PADDING_MSG_TYPE_ID == buffer.getInt(typeOffset(recordIndex)) ? "aborted" : "committed"));
+    }
+}
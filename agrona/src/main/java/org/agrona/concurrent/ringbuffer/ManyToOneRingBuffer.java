@@ -21,6 +21,7 @@ import org.agrona.concurrent.ControlledMessageHandler;
 import org.agrona.concurrent.MessageHandler;
 
 import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
 
 import static java.lang.Math.max;
 import static org.agrona.BitUtil.align;
@@ -45,7 +46,9 @@ public final class ManyToOneRingBuffer implements RingBuffer
     private final int headPositionIndex;
     private final int correlationIdCounterIndex;
     private final int consumerHeartbeatIndex;
+    private final int consumerParkedIndex;
     private final AtomicBuffer buffer;
+    private volatile Thread consumerThread;
 
     /**
      * Construct a new {@link RingBuffer} based on an underlying {@link AtomicBuffer}.
@@ -70,6 +73,7 @@ public final class ManyToOneRingBuffer implements RingBuffer
         headPositionIndex = capacity + HEAD_POSITION_OFFSET;
         correlationIdCounterIndex = capacity + CORRELATION_COUNTER_OFFSET;
         consumerHeartbeatIndex = capacity + CONSUMER_HEARTBEAT_OFFSET;
+        consumerParkedIndex = capacity + CONSUMER_PARKED_OFFSET;
     }
 
     /**
@@ -103,6 +107,7 @@ public final class ManyToOneRingBuffer implements RingBuffer
         buffer.putBytes(encodedMsgOffset(recordIndex), srcBuffer, offset, length);
         buffer.putInt(typeOffset(recordIndex), msgTypeId);
         buffer.putIntRelease(lengthOffset(recordIndex), recordLength);
+        signalConsumer(buffer);
 
         return true;
     }
@@ -141,6 +146,7 @@ public final class ManyToOneRingBuffer implements RingBuffer
         final int recordLength = verifyClaimedSpaceNotReleased(buffer, recordIndex);
 
         buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+        signalConsumer(buffer);
     }
 
     /**
@@ -154,6 +160,126 @@ public final class ManyToOneRingBuffer implements RingBuffer
 
         buffer.putInt(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
         buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+        signalConsumer(buffer);
+    }
+
+    /**
+     * Try to claim space in the underlying ring-buffer for a batch of messages of the same type with a single update
+     * of the producer position. The messages are laid out contiguously in the order given by {@code lengths} so the
+     * encoded message of each subsequent record begins at the index of the previous one plus
+     * {@code align(length + HEADER_LENGTH, ALIGNMENT)}, see {@link #nextClaimIndex(int, int)}.
+     * <p>
+     * Once the messages have been written then {@link #commitBatch(int, int)} should be called thus making the whole
+     * batch available to the consumer at once. Alternatively the claim can be aborted using
+     * {@link #abortBatch(int, int)}.
+     * <pre>
+     * {@code
+     *     final int firstIndex = ringBuffer.tryClaimBatch(msgTypeId, lengths, count);
+     *     if (firstIndex > 0)
+     *     {
+     *         int index = firstIndex;
+     *         for (int i = 0; i < count; i++)
+     *         {
+     *             // Work with the buffer directly using the index
+     *             ...
+     *             index = ManyToOneRingBuffer.nextClaimIndex(index, lengths[i]);
+     *         }
+     *
+     *         ringBuffer.commitBatch(firstIndex, count);
+     *     }
+     * }
+     * </pre>
+     *
+     * @param msgTypeId type of the message encoding. Will be written into the header of each record.
+     * @param lengths   of the messages in bytes.
+     * @param count     of messages from the start of {@code lengths} to claim.
+     * @return a non-zero index into the underlying ring-buffer at which the first encoded message begins, otherwise
+     * returns {@link #INSUFFICIENT_CAPACITY} indicating that there is not enough free space in the buffer.
+     * @throws IllegalArgumentException if the {@code msgTypeId} is less than {@code 1}.
+     * @throws IllegalArgumentException if the {@code count} is less than {@code 1} or greater than
+     *                                  {@code lengths.length}.
+     * @throws IllegalArgumentException if any length is negative or greater than {@link #maxMsgLength()}, or the
+     *                                  combined length of the records including headers is greater than
+     *                                  {@link #maxMsgLength()} plus {@link RecordDescriptor#HEADER_LENGTH}.
+     * @see #commitBatch(int, int)
+     * @see #abortBatch(int, int)
+     */
+    public int tryClaimBatch(final int msgTypeId, final int[] lengths, final int count)
+    {
+        checkTypeId(msgTypeId);
+        final int batchLength = computeBatchLength(lengths, count);
+
+        final AtomicBuffer buffer = this.buffer;
+        final int firstRecordIndex = claimCapacity(buffer, batchLength);
+
+        if (INSUFFICIENT_CAPACITY == firstRecordIndex)
+        {
+            return firstRecordIndex;
+        }
+
+        int recordIndex = firstRecordIndex;
+        for (int i = 0; i < count; i++)
+        {
+            final int recordLength = lengths[i] + HEADER_LENGTH;
+            buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+            recordIndex += align(recordLength, ALIGNMENT);
+        }
+        VarHandle.releaseFence();
+
+        recordIndex = firstRecordIndex;
+        for (int i = 0; i < count; i++)
+        {
+            buffer.putInt(typeOffset(recordIndex), msgTypeId);
+            recordIndex += align(lengths[i] + HEADER_LENGTH, ALIGNMENT);
+        }
+
+        return encodedMsgOffset(firstRecordIndex);
+    }
+
+    /**
+     * Commit a batch of messages that were written in the space previously claimed by
+     * {@link #tryClaimBatch(int, int[], int)}. The first record is published last so the consumer will see either
+     * none or all of the batch.
+     *
+     * @param index at which the first encoded message begins, i.e. value returned from the
+     *              {@link #tryClaimBatch(int, int[], int)} call.
+     * @param count of messages in the batch.
+     * @throws IllegalArgumentException if the {@code index} is out of bounds.
+     * @throws IllegalStateException    if any record of the batch was already committed or aborted.
+     * @see #tryClaimBatch(int, int[], int)
+     */
+    public void commitBatch(final int index, final int count)
+    {
+        releaseBatch(index, count, false);
+    }
+
+    /**
+     * Abort a batch claim and allow the consumer to proceed after the claimed length. Aborting turns each record of
+     * the batch into padding, i.e. changes type of the messages to {@link #PADDING_MSG_TYPE_ID}.
+     *
+     * @param index at which the first encoded message begins, i.e. value returned from the
+     *              {@link #tryClaimBatch(int, int[], int)} call.
+     * @param count of messages in the batch.
+     * @throws IllegalArgumentException if the {@code index} is out of bounds.
+     * @throws IllegalStateException    if any record of the batch was already committed or aborted.
+     * @see #tryClaimBatch(int, int[], int)
+     */
+    public void abortBatch(final int index, final int count)
+    {
+        releaseBatch(index, count, true);
+    }
+
+    /**
+     * Compute the index at which the next encoded message of a batch claimed with
+     * {@link #tryClaimBatch(int, int[], int)} begins.
+     *
+     * @param index  at which the current encoded message begins.
+     * @param length of the current encoded message in bytes.
+     * @return the index at which the next encoded message begins.
+     */
+    public static int nextClaimIndex(final int index, final int length)
+    {
+        return index + align(length + HEADER_LENGTH, ALIGNMENT);
     }
 
     /**
@@ -459,6 +585,32 @@ public final class ManyToOneRingBuffer implements RingBuffer
         return allZeros;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The consumer publishes a parked flag before checking the ring-buffer is empty, and a producer writing via this
+     * instance checks the flag after committing a message, so the consumer is unparked if the message was missed.
+     */
+    public boolean parkConsumer(final long timeoutNs)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final Thread thread = Thread.currentThread();
+        if (consumerThread != thread)
+        {
+            consumerThread = thread;
+        }
+
+        buffer.putIntVolatile(consumerParkedIndex, 1);
+        final boolean isEmpty = buffer.getLongVolatile(tailPositionIndex) == buffer.getLong(headPositionIndex);
+        if (isEmpty)
+        {
+            LockSupport.parkNanos(this, timeoutNs);
+        }
+        buffer.putIntRelease(consumerParkedIndex, 0);
+
+        return isEmpty;
+    }
+
     private void checkMsgLength(final int length)
     {
         if (length < 0)
@@ -472,6 +624,66 @@ public final class ManyToOneRingBuffer implements RingBuffer
         }
     }
 
+    private int computeBatchLength(final int[] lengths, final int count)
+    {
+        if (count < 1 || count > lengths.length)
+        {
+            throw new IllegalArgumentException("invalid batch count=" + count + ", lengths=" + lengths.length);
+        }
+
+        final long maxBatchLength = maxMsgLength + HEADER_LENGTH;
+        long batchLength = 0;
+        for (int i = 0; i < count; i++)
+        {
+            checkMsgLength(lengths[i]);
+
+            batchLength += align(lengths[i] + HEADER_LENGTH, ALIGNMENT);
+            if (batchLength > maxBatchLength)
+            {
+                throw new IllegalArgumentException(
+                    "encoded batch exceeds maxMsgLength=" + maxMsgLength + ", count=" + count);
+            }
+        }
+
+        return (int)batchLength;
+    }
+
+    private void releaseBatch(final int index, final int count, final boolean isAbort)
+    {
+        if (count < 1)
+        {
+            throw new IllegalArgumentException("invalid batch count=" + count);
+        }
+
+        final AtomicBuffer buffer = this.buffer;
+        final int firstRecordIndex = computeRecordIndex(index);
+        final int firstRecordLength = verifyClaimedSpaceNotReleased(buffer, firstRecordIndex);
+
+        int recordIndex = firstRecordIndex + align(-firstRecordLength, ALIGNMENT);
+        for (int i = 1; i < count; i++)
+        {
+            if (recordIndex > (capacity - HEADER_LENGTH))
+            {
+                throw new IllegalArgumentException("invalid batch count=" + count + " for index " + index);
+            }
+
+            final int recordLength = verifyClaimedSpaceNotReleased(buffer, recordIndex);
+            if (isAbort)
+            {
+                buffer.putInt(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+            }
+            buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+            recordIndex += align(-recordLength, ALIGNMENT);
+        }
+
+        if (isAbort)
+        {
+            buffer.putInt(typeOffset(firstRecordIndex), PADDING_MSG_TYPE_ID);
+        }
+        buffer.putIntRelease(lengthOffset(firstRecordIndex), -firstRecordLength);
+        signalConsumer(buffer);
+    }
+
     private int claimCapacity(final AtomicBuffer buffer, final int recordLength)
     {
         final int requiredCapacity = align(recordLength, ALIGNMENT);
@@ -546,6 +758,15 @@ public final class ManyToOneRingBuffer implements RingBuffer
         return writeIndex;
     }
 
+    private void signalConsumer(final AtomicBuffer buffer)
+    {
+        final Thread consumerThread = this.consumerThread;
+        if (null != consumerThread && 0 != buffer.getIntVolatile(consumerParkedIndex)) // ordered by the tail CAS
+        {
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
     private int computeRecordIndex(final int index)
     {
         final int recordIndex = index - HEADER_LENGTH;
@@ -21,6 +21,7 @@ import org.agrona.concurrent.ControlledMessageHandler;
 import org.agrona.concurrent.MessageHandler;
 
 import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
 
 import static java.lang.Math.max;
 import static org.agrona.BitUtil.align;
@@ -48,7 +49,9 @@ public final class OneToOneRingBuffer implements RingBuffer
     private final int headPositionIndex;
     private final int correlationIdCounterIndex;
     private final int consumerHeartbeatIndex;
+    private final int consumerParkedIndex;
     private final AtomicBuffer buffer;
+    private volatile Thread consumerThread;
 
     /**
      * Construct a new {@link RingBuffer} based on an underlying {@link AtomicBuffer}.
@@ -73,6 +76,7 @@ public final class OneToOneRingBuffer implements RingBuffer
         headPositionIndex = capacity + HEAD_POSITION_OFFSET;
         correlationIdCounterIndex = capacity + CORRELATION_COUNTER_OFFSET;
         consumerHeartbeatIndex = capacity + CONSUMER_HEARTBEAT_OFFSET;
+        consumerParkedIndex = capacity + CONSUMER_PARKED_OFFSET;
     }
 
     /**
@@ -106,6 +110,7 @@ public final class OneToOneRingBuffer implements RingBuffer
         buffer.putBytes(encodedMsgOffset(recordIndex), srcBuffer, offset, length);
         buffer.putInt(typeOffset(recordIndex), msgTypeId);
         buffer.putIntRelease(lengthOffset(recordIndex), recordLength);
+        signalConsumer(buffer);
 
         return true;
     }
@@ -144,6 +149,7 @@ public final class OneToOneRingBuffer implements RingBuffer
         final int recordLength = verifyClaimedSpaceNotReleased(buffer, recordIndex);
 
         buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+        signalConsumer(buffer);
     }
 
     /**
@@ -157,6 +163,7 @@ public final class OneToOneRingBuffer implements RingBuffer
 
         buffer.putInt(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
         buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+        signalConsumer(buffer);
     }
 
     /**
@@ -395,6 +402,32 @@ public final class OneToOneRingBuffer implements RingBuffer
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The consumer publishes a parked flag before checking the ring-buffer is empty, and a producer writing via this
+     * instance checks the flag after committing a message, so the consumer is unparked if the message was missed.
+     */
+    public boolean parkConsumer(final long timeoutNs)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final Thread thread = Thread.currentThread();
+        if (consumerThread != thread)
+        {
+            consumerThread = thread;
+        }
+
+        buffer.putIntVolatile(consumerParkedIndex, 1);
+        final boolean isEmpty = buffer.getLongVolatile(tailPositionIndex) == buffer.getLong(headPositionIndex);
+        if (isEmpty)
+        {
+            LockSupport.parkNanos(this, timeoutNs);
+        }
+        buffer.putIntRelease(consumerParkedIndex, 0);
+
+        return isEmpty;
+    }
+
     private void checkMsgLength(final int length)
     {
         if (length < 0)
@@ -487,6 +520,19 @@ public final class OneToOneRingBuffer implements RingBuffer
         return writeIndex;
     }
 
+    private void signalConsumer(final AtomicBuffer buffer)
+    {
+        final Thread consumerThread = this.consumerThread;
+        if (null != consumerThread)
+        {
+            VarHandle.fullFence(); // order the release of the tail before the check of the parked flag
+            if (0 != buffer.getIntVolatile(consumerParkedIndex))
+            {
+                LockSupport.unpark(consumerThread);
+            }
+        }
+    }
+
     private int computeRecordIndex(final int index)
     {
         final int recordIndex = index - HEADER_LENGTH;
@@ -18,6 +18,8 @@ package org.agrona.concurrent.ringbuffer;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.*;
 
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * Ring-buffer for the concurrent exchanging of binary encoded messages from producer(s) to consumer(s)
  * in a FIFO manner.
@@ -303,4 +305,27 @@ public interface RingBuffer
      * @return true of an unblocking action was taken otherwise false.
      */
     boolean unblock();
+
+    /**
+     * Park the calling consumer thread for up to a timeout if the ring-buffer is empty, to be used when idle instead
+     * of spinning, see {@link SpinThenParkIdleStrategy}.
+     * <p>
+     * Implementations which support waiter notification publish a parked flag in the trailer, see
+     * {@link RingBufferDescriptor#CONSUMER_PARKED_OFFSET}, so producers writing via the same instance unpark the
+     * consumer as soon as they commit a message, otherwise the consumer is only woken by the timeout. The default
+     * implementation does not notify and simply parks for the timeout if the ring-buffer is empty.
+     *
+     * @param timeoutNs maximum period in nanoseconds for which to park.
+     * @return true if the ring-buffer was empty and the thread parked, otherwise false.
+     */
+    default boolean parkConsumer(final long timeoutNs)
+    {
+        if (producerPosition() == consumerPosition())
+        {
+            LockSupport.parkNanos(this, timeoutNs);
+            return true;
+        }
+
+        return false;
+    }
 }
@@ -49,6 +49,12 @@ public final class RingBufferDescriptor
      */
     public static final int CONSUMER_HEARTBEAT_OFFSET;
 
+    /**
+     * Offset within the trailer for where the consumer parked flag is stored. It shares the consumer heartbeat
+     * section, which only the consumer writes, so the length of the trailer is unchanged.
+     */
+    public static final int CONSUMER_PARKED_OFFSET;
+
     /**
      * Total length of the trailer in bytes.
      */
@@ -71,6 +77,7 @@ public final class RingBufferDescriptor
 
         offset += (BitUtil.CACHE_LINE_LENGTH * 2);
         CONSUMER_HEARTBEAT_OFFSET = offset;
+        CONSUMER_PARKED_OFFSET = offset + BitUtil.SIZE_OF_LONG;
 
         offset += (BitUtil.CACHE_LINE_LENGTH * 2);
         TRAILER_LENGTH = offset;
@@ -0,0 +1,441 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBuffer.PADDING_MSG_TYPE_ID;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.*;
+
+/**
+ * A memory-mapped file which contains the buffer for a {@link OneToOneRingBuffer} or {@link ManyToOneRingBuffer} so
+ * the messages in the ring-buffer survive a restart of the processes which use it.
+ * <p>
+ * The file begins with a header which records the layout, an epoch which is incremented each time the file is mapped
+ * by {@link #mapExistingFile(File)}, and whether the file was closed cleanly. The ring-buffer, including its trailer,
+ * follows the header and is available via {@link #buffer()}.
+ * <p>
+ * When an existing file is mapped the records between the head and tail of the ring-buffer are validated before it
+ * can be used. A record which was claimed but not committed, because a producer crashed part way through writing it,
+ * is turned into padding so it is skipped by the consumer while the records after it are recovered. If a record
+ * header cannot be trusted to find the next record, such as when a producer crashed after claiming space but before
+ * writing the header, then the tail is moved back to that record and the records after it are discarded. Records at
+ * the head which a consumer had zeroed, but had not yet released the head for when it crashed, are skipped by moving
+ * the head forward.
+ * <p>
+ * Mapping an existing file must only be done once all the producers and consumers of the previous epoch have stopped.
+ * The contents of the file survive a crash of the processes but not of the operating system unless {@link #force()}
+ * is called.
+ * <p>
+ * The file layout is a header of two cache lines followed by the ring-buffer:
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                        Layout Version                         |
+ *  +---------------------------------------------------------------+
+ *  |                           Capacity                            |
+ *  +---------------------------------------------------------------+
+ *  |                             Epoch                             |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                             State                             |
+ *  +---------------------------------------------------------------+
+ *  |                      Pad to Header Length                    ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ *  |               Ring-buffer of Capacity plus Trailer           ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public final class RingBufferFile implements AutoCloseable
+{
+    /**
+     * Version of the file layout which is checked when mapping an existing file.
+     */
+    public static final int LAYOUT_VERSION = 1;
+
+    /**
+     * Offset in the header at which the layout version is stored.
+     */
+    public static final int LAYOUT_VERSION_OFFSET = 0;
+
+    /**
+     * Offset in the header at which the capacity of the ring-buffer, excluding the trailer, is stored.
+     */
+    public static final int CAPACITY_OFFSET = LAYOUT_VERSION_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Offset in the header at which the epoch is stored.
+     */
+    public static final int EPOCH_OFFSET = CAPACITY_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Offset in the header at which the state is stored.
+     */
+    public static final int STATE_OFFSET = EPOCH_OFFSET + SIZE_OF_LONG;
+
+    /**
+     * Length of the header which precedes the ring-buffer.
+     */
+    public static final int FILE_HEADER_LENGTH = CACHE_LINE_LENGTH * 2;
+
+    /**
+     * State of a file which is mapped and in use.
+     */
+    public static final int STATE_OPEN = 1;
+
+    /**
+     * State of a file which has been closed cleanly.
+     */
+    public static final int STATE_CLOSED = 2;
+
+    private boolean isClosed = false;
+    private final boolean wasClosedCleanly;
+    private final int capacity;
+    private final long epoch;
+    private int recoveredMessageCount;
+    private int tornRecordCount;
+    private long discardedLength;
+    private final AtomicBuffer headerBuffer;
+    private final AtomicBuffer buffer;
+    private final MappedByteBuffer mappedByteBuffer;
+
+    private RingBufferFile(final MappedByteBuffer mappedByteBuffer, final int capacity)
+    {
+        this.mappedByteBuffer = mappedByteBuffer;
+        this.capacity = capacity;
+        this.epoch = 0;
+        this.wasClosedCleanly = true;
+        headerBuffer = new UnsafeBuffer(mappedByteBuffer, 0, FILE_HEADER_LENGTH);
+        buffer = new UnsafeBuffer(mappedByteBuffer, FILE_HEADER_LENGTH, capacity + TRAILER_LENGTH);
+
+        headerBuffer.putInt(CAPACITY_OFFSET, capacity);
+        headerBuffer.putLong(EPOCH_OFFSET, epoch);
+        headerBuffer.putInt(STATE_OFFSET, STATE_OPEN);
+        headerBuffer.putIntRelease(LAYOUT_VERSION_OFFSET, LAYOUT_VERSION);
+    }
+
+    private RingBufferFile(final MappedByteBuffer mappedByteBuffer)
+    {
+        this.mappedByteBuffer = mappedByteBuffer;
+
+        final int fileLength = mappedByteBuffer.capacity();
+        if (fileLength < FILE_HEADER_LENGTH)
+        {
+            throw new IllegalStateException("file too short for header: length=" + fileLength);
+        }
+
+        headerBuffer = new UnsafeBuffer(mappedByteBuffer, 0, FILE_HEADER_LENGTH);
+        final int layoutVersion = headerBuffer.getIntVolatile(LAYOUT_VERSION_OFFSET);
+        if (LAYOUT_VERSION != layoutVersion)
+        {
+            throw new IllegalStateException(
+                "invalid layout version: expected=" + LAYOUT_VERSION + ", actual=" + layoutVersion);
+        }
+
+        capacity = headerBuffer.getInt(CAPACITY_OFFSET);
+        if (capacity < 0 || fileLength != (long)FILE_HEADER_LENGTH + capacity + TRAILER_LENGTH)
+        {
+            throw new IllegalStateException(
+                "capacity does not match file length: capacity=" + capacity + ", fileLength=" + fileLength);
+        }
+
+        buffer = new UnsafeBuffer(mappedByteBuffer, FILE_HEADER_LENGTH, capacity + TRAILER_LENGTH);
+        checkCapacity(buffer.capacity(), OneToOneRingBuffer.MIN_CAPACITY);
+
+        wasClosedCleanly = STATE_CLOSED == headerBuffer.getInt(STATE_OFFSET);
+        epoch = headerBuffer.getLong(EPOCH_OFFSET) + 1;
+
+        recover();
+
+        headerBuffer.putLong(EPOCH_OFFSET, epoch);
+        headerBuffer.putIntRelease(STATE_OFFSET, STATE_OPEN);
+    }
+
+    /**
+     * Create a new file, which must not already exist, of the length required for a ring-buffer of a given capacity.
+     * The file remains mapped until {@link #close()} is called.
+     *
+     * @param file     to be created and mapped.
+     * @param capacity of the ring-buffer, excluding the trailer, which must be a power of 2.
+     * @return the new ring-buffer file.
+     * @see IoUtil#mapNewFile(File, long)
+     */
+    public static RingBufferFile mapNewFile(final File file, final int capacity)
+    {
+        final MappedByteBuffer mappedByteBuffer = IoUtil.mapNewFile(file, requiredFileLength(capacity));
+        try
+        {
+            return new RingBufferFile(mappedByteBuffer, capacity);
+        }
+        catch (final RuntimeException ex)
+        {
+            IoUtil.unmap(mappedByteBuffer);
+            throw ex;
+        }
+    }
+
+    /**
+     * Map an existing file, previously created with {@link #mapNewFile(File, int)}, incrementing the epoch and
+     * recovering the records between the head and tail of the ring-buffer. The file remains mapped until
+     * {@link #close()} is called.
+     *
+     * @param file to be mapped.
+     * @return the ring-buffer file with the records recovered.
+     * @throws IllegalStateException if the file layout is not valid or the head and tail positions are corrupt.
+     * @see IoUtil#mapExistingFile(File, String)
+     */
+    public static RingBufferFile mapExistingFile(final File file)
+    {
+        final MappedByteBuffer mappedByteBuffer = IoUtil.mapExistingFile(file, "ring buffer file");
+        try
+        {
+            return new RingBufferFile(mappedByteBuffer);
+        }
+        catch (final RuntimeException ex)
+        {
+            IoUtil.unmap(mappedByteBuffer);
+            throw ex;
+        }
+    }
+
+    /**
+     * The length of file required for a ring-buffer of a given capacity.
+     *
+     * @param capacity of the ring-buffer, excluding the trailer, which must be a power of 2.
+     * @return the length of file required.
+     * @throws IllegalArgumentException if the capacity is not a power of 2 or is too small or large.
+     */
+    public static int requiredFileLength(final int capacity)
+    {
+        if (capacity > Integer.MAX_VALUE - FILE_HEADER_LENGTH - TRAILER_LENGTH)
+        {
+            throw new IllegalArgumentException("capacity is too large: capacity=" + capacity);
+        }
+
+        checkCapacity(capacity + TRAILER_LENGTH, OneToOneRingBuffer.MIN_CAPACITY);
+
+        return FILE_HEADER_LENGTH + capacity + TRAILER_LENGTH;
+    }
+
+    /**
+     * Mark the file as closed cleanly and unmap it. This should only be called once the producers and consumers
+     * have stopped using the {@link #buffer()}.
+     */
+    public void close()
+    {
+        if (!isClosed)
+        {
+            isClosed = true;
+            headerBuffer.putIntRelease(STATE_OFFSET, STATE_CLOSED);
+            IoUtil.unmap(mappedByteBuffer);
+        }
+    }
+
+    /**
+     * Has this file been closed?
+     *
+     * @return true if this file has already been closed.
+     */
+    public boolean isClosed()
+    {
+        return isClosed;
+    }
+
+    /**
+     * Force any changes to the file to be written to the storage device so they survive a crash of the operating
+     * system.
+     *
+     * @see MappedByteBuffer#force()
+     */
+    public void force()
+    {
+        mappedByteBuffer.force();
+    }
+
+    /**
+     * The buffer for the ring-buffer, including the trailer, over which a {@link OneToOneRingBuffer} or
+     * {@link ManyToOneRingBuffer} can be constructed.
+     *
+     * @return the buffer for the ring-buffer including the trailer.
+     */
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Capacity of the ring-buffer excluding the trailer.
+     *
+     * @return capacity of the ring-buffer excluding the trailer.
+     */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * The epoch of the file which is 0 when created and incremented each time the existing file is mapped.
+     *
+     * @return the epoch of the file.
+     */
+    public long epoch()
+    {
+        return epoch;
+    }
+
+    /**
+     * Was the file closed cleanly before it was mapped, or is it a new file?
+     *
+     * @return true if the file was closed cleanly before it was mapped, or is a new file, otherwise false.
+     */
+    public boolean wasClosedCleanly()
+    {
+        return wasClosedCleanly;
+    }
+
+    /**
+     * Number of committed messages which were found between the head and tail when the file was mapped.
+     *
+     * @return number of committed messages which were found between the head and tail when the file was mapped.
+     */
+    public int recoveredMessageCount()
+    {
+        return recoveredMessageCount;
+    }
+
+    /**
+     * Number of claimed, but not committed, records which were turned into padding when the file was mapped.
+     *
+     * @return number of records which were turned into padding when the file was mapped.
+     */
+    public int tornRecordCount()
+    {
+        return tornRecordCount;
+    }
+
+    /**
+     * Length in bytes by which the tail was moved back, discarding records, when the file was mapped.
+     *
+     * @return length in bytes by which the tail was moved back when the file was mapped.
+     */
+    public long discardedLength()
+    {
+        return discardedLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "RingBufferFile{" +
+            "capacity=" + capacity +
+            ", epoch=" + epoch +
+            ", wasClosedCleanly=" + wasClosedCleanly +
+            ", recoveredMessageCount=" + recoveredMessageCount +
+            ", tornRecordCount=" + tornRecordCount +
+            ", discardedLength=" + discardedLength +
+            ", isClosed=" + isClosed +
+            '}';
+    }
+
+    private void recover()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int capacity = this.capacity;
+        final int mask = capacity - 1;
+        long head = buffer.getLongVolatile(capacity + HEAD_POSITION_OFFSET);
+        long tail = buffer.getLongVolatile(capacity + TAIL_POSITION_OFFSET);
+
+        if (head < 0 || tail < head || tail - head > capacity || 0 != ((head | tail) & (ALIGNMENT - 1)))
+        {
+            throw new IllegalStateException("corrupt ring buffer positions: head=" + head + ", tail=" + tail);
+        }
+
+        // The consumer zeroes the records it has read, starting at the head, before it releases the new head, so
+        // zeroed records at the head have already been consumed and are not a claim which is missing its header.
+        long position = head;
+        while (position < tail && 0L == buffer.getLong(lengthOffset((int)position & mask)))
+        {
+            position += ALIGNMENT;
+        }
+
+        if (position != head)
+        {
+            head = position;
+            buffer.putLongRelease(capacity + HEAD_POSITION_OFFSET, head);
+        }
+
+        while (position < tail)
+        {
+            final int recordIndex = (int)position & mask;
+            final int recordLength = buffer.getInt(lengthOffset(recordIndex));
+            final int claimedLength = recordLength < 0 ? -recordLength : recordLength;
+            final int alignedLength = align(claimedLength, ALIGNMENT);
+
+            if (claimedLength < HEADER_LENGTH ||
+                alignedLength > capacity - recordIndex ||
+                alignedLength > tail - position)
+            {
+                discardedLength = tail - position;
+                tail = position;
+                break;
+            }
+
+            final int msgTypeId = buffer.getInt(typeOffset(recordIndex));
+            if (recordLength < 0 || (PADDING_MSG_TYPE_ID != msgTypeId && msgTypeId < 1))
+            {
+                buffer.putInt(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+                buffer.putInt(lengthOffset(recordIndex), claimedLength);
+                tornRecordCount++;
+            }
+            else if (PADDING_MSG_TYPE_ID != msgTypeId)
+            {
+                recoveredMessageCount++;
+            }
+
+            position += alignedLength;
+        }
+
+        if (discardedLength > 0)
+        {
+            final int tailIndex = (int)tail & mask;
+            final int firstLength = (int)Math.min(discardedLength, capacity - tailIndex);
+            buffer.setMemory(tailIndex, firstLength, (byte)0);
+            buffer.setMemory(0, (int)discardedLength - firstLength, (byte)0);
+        }
+        else if (tail - head < capacity)
+        {
+            buffer.putLong((int)tail & mask, 0L);
+        }
+
+        buffer.putLong(capacity + HEAD_CACHE_POSITION_OFFSET, head);
+        buffer.putLongRelease(capacity + TAIL_POSITION_OFFSET, tail);
+    }
+}
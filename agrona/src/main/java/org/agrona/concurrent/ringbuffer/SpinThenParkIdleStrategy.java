@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.concurrent.IdleStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idle strategy for the consumer of a {@link RingBuffer} which spins for a number of iterations when idle and then
+ * parks via {@link RingBuffer#parkConsumer(long)} until a producer unparks it or the park period expires.
+ * <p>
+ * A parked consumer is only unparked by producers which write through the same {@link OneToOneRingBuffer} or
+ * {@link ManyToOneRingBuffer} instance on which {@link RingBuffer#parkConsumer(long)} was called. When they do, the
+ * consumer is woken as soon as a message is committed, so a low duty channel costs nothing while idle. Producers
+ * which write through another instance wrapping the same buffer, whether in the same process or another one, do not
+ * unpark the consumer, so it is woken by the park period. The strategy can be used with an
+ * {@link org.agrona.concurrent.AgentRunner} whose agent consumes from the ring-buffer.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe and must only be used by the consumer thread.
+ */
+public final class SpinThenParkIdleStrategy implements IdleStrategy
+{
+    /**
+     * Name to be returned from {@link #alias()}.
+     */
+    public static final String ALIAS = "spin-then-park";
+
+    /**
+     * Default number of times the strategy will spin before parking.
+     */
+    public static final int DEFAULT_MAX_SPINS = 100;
+
+    /**
+     * Default maximum period in nanoseconds for which the strategy will park.
+     */
+    public static final long DEFAULT_MAX_PARK_PERIOD_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final RingBuffer ringBuffer;
+    private final int maxSpins;
+    private final long maxParkPeriodNs;
+    private int spins;
+
+    /**
+     * Construct a new strategy for a ring-buffer using {@link #DEFAULT_MAX_SPINS} and
+     * {@link #DEFAULT_MAX_PARK_PERIOD_NS}.
+     *
+     * @param ringBuffer from which the consumer reads.
+     */
+    public SpinThenParkIdleStrategy(final RingBuffer ringBuffer)
+    {
+        this(ringBuffer, DEFAULT_MAX_SPINS, DEFAULT_MAX_PARK_PERIOD_NS);
+    }
+
+    /**
+     * Construct a new strategy for a ring-buffer.
+     *
+     * @param ringBuffer      from which the consumer reads.
+     * @param maxSpins        number of times the strategy will spin before parking.
+     * @param maxParkPeriodNs maximum period in nanoseconds for which the strategy will park.
+     * @throws IllegalArgumentException if {@code maxSpins} is negative or {@code maxParkPeriodNs} is less than 1.
+     */
+    public SpinThenParkIdleStrategy(final RingBuffer ringBuffer, final int maxSpins, final long maxParkPeriodNs)
+    {
+        if (maxSpins < 0)
+        {
+            throw new IllegalArgumentException("maxSpins must not be negative: " + maxSpins);
+        }
+
+        if (maxParkPeriodNs < 1)
+        {
+            throw new IllegalArgumentException("maxParkPeriodNs must be greater than 0: " + maxParkPeriodNs);
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.maxSpins = maxSpins;
+        this.maxParkPeriodNs = maxParkPeriodNs;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void idle(final int workCount)
+    {
+        if (workCount > 0)
+        {
+            spins = 0;
+        }
+        else
+        {
+            idle();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void idle()
+    {
+        if (spins < maxSpins)
+        {
+            spins++;
+            Thread.onSpinWait();
+        }
+        else
+        {
+            ringBuffer.parkConsumer(maxParkPeriodNs);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void reset()
+    {
+        spins = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String alias()
+    {
+        return ALIAS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "SpinThenParkIdleStrategy{" +
+            "alias=" + ALIAS +
+            ", maxSpins=" + maxSpins +
+            ", maxParkPeriodNs=" + maxParkPeriodNs +
+            '}';
+    }
+}
@@ -149,6 +149,23 @@ public class ConcurrentCountersManager extends CountersManager
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int allocateHistogram(
+        final String label, final int typeId, final long highestTrackableValue, final int subBucketBits)
+    {
+        lock.lock();
+        try
+        {
+            return super.allocateHistogram(label, typeId, highestTrackableValue, subBucketBits);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
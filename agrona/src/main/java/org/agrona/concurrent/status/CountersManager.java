@@ -83,6 +83,10 @@ import static org.agrona.BitUtil.SIZE_OF_INT;
  * ...                                                              |
  *  +---------------------------------------------------------------+
  * </pre>
+ * <p>
+ * A {@link HistogramCounter} occupies a contiguous run of records. The first record is allocated as above, with the
+ * histogram layout in the key, and the records which follow are in the {@link #RECORD_HISTOGRAM_BUCKETS} state with
+ * {@link #HISTOGRAM_BUCKETS_PER_RECORD} bucket counts packed into the values of each record.
  */
 public class CountersManager extends CountersReader
 {
@@ -308,6 +312,76 @@ public class CountersManager extends CountersReader
         return counterId;
     }
 
+    /**
+     * Allocate a contiguous run of counter records for a {@link HistogramCounter}. The first record has the label and
+     * type and its value is the total count of recorded values. The bucket counts are stored in the records which
+     * follow it.
+     * <p>
+     * The records are allocated after the highest allocated counter, rather than from the counters which have been
+     * freed, so they are contiguous.
+     *
+     * @param label                 to describe the histogram.
+     * @param typeId                for the type of the histogram.
+     * @param highestTrackableValue above which values are counted in the last bucket.
+     * @param subBucketBits         of precision for the buckets.
+     * @return the id allocated for the first record of the histogram.
+     * @see HistogramCounter#bucketCount(long, int)
+     */
+    public int allocateHistogram(
+        final String label, final int typeId, final long highestTrackableValue, final int subBucketBits)
+    {
+        final int bucketCount = HistogramCounter.bucketCount(highestTrackableValue, subBucketBits);
+        final int recordCount = histogramRecordCount(bucketCount);
+        checkCountersCapacity(highWaterMarkId + recordCount);
+
+        final int counterId = highWaterMarkId + 1;
+        final int recordOffset = metaDataOffset(counterId);
+
+        valuesBuffer.setMemory(counterOffset(counterId), recordCount * COUNTER_LENGTH, (byte)0);
+        for (int i = 1; i < recordCount; i++)
+        {
+            final int bucketsRecordOffset = metaDataOffset(counterId + i);
+            metaDataBuffer.putInt(bucketsRecordOffset + TYPE_ID_OFFSET, typeId);
+            metaDataBuffer.putLong(bucketsRecordOffset + FREE_FOR_REUSE_DEADLINE_OFFSET, NOT_FREE_TO_REUSE);
+            metaDataBuffer.putIntRelease(bucketsRecordOffset + LABEL_OFFSET, 0);
+            metaDataBuffer.putIntRelease(bucketsRecordOffset, RECORD_HISTOGRAM_BUCKETS);
+        }
+
+        metaDataBuffer.putInt(recordOffset + TYPE_ID_OFFSET, typeId);
+        metaDataBuffer.putInt(recordOffset + KEY_OFFSET + HISTOGRAM_SUB_BUCKET_BITS_KEY_OFFSET, subBucketBits);
+        metaDataBuffer.putInt(recordOffset + KEY_OFFSET + HISTOGRAM_BUCKET_COUNT_KEY_OFFSET, bucketCount);
+        metaDataBuffer.putLong(recordOffset + FREE_FOR_REUSE_DEADLINE_OFFSET, NOT_FREE_TO_REUSE);
+        putLabel(recordOffset, label);
+
+        highWaterMarkId += recordCount;
+        metaDataBuffer.putIntRelease(recordOffset, RECORD_ALLOCATED);
+
+        return counterId;
+    }
+
+    /**
+     * Allocate the counter records for a histogram and wrap them with a new {@link HistogramCounter} for use.
+     *
+     * @param label                 to describe the histogram.
+     * @param typeId                for the type of the histogram.
+     * @param highestTrackableValue above which values are counted in the last bucket.
+     * @param subBucketBits         of precision for the buckets.
+     * @return a newly allocated {@link HistogramCounter}.
+     * @see #allocateHistogram(String, int, long, int)
+     */
+    public HistogramCounter newHistogram(
+        final String label, final int typeId, final long highestTrackableValue, final int subBucketBits)
+    {
+        final int counterId = allocateHistogram(label, typeId, highestTrackableValue, subBucketBits);
+
+        return new HistogramCounter(
+            valuesBuffer,
+            counterId,
+            subBucketBits,
+            HistogramCounter.bucketCount(highestTrackableValue, subBucketBits),
+            this);
+    }
+
     /**
      * Allocate a counter record and wrap it with a new {@link AtomicCounter} for use with a default type
      * of {@link #DEFAULT_TYPE_ID}.
@@ -375,7 +449,8 @@ public class CountersManager extends CountersReader
     }
 
     /**
-     * Free the counter identified by counterId.
+     * Free the counter identified by counterId. If the counter is the first record of a {@link HistogramCounter} then
+     * the records holding its buckets are also freed.
      *
      * @param counterId the counter to freed
      */
@@ -389,10 +464,18 @@ public class CountersManager extends CountersReader
             throw new IllegalStateException("counter not allocated: id=" + counterId);
         }
 
-        metaDataBuffer.putIntRelease(offset, RECORD_RECLAIMED);
-        metaDataBuffer.setMemory(offset + KEY_OFFSET, MAX_KEY_LENGTH, (byte)0);
-        metaDataBuffer.putLong(offset + FREE_FOR_REUSE_DEADLINE_OFFSET, epochClock.time() + freeToReuseTimeoutMs);
-        freeList.addInt(counterId);
+        final int recordCount = isHistogram(counterId) ?
+            histogramRecordCount(metaDataBuffer.getInt(offset + KEY_OFFSET + HISTOGRAM_BUCKET_COUNT_KEY_OFFSET)) : 1;
+        final long deadlineMs = epochClock.time() + freeToReuseTimeoutMs;
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            final int recordOffset = metaDataOffset(counterId + i);
+            metaDataBuffer.putIntRelease(recordOffset, RECORD_RECLAIMED);
+            metaDataBuffer.setMemory(recordOffset + KEY_OFFSET, MAX_KEY_LENGTH, (byte)0);
+            metaDataBuffer.putLong(recordOffset + FREE_FOR_REUSE_DEADLINE_OFFSET, deadlineMs);
+            freeList.addInt(counterId + i);
+        }
     }
 
     /**
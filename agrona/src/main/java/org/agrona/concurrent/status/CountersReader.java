@@ -158,6 +158,12 @@ public class CountersReader
      */
     public static final int RECORD_RECLAIMED = -1;
 
+    /**
+     * Record allocated to hold the buckets of a {@link HistogramCounter} which begins at a preceding record. These
+     * records are not visited when iterating over counters.
+     */
+    public static final int RECORD_HISTOGRAM_BUCKETS = 2;
+
     /**
      * Deadline to indicate counter is not free to be reused.
      */
@@ -227,6 +233,23 @@ public class CountersReader
      */
     public static final int COUNTER_LENGTH = BitUtil.CACHE_LINE_LENGTH * 2;
 
+    /**
+     * Number of {@link HistogramCounter} buckets stored in each counter record following the first record of a
+     * histogram.
+     */
+    public static final int HISTOGRAM_BUCKETS_PER_RECORD = COUNTER_LENGTH / SIZE_OF_LONG;
+
+    /**
+     * Offset in the key of the first record of a {@link HistogramCounter} at which the number of bits of sub-bucket
+     * precision is stored.
+     */
+    public static final int HISTOGRAM_SUB_BUCKET_BITS_KEY_OFFSET = 0;
+
+    /**
+     * Offset in the key of the first record of a {@link HistogramCounter} at which the number of buckets is stored.
+     */
+    public static final int HISTOGRAM_BUCKET_COUNT_KEY_OFFSET = HISTOGRAM_SUB_BUCKET_BITS_KEY_OFFSET + SIZE_OF_INT;
+
     /**
      * Max counter ID.
      */
@@ -553,6 +576,7 @@ public class CountersReader
      * @see #RECORD_UNUSED
      * @see #RECORD_ALLOCATED
      * @see #RECORD_RECLAIMED
+     * @see #RECORD_HISTOGRAM_BUCKETS
      */
     public int getCounterState(final int counterId)
     {
@@ -598,6 +622,103 @@ public class CountersReader
         return labelValue(metaDataBuffer, metaDataOffset(counterId));
     }
 
+    /**
+     * Number of counter records occupied by a {@link HistogramCounter} with a given number of buckets, including the
+     * first record which holds the total count.
+     *
+     * @param bucketCount of the histogram.
+     * @return number of counter records occupied by the histogram.
+     */
+    public static int histogramRecordCount(final int bucketCount)
+    {
+        return 1 + ((bucketCount + HISTOGRAM_BUCKETS_PER_RECORD - 1) / HISTOGRAM_BUCKETS_PER_RECORD);
+    }
+
+    /**
+     * Is a counter id the first record of an allocated {@link HistogramCounter}.
+     *
+     * @param counterId to be checked.
+     * @return true if the counter id is the first record of an allocated histogram.
+     */
+    public boolean isHistogram(final int counterId)
+    {
+        validateCounterId(counterId);
+
+        return counterId < maxCounterId &&
+            RECORD_ALLOCATED == metaDataBuffer.getIntVolatile(metaDataOffset(counterId)) &&
+            RECORD_HISTOGRAM_BUCKETS == metaDataBuffer.getIntVolatile(metaDataOffset(counterId + 1));
+    }
+
+    /**
+     * Get the number of bits of sub-bucket precision of a {@link HistogramCounter}.
+     *
+     * @param counterId of the first record of the histogram.
+     * @return the number of bits of sub-bucket precision of the histogram.
+     * @throws IllegalArgumentException if the counter id is not the first record of an allocated histogram.
+     */
+    public int getHistogramSubBucketBits(final int counterId)
+    {
+        validateHistogram(counterId);
+        return metaDataBuffer.getInt(metaDataOffset(counterId) + KEY_OFFSET + HISTOGRAM_SUB_BUCKET_BITS_KEY_OFFSET);
+    }
+
+    /**
+     * Get the number of buckets of a {@link HistogramCounter}.
+     *
+     * @param counterId of the first record of the histogram.
+     * @return the number of buckets of the histogram.
+     * @throws IllegalArgumentException if the counter id is not the first record of an allocated histogram.
+     */
+    public int getHistogramBucketCount(final int counterId)
+    {
+        validateHistogram(counterId);
+        return metaDataBuffer.getInt(metaDataOffset(counterId) + KEY_OFFSET + HISTOGRAM_BUCKET_COUNT_KEY_OFFSET);
+    }
+
+    /**
+     * Take a snapshot of the buckets of a {@link HistogramCounter} without coordinating with the writers. Each bucket
+     * is read with a volatile read so the snapshot may include some, but not all, of the values recorded while it is
+     * taken.
+     * <p>
+     * The snapshot is not taken, and false is returned, if the counter id is not the first record of an allocated
+     * histogram or the histogram is freed, or its registration id changes, while the snapshot is being taken.
+     *
+     * @param counterId of the first record of the histogram.
+     * @param snapshot  to be reset and filled with the bucket counts.
+     * @return true if the snapshot was taken otherwise false.
+     */
+    public boolean snapshotHistogram(final int counterId, final HistogramSnapshot snapshot)
+    {
+        validateCounterId(counterId);
+
+        final int counterOffset = counterOffset(counterId);
+        final long registrationId = valuesBuffer.getLongVolatile(counterOffset + REGISTRATION_ID_OFFSET);
+        if (!isHistogram(counterId))
+        {
+            return false;
+        }
+
+        final int keyOffset = metaDataOffset(counterId) + KEY_OFFSET;
+        final int subBucketBits = metaDataBuffer.getInt(keyOffset + HISTOGRAM_SUB_BUCKET_BITS_KEY_OFFSET);
+        final int bucketCount = metaDataBuffer.getInt(keyOffset + HISTOGRAM_BUCKET_COUNT_KEY_OFFSET);
+        if (bucketCount < 1 || counterId + histogramRecordCount(bucketCount) - 1 > maxCounterId)
+        {
+            return false;
+        }
+
+        snapshot.reset(subBucketBits, bucketCount);
+
+        final AtomicBuffer valuesBuffer = this.valuesBuffer;
+        final int bucketsOffset = counterOffset(counterId + 1);
+        for (int i = 0; i < bucketCount; i++)
+        {
+            snapshot.count(i, valuesBuffer.getLongVolatile(bucketsOffset + (i * SIZE_OF_LONG)));
+        }
+
+        return RECORD_ALLOCATED == metaDataBuffer.getIntVolatile(metaDataOffset(counterId)) &&
+            registrationId == valuesBuffer.getLongVolatile(counterOffset + REGISTRATION_ID_OFFSET);
+    }
+
     /**
      * Validate if counter Id is valid.
      *
@@ -613,6 +734,14 @@ public class CountersReader
         }
     }
 
+    private void validateHistogram(final int counterId)
+    {
+        if (!isHistogram(counterId))
+        {
+            throw new IllegalArgumentException("counter id " + counterId + " is not an allocated histogram");
+        }
+    }
+
     private String labelValue(final AtomicBuffer metaDataBuffer, final int recordOffset)
     {
         final int labelLength = metaDataBuffer.getIntVolatile(recordOffset + LABEL_OFFSET);
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.status;
+
+import org.agrona.UnsafeApi;
+import org.agrona.concurrent.AtomicBuffer;
+
+import java.nio.ByteBuffer;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Histogram of recorded values that is backed by an {@link AtomicBuffer} so it can be read across threads and
+ * processes, typically with {@link CountersReader#snapshotHistogram(int, HistogramSnapshot)}.
+ * <p>
+ * Values are counted in log-linear buckets. Values less than {@code 2^subBucketBits} each have a bucket of their own,
+ * and each power of two above that is split into {@code 2^subBucketBits} linear sub-buckets, so the width of a bucket
+ * is at most {@code 1 / 2^subBucketBits} of the values it contains. Values greater than the highest trackable value
+ * are counted in the last bucket and negative values are counted in the first bucket.
+ * <p>
+ * The histogram occupies a contiguous run of counter records. The first record is a regular counter, with the label
+ * and type id, whose value is the total count of recorded values. The buckets are packed
+ * {@link CountersReader#HISTOGRAM_BUCKETS_PER_RECORD} to a record in the records which follow it.
+ * <p>
+ * Recording values does not allocate. Pair {@link #record(long)} with multiple writer threads or
+ * {@link #recordRelease(long)} with a single writer thread.
+ */
+public class HistogramCounter implements AutoCloseable
+{
+    /**
+     * Default number of bits of sub-bucket precision, which gives buckets with a width of at most 1/16th of their
+     * values.
+     */
+    public static final int DEFAULT_SUB_BUCKET_BITS = 4;
+
+    /**
+     * Maximum number of bits of sub-bucket precision.
+     */
+    public static final int MAX_SUB_BUCKET_BITS = 10;
+
+    private boolean isClosed = false;
+    private final int id;
+    private final int subBucketBits;
+    private final int bucketCount;
+    private final long countAddressOffset;
+    private final long bucketsAddressOffset;
+    private final byte[] byteArray;
+    private CountersManager countersManager;
+
+    @SuppressWarnings({ "FieldCanBeLocal", "unused" })
+    private final ByteBuffer byteBuffer; // retained to keep the buffer from being GC'ed
+
+    /**
+     * Map a histogram over a buffer. This version will NOT free the histogram on close.
+     *
+     * @param buffer        containing the histogram.
+     * @param counterId     identifier of the first counter record of the histogram.
+     * @param subBucketBits of precision for the buckets.
+     * @param bucketCount   number of buckets in the histogram.
+     */
+    public HistogramCounter(
+        final AtomicBuffer buffer, final int counterId, final int subBucketBits, final int bucketCount)
+    {
+        this(buffer, counterId, subBucketBits, bucketCount, null);
+    }
+
+    /**
+     * Map a histogram over a buffer. This version will free the histogram on close.
+     *
+     * @param buffer          containing the histogram.
+     * @param counterId       identifier of the first counter record of the histogram.
+     * @param subBucketBits   of precision for the buckets.
+     * @param bucketCount     number of buckets in the histogram.
+     * @param countersManager to be called to free the histogram on close.
+     */
+    public HistogramCounter(
+        final AtomicBuffer buffer,
+        final int counterId,
+        final int subBucketBits,
+        final int bucketCount,
+        final CountersManager countersManager)
+    {
+        validateSubBucketBits(subBucketBits);
+        if (bucketCount < 1)
+        {
+            throw new IllegalArgumentException("bucketCount must be positive: " + bucketCount);
+        }
+
+        this.id = counterId;
+        this.subBucketBits = subBucketBits;
+        this.bucketCount = bucketCount;
+        this.countersManager = countersManager;
+        this.byteBuffer = buffer.byteBuffer();
+        this.byteArray = buffer.byteArray();
+
+        final int counterOffset = CountersReader.counterOffset(counterId);
+        final int bucketsOffset = CountersReader.counterOffset(counterId + 1);
+        buffer.boundsCheck(counterOffset, SIZE_OF_LONG);
+        buffer.boundsCheck(bucketsOffset, bucketCount * SIZE_OF_LONG);
+        this.countAddressOffset = buffer.addressOffset() + counterOffset;
+        this.bucketsAddressOffset = buffer.addressOffset() + bucketsOffset;
+    }
+
+    /**
+     * Identity for the first counter record of the histogram within the {@link CountersManager}.
+     *
+     * @return identity for the first counter record of the histogram within the {@link CountersManager}.
+     */
+    public int id()
+    {
+        return id;
+    }
+
+    /**
+     * Number of bits of sub-bucket precision for the buckets.
+     *
+     * @return number of bits of sub-bucket precision for the buckets.
+     */
+    public int subBucketBits()
+    {
+        return subBucketBits;
+    }
+
+    /**
+     * Number of buckets in the histogram.
+     *
+     * @return number of buckets in the histogram.
+     */
+    public int bucketCount()
+    {
+        return bucketCount;
+    }
+
+    /**
+     * Disconnect from {@link CountersManager} if allocated, so it can be closed without freeing the records.
+     */
+    public void disconnectCountersManager()
+    {
+        countersManager = null;
+    }
+
+    /**
+     * Close the histogram and free its counter records for reuse if connected to {@link CountersManager}.
+     */
+    public void close()
+    {
+        if (!isClosed)
+        {
+            isClosed = true;
+            if (null != countersManager)
+            {
+                countersManager.free(id);
+            }
+        }
+    }
+
+    /**
+     * Has this histogram been closed?
+     *
+     * @return true if this histogram has already been closed.
+     */
+    public boolean isClosed()
+    {
+        return isClosed;
+    }
+
+    /**
+     * Return the label for the histogram within the {@link CountersManager}.
+     *
+     * @return the label for the histogram within the {@link CountersManager}.
+     */
+    public String label()
+    {
+        return null != countersManager ? countersManager.getCounterLabel(id) : null;
+    }
+
+    /**
+     * Record a value with atomic updates that will not lose counts across threads.
+     *
+     * @param value to be recorded.
+     */
+    public void record(final long value)
+    {
+        final byte[] array = byteArray;
+        UnsafeApi.getAndAddLong(array, bucketAddressOffset(value), 1);
+        UnsafeApi.getAndAddLong(array, countAddressOffset, 1);
+    }
+
+    /**
+     * Record a value with non-atomic updates which have release semantics.
+     * <p>
+     * It can result in lost counts due to race conditions when called concurrently so should only be used when there
+     * is a single writer thread.
+     *
+     * @param value to be recorded.
+     */
+    public void recordRelease(final long value)
+    {
+        final byte[] array = byteArray;
+        final long bucketAddressOffset = bucketAddressOffset(value);
+        UnsafeApi.putLongRelease(array, bucketAddressOffset, UnsafeApi.getLong(array, bucketAddressOffset) + 1);
+        UnsafeApi.putLongRelease(array, countAddressOffset, UnsafeApi.getLong(array, countAddressOffset) + 1);
+    }
+
+    /**
+     * Get the total count of recorded values as a volatile read.
+     *
+     * @return the total count of recorded values.
+     */
+    public long totalCount()
+    {
+        return UnsafeApi.getLongVolatile(byteArray, countAddressOffset);
+    }
+
+    /**
+     * Get the count of recorded values in a bucket as a volatile read.
+     *
+     * @param bucketIndex of the bucket.
+     * @return the count of recorded values in the bucket.
+     */
+    public long count(final int bucketIndex)
+    {
+        if (bucketIndex < 0 || bucketIndex >= bucketCount)
+        {
+            throw new IllegalArgumentException(
+                "bucket index " + bucketIndex + " out of range: 0 - bucketCount=" + bucketCount);
+        }
+
+        return UnsafeApi.getLongVolatile(byteArray, bucketsAddressOffset + ((long)bucketIndex * SIZE_OF_LONG));
+    }
+
+    /**
+     * Number of buckets required to track values up to a highest trackable value.
+     *
+     * @param highestTrackableValue to be tracked.
+     * @param subBucketBits         of precision for the buckets.
+     * @return number of buckets required to track values up to the highest trackable value.
+     */
+    public static int bucketCount(final long highestTrackableValue, final int subBucketBits)
+    {
+        validateSubBucketBits(subBucketBits);
+        if (highestTrackableValue < 1)
+        {
+            throw new IllegalArgumentException("highestTrackableValue must be positive: " + highestTrackableValue);
+        }
+
+        return bucketIndex(highestTrackableValue, subBucketBits) + 1;
+    }
+
+    /**
+     * Index of the bucket in which a value is counted when the number of buckets is not limited.
+     *
+     * @param value         to be counted.
+     * @param subBucketBits of precision for the buckets.
+     * @return index of the bucket in which the value is counted.
+     */
+    public static int bucketIndex(final long value, final int subBucketBits)
+    {
+        if (value < (1L << subBucketBits))
+        {
+            return value < 0 ? 0 : (int)value;
+        }
+
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - subBucketBits;
+        final int subBucket = (int)(value >>> shift) & ((1 << subBucketBits) - 1);
+
+        return ((shift + 1) << subBucketBits) + subBucket;
+    }
+
+    /**
+     * Lowest value which is counted in a bucket.
+     *
+     * @param bucketIndex   of the bucket.
+     * @param subBucketBits of precision for the buckets.
+     * @return the lowest value which is counted in the bucket.
+     */
+    public static long bucketLowestValue(final int bucketIndex, final int subBucketBits)
+    {
+        if (bucketIndex < (1 << subBucketBits))
+        {
+            return bucketIndex;
+        }
+
+        final int shift = (bucketIndex >>> subBucketBits) - 1;
+        final long subBucket = bucketIndex & ((1 << subBucketBits) - 1);
+
+        return ((1L << subBucketBits) | subBucket) << shift;
+    }
+
+    /**
+     * Highest value which is counted in a bucket.
+     *
+     * @param bucketIndex   of the bucket.
+     * @param subBucketBits of precision for the buckets.
+     * @return the highest value which is counted in the bucket.
+     */
+    public static long bucketHighestValue(final int bucketIndex, final int subBucketBits)
+    {
+        if (bucketIndex < (1 << subBucketBits))
+        {
+            return bucketIndex;
+        }
+
+        final int shift = (bucketIndex >>> subBucketBits) - 1;
+
+        return bucketLowestValue(bucketIndex, subBucketBits) + ((1L << shift) - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "HistogramCounter{" +
+            "isClosed=" + isClosed() +
+            ", id=" + id +
+            ", subBucketBits=" + subBucketBits +
+            ", bucketCount=" + bucketCount +
+            ", totalCount=" + totalCount() +
+            ", countersManager=" + countersManager +
+            '}';
+    }
+
+    static void validateSubBucketBits(final int subBucketBits)
+    {
+        if (subBucketBits < 0 || subBucketBits > MAX_SUB_BUCKET_BITS)
+        {
+            throw new IllegalArgumentException(
+                "subBucketBits " + subBucketBits + " out of range: 0 - " + MAX_SUB_BUCKET_BITS);
+        }
+    }
+
+    private long bucketAddressOffset(final long value)
+    {
+        final int bucketIndex = Math.min(bucketIndex(value, subBucketBits), bucketCount - 1);
+        return bucketsAddressOffset + ((long)bucketIndex * SIZE_OF_LONG);
+    }
+}
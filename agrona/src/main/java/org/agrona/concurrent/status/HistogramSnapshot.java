@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.status;
+
+import java.util.Arrays;
+
+/**
+ * Point in time copy of the buckets of a {@link HistogramCounter} taken by
+ * {@link CountersReader#snapshotHistogram(int, HistogramSnapshot)}, from which percentiles can be computed.
+ * <p>
+ * A snapshot can be reused for subsequent snapshots to avoid allocation. This class is not threadsafe.
+ */
+public final class HistogramSnapshot
+{
+    private int subBucketBits;
+    private int bucketCount;
+    private long totalCount;
+    private long[] counts = new long[0];
+
+    /**
+     * Construct an empty snapshot.
+     */
+    public HistogramSnapshot()
+    {
+    }
+
+    /**
+     * Number of bits of sub-bucket precision for the buckets.
+     *
+     * @return number of bits of sub-bucket precision for the buckets.
+     */
+    public int subBucketBits()
+    {
+        return subBucketBits;
+    }
+
+    /**
+     * Number of buckets in the snapshot.
+     *
+     * @return number of buckets in the snapshot.
+     */
+    public int bucketCount()
+    {
+        return bucketCount;
+    }
+
+    /**
+     * Total count of values in the snapshot which is the sum of the bucket counts.
+     *
+     * @return total count of values in the snapshot.
+     */
+    public long totalCount()
+    {
+        return totalCount;
+    }
+
+    /**
+     * Count of values in a bucket.
+     *
+     * @param bucketIndex of the bucket.
+     * @return count of values in the bucket.
+     */
+    public long count(final int bucketIndex)
+    {
+        if (bucketIndex < 0 || bucketIndex >= bucketCount)
+        {
+            throw new IllegalArgumentException(
+                "bucket index " + bucketIndex + " out of range: 0 - bucketCount=" + bucketCount);
+        }
+
+        return counts[bucketIndex];
+    }
+
+    /**
+     * Value at a given percentile, which is the highest value counted in the bucket containing the value at that
+     * percentile.
+     *
+     * @param percentile in the range 0.0 to 100.0.
+     * @return value at the percentile or 0 if the snapshot is empty.
+     */
+    public long valueAtPercentile(final double percentile)
+    {
+        if (!(percentile >= 0.0 && percentile <= 100.0))
+        {
+            throw new IllegalArgumentException("percentile out of range 0.0 - 100.0: " + percentile);
+        }
+
+        if (0 == totalCount)
+        {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long)Math.ceil((percentile * totalCount) / 100.0));
+        long cumulativeCount = 0;
+        for (int i = 0; i < bucketCount; i++)
+        {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= rank)
+            {
+                return HistogramCounter.bucketHighestValue(i, subBucketBits);
+            }
+        }
+
+        return HistogramCounter.bucketHighestValue(bucketCount - 1, subBucketBits);
+    }
+
+    /**
+     * Highest value counted in the highest non-empty bucket.
+     *
+     * @return highest value counted in the highest non-empty bucket or 0 if the snapshot is empty.
+     */
+    public long maxValue()
+    {
+        for (int i = bucketCount - 1; i >= 0; i--)
+        {
+            if (0 != counts[i])
+            {
+                return HistogramCounter.bucketHighestValue(i, subBucketBits);
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "HistogramSnapshot{" +
+            "subBucketBits=" + subBucketBits +
+            ", bucketCount=" + bucketCount +
+            ", totalCount=" + totalCount +
+            '}';
+    }
+
+    void reset(final int subBucketBits, final int bucketCount)
+    {
+        if (counts.length < bucketCount)
+        {
+            counts = new long[bucketCount];
+        }
+        else
+        {
+            Arrays.fill(counts, 0, bucketCount, 0);
+        }
+
+        this.subBucketBits = subBucketBits;
+        this.bucketCount = bucketCount;
+        this.totalCount = 0;
+    }
+
+    void count(final int bucketIndex, final long count)
+    {
+        counts[bucketIndex] = count;
+        totalCount += count;
+    }
+}
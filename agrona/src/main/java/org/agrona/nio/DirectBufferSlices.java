@@ -0,0 +1,336 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.nio;
+
+import org.agrona.DirectBuffer;
+import org.agrona.LangUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ScatteringByteChannel;
+
+/**
+ * A reusable set of slices of {@link DirectBuffer}s which can be written to a {@link GatheringByteChannel} or read
+ * from a {@link ScatteringByteChannel}, such as a socket or {@link FileChannel}, with a single system call.
+ * <p>
+ * The I/O is only zero-copy when every slice is of a direct, i.e. off-heap or memory-mapped, {@link ByteBuffer}.
+ * Slices of a {@code byte[]} or heap {@link ByteBuffer} are accepted, but the JDK channel implementations copy them
+ * through a temporary direct buffer on every write and read, so use direct buffers on hot paths.
+ * <p>
+ * Each slice is accessed through a {@link ByteBuffer} view of the underlying {@code byte[]} or {@link ByteBuffer}
+ * which is cached per slice, so once the slices have been used with the same buffers the send path produces no
+ * garbage. For example, messages in an {@link org.agrona.ExpandableRingBuffer}, which is direct by default, can be
+ * added with {@link org.agrona.ExpandableRingBuffer#forEach(org.agrona.ExpandableRingBuffer.MessageConsumer, int)},
+ * written with {@link #write(GatheringByteChannel)}, then consumed once {@link #hasRemaining()} is false.
+ * <p>
+ * Buffers which wrap a raw memory address without a {@code byte[]} or {@link ByteBuffer} cannot be viewed and are
+ * rejected.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe.
+ */
+public class DirectBufferSlices
+{
+    private final ByteBuffer[] views;
+    private final Object[] viewSources;
+    private int firstIndex;
+    private int count;
+
+    /**
+     * Construct a new set of slices with a maximum number which can be added.
+     *
+     * @param maxSlices which can be added before {@link #clear()} must be called.
+     */
+    public DirectBufferSlices(final int maxSlices)
+    {
+        if (maxSlices < 1)
+        {
+            throw new IllegalArgumentException("maxSlices must be greater than 0: " + maxSlices);
+        }
+
+        views = new ByteBuffer[maxSlices];
+        viewSources = new Object[maxSlices];
+    }
+
+    /**
+     * The maximum number of slices which can be added.
+     *
+     * @return the maximum number of slices which can be added.
+     */
+    public int maxSlices()
+    {
+        return views.length;
+    }
+
+    /**
+     * The number of slices which have been added since the last {@link #clear()}.
+     *
+     * @return the number of slices which have been added.
+     */
+    public int count()
+    {
+        return count;
+    }
+
+    /**
+     * Remove all the slices so the set can be reused. The cached views are retained.
+     *
+     * @return this for a fluent API.
+     */
+    public DirectBufferSlices clear()
+    {
+        firstIndex = 0;
+        count = 0;
+
+        return this;
+    }
+
+    /**
+     * Add a slice of a buffer.
+     *
+     * @param buffer containing the slice.
+     * @param index  in the buffer at which the slice begins.
+     * @param length of the slice in bytes.
+     * @return this for a fluent API.
+     * @throws IllegalStateException     if {@link #maxSlices()} have already been added.
+     * @throws IllegalArgumentException  if the buffer is not backed by a {@code byte[]} or {@link ByteBuffer}.
+     * @throws IndexOutOfBoundsException if the slice is not within the buffer.
+     */
+    public DirectBufferSlices add(final DirectBuffer buffer, final int index, final int length)
+    {
+        if (count >= views.length)
+        {
+            throw new IllegalStateException("slices full: maxSlices=" + views.length);
+        }
+
+        buffer.boundsCheck(index, length);
+
+        final Object source = null != buffer.byteArray() ? buffer.byteArray() : buffer.byteBuffer();
+        if (null == source)
+        {
+            throw new IllegalArgumentException("buffer is not backed by a byte[] or ByteBuffer");
+        }
+
+        final int slot = count;
+        ByteBuffer view = views[slot];
+        if (viewSources[slot] != source)
+        {
+            view = source instanceof byte[] ? ByteBuffer.wrap((byte[])source) : ((ByteBuffer)source).duplicate();
+            views[slot] = view;
+            viewSources[slot] = source;
+        }
+
+        final int position = buffer.wrapAdjustment() + index;
+        view.clear().position(position).limit(position + length);
+        count++;
+
+        return this;
+    }
+
+    /**
+     * Add a region of a buffer which is used as a ring and so may wrap around from the end of its capacity to the
+     * beginning, in which case two slices are added.
+     *
+     * @param buffer containing the region.
+     * @param index  in the buffer at which the region begins.
+     * @param length of the region in bytes which must not be greater than the capacity of the buffer.
+     * @return this for a fluent API.
+     * @throws IllegalStateException     if there is not room for the slices.
+     * @throws IllegalArgumentException  if the buffer is not backed by a {@code byte[]} or {@link ByteBuffer}.
+     * @throws IndexOutOfBoundsException if the region is not within the buffer.
+     */
+    public DirectBufferSlices addWrapped(final DirectBuffer buffer, final int index, final int length)
+    {
+        final int capacity = buffer.capacity();
+        if (length > capacity)
+        {
+            throw new IndexOutOfBoundsException("length=" + length + " > capacity=" + capacity);
+        }
+
+        final int firstLength = Math.min(length, capacity - index);
+        if (firstLength == length)
+        {
+            return add(buffer, index, length);
+        }
+
+        if (count + 2 > views.length)
+        {
+            throw new IllegalStateException("slices full: maxSlices=" + views.length);
+        }
+
+        return add(buffer, index, firstLength).add(buffer, 0, length - firstLength);
+    }
+
+    /**
+     * The number of bytes remaining to be written or read across all slices.
+     *
+     * @return the number of bytes remaining to be written or read across all slices.
+     */
+    public long remaining()
+    {
+        long remaining = 0;
+        for (int i = firstIndex; i < count; i++)
+        {
+            remaining += views[i].remaining();
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Are there bytes remaining to be written or read in any of the slices?
+     *
+     * @return true if there are bytes remaining to be written or read in any of the slices.
+     */
+    public boolean hasRemaining()
+    {
+        return skipCompletedSlices() < count;
+    }
+
+    /**
+     * Write the remaining bytes of the slices to a channel with a gathering write. If not all the bytes are written
+     * then the next write continues from where this one finished.
+     *
+     * @param channel to write to.
+     * @return the number of bytes written, possibly zero.
+     */
+    public long write(final GatheringByteChannel channel)
+    {
+        final int firstIndex = skipCompletedSlices();
+        if (firstIndex == count)
+        {
+            return 0;
+        }
+
+        try
+        {
+            return channel.write(views, firstIndex, count - firstIndex);
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return 0;
+        }
+    }
+
+    /**
+     * Read from a channel into the remaining bytes of the slices with a scattering read. If not all the slices are
+     * filled then the next read continues from where this one finished.
+     *
+     * @param channel to read from.
+     * @return the number of bytes read, possibly zero, or -1 if the channel has reached end-of-stream.
+     */
+    public long read(final ScatteringByteChannel channel)
+    {
+        final int firstIndex = skipCompletedSlices();
+        if (firstIndex == count)
+        {
+            return 0;
+        }
+
+        try
+        {
+            return channel.read(views, firstIndex, count - firstIndex);
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return 0;
+        }
+    }
+
+    /**
+     * Write the remaining bytes of the slices to a file at a given position without changing the position of the
+     * channel. If not all the bytes are written then the next write continues from where this one finished.
+     *
+     * @param channel  to write to.
+     * @param position in the file at which to write the first remaining byte.
+     * @return the number of bytes written, possibly zero.
+     */
+    public long write(final FileChannel channel, final long position)
+    {
+        long bytesWritten = 0;
+        try
+        {
+            for (int i = skipCompletedSlices(); i < count; i++)
+            {
+                final ByteBuffer view = views[i];
+                bytesWritten += channel.write(view, position + bytesWritten);
+                if (view.hasRemaining())
+                {
+                    break;
+                }
+            }
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return bytesWritten;
+    }
+
+    /**
+     * Read from a file at a given position into the remaining bytes of the slices without changing the position of
+     * the channel. If not all the slices are filled then the next read continues from where this one finished.
+     *
+     * @param channel  to read from.
+     * @param position in the file from which to read into the first remaining byte.
+     * @return the number of bytes read, possibly zero, or -1 if the position is at or beyond the end of the file.
+     */
+    public long read(final FileChannel channel, final long position)
+    {
+        long bytesRead = 0;
+        try
+        {
+            for (int i = skipCompletedSlices(); i < count; i++)
+            {
+                final ByteBuffer view = views[i];
+                final int read = channel.read(view, position + bytesRead);
+                if (read < 0)
+                {
+                    return 0 == bytesRead ? -1 : bytesRead;
+                }
+
+                bytesRead += read;
+                if (view.hasRemaining())
+                {
+                    break;
+                }
+            }
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return bytesRead;
+    }
+
+    private int skipCompletedSlices()
+    {
+        int i = firstIndex;
+        while (i < count && !views[i].hasRemaining())
+        {
+            i++;
+        }
+
+        firstIndex = i;
+
+        return i;
+    }
+}
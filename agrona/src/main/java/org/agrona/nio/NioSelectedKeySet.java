@@ -0,0 +1,228 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.nio;
+
+import java.nio.channels.SelectionKey;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Array backed set of selected keys which a {@link TransportPoller}, when constructed to use one, installs in its
+ * {@link java.nio.channels.Selector} in place of the {@link java.util.HashSet} so that selected keys can be processed
+ * without allocating an iterator.
+ * <p>
+ * A selector reports each ready key once per select, so to keep adding cheap {@link #contains(Object)} always returns
+ * false and the set must be {@link #reset()} after processing each select, which {@link #consume(Consumer)} does.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe.
+ */
+public class NioSelectedKeySet extends AbstractSet<SelectionKey>
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private SelectionKey[] keys;
+    private int size = 0;
+
+    /**
+     * Construct a key set with default capacity.
+     */
+    public NioSelectedKeySet()
+    {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Construct a key set with the given initial capacity.
+     *
+     * @param initialCapacity for the key set.
+     */
+    public NioSelectedKeySet(final int initialCapacity)
+    {
+        if (initialCapacity < 1)
+        {
+            throw new IllegalArgumentException("initialCapacity must be greater than 0: " + initialCapacity);
+        }
+
+        keys = new SelectionKey[initialCapacity];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Capacity of the current set.
+     *
+     * @return capacity of the set.
+     */
+    public int capacity()
+    {
+        return keys.length;
+    }
+
+    /**
+     * Return selected keys. Only the first {@link #size()} elements are valid.
+     *
+     * @return selected keys.
+     */
+    public SelectionKey[] keys()
+    {
+        return keys;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean add(final SelectionKey selectionKey)
+    {
+        if (null == selectionKey)
+        {
+            return false;
+        }
+
+        if (size == keys.length)
+        {
+            keys = Arrays.copyOf(keys, keys.length << 1);
+        }
+
+        keys[size++] = selectionKey;
+
+        return true;
+    }
+
+    /**
+     * Remove a key, which the selector does when a key is cancelled.
+     *
+     * @param o to be removed.
+     * @return true if the key was removed otherwise false.
+     */
+    public boolean remove(final Object o)
+    {
+        for (int i = size - 1; i >= 0; i--)
+        {
+            if (keys[i] == o)
+            {
+                System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+                keys[--size] = null;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Always returns false as a selector only reports each ready key once per select and the set is reset after
+     * each select.
+     *
+     * @param o to check.
+     * @return false.
+     */
+    public boolean contains(final Object o)
+    {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void clear()
+    {
+        reset();
+    }
+
+    /**
+     * Reset the set to be empty and release the references to the keys.
+     */
+    public void reset()
+    {
+        Arrays.fill(keys, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Pass each key to a {@link Consumer} in the order selected, then {@link #reset()} the set.
+     *
+     * @param consumer to which each key is passed.
+     * @return the number of keys consumed.
+     */
+    public int consume(final Consumer<SelectionKey> consumer)
+    {
+        final SelectionKey[] keys = this.keys;
+        final int size = this.size;
+        try
+        {
+            for (int i = 0; i < size; i++)
+            {
+                consumer.accept(keys[i]);
+            }
+        }
+        finally
+        {
+            reset();
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns an iterator which allocates, so prefer {@link #keys()} or {@link #consume(Consumer)}.
+     *
+     * @return an iterator over the keys.
+     */
+    public Iterator<SelectionKey> iterator()
+    {
+        return new Iterator<>()
+        {
+            private int index = 0;
+            private boolean canRemove = false;
+
+            public boolean hasNext()
+            {
+                return index < size;
+            }
+
+            public SelectionKey next()
+            {
+                if (index >= size)
+                {
+                    throw new NoSuchElementException();
+                }
+
+                canRemove = true;
+                return keys[index++];
+            }
+
+            public void remove()
+            {
+                if (!canRemove)
+                {
+                    throw new IllegalStateException();
+                }
+
+                canRemove = false;
+                NioSelectedKeySet.this.remove(keys[--index]);
+            }
+        };
+    }
+}
@@ -16,13 +16,22 @@
 package org.agrona.nio;
 
 import org.agrona.LangUtil;
+import org.agrona.UnsafeApi;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.function.Consumer;
 
 /**
  * Implements the common functionality for a transport poller.
+ * <p>
+ * A poller constructed with {@link #TransportPoller(boolean)} can opt in to installing a {@link NioSelectedKeySet} in
+ * place of the JDK's selected-key sets, when its {@link Selector} implementation allows, so that
+ * {@link #selectNow(Consumer)} can process the selected keys without allocation.
  */
 public class TransportPoller implements AutoCloseable
 {
@@ -46,15 +55,64 @@ public class TransportPoller implements AutoCloseable
     public static final int ITERATION_THRESHOLD = Integer.getInteger(
         ITERATION_THRESHOLD_PROP_NAME, ITERATION_THRESHOLD_DEFAULT);
 
+    private static final Class<?> SELECTOR_IMPL_CLASS;
+    private static final long SELECTED_KEYS_OFFSET;
+    private static final long PUBLIC_SELECTED_KEYS_OFFSET;
+
+    static
+    {
+        Class<?> selectorImplClass = null;
+        long selectedKeysOffset = -1;
+        long publicSelectedKeysOffset = -1;
+
+        try
+        {
+            final Class<?> clazz = Class.forName("sun.nio.ch.SelectorImpl", false, null);
+            selectedKeysOffset = UnsafeApi.objectFieldOffset(clazz.getDeclaredField("selectedKeys"));
+            publicSelectedKeysOffset = UnsafeApi.objectFieldOffset(clazz.getDeclaredField("publicSelectedKeys"));
+            selectorImplClass = clazz;
+        }
+        catch (final Exception ignore)
+        {
+            // fall back to the JDK's selected-key set
+        }
+
+        SELECTOR_IMPL_CLASS = selectorImplClass;
+        SELECTED_KEYS_OFFSET = selectedKeysOffset;
+        PUBLIC_SELECTED_KEYS_OFFSET = publicSelectedKeysOffset;
+    }
+
     /**
      * Reference to the {@link Selector} for the transport.
      */
     protected final Selector selector;
 
     /**
-     * Default constructor.
+     * Array backed set of selected keys installed in the {@link #selector}, or null if it was not requested or could
+     * not be installed.
+     */
+    protected final NioSelectedKeySet selectedKeySet;
+
+    /**
+     * Default constructor which leaves the JDK's selected-key sets in place.
      */
     public TransportPoller()
+    {
+        this(false);
+    }
+
+    /**
+     * Construct a poller which can install a {@link NioSelectedKeySet} in place of the JDK's selected-key sets.
+     * <p>
+     * The installed set does not check for keys which are already selected, so it must be emptied after each select,
+     * as {@link #selectNow(Consumer)} and {@link #selectNowWithoutProcessing()} do, or by clearing
+     * {@link Selector#selectedKeys()}. Like the JDK's set, {@link Selector#selectedKeys()} supports removal but
+     * not addition.
+     *
+     * @param useSelectedKeySet true to install a {@link NioSelectedKeySet} when the {@link Selector} implementation
+     *                          allows, otherwise false to leave the JDK's selected-key sets in place.
+     */
+    public TransportPoller(final boolean useSelectedKeySet)
     {
         try
         {
@@ -64,6 +122,16 @@ public class TransportPoller implements AutoCloseable
         {
             throw new UncheckedIOException(ex);
         }
+
+        NioSelectedKeySet selectedKeySet = null;
+        if (useSelectedKeySet && null != SELECTOR_IMPL_CLASS && SELECTOR_IMPL_CLASS.isInstance(selector))
+        {
+            selectedKeySet = new NioSelectedKeySet();
+            UnsafeApi.putReference(selector, SELECTED_KEYS_OFFSET, selectedKeySet);
+            UnsafeApi.putReference(selector, PUBLIC_SELECTED_KEYS_OFFSET, new UngrowableKeySet(selectedKeySet));
+        }
+
+        this.selectedKeySet = selectedKeySet;
     }
 
     /**
@@ -95,5 +163,81 @@ public class TransportPoller implements AutoCloseable
         {
             LangUtil.rethrowUnchecked(ex);
         }
+
+        if (null != selectedKeySet)
+        {
+            selectedKeySet.reset();
+        }
+    }
+
+    /**
+     * Explicit call to {@link Selector#selectNow()} which passes each selected key to a {@link Consumer}. When the
+     * {@link #selectedKeySet} is installed the keys are passed without allocation, otherwise this falls back to
+     * {@link Selector#selectNow(Consumer)}.
+     *
+     * @param consumer to which each selected key is passed.
+     * @return the number of keys selected.
+     */
+    public int selectNow(final Consumer<SelectionKey> consumer)
+    {
+        try
+        {
+            if (null != selectedKeySet)
+            {
+                selector.selectNow();
+                return selectedKeySet.consume(consumer);
+            }
+
+            return selector.selectNow(consumer);
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return 0;
+        }
+    }
+
+    private static final class UngrowableKeySet extends AbstractSet<SelectionKey>
+    {
+        private final NioSelectedKeySet keySet;
+
+        UngrowableKeySet(final NioSelectedKeySet keySet)
+        {
+            this.keySet = keySet;
+        }
+
+        public int size()
+        {
+            return keySet.size();
+        }
+
+        public boolean contains(final Object o)
+        {
+            final SelectionKey[] keys = keySet.keys();
+            for (int i = 0, size = keySet.size(); i < size; i++)
+            {
+                if (keys[i] == o)
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        public boolean remove(final Object o)
+        {
+            return keySet.remove(o);
+        }
+
+        public void clear()
+        {
+            keySet.reset();
+        }
+
+        public Iterator<SelectionKey> iterator()
+        {
+            return keySet.iterator();
+        }
     }
 }
@@ -29,8 +29,10 @@ import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.DirectBuffer.STR_HEADER_LEN;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class BufferStringOperationsTest
 {
@@ -47,6 +49,13 @@ class BufferStringOperationsTest
             randomBytes(new ExpandableDirectByteBuffer(BUFFER_CAPACITY)));
     }
 
+    private static Stream<MutableDirectBuffer> nonExpandableBuffers()
+    {
+        return Stream.of(
+            randomBytes(new UnsafeBuffer(new byte[BUFFER_CAPACITY])),
+            randomBytes(new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_CAPACITY))));
+    }
+
     private static MutableDirectBuffer randomBytes(final MutableDirectBuffer buffer)
     {
         buffer.setMemory(0, BUFFER_CAPACITY, (byte)ThreadLocalRandom.current().nextInt(1, 128));
@@ -199,6 +208,22 @@ class BufferStringOperationsTest
         assertOtherDataWasNotModified(buffer, index, encodedLength);
     }
 
+    @ParameterizedTest
+    @MethodSource("nonExpandableBuffers")
+    void shouldNotPartiallyWriteUtf8StringWhichDoesNotFit(final MutableDirectBuffer buffer)
+    {
+        final String value = "Hello World \u1EBF";
+        final int index = BUFFER_CAPACITY - STR_HEADER_LEN - value.length();
+        buffer.getBytes(0, BUFFER_DATA);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.putStringUtf8(index, value));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.putStringUtf8(index, value, ByteOrder.BIG_ENDIAN));
+        assertThrows(
+            IndexOutOfBoundsException.class, () -> buffer.putStringWithoutLengthUtf8(index + STR_HEADER_LEN, value));
+
+        assertOtherDataWasNotModified(buffer, 0, 0);
+    }
+
     @ParameterizedTest
     @MethodSource("buffers")
     void shouldGetAsciiToAppendable(final MutableDirectBuffer buffer)
@@ -245,6 +270,73 @@ class BufferStringOperationsTest
         assertThat(appendable.toString(), is(value.substring(0, length)));
     }
 
+    @ParameterizedTest
+    @MethodSource("buffers")
+    void shouldGetUtf8ToAppendable(final MutableDirectBuffer buffer)
+    {
+        final String value = "Hello World, Grüße \u20AC 10 \uD83D\uDE00 and the rest in ASCII";
+        final int encodedLength = value.getBytes(StandardCharsets.UTF_8).length;
+
+        buffer.putStringUtf8(INDEX, value);
+
+        final StringBuilder appendable = new StringBuilder();
+        assertEquals(encodedLength, buffer.getStringUtf8(INDEX, appendable));
+        assertEquals(value, appendable.toString());
+
+        appendable.setLength(0);
+        assertEquals(
+            encodedLength, buffer.getStringWithoutLengthUtf8(INDEX + STR_HEADER_LEN, encodedLength, appendable));
+        assertEquals(value, appendable.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("buffers")
+    void shouldGetUtf8WithByteOrderToAppendable(final MutableDirectBuffer buffer)
+    {
+        final String value = "Hello World \u00A3";
+
+        buffer.putStringUtf8(INDEX, value, ByteOrder.BIG_ENDIAN);
+
+        final StringBuilder appendable = new StringBuilder();
+        final int encodedLength = buffer.getStringUtf8(INDEX, appendable, ByteOrder.BIG_ENDIAN);
+
+        assertEquals(value.getBytes(StandardCharsets.UTF_8).length, encodedLength);
+        assertEquals(value, appendable.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("buffers")
+    void shouldReplaceMalformedUtf8WhenAppendingTheSameAsString(final MutableDirectBuffer buffer)
+    {
+        final byte[] bytes = {
+            'a', (byte)0xC0, (byte)0x80, 'b', (byte)0xE0, (byte)0x80, 'c', (byte)0xED, (byte)0xA0, (byte)0x80, 'd',
+            (byte)0xF0, (byte)0x9F, (byte)0x98, 'e', (byte)0xF5, (byte)0xE2, (byte)0x82 };
+        buffer.putBytes(INDEX, bytes);
+
+        final StringBuilder appendable = new StringBuilder();
+        assertEquals(bytes.length, buffer.getStringWithoutLengthUtf8(INDEX, bytes.length, appendable));
+
+        final String expected = new String(bytes, StandardCharsets.UTF_8);
+        assertEquals(expected, appendable.toString());
+        assertEquals(expected, buffer.getStringWithoutLengthUtf8(INDEX, bytes.length));
+    }
+
+    @ParameterizedTest
+    @MethodSource("buffers")
+    void shouldPutUtf8TheSameAsStringGetBytes(final MutableDirectBuffer buffer)
+    {
+        final String value = "\u00E9\u0800\uFFFF\uD800\uDC00 unpaired \uD800 \uDC00\uD800";
+        final byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+        buffer.getBytes(0, BUFFER_DATA);
+
+        assertEquals(expected.length, buffer.putStringWithoutLengthUtf8(INDEX, value));
+
+        final byte[] actual = new byte[expected.length];
+        buffer.getBytes(INDEX, actual);
+        assertArrayEquals(expected, actual);
+        assertOtherDataWasNotModified(buffer, INDEX, expected.length);
+    }
+
     @ParameterizedTest
     @MethodSource("buffers")
     void shouldAppendWithInvalidChar(final MutableDirectBuffer buffer)
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteOrder;
+
+import static org.agrona.DirectBuffer.STR_HEADER_LEN;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectBufferDefaultMethodsTest
+{
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[64]);
+    private final DirectBuffer defaultMethods = withDefaultMethods(DirectBuffer.class, buffer);
+    private final MutableDirectBuffer mutableDefaultMethods = withDefaultMethods(MutableDirectBuffer.class, buffer);
+
+    @Test
+    void shouldFindIndexOfByte()
+    {
+        buffer.setMemory(0, 64, (byte)'a');
+        buffer.putByte(3, (byte)'b');
+        buffer.putByte(37, (byte)'b');
+
+        assertEquals(3, defaultMethods.indexOf(0, 64, (byte)'b'));
+        assertEquals(37, defaultMethods.indexOf(4, 60, (byte)'b'));
+        assertEquals(-1, defaultMethods.indexOf(4, 33, (byte)'b'));
+        assertEquals(-1, defaultMethods.indexOf(10, 0, (byte)'a'));
+        assertThrows(IndexOutOfBoundsException.class, () -> defaultMethods.indexOf(60, 5, (byte)'a'));
+    }
+
+    @Test
+    void shouldFindIndexOfPattern()
+    {
+        buffer.putStringWithoutLengthAscii(0, "abcabcabdabcabcabcabd-abcabcabx");
+        final int length = 31;
+        final UnsafeBuffer pattern = new UnsafeBuffer(new byte[16]);
+        pattern.putStringWithoutLengthAscii(5, "abcabd");
+
+        assertEquals(3, defaultMethods.indexOf(0, length, pattern, 5, 6));
+        assertEquals(15, defaultMethods.indexOf(4, length - 4, pattern, 5, 6));
+        assertEquals(-1, defaultMethods.indexOf(4, 16, pattern, 5, 6));
+        assertEquals(15, defaultMethods.indexOf(4, 17, pattern, 5, 6));
+        assertEquals(7, defaultMethods.indexOf(7, length - 7, pattern, 5, 0));
+        assertEquals(-1, defaultMethods.indexOf(0, 5, pattern, 5, 6));
+    }
+
+    @Test
+    void shouldFindMismatch()
+    {
+        final UnsafeBuffer other = new UnsafeBuffer(new byte[64]);
+        for (int i = 0; i < 48; i++)
+        {
+            buffer.putByte(3 + i, (byte)i);
+            other.putByte(11 + i, (byte)i);
+        }
+
+        assertEquals(-1, defaultMethods.mismatch(3, other, 11, 48));
+        assertTrue(defaultMethods.contentEquals(3, other, 11, 48));
+
+        other.putByte(11 + 20, (byte)-1);
+
+        assertEquals(20, defaultMethods.mismatch(3, other, 11, 48));
+        assertFalse(defaultMethods.contentEquals(3, other, 11, 48));
+        assertTrue(defaultMethods.contentEquals(3, other, 11, 20));
+        assertThrows(IndexOutOfBoundsException.class, () -> defaultMethods.mismatch(3, other, 20, 48));
+    }
+
+    @Test
+    void shouldParseDelimitedAsciiNumbers()
+    {
+        final int length = buffer.putStringWithoutLengthAscii(0, "12,-7,0,2147483647,");
+        final int[] ints = new int[6];
+
+        assertEquals(4, defaultMethods.parseIntsAscii(0, length, (byte)',', ints, 1));
+        assertArrayEquals(new int[]{ 0, 12, -7, 0, Integer.MAX_VALUE, 0 }, ints);
+
+        final long[] longs = new long[4];
+        assertEquals(4, defaultMethods.parseLongsAscii(0, length - 1, (byte)',', longs, 0));
+        assertArrayEquals(new long[]{ 12, -7, 0, Integer.MAX_VALUE }, longs);
+
+        assertThrows(AsciiNumberFormatException.class, () -> defaultMethods.parseIntsAscii(0, 4, (byte)'2', ints, 0));
+        assertThrows(
+            IndexOutOfBoundsException.class, () -> defaultMethods.parseIntsAscii(0, length, (byte)',', ints, 3));
+    }
+
+    @Test
+    void shouldParseDelimitedScaledAsciiNumbers()
+    {
+        final int length = buffer.putStringWithoutLengthAscii(0, "1.5|-12.25|-0.05|7");
+        final long[] values = new long[4];
+
+        assertEquals(4, defaultMethods.parseScaledLongsAscii(0, length, (byte)'|', 2, values, 0));
+        assertArrayEquals(new long[]{ 150, -1225, -5, 700 }, values);
+
+        assertThrows(
+            AsciiNumberFormatException.class,
+            () -> defaultMethods.parseScaledLongsAscii(0, length, (byte)'|', 1, values, 0));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> defaultMethods.parseScaledLongsAscii(0, length, (byte)'|', 19, values, 0));
+    }
+
+    @Test
+    void shouldPutDelimitedAsciiNumbers()
+    {
+        final int[] ints = { 99, 12, -7, 0, Integer.MIN_VALUE };
+
+        final int intsLength = mutableDefaultMethods.putIntsAscii(2, ints, 1, 4, (byte)',');
+        assertEquals("12,-7,0,-2147483648", buffer.getStringWithoutLengthAscii(2, intsLength));
+
+        final long[] longs = { Long.MAX_VALUE, -1 };
+        final int longsLength = mutableDefaultMethods.putLongsAscii(0, longs, 0, 2, (byte)' ');
+        assertEquals(Long.MAX_VALUE + " -1", buffer.getStringWithoutLengthAscii(0, longsLength));
+
+        assertEquals(0, mutableDefaultMethods.putIntsAscii(0, ints, 5, 0, (byte)','));
+        assertThrows(
+            IndexOutOfBoundsException.class, () -> mutableDefaultMethods.putIntsAscii(0, ints, 2, 4, (byte)','));
+    }
+
+    @Test
+    void shouldPutDelimitedScaledAsciiNumbers()
+    {
+        final long[] values = { 150, -1225, -5, 700, 0 };
+
+        final int length = mutableDefaultMethods.putScaledLongsAscii(0, values, 0, 5, 2, (byte)'|');
+        assertEquals("1.50|-12.25|-0.05|7.00|0.00", buffer.getStringWithoutLengthAscii(0, length));
+
+        final int unscaledLength = mutableDefaultMethods.putScaledLongsAscii(0, values, 1, 2, 0, (byte)'|');
+        assertEquals("-1225|-5", buffer.getStringWithoutLengthAscii(0, unscaledLength));
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> mutableDefaultMethods.putScaledLongsAscii(0, values, 0, 1, -1, (byte)'|'));
+    }
+
+    @Test
+    void shouldParseDecimalAscii()
+    {
+        final MutableDecimal decimal = new MutableDecimal();
+        final int length = buffer.putStringWithoutLengthAscii(0, "-123.456789");
+
+        assertSame(decimal, defaultMethods.parseDecimalAscii(0, length, decimal));
+        assertEquals(new MutableDecimal(-123456789, 6), decimal);
+        assertEquals(new MutableDecimal(-123, 0), defaultMethods.parseDecimalAscii(0, 4, decimal));
+
+        buffer.putStringWithoutLengthAscii(0, "1.");
+        assertThrows(AsciiNumberFormatException.class, () -> defaultMethods.parseDecimalAscii(0, 2, decimal));
+
+        final int tooLongLength = buffer.putStringWithoutLengthAscii(0, "0.0000000000000000001");
+        assertThrows(
+            AsciiNumberFormatException.class, () -> defaultMethods.parseDecimalAscii(0, tooLongLength, decimal));
+    }
+
+    @Test
+    void shouldPutDecimalAscii()
+    {
+        assertEquals(10, mutableDefaultMethods.putDecimalAscii(0, 123456789, 6));
+        assertEquals("123.456789", buffer.getStringWithoutLengthAscii(0, 10));
+
+        assertEquals(6, mutableDefaultMethods.putDecimalAscii(0, -5, 3));
+        assertEquals("-0.005", buffer.getStringWithoutLengthAscii(0, 6));
+
+        assertEquals(2, mutableDefaultMethods.putDecimalAscii(0, -7, 0));
+        assertEquals("-7", buffer.getStringWithoutLengthAscii(0, 2));
+
+        assertThrows(IllegalArgumentException.class, () -> mutableDefaultMethods.putDecimalAscii(0, 1, 19));
+    }
+
+    @Test
+    void shouldAppendUtf8Strings()
+    {
+        final String value = "ab\u00e9\u20ac\ud83d\ude00";
+        final int encodedLength = buffer.putStringUtf8(0, value);
+        final int bigEndianLength = buffer.putStringUtf8(32, value, ByteOrder.BIG_ENDIAN);
+        final StringBuilder builder = new StringBuilder();
+
+        assertEquals(encodedLength - STR_HEADER_LEN, defaultMethods.getStringUtf8(0, builder));
+        assertEquals(value, builder.toString());
+
+        builder.setLength(0);
+        assertEquals(bigEndianLength - STR_HEADER_LEN, defaultMethods.getStringUtf8(32, builder, ByteOrder.BIG_ENDIAN));
+        assertEquals(value, builder.toString());
+
+        builder.setLength(0);
+        assertEquals(3, defaultMethods.getStringWithoutLengthUtf8(STR_HEADER_LEN, 3, builder));
+        assertEquals("ab\ufffd", builder.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends DirectBuffer> T withDefaultMethods(final Class<T> type, final T delegate)
+    {
+        return (T)Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[]{ type },
+            (proxy, method, args) ->
+            {
+                if (method.isDefault())
+                {
+                    return InvocationHandler.invokeDefault(proxy, method, args);
+                }
+
+                try
+                {
+                    return method.invoke(delegate, args);
+                }
+                catch (final InvocationTargetException ex)
+                {
+                    throw ex.getCause();
+                }
+            });
+    }
+}
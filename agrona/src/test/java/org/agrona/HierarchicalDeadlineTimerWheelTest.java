@@ -0,0 +1,387 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona;
+
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.MutableLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.DeadlineTimerWheel.NULL_DEADLINE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalDeadlineTimerWheelTest
+{
+    private static final TimeUnit TIME_UNIT = TimeUnit.NANOSECONDS;
+    private static final int RESOLUTION = BitUtil.findNextPositivePowerOfTwo((int)TimeUnit.MILLISECONDS.toNanos(1));
+
+    @Test
+    void shouldExceptionOnNonPowerOfTwoTicksPerWheel()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, 16, 10));
+    }
+
+    @Test
+    void shouldExceptionOnNonPowerOfTwoResolution()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, 17, 8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 21 })
+    void shouldExceptionOnInvalidLevels(final int levels)
+    {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, 16, 8, levels, 16));
+    }
+
+    @Test
+    void shouldDefaultConfigure()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 7, 16, 8);
+
+        assertEquals(TIME_UNIT, wheel.timeUnit());
+        assertEquals(16, wheel.tickResolution());
+        assertEquals(8, wheel.ticksPerWheel());
+        assertEquals(HierarchicalDeadlineTimerWheel.DEFAULT_LEVELS, wheel.levels());
+        assertEquals(7, wheel.startTime());
+    }
+
+    @Test
+    void shouldBeAbleToScheduleTimerOnEdgeOfTick()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, RESOLUTION, 8);
+        final long deadline = 5 * wheel.tickResolution();
+        final long id = wheel.scheduleTimer(deadline);
+        assertEquals(deadline, wheel.deadline(id));
+
+        final Long2LongHashMap firedTimestampByTimerId = pollUntilEmpty(wheel, 0);
+
+        assertEquals(6 * wheel.tickResolution(), firedTimestampByTimerId.get(id));
+    }
+
+    @Test
+    void shouldCascadeTimersFromUpperLevels()
+    {
+        final long startTime = 100L * RESOLUTION;
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(
+            TIME_UNIT, startTime, RESOLUTION, 8, 3, 16);
+
+        final long[] ticks = { 7, 8, 9, 63, 64, 65, 200, 511, 512 };
+        final long[] ids = new long[ticks.length];
+        for (int i = 0; i < ticks.length; i++)
+        {
+            ids[i] = wheel.scheduleTimer(startTime + (ticks[i] * RESOLUTION) + 1);
+        }
+
+        final Long2LongHashMap firedTimestampByTimerId = pollUntilEmpty(wheel, startTime);
+
+        for (int i = 0; i < ticks.length; i++)
+        {
+            assertEquals(startTime + ((ticks[i] + 1) * RESOLUTION), firedTimestampByTimerId.get(ids[i]));
+        }
+    }
+
+    @Test
+    void shouldExpireTimersBeyondHorizon()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(
+            TIME_UNIT, 0, RESOLUTION, 4, 2, 16);
+
+        final long id = wheel.scheduleTimer(100L * RESOLUTION);
+
+        final Long2LongHashMap firedTimestampByTimerId = pollUntilEmpty(wheel, 0);
+
+        assertEquals(101L * RESOLUTION, firedTimestampByTimerId.get(id));
+    }
+
+    @Test
+    void shouldExpireTimersOnDeadlineTickWithSingleLevel()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(
+            TIME_UNIT, 0, RESOLUTION, 8, 1, 16);
+
+        final long id1 = wheel.scheduleTimer(3L * RESOLUTION);
+        final long id2 = wheel.scheduleTimer(19L * RESOLUTION);
+
+        final Long2LongHashMap firedTimestampByTimerId = pollUntilEmpty(wheel, 0);
+
+        assertEquals(4L * RESOLUTION, firedTimestampByTimerId.get(id1));
+        assertEquals(20L * RESOLUTION, firedTimestampByTimerId.get(id2));
+    }
+
+    @Test
+    void shouldExpireRandomTimersOnDeadlineTick()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(
+            TIME_UNIT, 0, RESOLUTION, 16, 3, 16);
+        final Random random = new Random(7);
+        final Long2LongHashMap deadlineByTimerId = new Long2LongHashMap(NULL_DEADLINE);
+
+        for (int i = 0; i < 2000; i++)
+        {
+            final long deadline = (random.nextInt(10_000) * (long)RESOLUTION) + random.nextInt(RESOLUTION);
+            deadlineByTimerId.put(wheel.scheduleTimer(deadline), deadline);
+        }
+
+        final Long2LongHashMap firedTimestampByTimerId = pollUntilEmpty(wheel, 0);
+
+        assertEquals(deadlineByTimerId.size(), firedTimestampByTimerId.size());
+        deadlineByTimerId.forEachLong(
+            (timerId, deadline) ->
+                assertEquals(((deadline / RESOLUTION) + 1) * RESOLUTION, firedTimestampByTimerId.get(timerId)));
+    }
+
+    @Test
+    void shouldBeAbleToCancelTimer()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, RESOLUTION, 8);
+        final long id = wheel.scheduleTimer(63L * RESOLUTION);
+        final long otherId = wheel.scheduleTimer(64L * RESOLUTION);
+
+        assertTrue(wheel.cancelTimer(id));
+        assertFalse(wheel.cancelTimer(id));
+        assertEquals(NULL_DEADLINE, wheel.deadline(id));
+        assertEquals(1, wheel.timerCount());
+
+        final Long2LongHashMap firedTimestampByTimerId = pollUntilEmpty(wheel, 0);
+
+        assertEquals(1, firedTimestampByTimerId.size());
+        assertEquals(65L * RESOLUTION, firedTimestampByTimerId.get(otherId));
+    }
+
+    @Test
+    void shouldNotMatchStaleTimerIdWhenSlotIsReused()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(
+            TIME_UNIT, 0, RESOLUTION, 8, 2, 1);
+
+        final long staleId = wheel.scheduleTimer(RESOLUTION);
+        assertTrue(wheel.cancelTimer(staleId));
+
+        final long id = wheel.scheduleTimer(2L * RESOLUTION);
+
+        assertNotEquals(staleId, id);
+        assertEquals(NULL_DEADLINE, wheel.deadline(staleId));
+        assertFalse(wheel.cancelTimer(staleId));
+        assertEquals(2L * RESOLUTION, wheel.deadline(id));
+    }
+
+    @Test
+    void shouldLimitExpiringTimers()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, RESOLUTION, 8);
+        wheel.scheduleTimer(3L * RESOLUTION);
+        wheel.scheduleTimer(3L * RESOLUTION);
+        wheel.scheduleTimer(3L * RESOLUTION);
+        wheel.currentTickTime(3L * RESOLUTION);
+
+        final long now = 4L * RESOLUTION;
+        assertEquals(2, wheel.poll(now, (timeUnit, nowTime, timerId) -> true, 2));
+        assertEquals(1, wheel.timerCount());
+        assertEquals(1, wheel.poll(now, (timeUnit, nowTime, timerId) -> true, 2));
+        assertEquals(0, wheel.timerCount());
+    }
+
+    @Test
+    void shouldHandleFalseReturnToExpireTimerAgain()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, RESOLUTION, 8);
+        final long id = wheel.scheduleTimer(RESOLUTION);
+        wheel.currentTickTime(RESOLUTION);
+
+        final long now = 2L * RESOLUTION;
+        assertEquals(0, wheel.poll(now, (timeUnit, nowTime, timerId) -> false, Integer.MAX_VALUE));
+        assertEquals(1, wheel.timerCount());
+        assertEquals(RESOLUTION, wheel.deadline(id));
+
+        final MutableLong expiredId = new MutableLong(-1);
+        assertEquals(1, wheel.poll(
+            now,
+            (timeUnit, nowTime, timerId) ->
+            {
+                expiredId.value = timerId;
+                return true;
+            },
+            Integer.MAX_VALUE));
+        assertEquals(id, expiredId.value);
+    }
+
+    @Test
+    void shouldCopeWithExceptionFromHandler()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(
+            TIME_UNIT, 0, RESOLUTION, 8, 2, 1);
+        final long id = wheel.scheduleTimer(RESOLUTION);
+        wheel.currentTickTime(RESOLUTION);
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> wheel.poll(
+                2L * RESOLUTION,
+                (timeUnit, now, timerId) ->
+                {
+                    throw new IllegalStateException();
+                },
+                Integer.MAX_VALUE));
+
+        assertEquals(0, wheel.timerCount());
+        assertEquals(NULL_DEADLINE, wheel.deadline(id));
+        wheel.scheduleTimer(4L * RESOLUTION);
+        assertEquals(1, wheel.timerCount());
+    }
+
+    @Test
+    void shouldAllowHandlerToCancelAndScheduleTimers()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, RESOLUTION, 8);
+        final long id1 = wheel.scheduleTimer(RESOLUTION);
+        final long id2 = wheel.scheduleTimer(RESOLUTION);
+        final long id3 = wheel.scheduleTimer(RESOLUTION);
+        wheel.currentTickTime(RESOLUTION);
+
+        final Long2LongHashMap expired = new Long2LongHashMap(NULL_DEADLINE);
+        final int count = wheel.poll(
+            2L * RESOLUTION,
+            (timeUnit, now, timerId) ->
+            {
+                expired.put(timerId, now);
+                if (timerId == id3)
+                {
+                    wheel.cancelTimer(id2);
+                    wheel.scheduleTimer(now);
+                }
+                else if (timerId == id2)
+                {
+                    wheel.cancelTimer(id3);
+                    wheel.scheduleTimer(now);
+                }
+                return true;
+            },
+            Integer.MAX_VALUE);
+
+        assertEquals(2, count);
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsKey(id1));
+        assertEquals(1, wheel.timerCount());
+    }
+
+    @Test
+    void shouldBeAbleToIterateOverTimers()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, RESOLUTION, 8);
+        final long deadline1 = 15L * RESOLUTION;
+        final long deadline2 = 1000L * RESOLUTION;
+
+        final long id1 = wheel.scheduleTimer(deadline1);
+        final long id2 = wheel.scheduleTimer(deadline2);
+
+        final Long2LongHashMap timerIdByDeadlineMap = new Long2LongHashMap(Long.MIN_VALUE);
+        wheel.forEach(timerIdByDeadlineMap::put);
+
+        assertEquals(2, timerIdByDeadlineMap.size());
+        assertEquals(id1, timerIdByDeadlineMap.get(deadline1));
+        assertEquals(id2, timerIdByDeadlineMap.get(deadline2));
+    }
+
+    @Test
+    void shouldClearOutScheduledTimers()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, RESOLUTION, 8);
+        final long id1 = wheel.scheduleTimer(15L * RESOLUTION);
+        final long id2 = wheel.scheduleTimer(1000L * RESOLUTION);
+
+        wheel.clear();
+
+        assertEquals(0L, wheel.timerCount());
+        assertEquals(NULL_DEADLINE, wheel.deadline(id1));
+        assertEquals(NULL_DEADLINE, wheel.deadline(id2));
+        assertEquals(0, wheel.poll(2000L * RESOLUTION, (timeUnit, now, timerId) -> true, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void shouldNotAllowResetWhenTimersActive()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, RESOLUTION, 8);
+
+        wheel.scheduleTimer(100);
+        assertThrows(IllegalStateException.class, () -> wheel.resetStartTime(1));
+    }
+
+    @Test
+    void shouldExpireOverdueTimersAfterAdvancingWheelToLaterTime()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(TIME_UNIT, 0, RESOLUTION, 8);
+        final long overdueId = wheel.scheduleTimer(100L * RESOLUTION);
+        final long futureId = wheel.scheduleTimer(300L * RESOLUTION);
+
+        wheel.currentTickTime(200L * RESOLUTION);
+        assertEquals(201L * RESOLUTION, wheel.currentTickTime());
+
+        final Long2LongHashMap firedTimestampByTimerId = pollUntilEmpty(wheel, 200L * RESOLUTION);
+
+        assertEquals(200L * RESOLUTION, firedTimestampByTimerId.get(overdueId));
+        assertEquals(301L * RESOLUTION, firedTimestampByTimerId.get(futureId));
+    }
+
+    @Test
+    void shouldExpandTimerCapacity()
+    {
+        final HierarchicalDeadlineTimerWheel wheel = new HierarchicalDeadlineTimerWheel(
+            TIME_UNIT, 0, RESOLUTION, 8, 2, 2);
+        final long[] ids = new long[10];
+
+        for (int i = 0; i < ids.length; i++)
+        {
+            ids[i] = wheel.scheduleTimer((i + 1L) * RESOLUTION);
+        }
+
+        assertEquals(ids.length, wheel.timerCount());
+        for (int i = 0; i < ids.length; i++)
+        {
+            assertEquals((i + 1L) * RESOLUTION, wheel.deadline(ids[i]));
+        }
+
+        assertEquals(ids.length, pollUntilEmpty(wheel, 0).size());
+    }
+
+    private static Long2LongHashMap pollUntilEmpty(final HierarchicalDeadlineTimerWheel wheel, final long startTime)
+    {
+        final Long2LongHashMap firedTimestampByTimerId = new Long2LongHashMap(NULL_DEADLINE);
+        long controlTimestamp = startTime;
+
+        while (wheel.timerCount() > 0)
+        {
+            wheel.poll(
+                controlTimestamp,
+                (timeUnit, now, timerId) ->
+                {
+                    assertEquals(NULL_DEADLINE, firedTimestampByTimerId.put(timerId, now));
+                    return true;
+                },
+                Integer.MAX_VALUE);
+
+            controlTimestamp += wheel.tickResolution();
+        }
+
+        return firedTimestampByTimerId;
+    }
+}
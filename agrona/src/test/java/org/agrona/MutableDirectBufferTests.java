@@ -392,6 +392,268 @@ public abstract class MutableDirectBufferTests
         }
     }
 
+    @Test
+    void shouldFindIndexOfByte()
+    {
+        final MutableDirectBuffer buffer = newBuffer(64);
+        buffer.setMemory(0, 64, (byte)'a');
+        buffer.putByte(3, (byte)'b');
+        buffer.putByte(37, (byte)'b');
+        buffer.putByte(63, (byte)0x80);
+
+        assertEquals(3, buffer.indexOf(0, 64, (byte)'b'));
+        assertEquals(37, buffer.indexOf(4, 60, (byte)'b'));
+        assertEquals(-1, buffer.indexOf(4, 33, (byte)'b'));
+        assertEquals(63, buffer.indexOf(0, 64, (byte)0x80));
+        assertEquals(-1, buffer.indexOf(0, 63, (byte)0x80));
+        assertEquals(-1, buffer.indexOf(10, 0, (byte)'a'));
+    }
+
+    @Test
+    void shouldFindIndexOfByteAtEveryPosition()
+    {
+        final MutableDirectBuffer buffer = newBuffer(40);
+        for (int index = 0; index < 8; index++)
+        {
+            for (int position = index; position < 40; position++)
+            {
+                buffer.setMemory(0, 40, (byte)0x7F);
+                buffer.putByte(position, (byte)0xFF);
+
+                assertEquals(position, buffer.indexOf(index, 40 - index, (byte)0xFF));
+                assertEquals(-1, buffer.indexOf(index, position - index, (byte)0xFF));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("mutableBuffers")
+    void shouldFindIndexOfPattern(final MutableDirectBuffer pattern)
+    {
+        final MutableDirectBuffer buffer = newBuffer(100);
+        buffer.putStringWithoutLengthAscii(0, "abcabcabdabcabcabcabd-abcabcabx");
+        final int length = 31;
+        pattern.putStringWithoutLengthAscii(5, "abcabd");
+
+        assertEquals(3, buffer.indexOf(0, length, pattern, 5, 6));
+        assertEquals(15, buffer.indexOf(4, length - 4, pattern, 5, 6));
+        assertEquals(-1, buffer.indexOf(4, 16, pattern, 5, 6));
+        assertEquals(15, buffer.indexOf(4, 17, pattern, 5, 6));
+        assertEquals(7, buffer.indexOf(7, length - 7, pattern, 5, 0));
+        assertEquals(-1, buffer.indexOf(0, 5, pattern, 5, 6));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mutableBuffers")
+    void shouldFindMismatch(final MutableDirectBuffer other)
+    {
+        final byte[] data = new byte[48];
+        ThreadLocalRandom.current().nextBytes(data);
+        final MutableDirectBuffer buffer = newBuffer(64);
+        buffer.putBytes(3, data);
+        other.putBytes(11, data);
+
+        assertEquals(-1, buffer.mismatch(3, other, 11, data.length));
+        assertTrue(buffer.contentEquals(3, other, 11, data.length));
+
+        for (int i = 0; i < data.length; i++)
+        {
+            other.putByte(11 + i, (byte)~data[i]);
+
+            assertEquals(i, buffer.mismatch(3, other, 11, data.length));
+            assertFalse(buffer.contentEquals(3, other, 11, data.length));
+            assertTrue(buffer.contentEquals(3, other, 11, i));
+
+            other.putByte(11 + i, data[i]);
+        }
+    }
+
+    @Test
+    void shouldRoundTripIntsAscii()
+    {
+        final int[] values = new int[100];
+        values[0] = Integer.MIN_VALUE;
+        values[1] = Integer.MAX_VALUE;
+        values[2] = 0;
+        values[3] = -1;
+        for (int i = 4; i < values.length; i++)
+        {
+            values[i] = ThreadLocalRandom.current().nextInt() >> ThreadLocalRandom.current().nextInt(32);
+        }
+
+        final MutableDirectBuffer buffer = newBuffer(2048);
+        final int length = buffer.putIntsAscii(3, values, 0, values.length, (byte)',');
+
+        final int[] parsed = new int[values.length + 1];
+        assertEquals(values.length, buffer.parseIntsAscii(3, length, (byte)',', parsed, 1));
+        assertArrayEquals(values, Arrays.copyOfRange(parsed, 1, parsed.length));
+    }
+
+    @Test
+    void shouldRoundTripLongsAscii()
+    {
+        final long[] values = new long[100];
+        values[0] = Long.MIN_VALUE;
+        values[1] = Long.MAX_VALUE;
+        values[2] = 0;
+        values[3] = -1;
+        for (int i = 4; i < values.length; i++)
+        {
+            values[i] = ThreadLocalRandom.current().nextLong() >> ThreadLocalRandom.current().nextInt(64);
+        }
+
+        final MutableDirectBuffer buffer = newBuffer(4096);
+        final int length = buffer.putLongsAscii(5, values, 0, values.length, (byte)'|');
+
+        final long[] parsed = new long[values.length];
+        assertEquals(values.length, buffer.parseLongsAscii(5, length, (byte)'|', parsed, 0));
+        assertArrayEquals(values, parsed);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2, 8, 9, 18 })
+    void shouldRoundTripScaledLongsAscii(final int scale)
+    {
+        final long[] values = new long[100];
+        values[0] = Long.MIN_VALUE;
+        values[1] = Long.MAX_VALUE;
+        values[2] = 0;
+        values[3] = -1;
+        for (int i = 4; i < values.length; i++)
+        {
+            values[i] = ThreadLocalRandom.current().nextLong() >> ThreadLocalRandom.current().nextInt(64);
+        }
+
+        final MutableDirectBuffer buffer = newBuffer(4096);
+        final int length = buffer.putScaledLongsAscii(0, values, 0, values.length, scale, (byte)1);
+
+        final long[] parsed = new long[values.length];
+        assertEquals(values.length, buffer.parseScaledLongsAscii(0, length, (byte)1, scale, parsed, 0));
+        assertArrayEquals(values, parsed);
+    }
+
+    @Test
+    void shouldPutScaledLongsAscii()
+    {
+        final MutableDirectBuffer buffer = newBuffer(64);
+        final long[] values = { 1250, -5, 700, 0, 1_234_567_890_123L };
+
+        final int length = buffer.putScaledLongsAscii(0, values, 0, values.length, 2, (byte)',');
+
+        assertEquals("12.50,-0.05,7.00,0.00,12345678901.23", buffer.getStringWithoutLengthAscii(0, length));
+    }
+
+    @Test
+    void shouldParseScaledLongsAscii()
+    {
+        final MutableDirectBuffer buffer = newBuffer(64);
+        final String text = "12.5,-0.05,7,100.25,-3,";
+        buffer.putStringWithoutLengthAscii(0, text);
+
+        final long[] values = new long[5];
+        assertEquals(5, buffer.parseScaledLongsAscii(0, text.length(), (byte)',', 2, values, 0));
+        assertArrayEquals(new long[]{ 1250, -5, 700, 10025, -300 }, values);
+    }
+
+    @Test
+    void shouldParseLongsAsciiWithTrailingDelimiter()
+    {
+        final MutableDirectBuffer buffer = newBuffer(128);
+        final String text = "0|-7|123456789012345678|9223372036854775807|-9223372036854775808|12345678|";
+        buffer.putStringWithoutLengthAscii(0, text);
+
+        final long[] values = new long[6];
+        assertEquals(6, buffer.parseLongsAscii(0, text.length(), (byte)'|', values, 0));
+        assertArrayEquals(
+            new long[]{ 0, -7, 123456789012345678L, Long.MAX_VALUE, Long.MIN_VALUE, 12345678 }, values);
+        assertEquals(0, buffer.parseLongsAscii(0, 0, (byte)'|', values, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1,2x,3", "1,,3", "-", "1,2147483648", "12345678901234567890" })
+    void shouldThrowWhenParsingInvalidIntsAscii(final String text)
+    {
+        final MutableDirectBuffer buffer = newBuffer(64);
+        buffer.putStringWithoutLengthAscii(0, text);
+
+        assertThrows(
+            AsciiNumberFormatException.class,
+            () -> buffer.parseIntsAscii(0, text.length(), (byte)',', new int[4], 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1.2345", "1.", ".5", "1.2.3", "1,a", "92233720368547758.08" })
+    void shouldThrowWhenParsingInvalidScaledLongsAscii(final String text)
+    {
+        final MutableDirectBuffer buffer = newBuffer(64);
+        buffer.putStringWithoutLengthAscii(0, text);
+
+        assertThrows(
+            AsciiNumberFormatException.class,
+            () -> buffer.parseScaledLongsAscii(0, text.length(), (byte)',', 3, new long[4], 0));
+    }
+
+    @Test
+    void shouldThrowWhenValuesArrayIsTooSmall()
+    {
+        final MutableDirectBuffer buffer = newBuffer(64);
+        final String text = "1,2,3";
+        buffer.putStringWithoutLengthAscii(0, text);
+
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> buffer.parseLongsAscii(0, text.length(), (byte)',', new long[2], 0));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "123456789,6,123.456789",
+        "-5,3,-0.005",
+        "150,2,1.50",
+        "42,0,42",
+        "0,4,0.0000",
+        "-9223372036854775808,0,-9223372036854775808",
+        "-9223372036854775808,18,-9.223372036854775808",
+        "9223372036854775807,1,922337203685477580.7" })
+    void shouldPutAndParseDecimalAscii(final long mantissa, final int scale, final String expected)
+    {
+        final MutableDirectBuffer buffer = newBuffer(64);
+        final int index = 3;
+
+        final int length = buffer.putDecimalAscii(index, mantissa, scale);
+
+        assertEquals(expected, buffer.getStringWithoutLengthAscii(index, length));
+        assertEquals(expected, new MutableDecimal(mantissa, scale).toString());
+
+        final MutableDecimal decimal = new MutableDecimal();
+        assertSame(decimal, buffer.parseDecimalAscii(index, length, decimal));
+        assertEquals(mantissa, decimal.mantissa());
+        assertEquals(scale, decimal.scale());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "", "-", ".", "1.", ".5", "-.5", "1.2.3", "1.-2", "1a.5", "0.1234567890123456789", "922337203685477580.8" })
+    void shouldThrowWhenParsingInvalidDecimalAscii(final String text)
+    {
+        final MutableDirectBuffer buffer = newBuffer(64);
+        buffer.putStringWithoutLengthAscii(0, text);
+
+        assertThrows(
+            AsciiNumberFormatException.class,
+            () -> buffer.parseDecimalAscii(0, text.length(), new MutableDecimal()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { -1, 19 })
+    void shouldThrowWhenPuttingDecimalAsciiWithInvalidScale(final int scale)
+    {
+        final MutableDirectBuffer buffer = newBuffer(64);
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.putDecimalAscii(0, 1, scale));
+        assertThrows(IllegalArgumentException.class, () -> new MutableDecimal(1, scale));
+    }
+
     @Test
     void equalsReturnsTrueForThis()
     {
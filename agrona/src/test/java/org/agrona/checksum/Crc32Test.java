@@ -48,4 +48,31 @@ class Crc32Test
                 checksum, Crc32.INSTANCE.compute(address, offset, length), () -> "Failed on length: " + length);
         }
     }
+
+    @Test
+    void combine()
+    {
+        final Random random = new Random(-98L);
+        final int length = 4096;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+        final long address = address(buffer);
+        final byte[] data = new byte[length];
+        random.nextBytes(data);
+        buffer.put(0, data);
+
+        final CRC32 jdkChecksum = new CRC32();
+        jdkChecksum.update(data);
+        final int expected = (int)jdkChecksum.getValue();
+
+        for (int split = 0; split <= length; split += 73)
+        {
+            final int checksum1 = Crc32.INSTANCE.compute(address, 0, split);
+            final int checksum2 = Crc32.INSTANCE.compute(address, split, length - split);
+            final int splitAt = split;
+            assertEquals(
+                expected,
+                Crc32.INSTANCE.combine(checksum1, checksum2, length - split),
+                () -> "Failed on split: " + splitAt);
+        }
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.checksum;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static org.agrona.BufferUtil.address;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelChecksumTest
+{
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void after()
+    {
+        pool.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 100, 4096, 65536, 1_000_003 })
+    void shouldComputeSameChecksumAsDelegate(final int length)
+    {
+        final int offset = 5;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(length + offset);
+        final long address = address(buffer);
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        buffer.put(offset, data);
+
+        for (final CombinableChecksum checksum : new CombinableChecksum[]{ Crc32c.INSTANCE, Crc32.INSTANCE })
+        {
+            final ParallelChecksum parallelChecksum = new ParallelChecksum(checksum, pool, 1000);
+
+            assertEquals(checksum.compute(address, offset, length), parallelChecksum.compute(address, offset, length));
+        }
+    }
+
+    @Test
+    void shouldChecksumChunksOnConfiguredPoolWhenCalledFromAnotherPool()
+    {
+        final int length = 10_000;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+        final long address = address(buffer);
+        final Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+        final CombinableChecksum checksum = new CombinableChecksum()
+        {
+            public int compute(final long address, final int offset, final int length)
+            {
+                pools.add(ForkJoinTask.getPool());
+                return Crc32c.INSTANCE.compute(address, offset, length);
+            }
+
+            public int combine(final int checksum1, final int checksum2, final long length2)
+            {
+                return Crc32c.INSTANCE.combine(checksum1, checksum2, length2);
+            }
+        };
+        final ParallelChecksum parallelChecksum = new ParallelChecksum(checksum, pool, 1000);
+
+        final ForkJoinPool otherPool = new ForkJoinPool(2);
+        final int result;
+        try
+        {
+            result = otherPool.submit(() -> parallelChecksum.compute(address, 0, length)).join();
+        }
+        finally
+        {
+            otherPool.shutdownNow();
+        }
+
+        assertEquals(Crc32c.INSTANCE.compute(address, 0, length), result);
+        assertEquals(Set.of(pool), pools);
+    }
+
+    @Test
+    void shouldRejectInvalidChunkLength()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelChecksum(Crc32c.INSTANCE, pool, 0));
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentInt2ObjectHashMapTest
+{
+    private final ConcurrentInt2ObjectHashMap<String> map = new ConcurrentInt2ObjectHashMap<>();
+
+    @Test
+    void shouldPutGetAndRemove()
+    {
+        assertTrue(map.isEmpty());
+        assertNull(map.put(7, "7"));
+        assertEquals("7", map.put(7, "seven"));
+        assertEquals("seven", map.get(7));
+        assertTrue(map.containsKey(7));
+        assertEquals(1, map.size());
+
+        assertEquals("seven", map.remove(7));
+        assertNull(map.remove(7));
+        assertNull(map.get(7));
+        assertFalse(map.containsKey(7));
+        assertEquals("default", map.getOrDefault(7, "default"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void shouldRejectNullValues()
+    {
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+        assertThrows(NullPointerException.class, () -> map.putIfAbsent(1, null));
+    }
+
+    @Test
+    void shouldPutIfAbsent()
+    {
+        assertNull(map.putIfAbsent(3, "3"));
+        assertEquals("3", map.putIfAbsent(3, "three"));
+        assertEquals("3", map.get(3));
+
+        map.remove(3);
+        assertNull(map.putIfAbsent(3, "three"));
+        assertEquals("three", map.get(3));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void shouldComputeIfAbsent()
+    {
+        assertEquals("5", map.computeIfAbsent(5, String::valueOf));
+        assertEquals("5", map.computeIfAbsent(5, (key) -> "five"));
+        assertNull(map.computeIfAbsent(6, (key) -> null));
+        assertFalse(map.containsKey(6));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void shouldGrowAsEntriesAreAdded()
+    {
+        final int count = 1000;
+        for (int i = 0; i < count; i++)
+        {
+            map.put(i, String.valueOf(i));
+        }
+
+        assertEquals(count, map.size());
+        assertTrue(map.size() <= map.resizeThreshold());
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(String.valueOf(i), map.get(i));
+        }
+    }
+
+    @Test
+    void shouldPurgeRemovedEntriesWithoutGrowing()
+    {
+        final int capacity = map.capacity();
+        for (int i = 0; i < 1000; i++)
+        {
+            map.put(i, String.valueOf(i));
+            assertEquals(String.valueOf(i), map.remove(i));
+        }
+
+        assertEquals(capacity, map.capacity());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void shouldClearAndIterate()
+    {
+        final Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 20; i++)
+        {
+            map.put(i * 31, String.valueOf(i));
+            expected.put(i * 31, String.valueOf(i));
+        }
+
+        map.remove(31);
+        expected.remove(31);
+
+        final Map<Integer, String> actual = new HashMap<>();
+        map.forEachInt(actual::put);
+        assertEquals(expected, actual);
+
+        final int capacity = map.capacity();
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(capacity, map.capacity());
+        assertNull(map.get(0));
+        assertEquals("{}", map.toString());
+    }
+
+    @Test
+    void shouldGenerateStringRepresentation()
+    {
+        map.put(1, "one");
+        map.put(2, "two");
+
+        assertEquals("{1=one, 2=two}", map.toString());
+    }
+
+    @Test
+    @Timeout(60)
+    void shouldNotMissEntriesWhenReadConcurrentlyWithUpdates() throws InterruptedException
+    {
+        final int stableKeys = 64;
+        for (int i = 0; i < stableKeys; i++)
+        {
+            map.put(i, String.valueOf(i));
+        }
+
+        final AtomicBoolean isRunning = new AtomicBoolean(true);
+        final AtomicReference<String> failure = new AtomicReference<>();
+        final List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++)
+        {
+            final Thread reader = new Thread(() ->
+            {
+                while (isRunning.get() && null == failure.get())
+                {
+                    for (int key = 0; key < stableKeys * 4; key++)
+                    {
+                        final String value = map.get(key);
+                        if (key < stableKeys ? !String.valueOf(key).equals(value) :
+                            null != value && !String.valueOf(key).equals(value))
+                        {
+                            failure.set("key=" + key + " value=" + value);
+                        }
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int i = 0; i < 100_000 && null == failure.get(); i++)
+        {
+            final int key = stableKeys + (i % (stableKeys * 3));
+            if (null == map.putIfAbsent(key, String.valueOf(key)))
+            {
+                continue;
+            }
+
+            map.remove(key);
+            if (0 == (i % 10_000))
+            {
+                map.put(stableKeys * 100 + i, "growing");
+            }
+        }
+
+        isRunning.set(false);
+        for (final Thread reader : readers)
+        {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+    }
+}
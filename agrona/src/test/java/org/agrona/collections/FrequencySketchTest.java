@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencySketchTest
+{
+    private final FrequencySketch sketch = new FrequencySketch(512);
+
+    @Test
+    void shouldRejectInvalidMaximumSize()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new FrequencySketch(0));
+        assertThrows(IllegalArgumentException.class, () -> new FrequencySketch(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void shouldEstimateFrequency()
+    {
+        final int hash = Hashing.hash(42);
+        assertEquals(0, sketch.frequency(hash));
+
+        for (int i = 1; i <= 5; i++)
+        {
+            sketch.increment(hash);
+            assertEquals(i, sketch.frequency(hash));
+        }
+
+        assertEquals(0, sketch.frequency(Hashing.hash(43)));
+    }
+
+    @Test
+    void shouldCapFrequency()
+    {
+        final int hash = Hashing.hash(7L);
+        for (int i = 0; i < FrequencySketch.MAX_FREQUENCY * 2; i++)
+        {
+            sketch.increment(hash);
+        }
+
+        assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency(hash));
+    }
+
+    @Test
+    void shouldHalveFrequenciesWhenSampleSizeIsReached()
+    {
+        final int hotHash = Hashing.hash(-1);
+        for (int i = 0; i < 10; i++)
+        {
+            sketch.increment(hotHash);
+        }
+
+        for (int i = 0; i < 512 * 10; i++)
+        {
+            sketch.increment(Hashing.hash(i));
+        }
+
+        assertTrue(sketch.frequency(hotHash) <= 5);
+    }
+
+    @Test
+    void shouldClear()
+    {
+        final int hash = Hashing.hash(3);
+        sketch.increment(hash);
+        sketch.clear();
+
+        assertEquals(0, sketch.frequency(hash));
+    }
+}
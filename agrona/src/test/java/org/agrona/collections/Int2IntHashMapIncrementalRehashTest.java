@@ -0,0 +1,203 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.agrona.collections.Int2IntHashMap.MIN_CAPACITY;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Int2IntHashMapIncrementalRehashTest extends Int2IntHashMapTest
+{
+    @BeforeEach
+    void before()
+    {
+        map = new Int2IntHashMap(MIN_CAPACITY, Hashing.DEFAULT_LOAD_FACTOR, MISSING_VALUE, true, 1);
+    }
+
+    @Test
+    void shouldRejectNegativeIncrementalRehashSlots()
+    {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new Int2IntHashMap(MIN_CAPACITY, Hashing.DEFAULT_LOAD_FACTOR, MISSING_VALUE, true, -1));
+    }
+
+    @Test
+    void shouldMovePreviousTableBeforeGrowingAgain()
+    {
+        for (final float loadFactor : new float[]{ 0.1f, 0.5f, Hashing.DEFAULT_LOAD_FACTOR, 0.9f })
+        {
+            final Int2IntHashMap map = new Int2IntHashMap(MIN_CAPACITY, loadFactor, MISSING_VALUE, true, 1);
+            assertEquals(1, map.incrementalRehashSlots());
+
+            for (int i = 0; i < 10_000; i++)
+            {
+                if (map.size() == map.resizeThreshold())
+                {
+                    // the next put grows the map so one more step must be enough to move the rest of the table
+                    final Int2IntHashMap copy = new Int2IntHashMap(map);
+                    copy.remove(-1);
+                    assertFalse(copy.isRehashing());
+                }
+
+                map.put(i, i);
+            }
+        }
+    }
+
+    @Test
+    void shouldMoveEntriesFromPreviousTableOnMutatingOperations()
+    {
+        final int resizeThreshold = map.resizeThreshold();
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            map.put(i, i * 10);
+        }
+
+        assertTrue(map.isRehashing());
+        assertEquals(MIN_CAPACITY * 2, map.capacity());
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            assertEquals(i * 10, map.get(i));
+        }
+
+        for (int i = 0; i < MIN_CAPACITY && map.isRehashing(); i++)
+        {
+            assertEquals(MISSING_VALUE, map.remove(-1));
+        }
+
+        assertFalse(map.isRehashing());
+        assertEquals(resizeThreshold + 1, map.size());
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            assertEquals(i * 10, map.get(i));
+        }
+    }
+
+    @Test
+    void shouldCompleteRehashBeforeIterating()
+    {
+        final int resizeThreshold = map.resizeThreshold();
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            map.put(i, i);
+        }
+
+        assertTrue(map.isRehashing());
+        int sum = 0;
+        for (final int value : map.values())
+        {
+            sum += value;
+        }
+
+        assertFalse(map.isRehashing());
+        assertEquals(resizeThreshold * (resizeThreshold + 1) / 2, sum);
+    }
+
+    @Test
+    void shouldCopyMapWhileRehashing()
+    {
+        final int resizeThreshold = map.resizeThreshold();
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            map.put(i, i);
+        }
+
+        final Int2IntHashMap copy = new Int2IntHashMap(map);
+        assertTrue(copy.isRehashing());
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            assertEquals(i, copy.get(i));
+        }
+
+        copy.completeRehash();
+        assertFalse(copy.isRehashing());
+        assertTrue(map.isRehashing());
+        assertEquals(map, copy);
+    }
+
+    @Test
+    void shouldGenerateStringRepresentation()
+    {
+        final int[] testEntries = { 3, 1, 19, 7, 11, 12, 7 };
+
+        for (final int testEntry : testEntries)
+        {
+            map.put(testEntry, testEntry + 1000);
+        }
+
+        // colliding entries are ordered by when they were moved to the new table
+        final String mapAsAString = "{1=1001, 19=1019, 11=1011, 7=1007, 3=1003, 12=1012}";
+        assertEquals(mapAsAString, map.toString());
+    }
+
+    @Test
+    void shouldMatchHashMapForRandomOperations()
+    {
+        final Random random = new Random(7);
+        final Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            final int key = random.nextInt(2048);
+            final int value = random.nextInt(1000);
+            switch (random.nextInt(6))
+            {
+                case 0:
+                case 1:
+                    assertEquals(valueOrMissing(expected.put(key, value)), map.put(key, value));
+                    break;
+
+                case 2:
+                    assertEquals(valueOrMissing(expected.remove(key)), map.remove(key));
+                    break;
+
+                case 3:
+                    assertEquals(valueOrMissing(expected.putIfAbsent(key, value)), map.putIfAbsent(key, value));
+                    break;
+
+                case 4:
+                    assertEquals(
+                        valueOrMissing(expected.merge(key, value, Integer::sum)), map.merge(key, value, Integer::sum));
+                    break;
+
+                default:
+                    assertEquals(valueOrMissing(expected.get(key)), map.get(key));
+                    break;
+            }
+
+            assertEquals(expected.size(), map.size());
+            if (0 == (i & 0x3FFF))
+            {
+                expected.clear();
+                map.clear();
+            }
+        }
+
+        assertEquals(expected, map);
+    }
+
+    private static int valueOrMissing(final Integer value)
+    {
+        return null == value ? MISSING_VALUE : value;
+    }
+}
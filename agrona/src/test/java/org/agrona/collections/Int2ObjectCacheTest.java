@@ -15,6 +15,8 @@
  */
 package org.agrona.collections;
 
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -37,6 +39,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.core.Is.is;
+import static org.agrona.concurrent.status.CountersReader.COUNTER_LENGTH;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -796,4 +799,168 @@ class Int2ObjectCacheTest
         assertEquals(2, cache.size());
         assertEquals(0, evicted.get());
     }
+
+    @Test
+    void shouldRejectNewEntryAccessedLessOftenThanOldestInSetWithAdmissionFilter()
+    {
+        final List<String> evicted = new ArrayList<>();
+        final Int2ObjectCache<String> cache = new Int2ObjectCache<>(1, 2, evicted::add, true);
+        assertTrue(cache.isAdmissionFiltered());
+
+        cache.put(1, "one");
+        cache.put(2, "two");
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals("one", cache.get(1));
+            assertEquals("two", cache.get(2));
+        }
+
+        cache.put(3, "three");
+
+        assertEquals(List.of("three"), evicted);
+        assertEquals(1, cache.cacheRejections());
+        assertEquals(2, cache.size());
+        assertEquals("one", cache.get(1));
+        assertEquals("two", cache.get(2));
+
+        for (int i = 0; i < 8; i++)
+        {
+            assertNull(cache.get(3));
+        }
+
+        cache.put(3, "three");
+
+        assertEquals(List.of("three", "one"), evicted);
+        assertEquals(1, cache.cacheRejections());
+        assertEquals("three", cache.get(3));
+        assertEquals("two", cache.get(2));
+        assertNull(cache.get(1));
+
+        cache.resetCounters();
+        assertEquals(0, cache.cacheRejections());
+    }
+
+    @Test
+    void shouldReturnComputedValueRejectedByAdmissionFilterWithoutEvictingIt()
+    {
+        final List<String> evicted = new ArrayList<>();
+        final Int2ObjectCache<String> cache = new Int2ObjectCache<>(1, 2, evicted::add, true);
+
+        cache.put(1, "one");
+        cache.put(2, "two");
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals("one", cache.get(1));
+            assertEquals("two", cache.get(2));
+        }
+
+        for (int i = 1; i <= 4; i++)
+        {
+            assertEquals("three", cache.computeIfAbsent(3, (k) -> "three"));
+            assertEquals(i, cache.cacheRejections());
+            assertFalse(cache.containsKey(3));
+            assertEquals(List.of(), evicted);
+        }
+
+        assertEquals("three", cache.computeIfAbsent(3, (k) -> "three"));
+
+        assertEquals(4, cache.cacheRejections());
+        assertEquals("three", cache.get(3));
+        assertEquals(List.of("one"), evicted);
+    }
+
+    @Test
+    void shouldEvictValuePutIfAbsentRejectedByAdmissionFilter()
+    {
+        final List<String> evicted = new ArrayList<>();
+        final Int2ObjectCache<String> cache = new Int2ObjectCache<>(1, 2, evicted::add, true);
+
+        cache.put(1, "one");
+        cache.put(2, "two");
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals("one", cache.get(1));
+            assertEquals("two", cache.get(2));
+        }
+
+        for (int i = 1; i <= 4; i++)
+        {
+            assertNull(cache.putIfAbsent(3, "three"));
+            assertEquals(i, cache.cacheRejections());
+            assertFalse(cache.containsKey(3));
+            assertEquals(i, evicted.size());
+        }
+
+        assertNull(cache.putIfAbsent(3, "three"));
+
+        assertEquals(4, cache.cacheRejections());
+        assertEquals("three", cache.get(3));
+        assertEquals(List.of("three", "three", "three", "three", "one"), evicted);
+    }
+
+    @Test
+    void shouldAlwaysReplaceOldestInSetWithoutAdmissionFilter()
+    {
+        final List<String> evicted = new ArrayList<>();
+        final Int2ObjectCache<String> cache = new Int2ObjectCache<>(1, 2, evicted::add);
+        assertFalse(cache.isAdmissionFiltered());
+
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+
+        assertEquals(List.of("one"), evicted);
+        assertEquals(0, cache.cacheRejections());
+    }
+
+    @Test
+    void shouldRecordStatisticsForEachSet()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[NUM_SETS * 3 * COUNTER_LENGTH]);
+        final AtomicCounter[] hitCounters = new AtomicCounter[NUM_SETS];
+        final AtomicCounter[] missCounters = new AtomicCounter[NUM_SETS];
+        final AtomicCounter[] evictionCounters = new AtomicCounter[NUM_SETS];
+        for (int i = 0; i < NUM_SETS; i++)
+        {
+            hitCounters[i] = new AtomicCounter(buffer, i);
+            missCounters[i] = new AtomicCounter(buffer, NUM_SETS + i);
+            evictionCounters[i] = new AtomicCounter(buffer, (NUM_SETS * 2) + i);
+        }
+
+        assertEquals(NUM_SETS, cache.numSets());
+        assertEquals(SET_SIZE, cache.setSize());
+        cache.recordSetStatistics(hitCounters, missCounters, evictionCounters);
+
+        final int[] keys = generateSameSetKeys(SET_SIZE + 1);
+        final int setNumber = 0;
+        for (final int key : keys)
+        {
+            assertNull(cache.get(key));
+            cache.put(key, String.valueOf(key));
+        }
+
+        assertNotNull(cache.get(keys[SET_SIZE]));
+
+        for (int i = 0; i < NUM_SETS; i++)
+        {
+            assertEquals(i == setNumber ? 1 : 0, hitCounters[i].get());
+            assertEquals(i == setNumber ? SET_SIZE + 1 : 0, missCounters[i].get());
+            assertEquals(i == setNumber ? 1 : 0, evictionCounters[i].get());
+        }
+
+        cache.recordSetStatistics(null, null, null);
+        cache.get(keys[SET_SIZE]);
+        assertEquals(1, hitCounters[setNumber].get());
+    }
+
+    @Test
+    void shouldRejectSetStatisticsCountersWhichDoNotMatchNumberOfSets()
+    {
+        final AtomicCounter[] counters = new AtomicCounter[NUM_SETS - 1];
+
+        assertThrows(IllegalArgumentException.class, () -> cache.recordSetStatistics(counters, null, null));
+        assertThrows(IllegalArgumentException.class, () -> cache.recordSetStatistics(null, counters, null));
+        assertThrows(IllegalArgumentException.class, () -> cache.recordSetStatistics(null, null, counters));
+    }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.agrona.collections.Int2ObjectHashMap.MIN_CAPACITY;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Int2ObjectHashMapIncrementalRehashTest extends Int2ObjectHashMapTest
+{
+    Int2ObjectHashMap<String> newMap(final float loadFactor, final int initialCapacity)
+    {
+        return new Int2ObjectHashMap<>(initialCapacity, loadFactor, true, 1);
+    }
+
+    @Test
+    void shouldRejectNegativeIncrementalRehashSlots()
+    {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new Int2ObjectHashMap<String>(MIN_CAPACITY, Hashing.DEFAULT_LOAD_FACTOR, true, -1));
+    }
+
+    @Test
+    void shouldMovePreviousTableBeforeGrowingAgain()
+    {
+        for (final float loadFactor : new float[]{ 0.1f, 0.5f, Hashing.DEFAULT_LOAD_FACTOR, 0.9f })
+        {
+            final Int2ObjectHashMap<String> map = new Int2ObjectHashMap<>(MIN_CAPACITY, loadFactor, true, 1);
+            assertEquals(1, map.incrementalRehashSlots());
+
+            for (int i = 0; i < 10_000; i++)
+            {
+                if (map.size() == map.resizeThreshold())
+                {
+                    // the next put grows the map so one more step must be enough to move the rest of the table
+                    final Int2ObjectHashMap<String> copy = new Int2ObjectHashMap<>(map);
+                    copy.remove(-1);
+                    assertFalse(copy.isRehashing());
+                }
+
+                map.put(i, String.valueOf(i));
+            }
+        }
+    }
+
+    @Test
+    void shouldMoveEntriesFromPreviousTableOnMutatingOperations()
+    {
+        final int resizeThreshold = map.resizeThreshold();
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            map.put(i, String.valueOf(i));
+        }
+
+        assertTrue(map.isRehashing());
+        assertEquals(MIN_CAPACITY * 2, map.capacity());
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            assertEquals(String.valueOf(i), map.get(i));
+            assertTrue(map.containsKey(i));
+        }
+
+        for (int i = 0; i < MIN_CAPACITY && map.isRehashing(); i++)
+        {
+            assertNull(map.remove(-1));
+        }
+
+        assertFalse(map.isRehashing());
+        assertEquals(resizeThreshold + 1, map.size());
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            assertEquals(String.valueOf(i), map.get(i));
+        }
+    }
+
+    @Test
+    void shouldCopyMapWhileRehashing()
+    {
+        final int resizeThreshold = map.resizeThreshold();
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            map.put(i, String.valueOf(i));
+        }
+
+        final Int2ObjectHashMap<String> copy = new Int2ObjectHashMap<>(map);
+        assertTrue(copy.isRehashing());
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            assertEquals(String.valueOf(i), copy.get(i));
+        }
+
+        copy.completeRehash();
+        assertFalse(copy.isRehashing());
+        assertTrue(map.isRehashing());
+        assertEquals(map, copy);
+    }
+
+    @Test
+    void shouldGenerateStringRepresentation()
+    {
+        final int[] testEntries = { 3, 1, 19, 7, 11, 12, 7 };
+
+        for (final int testEntry : testEntries)
+        {
+            map.put(testEntry, String.valueOf(testEntry));
+        }
+
+        // colliding entries are ordered by when they were moved to the new table
+        final String mapAsAString = "{1=1, 19=19, 11=11, 7=7, 3=3, 12=12}";
+        assertEquals(mapAsAString, map.toString());
+    }
+
+    @Test
+    void shouldMatchHashMapForRandomOperations()
+    {
+        final Random random = new Random(7);
+        final Map<Integer, String> expected = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            final int key = random.nextInt(2048);
+            final String value = String.valueOf(random.nextInt(1000));
+            switch (random.nextInt(5))
+            {
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, value), map.put(key, value));
+                    break;
+
+                case 2:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+
+                case 3:
+                    assertEquals(expected.putIfAbsent(key, value), map.putIfAbsent(key, value));
+                    break;
+
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+                    break;
+            }
+
+            assertEquals(expected.size(), map.size());
+            if (0 == (i & 0x3FFF))
+            {
+                expected.clear();
+                map.clear();
+            }
+        }
+
+        assertEquals(expected, map);
+    }
+}
@@ -18,9 +18,16 @@ package org.agrona.collections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
@@ -114,6 +121,43 @@ class IntLruCacheTest
         verify(mockCloser).accept(second);
     }
 
+    @Test
+    void shouldEvictInLeastRecentlyUsedOrderWithLargeCapacity()
+    {
+        final int capacity = 1000;
+        final List<String> closed = new ArrayList<>();
+        final IntLruCache<String> cache = new IntLruCache<>(capacity, String::valueOf, closed::add);
+        final Map<Integer, String> expected = new LinkedHashMap<>(capacity, 0.75f, true);
+        final List<String> expectedClosed = new ArrayList<>();
+        final Random random = new Random(7);
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            final int key = random.nextInt(capacity * 2) - capacity;
+            if (null == expected.get(key))
+            {
+                if (capacity == expected.size())
+                {
+                    final Map.Entry<Integer, String> eldest = expected.entrySet().iterator().next();
+                    expectedClosed.add(eldest.getValue());
+                    expected.remove(eldest.getKey());
+                }
+
+                expected.put(key, String.valueOf(key));
+            }
+
+            assertEquals(String.valueOf(key), cache.lookup(key));
+        }
+
+        assertEquals(expectedClosed, closed);
+
+        closed.clear();
+        cache.close();
+        final List<String> expectedOpen = new ArrayList<>(expected.values());
+        Collections.reverse(expectedOpen);
+        assertEquals(expectedOpen, closed);
+    }
+
     private void verifyOneConstructed(final int numberOfInvocations)
     {
         verify(mockFactory, times(numberOfInvocations)).apply(1);
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.agrona.collections.Object2IntHashMap.MIN_CAPACITY;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Object2IntHashMapIncrementalRehashTest extends Object2IntHashMapTest
+{
+    <T> Object2IntHashMap<T> newMap(final float loadFactor, final int initialCapacity)
+    {
+        return new Object2IntHashMap<>(initialCapacity, loadFactor, MISSING_VALUE, true, 1);
+    }
+
+    @Test
+    void shouldRejectNegativeIncrementalRehashSlots()
+    {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new Object2IntHashMap<String>(MIN_CAPACITY, Hashing.DEFAULT_LOAD_FACTOR, MISSING_VALUE, true, -1));
+    }
+
+    @Test
+    void shouldMovePreviousTableBeforeGrowingAgain()
+    {
+        for (final float loadFactor : new float[]{ 0.1f, 0.5f, Hashing.DEFAULT_LOAD_FACTOR, 0.9f })
+        {
+            final Object2IntHashMap<String> map =
+                new Object2IntHashMap<>(MIN_CAPACITY, loadFactor, MISSING_VALUE, true, 1);
+            assertEquals(1, map.incrementalRehashSlots());
+
+            for (int i = 0; i < 10_000; i++)
+            {
+                if (map.size() == map.resizeThreshold())
+                {
+                    // the next put grows the map so one more step must be enough to move the rest of the table
+                    final Object2IntHashMap<String> copy = new Object2IntHashMap<>(map);
+                    copy.remove("-1");
+                    assertFalse(copy.isRehashing());
+                }
+
+                map.put(String.valueOf(i), i);
+            }
+        }
+    }
+
+    @Test
+    void shouldMoveEntriesFromPreviousTableOnMutatingOperations()
+    {
+        final int resizeThreshold = objectToIntMap.resizeThreshold();
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            objectToIntMap.put(String.valueOf(i), i);
+        }
+
+        assertTrue(objectToIntMap.isRehashing());
+        assertEquals(MIN_CAPACITY * 2, objectToIntMap.capacity());
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            assertEquals(i, objectToIntMap.getValue(String.valueOf(i)));
+            assertTrue(objectToIntMap.containsKey(String.valueOf(i)));
+        }
+
+        for (int i = 0; i < MIN_CAPACITY && objectToIntMap.isRehashing(); i++)
+        {
+            assertEquals(MISSING_VALUE, objectToIntMap.removeKey("absent"));
+        }
+
+        assertFalse(objectToIntMap.isRehashing());
+        assertEquals(resizeThreshold + 1, objectToIntMap.size());
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            assertEquals(i, objectToIntMap.getValue(String.valueOf(i)));
+        }
+    }
+
+    @Test
+    void shouldCopyMapWhileRehashing()
+    {
+        final int resizeThreshold = objectToIntMap.resizeThreshold();
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            objectToIntMap.put(String.valueOf(i), i);
+        }
+
+        final Object2IntHashMap<String> copy = new Object2IntHashMap<>(objectToIntMap);
+        assertTrue(copy.isRehashing());
+        for (int i = 0; i <= resizeThreshold; i++)
+        {
+            assertEquals(i, copy.getValue(String.valueOf(i)));
+        }
+
+        copy.completeRehash();
+        assertFalse(copy.isRehashing());
+        assertTrue(objectToIntMap.isRehashing());
+        assertEquals(objectToIntMap, copy);
+    }
+
+    @Test
+    void shouldMatchHashMapForRandomOperations()
+    {
+        final Random random = new Random(7);
+        final Map<String, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            final String key = String.valueOf(random.nextInt(2048));
+            final int value = random.nextInt(1000);
+            switch (random.nextInt(5))
+            {
+                case 0:
+                case 1:
+                    assertEquals(valueOrMissing(expected.put(key, value)), objectToIntMap.put(key, value));
+                    break;
+
+                case 2:
+                    assertEquals(valueOrMissing(expected.remove(key)), objectToIntMap.removeKey(key));
+                    break;
+
+                case 3:
+                    assertEquals(
+                        valueOrMissing(expected.putIfAbsent(key, value)), objectToIntMap.putIfAbsent(key, value));
+                    break;
+
+                default:
+                    assertEquals(valueOrMissing(expected.get(key)), objectToIntMap.getValue(key));
+                    break;
+            }
+
+            assertEquals(expected.size(), objectToIntMap.size());
+            if (0 == (i & 0x3FFF))
+            {
+                expected.clear();
+                objectToIntMap.clear();
+            }
+        }
+
+        assertEquals(expected, objectToIntMap);
+    }
+
+    private static int valueOrMissing(final Integer value)
+    {
+        return null == value ? MISSING_VALUE : value;
+    }
+}
@@ -21,6 +21,8 @@ import java.util.Map.Entry;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Object2ObjectHashMapTest
@@ -205,4 +207,99 @@ class Object2ObjectHashMapTest
         final Object2ObjectHashMap<String, Integer> mapCopy = new Object2ObjectHashMap<>(map);
         assertEquals(map, mapCopy);
     }
+
+    @Test
+    void shouldFindKeysWithCollidingHashCodesAcrossProbeGroups()
+    {
+        final List<String> keys = collidingKeys(5);
+        final Object2ObjectHashMap<String, Integer> map = new Object2ObjectHashMap<>(64, 0.65f);
+        for (int i = 0; i < keys.size(); i++)
+        {
+            assertNull(map.put(keys.get(i), i));
+        }
+
+        for (int i = 0; i < keys.size(); i += 2)
+        {
+            assertEquals(i, map.remove(keys.get(i)));
+        }
+
+        for (int i = 0; i < keys.size(); i++)
+        {
+            final String key = keys.get(i);
+            assertEquals(1 == (i & 1) ? Integer.valueOf(i) : null, map.get(key));
+            assertEquals(1 == (i & 1), map.containsKey(key));
+        }
+
+        assertFalse(map.containsKey(keys.get(0) + "Aa"));
+        assertEquals(keys.size() / 2, map.size());
+    }
+
+    @Test
+    void shouldMatchHashMapForRandomOperations()
+    {
+        final Random random = new Random(7);
+        final Map<String, Integer> expected = new HashMap<>();
+        final Object2ObjectHashMap<String, Integer> map = new Object2ObjectHashMap<>();
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            final String key = "key-" + random.nextInt(512);
+            final Integer value = random.nextInt(1000);
+            switch (random.nextInt(6))
+            {
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, value), map.put(key, value));
+                    break;
+
+                case 2:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+
+                case 3:
+                    assertEquals(expected.computeIfAbsent(key, (k) -> value), map.computeIfAbsent(key, (k) -> value));
+                    break;
+
+                case 4:
+                    assertEquals(
+                        expected.compute(key, (k, v) -> null == v ? value : null),
+                        map.compute(key, (k, v) -> null == v ? value : null));
+                    break;
+
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+                    assertEquals(expected.containsKey(key), map.containsKey(key));
+                    break;
+            }
+
+            assertEquals(expected.size(), map.size());
+            if (0 == (i & 0x3FFF))
+            {
+                map.keySet().removeIf((k) -> k.endsWith("7"));
+                expected.keySet().removeIf((k) -> k.endsWith("7"));
+            }
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected, new Object2ObjectHashMap<>(map));
+    }
+
+    static List<String> collidingKeys(final int blocks)
+    {
+        // "Aa" and "BB" have the same hash code so any sequence of them does too
+        List<String> keys = Collections.singletonList("");
+        for (int i = 0; i < blocks; i++)
+        {
+            final List<String> longerKeys = new ArrayList<>();
+            for (final String key : keys)
+            {
+                longerKeys.add(key + "Aa");
+                longerKeys.add(key + "BB");
+            }
+
+            keys = longerKeys;
+        }
+
+        return keys;
+    }
 }
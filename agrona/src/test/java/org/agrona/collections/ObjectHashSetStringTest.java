@@ -554,6 +554,71 @@ class ObjectHashSetStringTest
         assertEquals(copyToSetTwo, copyToSetOne);
     }
 
+    @Test
+    void shouldContainValuesWithCollidingHashCodesAcrossProbeGroups()
+    {
+        final List<String> values = Object2ObjectHashMapTest.collidingKeys(5);
+        final ObjectHashSet<String> set = new ObjectHashSet<>(64);
+        for (final String value : values)
+        {
+            assertTrue(set.add(value));
+        }
+
+        for (int i = 0; i < values.size(); i += 2)
+        {
+            assertTrue(set.remove(values.get(i)));
+        }
+
+        for (int i = 0; i < values.size(); i++)
+        {
+            assertEquals(1 == (i & 1), set.contains(values.get(i)));
+        }
+
+        final ObjectHashSet<String> copy = new ObjectHashSet<>(64);
+        copy.copy(set);
+        for (int i = 0; i < values.size(); i++)
+        {
+            assertEquals(1 == (i & 1), copy.contains(values.get(i)));
+        }
+    }
+
+    @Test
+    void shouldMatchHashSetForRandomOperations()
+    {
+        final Random random = new Random(7);
+        final Set<String> expected = new HashSet<>();
+        final ObjectHashSet<String> set = new ObjectHashSet<>();
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            final String value = "value-" + random.nextInt(512);
+            switch (random.nextInt(3))
+            {
+                case 0:
+                    assertEquals(expected.add(value), set.add(value));
+                    break;
+
+                case 1:
+                    assertEquals(expected.remove(value), set.remove(value));
+                    break;
+
+                default:
+                    assertEquals(expected.contains(value), set.contains(value));
+                    break;
+            }
+
+            assertEquals(expected.size(), set.size());
+            if (0 == (i & 0x3FFF))
+            {
+                set.removeIf((v) -> v.endsWith("7"));
+                expected.removeIf((v) -> v.endsWith("7"));
+                set.compact();
+            }
+        }
+
+        assertEquals(expected, set);
+    }
+
     private static void addTwoElements(final ObjectHashSet<String> obj)
     {
         obj.add("1");
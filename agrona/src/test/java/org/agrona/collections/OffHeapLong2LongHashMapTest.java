@@ -0,0 +1,287 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.collections;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.collections.OffHeapLong2LongHashMap.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapLong2LongHashMapTest
+{
+    private static final int CAPACITY = 32;
+    private static final long MISSING_VALUE = -1L;
+
+    @TempDir
+    Path tempDir;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirect(requiredBufferLength(CAPACITY)));
+    private final OffHeapLong2LongHashMap map =
+        new OffHeapLong2LongHashMap(buffer, Hashing.DEFAULT_LOAD_FACTOR, MISSING_VALUE);
+
+    @ParameterizedTest
+    @ValueSource(ints = { -8, 0, 4, 7, 12 })
+    void shouldRejectInvalidCapacity(final int capacity)
+    {
+        assertThrows(IllegalArgumentException.class, () -> requiredBufferLength(capacity));
+    }
+
+    @Test
+    void shouldRejectBufferLengthWhichIsNotForPowerOfTwoCapacity()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirect(requiredBufferLength(CAPACITY) + ENTRY_LENGTH));
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new OffHeapLong2LongHashMap(buffer, Hashing.DEFAULT_LOAD_FACTOR, MISSING_VALUE));
+    }
+
+    @Test
+    void shouldInitialiseHeader()
+    {
+        assertEquals(LAYOUT_VERSION, buffer.getInt(LAYOUT_VERSION_OFFSET));
+        assertEquals(CAPACITY, buffer.getInt(CAPACITY_OFFSET));
+        assertEquals(Hashing.DEFAULT_LOAD_FACTOR, buffer.getFloat(LOAD_FACTOR_OFFSET));
+        assertEquals(MISSING_VALUE, buffer.getLong(MISSING_VALUE_OFFSET));
+        assertEquals(CAPACITY, map.capacity());
+        assertEquals(20, map.maxSize());
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void shouldPutAndGetValues()
+    {
+        assertEquals(MISSING_VALUE, map.put(7L, 70L));
+        assertEquals(MISSING_VALUE, map.put(Long.MIN_VALUE, 1L));
+
+        assertEquals(70L, map.get(7L));
+        assertEquals(1L, map.get(Long.MIN_VALUE));
+        assertEquals(MISSING_VALUE, map.get(8L));
+        assertEquals(42L, map.getOrDefault(8L, 42L));
+        assertTrue(map.containsKey(7L));
+        assertFalse(map.containsKey(8L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void shouldReplaceExistingValue()
+    {
+        map.put(7L, 70L);
+
+        assertEquals(70L, map.put(7L, 71L));
+        assertEquals(71L, map.get(7L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void shouldRejectMissingValueAsValue()
+    {
+        assertThrows(IllegalArgumentException.class, () -> map.put(7L, MISSING_VALUE));
+    }
+
+    @Test
+    void shouldThrowWhenFull()
+    {
+        for (int i = 0; i < map.maxSize(); i++)
+        {
+            map.put(i, i);
+        }
+
+        map.put(0L, 1L);
+        assertThrows(IllegalStateException.class, () -> map.put(map.maxSize(), 1L));
+        assertEquals(map.maxSize(), map.size());
+    }
+
+    @Test
+    void shouldRemoveEntriesAndCompactProbeChains()
+    {
+        for (int i = 0; i < map.maxSize(); i++)
+        {
+            map.put(i * (long)CAPACITY, i);
+        }
+
+        for (int i = 0; i < map.maxSize(); i += 2)
+        {
+            assertEquals(i, map.remove(i * (long)CAPACITY));
+        }
+
+        assertEquals(MISSING_VALUE, map.remove(-1L));
+        for (int i = 0; i < map.maxSize(); i++)
+        {
+            assertEquals(0 == (i & 1) ? MISSING_VALUE : i, map.get(i * (long)CAPACITY));
+        }
+        assertEquals(map.maxSize() / 2, map.size());
+    }
+
+    @Test
+    void shouldClearEntries()
+    {
+        map.put(1L, 10L);
+        map.put(2L, 20L);
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(1L));
+        assertEquals(MISSING_VALUE, map.put(1L, 11L));
+    }
+
+    @Test
+    void shouldAttachToExistingMap()
+    {
+        map.put(3L, 30L);
+
+        final OffHeapLong2LongHashMap attached = new OffHeapLong2LongHashMap(buffer);
+
+        assertEquals(30L, attached.get(3L));
+        assertEquals(MISSING_VALUE, attached.missingValue());
+        assertEquals(map.maxSize(), attached.maxSize());
+        assertEquals(1, attached.size());
+    }
+
+    @Test
+    void shouldRejectAttachToUninitialisedBuffer()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirect(requiredBufferLength(CAPACITY)));
+
+        assertThrows(IllegalStateException.class, () -> new OffHeapLong2LongHashMap(buffer));
+    }
+
+    @Test
+    void shouldRejectAttachWhenWriterDidNotCompleteModification()
+    {
+        map.put(3L, 30L);
+        buffer.putLong(MODIFICATION_COUNT_OFFSET, buffer.getLong(MODIFICATION_COUNT_OFFSET) + 1);
+
+        assertThrows(IllegalStateException.class, () -> new OffHeapLong2LongHashMap(buffer));
+    }
+
+    @Test
+    void shouldRejectAttachWhenMaxSizeIsNotLessThanCapacity()
+    {
+        buffer.putInt(MAX_SIZE_OFFSET, CAPACITY);
+
+        assertThrows(IllegalStateException.class, () -> new OffHeapLong2LongHashMap(buffer));
+    }
+
+    @Test
+    void shouldRejectMappedFileLeftWithOddModificationCount()
+    {
+        final File file = tempDir.resolve("long2long.map").toFile();
+
+        try (OffHeapLong2LongHashMap fileMap = mapNewFile(file, CAPACITY, Hashing.DEFAULT_LOAD_FACTOR, 0L))
+        {
+            fileMap.put(5L, 50L);
+            fileMap.buffer().putLong(MODIFICATION_COUNT_OFFSET, 1L);
+        }
+
+        assertThrows(IllegalStateException.class, () -> mapExistingFile(file));
+    }
+
+    @Test
+    void shouldPersistEntriesInMappedFile()
+    {
+        final File file = tempDir.resolve("long2long.map").toFile();
+
+        try (OffHeapLong2LongHashMap fileMap = mapNewFile(file, CAPACITY, Hashing.DEFAULT_LOAD_FACTOR, 0L))
+        {
+            fileMap.put(5L, 50L);
+            fileMap.put(6L, 60L);
+            fileMap.remove(6L);
+        }
+
+        assertEquals(requiredBufferLength(CAPACITY), file.length());
+        try (OffHeapLong2LongHashMap fileMap = mapExistingFile(file))
+        {
+            assertEquals(0L, fileMap.missingValue());
+            assertEquals(1, fileMap.size());
+            assertEquals(50L, fileMap.get(5L));
+            assertFalse(fileMap.containsKey(6L));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldFindKeyWhileItIsMovedByConcurrentRemoves() throws InterruptedException
+    {
+        final long[] keys = collidingKeys(3);
+        final long stableKey = keys[2];
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicReference<String> failure = new AtomicReference<>();
+
+        map.put(keys[0], 1L);
+        map.put(keys[1], 2L);
+        map.put(stableKey, 3L);
+
+        final Thread reader = new Thread(
+            () ->
+            {
+                while (running.get())
+                {
+                    final long value = map.get(stableKey);
+                    if (3L != value)
+                    {
+                        failure.set("stable key not found: value=" + value);
+                        running.set(false);
+                    }
+                    Thread.yield();
+                }
+            });
+        reader.start();
+
+        for (int i = 0; i < 20_000 && running.get(); i++)
+        {
+            final long key = keys[i & 1];
+            map.remove(key);
+            map.put(key, 1L);
+        }
+
+        running.set(false);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(3L, map.get(stableKey));
+    }
+
+    private static long[] collidingKeys(final int count)
+    {
+        final int mask = CAPACITY - 1;
+        final long[] keys = new long[count];
+        keys[0] = 1L;
+
+        for (int i = 1, key = 2; i < count; key++)
+        {
+            if (Hashing.hash(keys[0], mask) == Hashing.hash(key, mask))
+            {
+                keys[i++] = key;
+            }
+        }
+
+        return keys;
+    }
+}
@@ -31,6 +31,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.AdditionalAnswers.answersWithDelay;
 import static org.mockito.Mockito.*;
 
@@ -181,6 +183,49 @@ class AgentRunnerTest
         assertThat(closeTimeoutCalls.get(), greaterThan(0));
     }
 
+    @Test
+    void shouldRunAgentOnVirtualThread() throws Exception
+    {
+        assumeTrue(AgentRunner.isVirtualThreadSupported());
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        when(mockAgent.roleName()).thenReturn("virtual-agent");
+        when(mockAgent.doWork()).then(
+            (invocation) ->
+            {
+                latch.countDown();
+                return 0;
+            });
+
+        final AgentRunner runner = new AgentRunner(
+            new VirtualThreadIdleStrategy(), mockErrorHandler, mockAtomicCounter, mockAgent);
+        final Thread thread = AgentRunner.startOnVirtualThread(runner);
+
+        if (!latch.await(3, TimeUnit.SECONDS))
+        {
+            fail("Should have called doWork");
+        }
+
+        assertEquals("java.lang.VirtualThread", thread.getClass().getName());
+        assertEquals("virtual-agent", thread.getName());
+
+        runner.close();
+
+        assertTrue(runner.isClosed());
+        verify(mockAgent, times(1)).onStart();
+        verify(mockAgent, times(1)).onClose();
+        verify(mockErrorHandler, never()).onError(any());
+    }
+
+    @Test
+    void shouldThrowIfVirtualThreadsAreNotSupported()
+    {
+        assumeFalse(AgentRunner.isVirtualThreadSupported());
+
+        assertThrows(UnsupportedOperationException.class, () -> AgentRunner.startOnVirtualThread(runner));
+        assertNull(runner.thread());
+    }
+
     private void assertExceptionNotReported() throws Exception
     {
         new Thread(runner).start();
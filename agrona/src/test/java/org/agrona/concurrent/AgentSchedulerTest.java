@@ -0,0 +1,227 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgentSchedulerTest
+{
+    private final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    private AgentScheduler scheduler;
+
+    @AfterEach
+    void after()
+    {
+        if (null != scheduler)
+        {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidThreadCount()
+    {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new AgentScheduler("test", 0, YieldingIdleStrategy::new, errors::add, null, List.of()));
+    }
+
+    @Test
+    void shouldRejectStartingTwice()
+    {
+        scheduler = newScheduler(1, List.of(new TestAgent(false)));
+        scheduler.start();
+
+        assertThrows(IllegalStateException.class, scheduler::start);
+    }
+
+    @Test
+    void shouldCloseAgentsWhenNotStarted()
+    {
+        final TestAgent agent1 = new TestAgent(false);
+        final TestAgent agent2 = new TestAgent(false);
+        scheduler = newScheduler(2, List.of(agent1, agent2));
+
+        scheduler.close();
+
+        assertTrue(scheduler.isClosed());
+        assertEquals(0, agent1.startCount.get());
+        assertEquals(1, agent1.closeCount.get());
+        assertEquals(0, agent2.startCount.get());
+        assertEquals(1, agent2.closeCount.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldStartRunAndCloseEachAgentOnce()
+    {
+        final List<TestAgent> agents = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+        {
+            agents.add(new TestAgent(0 == (i & 1)));
+        }
+
+        scheduler = newScheduler(3, agents);
+        scheduler.start();
+
+        for (final TestAgent agent : agents)
+        {
+            while (agent.workCount.get() < 100)
+            {
+                Thread.yield();
+            }
+        }
+
+        scheduler.close();
+
+        assertTrue(scheduler.isClosed());
+        for (final TestAgent agent : agents)
+        {
+            assertEquals(1, agent.startCount.get());
+            assertEquals(1, agent.closeCount.get());
+            assertFalse(agent.hasOverlapped.get());
+        }
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldMoveBusyAgentToLessLoadedThread()
+    {
+        final TestAgent busy1 = new TestAgent(true);
+        final TestAgent idle1 = new TestAgent(false);
+        final TestAgent busy2 = new TestAgent(true);
+        final TestAgent idle2 = new TestAgent(false);
+
+        scheduler = newScheduler(2, List.of(busy1, idle1, busy2, idle2));
+        scheduler.start();
+
+        while (busy1.lastThread == busy2.lastThread)
+        {
+            Thread.yield();
+        }
+
+        assertEquals(1, busy1.threadChangeCount.get() + busy2.threadChangeCount.get());
+        assertFalse(busy1.hasOverlapped.get());
+        assertFalse(busy2.hasOverlapped.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldCloseAgentWhichTerminates()
+    {
+        final TestAgent agent = new TestAgent(true);
+        final TestAgent terminatingAgent = new TestAgent(true)
+        {
+            public int doWork()
+            {
+                super.doWork();
+                throw new AgentTerminationException();
+            }
+        };
+
+        scheduler = newScheduler(1, List.of(agent, terminatingAgent));
+        scheduler.start();
+
+        while (0 == terminatingAgent.closeCount.get())
+        {
+            Thread.yield();
+        }
+
+        final int workCount = agent.workCount.get();
+        while (agent.workCount.get() == workCount)
+        {
+            Thread.yield();
+        }
+
+        assertEquals(1, terminatingAgent.workCount.get());
+        assertEquals(0, agent.closeCount.get());
+        assertInstanceOf(AgentTerminationException.class, errors.peek());
+
+        scheduler.close();
+
+        assertEquals(1, terminatingAgent.closeCount.get());
+        assertEquals(1, agent.closeCount.get());
+    }
+
+    private AgentScheduler newScheduler(final int threadCount, final List<? extends Agent> agents)
+    {
+        return new AgentScheduler("test", threadCount, YieldingIdleStrategy::new, errors::add, null, agents, 0);
+    }
+
+    static class TestAgent implements Agent
+    {
+        final boolean isBusy;
+        final AtomicInteger startCount = new AtomicInteger();
+        final AtomicInteger closeCount = new AtomicInteger();
+        final AtomicInteger workCount = new AtomicInteger();
+        final AtomicInteger threadChangeCount = new AtomicInteger();
+        final AtomicBoolean isRunning = new AtomicBoolean();
+        final AtomicBoolean hasOverlapped = new AtomicBoolean();
+        volatile Thread lastThread;
+
+        TestAgent(final boolean isBusy)
+        {
+            this.isBusy = isBusy;
+        }
+
+        public void onStart()
+        {
+            startCount.incrementAndGet();
+        }
+
+        public int doWork()
+        {
+            if (!isRunning.compareAndSet(false, true))
+            {
+                hasOverlapped.set(true);
+            }
+
+            final Thread thread = Thread.currentThread();
+            if (null != lastThread && thread != lastThread)
+            {
+                threadChangeCount.incrementAndGet();
+            }
+            lastThread = thread;
+            workCount.incrementAndGet();
+
+            isRunning.set(false);
+
+            return isBusy ? 1 : 0;
+        }
+
+        public void onClose()
+        {
+            closeCount.incrementAndGet();
+        }
+
+        public String roleName()
+        {
+            return "test-agent";
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.broadcast.RecordDescriptor.HEADER_LENGTH;
+import static org.agrona.concurrent.broadcast.RecordDescriptor.RECORD_ALIGNMENT;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastReceiverLossTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+    private static final int LATEST_COUNTER_INDEX = CAPACITY + BroadcastBufferDescriptor.LATEST_COUNTER_OFFSET;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(
+        ByteBuffer.allocateDirect(CAPACITY + BroadcastBufferDescriptor.TRAILER_LENGTH));
+    private final UnsafeBuffer countersBuffer = new UnsafeBuffer(new byte[CountersReader.COUNTER_LENGTH * 3]);
+    private final AtomicCounter lagCounter = new AtomicCounter(countersBuffer, 0);
+    private final AtomicCounter lostBytesCounter = new AtomicCounter(countersBuffer, 1);
+    private final AtomicCounter lostRecordsCounter = new AtomicCounter(countersBuffer, 2);
+    private final BroadcastTransmitter transmitter = new BroadcastTransmitter(buffer);
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[128]);
+
+    @Test
+    void shouldCountExactLossWhenLappedAndResyncToLatestRecord()
+    {
+        final BroadcastReceiver receiver = new BroadcastReceiver(
+            buffer, lagCounter, lostBytesCounter, lostRecordsCounter);
+        final int length = 40;
+        final int messageCount = 100;
+        transmit(0, messageCount, length);
+
+        final long latest = buffer.getLong(LATEST_COUNTER_INDEX);
+        assertNotEquals(0, latest % align(length + HEADER_LENGTH, RECORD_ALIGNMENT));
+
+        assertTrue(receiver.receiveNext());
+        assertEquals(messageCount - 1, buffer.getInt(receiver.offset()));
+        assertEquals(1, receiver.lappedCount());
+        assertEquals(messageCount - 1, receiver.lostRecords());
+        assertEquals(latest, receiver.lostBytes());
+        assertEquals(messageCount - 1, lostRecordsCounter.get());
+        assertEquals(latest, lostBytesCounter.get());
+        assertEquals(0, lagCounter.get());
+        assertFalse(receiver.receiveNext());
+
+        transmit(messageCount, 2, length);
+        assertTrue(receiver.receiveNext());
+        assertEquals(messageCount, buffer.getInt(receiver.offset()));
+        assertEquals(align(length + HEADER_LENGTH, RECORD_ALIGNMENT), lagCounter.get());
+        assertEquals(messageCount - 1, receiver.lostRecords());
+    }
+
+    @Test
+    void shouldStartCountingFromLatestRecordOnLateJoin()
+    {
+        transmit(0, 50, 24);
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+        transmit(50, 50, 24);
+
+        assertTrue(receiver.receiveNext());
+        assertEquals(99, buffer.getInt(receiver.offset()));
+        assertEquals(50, receiver.lostRecords());
+        assertEquals(50 * 32, receiver.lostBytes());
+    }
+
+    @Test
+    void shouldResyncWhenRecordOverwrittenWhileReading()
+    {
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+        transmit(0, 1, 24);
+        assertTrue(receiver.receiveNext());
+        assertTrue(receiver.validate());
+
+        transmit(1, 40, 24);
+        assertFalse(receiver.validate());
+        receiver.resync();
+
+        assertEquals(40, receiver.lostRecords());
+        assertEquals(40 * 32, receiver.lostBytes());
+        assertEquals(1, receiver.lappedCount());
+        assertTrue(receiver.receiveNext());
+        assertEquals(40, buffer.getInt(receiver.offset()));
+        assertFalse(receiver.receiveNext());
+    }
+
+    @Test
+    void shouldNotLoseRecordWhenResyncCalledWithoutBeingLapped()
+    {
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+        transmit(0, 2, 24);
+        assertTrue(receiver.receiveNext());
+
+        receiver.resync();
+
+        assertEquals(0, receiver.lostRecords());
+        assertEquals(0, receiver.lappedCount());
+        assertTrue(receiver.receiveNext());
+        assertEquals(1, buffer.getInt(receiver.offset()));
+    }
+
+    @Test
+    void shouldAccountForEveryRecordWhenLappedByConcurrentTransmitters() throws InterruptedException
+    {
+        final ManyToManyBroadcastTransmitter transmitter = new ManyToManyBroadcastTransmitter(buffer);
+        final CopyBroadcastReceiver receiver = new CopyBroadcastReceiver(new BroadcastReceiver(buffer));
+        final int transmitterCount = 2;
+        final int messageCount = 50_000;
+        final AtomicBoolean isRunning = new AtomicBoolean(true);
+        final Thread[] threads = new Thread[transmitterCount];
+
+        for (int i = 0; i < transmitterCount; i++)
+        {
+            final int msgTypeId = i + 1;
+            threads[i] = new Thread(
+                () ->
+                {
+                    final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[128]);
+                    for (int sequence = 0; sequence < messageCount && isRunning.get(); sequence++)
+                    {
+                        srcBuffer.putInt(0, sequence);
+                        transmitter.transmit(msgTypeId, srcBuffer, 0, 4 + (sequence & 63));
+                    }
+                });
+            threads[i].start();
+        }
+
+        final long[] received = new long[1];
+        final int[] lastSequences = { -1, -1 };
+        final MessageHandler handler =
+            (msgTypeId, msgBuffer, index, length) ->
+            {
+                final int sequence = msgBuffer.getInt(index);
+                assertTrue(sequence > lastSequences[msgTypeId - 1]);
+                assertEquals(4 + (sequence & 63), length);
+                lastSequences[msgTypeId - 1] = sequence;
+                received[0]++;
+            };
+
+        try
+        {
+            boolean isTransmitting;
+            int messagesReceived;
+            do
+            {
+                isTransmitting = threads[0].isAlive() || threads[1].isAlive();
+                messagesReceived = receiver.receiveWithResync(handler);
+                if (0 == messagesReceived)
+                {
+                    Thread.yield();
+                }
+            }
+            while (isTransmitting || messagesReceived > 0);
+        }
+        finally
+        {
+            isRunning.set(false);
+        }
+
+        final BroadcastReceiver broadcastReceiver = receiver.broadcastReceiver();
+        assertEquals((long)transmitterCount * messageCount, received[0] + broadcastReceiver.lostRecords());
+        assertTrue(messageCount - 1 == lastSequences[0] || messageCount - 1 == lastSequences[1]);
+    }
+
+    private void transmit(final int firstSequence, final int count, final int length)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            srcBuffer.putInt(0, firstSequence + i);
+            transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, length);
+        }
+    }
+}
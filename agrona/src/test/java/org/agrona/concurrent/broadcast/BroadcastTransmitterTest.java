@@ -20,11 +20,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
+import java.nio.ByteBuffer;
+
 import static org.agrona.BitUtil.align;
 import static org.agrona.concurrent.broadcast.RecordDescriptor.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class BroadcastTransmitterTest
@@ -201,4 +203,98 @@ class BroadcastTransmitterTest
         inOrder.verify(buffer).putLongRelease(LATEST_COUNTER_INDEX, tail);
         inOrder.verify(buffer).putLongRelease(TAIL_COUNTER_INDEX, tail + recordLengthAligned);
     }
+
+    @Test
+    void shouldNotBeReceivedUntilClaimIsCommitted()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TOTAL_BUFFER_LENGTH));
+        final BroadcastTransmitter transmitter = new BroadcastTransmitter(buffer);
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+        final int length = 12;
+
+        final int index = transmitter.tryClaim(MSG_TYPE_ID, length);
+        assertThat(index, is(HEADER_LENGTH));
+        assertThat(
+            buffer.getLong(TAIL_INTENT_COUNTER_OFFSET), is((long)align(length + HEADER_LENGTH, RECORD_ALIGNMENT)));
+
+        transmitter.buffer().putInt(index, 42);
+        assertFalse(receiver.receiveNext());
+
+        transmitter.commit(index);
+        assertTrue(receiver.receiveNext());
+        assertThat(receiver.typeId(), is(MSG_TYPE_ID));
+        assertThat(receiver.length(), is(length));
+        assertThat(buffer.getInt(receiver.offset()), is(42));
+        assertTrue(receiver.validate());
+    }
+
+    @Test
+    void shouldClaimAfterPaddingAtEndOfBuffer()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TOTAL_BUFFER_LENGTH));
+        final BroadcastTransmitter transmitter = new BroadcastTransmitter(buffer);
+        final long tail = CAPACITY - RECORD_ALIGNMENT;
+        buffer.putLong(TAIL_COUNTER_INDEX, tail);
+        buffer.putLong(LATEST_COUNTER_INDEX, tail);
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+
+        final int index = transmitter.tryClaim(MSG_TYPE_ID, 32);
+        assertThat(index, is(HEADER_LENGTH));
+        assertThat(buffer.getInt(typeOffset((int)tail)), is(PADDING_MSG_TYPE_ID));
+
+        transmitter.commit(index);
+        assertThat(buffer.getLong(LATEST_COUNTER_INDEX), is((long)CAPACITY));
+        assertTrue(receiver.receiveNext());
+        assertThat(receiver.offset(), is(index));
+    }
+
+    @Test
+    void shouldReuseSpaceOfAbortedClaimWithoutMovingTailIntentBackwards()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TOTAL_BUFFER_LENGTH));
+        final BroadcastTransmitter transmitter = new BroadcastTransmitter(buffer);
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[64]);
+        srcBuffer.putInt(0, 7);
+
+        final int index = transmitter.tryClaim(MSG_TYPE_ID, 64);
+        transmitter.abort(index);
+        assertThat(buffer.getLong(TAIL_COUNTER_INDEX), is(0L));
+
+        transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, 4);
+        assertThat(buffer.getLong(TAIL_INTENT_COUNTER_OFFSET), is((long)align(64 + HEADER_LENGTH, RECORD_ALIGNMENT)));
+        assertThat(buffer.getLong(TAIL_COUNTER_INDEX), is((long)align(4 + HEADER_LENGTH, RECORD_ALIGNMENT)));
+
+        assertTrue(receiver.receiveNext());
+        assertThat(receiver.offset(), is(index));
+        assertThat(receiver.length(), is(4));
+        assertThat(buffer.getInt(receiver.offset()), is(7));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenClaimInProgress()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TOTAL_BUFFER_LENGTH));
+        final BroadcastTransmitter transmitter = new BroadcastTransmitter(buffer);
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[8]);
+
+        final int index = transmitter.tryClaim(MSG_TYPE_ID, 8);
+
+        assertThrows(IllegalStateException.class, () -> transmitter.tryClaim(MSG_TYPE_ID, 8));
+        assertThrows(IllegalStateException.class, () -> transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> transmitter.commit(index + RECORD_ALIGNMENT));
+
+        transmitter.commit(index);
+        assertThrows(IllegalStateException.class, () -> transmitter.commit(index));
+        assertThrows(IllegalStateException.class, () -> transmitter.abort(index));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenClaimLengthInvalid()
+    {
+        assertThrows(IllegalArgumentException.class, () -> broadcastTransmitter.tryClaim(MSG_TYPE_ID, -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> broadcastTransmitter.tryClaim(MSG_TYPE_ID, broadcastTransmitter.maxMsgLength() + 1));
+        assertThrows(IllegalArgumentException.class, () -> broadcastTransmitter.tryClaim(0, 8));
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.broadcast.RecordDescriptor.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManyToManyBroadcastTransmitterTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+    private static final int TOTAL_BUFFER_LENGTH = CAPACITY + BroadcastBufferDescriptor.TRAILER_LENGTH;
+    private static final int TAIL_INTENT_COUNTER_INDEX =
+        CAPACITY + BroadcastBufferDescriptor.TAIL_INTENT_COUNTER_OFFSET;
+    private static final int TAIL_COUNTER_INDEX = CAPACITY + BroadcastBufferDescriptor.TAIL_COUNTER_OFFSET;
+    private static final int LATEST_COUNTER_INDEX = CAPACITY + BroadcastBufferDescriptor.LATEST_COUNTER_OFFSET;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TOTAL_BUFFER_LENGTH));
+    private final ManyToManyBroadcastTransmitter transmitter = new ManyToManyBroadcastTransmitter(buffer);
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[CAPACITY]);
+
+    @Test
+    void shouldCalculateCapacityForBuffer()
+    {
+        assertEquals(CAPACITY, transmitter.capacity());
+        assertEquals(CAPACITY / 8, transmitter.maxMsgLength());
+    }
+
+    @Test
+    void shouldThrowExceptionForCapacityThatIsNotPowerOfTwo()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[777 + BroadcastBufferDescriptor.TRAILER_LENGTH]);
+
+        assertThrows(IllegalStateException.class, () -> new ManyToManyBroadcastTransmitter(buffer));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenMaxMessageLengthExceeded()
+    {
+        assertThrows(IllegalArgumentException.class, () ->
+            transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, transmitter.maxMsgLength() + 1));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenMessageTypeIdInvalid()
+    {
+        assertThrows(IllegalArgumentException.class, () -> transmitter.transmit(-1, srcBuffer, 0, 32));
+    }
+
+    @Test
+    void shouldNotClaimWhenMessageIsNotWithinSourceBuffer()
+    {
+        assertThrows(IndexOutOfBoundsException.class, () ->
+            transmitter.transmit(MSG_TYPE_ID, srcBuffer, CAPACITY - 4, 8));
+        assertEquals(0, buffer.getLong(TAIL_INTENT_COUNTER_INDEX));
+
+        transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, 8);
+        assertEquals(16, buffer.getLong(TAIL_COUNTER_INDEX));
+    }
+
+    @Test
+    void shouldTransmitIntoEmptyBuffer()
+    {
+        final int length = 12;
+        final int recordLength = length + HEADER_LENGTH;
+        srcBuffer.putInt(0, 42);
+
+        transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, length);
+
+        final long tail = align(recordLength, RECORD_ALIGNMENT);
+        assertEquals(tail, buffer.getLong(TAIL_INTENT_COUNTER_INDEX));
+        assertEquals(tail, buffer.getLong(TAIL_COUNTER_INDEX));
+        assertEquals(0, buffer.getLong(LATEST_COUNTER_INDEX));
+        assertEquals(recordLength, buffer.getInt(lengthOffset(0)));
+        assertEquals(MSG_TYPE_ID, buffer.getInt(typeOffset(0)));
+        assertEquals(42, buffer.getInt(msgOffset(0)));
+    }
+
+    @Test
+    void shouldInsertPaddingAtEndOfBufferAndBeReceived()
+    {
+        final int length = 100;
+        final int recordLengthAligned = align(length + HEADER_LENGTH, RECORD_ALIGNMENT);
+        final long tail = CAPACITY - 16;
+        buffer.putLong(TAIL_INTENT_COUNTER_INDEX, tail);
+        buffer.putLong(TAIL_COUNTER_INDEX, tail);
+        buffer.putLong(LATEST_COUNTER_INDEX, tail);
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+        srcBuffer.putInt(0, 99);
+
+        transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, length);
+
+        assertEquals(PADDING_MSG_TYPE_ID, buffer.getInt(typeOffset((int)tail)));
+        assertEquals(16, buffer.getInt(lengthOffset((int)tail)));
+        assertEquals(CAPACITY, buffer.getLong(LATEST_COUNTER_INDEX));
+        assertEquals(CAPACITY + recordLengthAligned, buffer.getLong(TAIL_COUNTER_INDEX));
+
+        assertTrue(receiver.receiveNext());
+        assertEquals(MSG_TYPE_ID, receiver.typeId());
+        assertEquals(length, receiver.length());
+        assertEquals(msgOffset(0), receiver.offset());
+        assertEquals(99, buffer.getInt(receiver.offset()));
+        assertTrue(receiver.validate());
+        assertFalse(receiver.receiveNext());
+    }
+
+    @Test
+    void shouldNotCommitBeforeEarlierClaimIsCommitted() throws InterruptedException
+    {
+        final long claimedTail = 64;
+        buffer.putLong(TAIL_INTENT_COUNTER_INDEX, claimedTail);
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+
+        final Thread thread = new Thread(() -> transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, 8));
+        thread.start();
+        while (claimedTail == buffer.getLongVolatile(TAIL_INTENT_COUNTER_INDEX))
+        {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(0, buffer.getLongVolatile(TAIL_COUNTER_INDEX));
+        assertFalse(receiver.receiveNext());
+
+        buffer.putLongRelease(TAIL_COUNTER_INDEX, claimedTail);
+        thread.join();
+
+        assertEquals(claimedTail + 16, buffer.getLong(TAIL_COUNTER_INDEX));
+        assertEquals(claimedTail, buffer.getLong(LATEST_COUNTER_INDEX));
+    }
+
+    @Test
+    void shouldReceiveMessagesInOrderFromEachOfManyTransmitters() throws InterruptedException
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(
+            (1024 * 1024) + BroadcastBufferDescriptor.TRAILER_LENGTH));
+        final ManyToManyBroadcastTransmitter transmitter = new ManyToManyBroadcastTransmitter(buffer);
+        final CopyBroadcastReceiver receiver = new CopyBroadcastReceiver(new BroadcastReceiver(buffer));
+        final int transmitterCount = 4;
+        final int messageCount = 5_000;
+        final CountDownLatch latch = new CountDownLatch(transmitterCount);
+
+        for (int i = 0; i < transmitterCount; i++)
+        {
+            final int msgTypeId = i + 1;
+            final Thread thread = new Thread(
+                () ->
+                {
+                    final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[64]);
+                    latch.countDown();
+                    for (int sequence = 0; sequence < messageCount; sequence++)
+                    {
+                        srcBuffer.putInt(0, sequence);
+                        transmitter.transmit(msgTypeId, srcBuffer, 0, 4 + (sequence & 31));
+                    }
+                });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        final int[] nextSequences = new int[transmitterCount];
+        int received = 0;
+        while (received < transmitterCount * messageCount)
+        {
+            received += receiver.receive(
+                (msgTypeId, msgBuffer, index, length) ->
+                {
+                    final int sequence = msgBuffer.getInt(index);
+                    assertEquals(nextSequences[msgTypeId - 1]++, sequence);
+                    assertEquals(4 + (sequence & 31), length);
+                });
+        }
+
+        for (final int nextSequence : nextSequences)
+        {
+            assertEquals(messageCount, nextSequence);
+        }
+    }
+}
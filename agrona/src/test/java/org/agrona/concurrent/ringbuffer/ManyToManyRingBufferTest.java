@@ -0,0 +1,275 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.collections.MutableInteger;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ringbuffer.ManyToManyRingBuffer.MIN_CAPACITY;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBuffer.INSUFFICIENT_CAPACITY;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManyToManyRingBufferTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[CAPACITY]);
+    private final ManyToManyRingBuffer ringBuffer =
+        new ManyToManyRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+
+    @ParameterizedTest
+    @ValueSource(ints = { 2, 4 })
+    void shouldThrowExceptionIfCapacityIsBelowMinCapacity(final int capacity)
+    {
+        final IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new ManyToManyRingBuffer(new UnsafeBuffer(allocateDirect(TRAILER_LENGTH + capacity))));
+
+        assertEquals("insufficient capacity: minCapacity=" + (TRAILER_LENGTH + MIN_CAPACITY) +
+            ", capacity=" + (TRAILER_LENGTH + capacity),
+            exception.getMessage());
+    }
+
+    @Test
+    void shouldWriteAndReadMessage()
+    {
+        srcBuffer.putLong(0, Long.MAX_VALUE);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        final MutableInteger counter = new MutableInteger();
+        assertEquals(1, ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                assertEquals(MSG_TYPE_ID, msgTypeId);
+                assertEquals(SIZE_OF_LONG, length);
+                assertEquals(Long.MAX_VALUE, buffer.getLong(index));
+                counter.increment();
+            }));
+
+        final long position = align(HEADER_LENGTH + SIZE_OF_LONG, ALIGNMENT);
+        assertEquals(1, counter.get());
+        assertEquals(position, ringBuffer.producerPosition());
+        assertEquals(position, ringBuffer.consumerPosition());
+        assertEquals(position, ringBuffer.releasedPosition());
+        assertEquals(0, ringBuffer.buffer().getInt(lengthOffset(0)));
+        assertEquals(0, ringBuffer.buffer().getInt(typeOffset(0)));
+    }
+
+    @Test
+    void shouldNotReadUncommittedClaim()
+    {
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        assertEquals(HEADER_LENGTH, index);
+
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, idx, length) -> fail()));
+        assertEquals(0, ringBuffer.consumerPosition());
+
+        ringBuffer.buffer().putLong(index, 42);
+        ringBuffer.commit(index);
+
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, idx, length) -> assertEquals(42, buffer.getLong(idx))));
+    }
+
+    @Test
+    void shouldSkipAbortedClaim()
+    {
+        ringBuffer.abort(ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG));
+
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, idx, length) -> fail()));
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.releasedPosition());
+    }
+
+    @Test
+    void shouldLimitNumberOfMessagesRead()
+    {
+        for (int i = 0; i < 5; i++)
+        {
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+        }
+
+        assertEquals(2, ringBuffer.read((msgTypeId, buffer, index, length) -> {}, 2));
+        assertEquals(3, ringBuffer.read((msgTypeId, buffer, index, length) -> {}, 10));
+        assertEquals(0, ringBuffer.size());
+    }
+
+    @Test
+    void shouldNotReleaseSpaceUntilEarlierClaimedRecordIsConsumed()
+    {
+        final int recordLength = align(HEADER_LENGTH + SIZE_OF_LONG, ALIGNMENT);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        final MutableInteger innerReads = new MutableInteger();
+        assertEquals(1, ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                innerReads.set(ringBuffer.read((innerMsgTypeId, innerBuffer, innerIndex, innerLength) -> {}));
+                assertEquals(0, ringBuffer.releasedPosition());
+            },
+            1));
+
+        assertEquals(1, innerReads.get());
+        assertEquals(2L * recordLength, ringBuffer.consumerPosition());
+        assertEquals(2L * recordLength, ringBuffer.releasedPosition());
+    }
+
+    @Test
+    void shouldReturnRecordOnAbortWhenNotPassedByAnotherConsumer()
+    {
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        assertEquals(0, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) -> ControlledMessageHandler.Action.ABORT));
+        assertEquals(0, ringBuffer.consumerPosition());
+        assertEquals(0, ringBuffer.releasedPosition());
+
+        assertEquals(1, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) -> ControlledMessageHandler.Action.CONTINUE));
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.releasedPosition());
+    }
+
+    @Test
+    void shouldStopOnBreakInControlledRead()
+    {
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        assertEquals(1, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) -> ControlledMessageHandler.Action.BREAK));
+        assertEquals(1, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) -> ControlledMessageHandler.Action.COMMIT));
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.releasedPosition());
+    }
+
+    @Test
+    void shouldReleaseRecordWhenHandlerThrows()
+    {
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        assertThrows(IllegalStateException.class, () -> ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                throw new IllegalStateException();
+            }));
+
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.releasedPosition());
+    }
+
+    @Test
+    void shouldRejectWriteUntilSpaceIsReleased()
+    {
+        final int length = ringBuffer.maxMsgLength();
+        final int recordLength = align(HEADER_LENGTH + length, ALIGNMENT);
+        for (int i = 0; i < CAPACITY / recordLength; i++)
+        {
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, length));
+        }
+
+        assertFalse(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, length));
+        assertEquals(INSUFFICIENT_CAPACITY, ringBuffer.tryClaim(MSG_TYPE_ID, length));
+
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, len) -> {}, 1));
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, length));
+    }
+
+    @Test
+    void shouldUnblockDeadProducerClaim()
+    {
+        ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+        assertTrue(ringBuffer.unblock());
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.releasedPosition());
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldDeliverEachMessageToExactlyOneConsumer() throws InterruptedException
+    {
+        final int producerCount = 2;
+        final int consumerCount = 3;
+        final int messagesPerProducer = 20_000;
+        final int totalMessages = producerCount * messagesPerProducer;
+        final AtomicLong received = new AtomicLong();
+        final AtomicLong sum = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(producerCount + consumerCount);
+
+        for (int p = 0; p < producerCount; p++)
+        {
+            new Thread(
+                () ->
+                {
+                    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[SIZE_OF_LONG]);
+                    for (int i = 1; i <= messagesPerProducer; )
+                    {
+                        buffer.putLong(0, i);
+                        if (ringBuffer.write(MSG_TYPE_ID, buffer, 0, SIZE_OF_LONG))
+                        {
+                            i++;
+                        }
+                        else
+                        {
+                            Thread.yield();
+                        }
+                    }
+                    latch.countDown();
+                }).start();
+        }
+
+        for (int c = 0; c < consumerCount; c++)
+        {
+            new Thread(
+                () ->
+                {
+                    while (received.get() < totalMessages)
+                    {
+                        if (0 == ringBuffer.read(
+                            (msgTypeId, buffer, index, length) ->
+                            {
+                                sum.addAndGet(buffer.getLong(index));
+                                received.incrementAndGet();
+                            }))
+                        {
+                            Thread.yield();
+                        }
+                    }
+                    latch.countDown();
+                }).start();
+        }
+
+        latch.await();
+
+        assertEquals(totalMessages, received.get());
+        assertEquals(producerCount * ((long)messagesPerProducer * (messagesPerProducer + 1) / 2), sum.get());
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.releasedPosition());
+    }
+}
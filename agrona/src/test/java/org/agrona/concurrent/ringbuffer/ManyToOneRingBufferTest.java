@@ -860,6 +860,163 @@ class ManyToOneRingBufferTest
         assertEquals(0, ringBuffer.read((msgTypeId, buffer, index, length) -> fail()));
     }
 
+    @Test
+    void tryClaimBatchShouldThrowIllegalArgumentExceptionIfCountIsInvalid()
+    {
+        final int[] lengths = { 8, 8 };
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.tryClaimBatch(MSG_TYPE_ID, lengths, 0));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.tryClaimBatch(MSG_TYPE_ID, lengths, 3));
+    }
+
+    @Test
+    void tryClaimBatchShouldThrowIllegalArgumentExceptionIfBatchExceedsMaxMessageLength()
+    {
+        final int[] lengths = { ringBuffer.maxMsgLength(), 0 };
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.tryClaimBatch(MSG_TYPE_ID, lengths, 2));
+    }
+
+    @Test
+    void tryClaimBatchShouldThrowIllegalArgumentExceptionIfRecordLengthOverflows()
+    {
+        final int[] lengths = { 8, Integer.MAX_VALUE - 7 };
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.tryClaimBatch(MSG_TYPE_ID, lengths, 2));
+        verify(buffer, never()).compareAndSetLong(anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    void tryClaimBatchShouldClaimAllRecordsWithSingleTailUpdate()
+    {
+        final int[] lengths = { 10, 0, 3 };
+        final int batchLength = align(10 + HEADER_LENGTH, ALIGNMENT) + HEADER_LENGTH +
+            align(3 + HEADER_LENGTH, ALIGNMENT);
+        final long headPosition = 248L;
+        final long tailPosition = 320L;
+        final int firstRecordIndex = (int)tailPosition;
+        final int secondRecordIndex = firstRecordIndex + align(10 + HEADER_LENGTH, ALIGNMENT);
+        final int thirdRecordIndex = secondRecordIndex + HEADER_LENGTH;
+        when(buffer.getLongVolatile(HEAD_COUNTER_CACHE_INDEX)).thenReturn(headPosition);
+        when(buffer.getLongVolatile(TAIL_COUNTER_INDEX)).thenReturn(tailPosition);
+        when(buffer.compareAndSetLong(TAIL_COUNTER_INDEX, tailPosition, tailPosition + batchLength))
+            .thenReturn(TRUE);
+
+        final int index = ringBuffer.tryClaimBatch(MSG_TYPE_ID, lengths, lengths.length);
+
+        assertEquals(firstRecordIndex + HEADER_LENGTH, index);
+        assertEquals(secondRecordIndex + HEADER_LENGTH, ManyToOneRingBuffer.nextClaimIndex(index, lengths[0]));
+
+        final InOrder inOrder = inOrder(buffer);
+        inOrder.verify(buffer).getLongVolatile(HEAD_COUNTER_CACHE_INDEX);
+        inOrder.verify(buffer).getLongVolatile(TAIL_COUNTER_INDEX);
+        inOrder.verify(buffer).compareAndSetLong(TAIL_COUNTER_INDEX, tailPosition, tailPosition + batchLength);
+        inOrder.verify(buffer).putIntRelease(lengthOffset(firstRecordIndex), -(10 + HEADER_LENGTH));
+        inOrder.verify(buffer).putIntRelease(lengthOffset(secondRecordIndex), -HEADER_LENGTH);
+        inOrder.verify(buffer).putIntRelease(lengthOffset(thirdRecordIndex), -(3 + HEADER_LENGTH));
+        inOrder.verify(buffer).putInt(typeOffset(firstRecordIndex), MSG_TYPE_ID);
+        inOrder.verify(buffer).putInt(typeOffset(secondRecordIndex), MSG_TYPE_ID);
+        inOrder.verify(buffer).putInt(typeOffset(thirdRecordIndex), MSG_TYPE_ID);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void tryClaimBatchReturnsInsufficientCapacity()
+    {
+        final int[] lengths = { 100, 100 };
+        final long headPosition = 0;
+        final long tailPosition = CAPACITY - 100;
+        when(buffer.getLongVolatile(HEAD_COUNTER_CACHE_INDEX)).thenReturn(headPosition);
+        when(buffer.getLongVolatile(HEAD_COUNTER_INDEX)).thenReturn(headPosition);
+        when(buffer.getLongVolatile(TAIL_COUNTER_INDEX)).thenReturn(tailPosition);
+
+        assertEquals(INSUFFICIENT_CAPACITY, ringBuffer.tryClaimBatch(MSG_TYPE_ID, lengths, lengths.length));
+        verify(buffer, never()).compareAndSetLong(anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    void commitBatchPublishesFirstRecordLast()
+    {
+        final int index = 128;
+        final int firstRecordIndex = index - HEADER_LENGTH;
+        final int secondRecordIndex = firstRecordIndex + align(19, ALIGNMENT);
+        when(buffer.getInt(lengthOffset(firstRecordIndex))).thenReturn(-19);
+        when(buffer.getInt(lengthOffset(secondRecordIndex))).thenReturn(-HEADER_LENGTH);
+
+        ringBuffer.commitBatch(index, 2);
+
+        final InOrder inOrder = inOrder(buffer);
+        inOrder.verify(buffer).getInt(lengthOffset(firstRecordIndex));
+        inOrder.verify(buffer).getInt(lengthOffset(secondRecordIndex));
+        inOrder.verify(buffer).putIntRelease(lengthOffset(secondRecordIndex), HEADER_LENGTH);
+        inOrder.verify(buffer).putIntRelease(lengthOffset(firstRecordIndex), 19);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void abortBatchMarksAllRecordsAsPadding()
+    {
+        final int index = 128;
+        final int firstRecordIndex = index - HEADER_LENGTH;
+        final int secondRecordIndex = firstRecordIndex + align(19, ALIGNMENT);
+        when(buffer.getInt(lengthOffset(firstRecordIndex))).thenReturn(-19);
+        when(buffer.getInt(lengthOffset(secondRecordIndex))).thenReturn(-HEADER_LENGTH);
+
+        ringBuffer.abortBatch(index, 2);
+
+        final InOrder inOrder = inOrder(buffer);
+        inOrder.verify(buffer).getInt(lengthOffset(firstRecordIndex));
+        inOrder.verify(buffer).getInt(lengthOffset(secondRecordIndex));
+        inOrder.verify(buffer).putInt(typeOffset(secondRecordIndex), PADDING_MSG_TYPE_ID);
+        inOrder.verify(buffer).putIntRelease(lengthOffset(secondRecordIndex), HEADER_LENGTH);
+        inOrder.verify(buffer).putInt(typeOffset(firstRecordIndex), PADDING_MSG_TYPE_ID);
+        inOrder.verify(buffer).putIntRelease(lengthOffset(firstRecordIndex), 19);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void commitBatchThrowsIllegalStateExceptionIfRecordWasAlreadyCommitted()
+    {
+        final int index = 128;
+        final int firstRecordIndex = index - HEADER_LENGTH;
+        final int secondRecordIndex = firstRecordIndex + align(19, ALIGNMENT);
+        when(buffer.getInt(lengthOffset(firstRecordIndex))).thenReturn(-19);
+        when(buffer.getInt(lengthOffset(secondRecordIndex))).thenReturn(HEADER_LENGTH);
+
+        final IllegalStateException exception =
+            assertThrows(IllegalStateException.class, () -> ringBuffer.commitBatch(index, 2));
+        assertEquals("claimed space previously committed", exception.getMessage());
+    }
+
+    @Test
+    void shouldReadBatchWrittenWithTryClaimBatch()
+    {
+        final ManyToOneRingBuffer ringBuffer =
+            new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+        final int[] lengths = { SIZE_OF_LONG, 3, SIZE_OF_LONG };
+
+        final int firstIndex = ringBuffer.tryClaimBatch(MSG_TYPE_ID, lengths, lengths.length);
+        assertThat(firstIndex, is(HEADER_LENGTH));
+
+        int index = firstIndex;
+        for (int i = 0; i < lengths.length; i++)
+        {
+            ringBuffer.buffer().putByte(index, (byte)i);
+            index = ManyToOneRingBuffer.nextClaimIndex(index, lengths[i]);
+        }
+
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, idx, length) -> fail()));
+
+        ringBuffer.commitBatch(firstIndex, lengths.length);
+
+        final MutableInteger counter = new MutableInteger();
+        assertEquals(3, ringBuffer.read(
+            (msgTypeId, buffer, idx, length) ->
+            {
+                assertEquals(MSG_TYPE_ID, msgTypeId);
+                assertEquals(lengths[counter.get()], length);
+                assertEquals(counter.getAndIncrement(), buffer.getByte(idx));
+            }));
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+    }
+
     private void testAlreadyCommitted(final IntConsumer action)
     {
         final int index = HEADER_LENGTH;
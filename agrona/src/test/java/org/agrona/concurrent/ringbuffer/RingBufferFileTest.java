@@ -0,0 +1,280 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.HEAD_POSITION_OFFSET;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TAIL_POSITION_OFFSET;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferFileTest
+{
+    private static final int CAPACITY = 1024;
+    private static final int MSG_TYPE_ID = 7;
+
+    @TempDir
+    Path tempDir;
+
+    private final List<RingBufferFile> files = new ArrayList<>();
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[64]);
+
+    @AfterEach
+    void after()
+    {
+        files.forEach(RingBufferFile::close);
+    }
+
+    @Test
+    void shouldCreateNewFile()
+    {
+        final RingBufferFile ringBufferFile = mapNewFile();
+
+        assertEquals(CAPACITY, ringBufferFile.capacity());
+        assertEquals(0, ringBufferFile.epoch());
+        assertTrue(ringBufferFile.wasClosedCleanly());
+        assertEquals(RingBufferFile.requiredFileLength(CAPACITY), file().length());
+        assertEquals(CAPACITY + RingBufferDescriptor.TRAILER_LENGTH, ringBufferFile.buffer().capacity());
+    }
+
+    @Test
+    void shouldRejectInvalidCapacity()
+    {
+        assertThrows(IllegalArgumentException.class, () -> RingBufferFile.mapNewFile(file(), CAPACITY - 1));
+        assertFalse(file().exists());
+    }
+
+    @Test
+    void shouldRecoverMessagesAfterCleanClose()
+    {
+        final RingBufferFile ringBufferFile = mapNewFile();
+        final RingBuffer ringBuffer = new OneToOneRingBuffer(ringBufferFile.buffer());
+        write(ringBuffer, 1);
+        write(ringBuffer, 2);
+        ringBufferFile.close();
+
+        final RingBufferFile recovered = mapExistingFile();
+
+        assertEquals(1, recovered.epoch());
+        assertTrue(recovered.wasClosedCleanly());
+        assertEquals(2, recovered.recoveredMessageCount());
+        assertEquals(0, recovered.tornRecordCount());
+        assertEquals(0, recovered.discardedLength());
+        assertEquals(List.of(1L, 2L), readAll(new OneToOneRingBuffer(recovered.buffer())));
+    }
+
+    @Test
+    void shouldIncrementEpochEachTimeFileIsMapped()
+    {
+        mapNewFile().close();
+        mapExistingFile().close();
+        mapExistingFile().close();
+
+        assertEquals(3, mapExistingFile().epoch());
+    }
+
+    @Test
+    void shouldSkipUncommittedClaimAndRecoverRecordsAfterIt()
+    {
+        final RingBufferFile crashed = mapNewFile();
+        final RingBuffer ringBuffer = new ManyToOneRingBuffer(crashed.buffer());
+        write(ringBuffer, 1);
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, 16);
+        ringBuffer.buffer().putLong(index, 99);
+        write(ringBuffer, 3);
+
+        final RingBufferFile recovered = mapExistingFile();
+
+        assertFalse(recovered.wasClosedCleanly());
+        assertEquals(2, recovered.recoveredMessageCount());
+        assertEquals(1, recovered.tornRecordCount());
+        assertEquals(0, recovered.discardedLength());
+
+        final RingBuffer recoveredRingBuffer = new ManyToOneRingBuffer(recovered.buffer());
+        assertEquals(List.of(1L, 3L), readAll(recoveredRingBuffer));
+
+        write(recoveredRingBuffer, 4);
+        assertEquals(List.of(4L), readAll(recoveredRingBuffer));
+    }
+
+    @Test
+    void shouldDiscardRecordsFromRecordWithoutHeader()
+    {
+        final RingBufferFile crashed = mapNewFile();
+        final RingBuffer ringBuffer = new ManyToOneRingBuffer(crashed.buffer());
+        write(ringBuffer, 1);
+        final long truncatedTail = ringBuffer.producerPosition();
+        write(ringBuffer, 2);
+        write(ringBuffer, 3);
+        final long tail = ringBuffer.producerPosition();
+        ringBuffer.buffer().putLong((int)truncatedTail, 0L);
+
+        final RingBufferFile recovered = mapExistingFile();
+
+        assertEquals(1, recovered.recoveredMessageCount());
+        assertEquals(0, recovered.tornRecordCount());
+        assertEquals(tail - truncatedTail, recovered.discardedLength());
+
+        final RingBuffer recoveredRingBuffer = new ManyToOneRingBuffer(recovered.buffer());
+        assertEquals(truncatedTail, recoveredRingBuffer.producerPosition());
+        assertEquals(List.of(1L), readAll(recoveredRingBuffer));
+
+        write(recoveredRingBuffer, 5);
+        assertEquals(List.of(5L), readAll(recoveredRingBuffer));
+    }
+
+    @Test
+    void shouldSkipRecordsZeroedByConsumerWhichCrashedBeforeReleasingHead()
+    {
+        final RingBufferFile crashed = mapNewFile();
+        final RingBuffer ringBuffer = new ManyToOneRingBuffer(crashed.buffer());
+        for (long value = 1; value <= 5; value++)
+        {
+            write(ringBuffer, value);
+        }
+        final long head = ringBuffer.consumerPosition();
+        final int consumedLength = 64;
+        ringBuffer.buffer().setMemory((int)head, consumedLength, (byte)0);
+
+        final RingBufferFile recovered = mapExistingFile();
+
+        assertEquals(3, recovered.recoveredMessageCount());
+        assertEquals(0, recovered.tornRecordCount());
+        assertEquals(0, recovered.discardedLength());
+
+        final RingBuffer recoveredRingBuffer = new ManyToOneRingBuffer(recovered.buffer());
+        assertEquals(head + consumedLength, recoveredRingBuffer.consumerPosition());
+        assertEquals(List.of(3L, 4L, 5L), readAll(recoveredRingBuffer));
+    }
+
+    @Test
+    void shouldMoveHeadToTailWhenConsumerCrashedAfterZeroingAllRecords()
+    {
+        final RingBufferFile crashed = mapNewFile();
+        final RingBuffer ringBuffer = new OneToOneRingBuffer(crashed.buffer());
+        write(ringBuffer, 1);
+        write(ringBuffer, 2);
+        final long tail = ringBuffer.producerPosition();
+        ringBuffer.buffer().setMemory(0, (int)tail, (byte)0);
+
+        final RingBufferFile recovered = mapExistingFile();
+
+        assertEquals(0, recovered.recoveredMessageCount());
+        assertEquals(0, recovered.discardedLength());
+
+        final RingBuffer recoveredRingBuffer = new OneToOneRingBuffer(recovered.buffer());
+        assertEquals(tail, recoveredRingBuffer.consumerPosition());
+        assertEquals(tail, recoveredRingBuffer.producerPosition());
+
+        write(recoveredRingBuffer, 3);
+        assertEquals(List.of(3L), readAll(recoveredRingBuffer));
+    }
+
+    @Test
+    void shouldRecoverRecordsWhichWrapAroundTheEndOfTheBuffer()
+    {
+        final RingBufferFile crashed = mapNewFile();
+        final RingBuffer ringBuffer = new OneToOneRingBuffer(crashed.buffer());
+        long expected = 0;
+        for (int i = 0; i < 40; i++)
+        {
+            write(ringBuffer, expected++);
+        }
+        readAll(ringBuffer);
+
+        final List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            values.add(expected);
+            write(ringBuffer, expected++);
+        }
+
+        final RingBufferFile recovered = mapExistingFile();
+
+        assertEquals(values.size(), recovered.recoveredMessageCount());
+        assertEquals(values, readAll(new OneToOneRingBuffer(recovered.buffer())));
+    }
+
+    @Test
+    void shouldRejectCorruptPositions()
+    {
+        final RingBufferFile crashed = mapNewFile();
+        crashed.buffer().putLong(CAPACITY + HEAD_POSITION_OFFSET, 64);
+        crashed.buffer().putLong(CAPACITY + TAIL_POSITION_OFFSET, 32);
+
+        assertThrows(IllegalStateException.class, () -> RingBufferFile.mapExistingFile(file()));
+    }
+
+    @Test
+    void shouldRejectFileWithInvalidLayoutVersion()
+    {
+        mapNewFile().close();
+
+        final MappedByteBuffer mappedByteBuffer = IoUtil.mapExistingFile(file(), "test");
+        mappedByteBuffer.putInt(RingBufferFile.LAYOUT_VERSION_OFFSET, RingBufferFile.LAYOUT_VERSION + 1);
+        IoUtil.unmap(mappedByteBuffer);
+
+        assertThrows(IllegalStateException.class, () -> RingBufferFile.mapExistingFile(file()));
+    }
+
+    private File file()
+    {
+        return tempDir.resolve("ring-buffer.dat").toFile();
+    }
+
+    private RingBufferFile mapNewFile()
+    {
+        final RingBufferFile ringBufferFile = RingBufferFile.mapNewFile(file(), CAPACITY);
+        files.add(ringBufferFile);
+
+        return ringBufferFile;
+    }
+
+    private RingBufferFile mapExistingFile()
+    {
+        final RingBufferFile ringBufferFile = RingBufferFile.mapExistingFile(file());
+        files.add(ringBufferFile);
+
+        return ringBufferFile;
+    }
+
+    private void write(final RingBuffer ringBuffer, final long value)
+    {
+        srcBuffer.putLong(0, value);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, 16));
+    }
+
+    private static List<Long> readAll(final RingBuffer ringBuffer)
+    {
+        final List<Long> values = new ArrayList<>();
+        while (ringBuffer.consumerPosition() < ringBuffer.producerPosition())
+        {
+            ringBuffer.read((msgTypeId, buffer, index, length) -> values.add(buffer.getLong(index)));
+        }
+
+        return values;
+    }
+}
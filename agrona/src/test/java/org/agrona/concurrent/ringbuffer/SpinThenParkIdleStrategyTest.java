@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.CONSUMER_PARKED_OFFSET;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpinThenParkIdleStrategyTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+    private static final long LONG_PARK_NS = TimeUnit.SECONDS.toNanos(60);
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[64]);
+
+    @Test
+    void shouldRejectInvalidArguments()
+    {
+        final RingBuffer ringBuffer = newOneToOneRingBuffer();
+
+        assertThrows(IllegalArgumentException.class, () -> new SpinThenParkIdleStrategy(ringBuffer, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SpinThenParkIdleStrategy(ringBuffer, 1, 0));
+    }
+
+    @Test
+    void shouldNotParkWhenRingBufferHasMessages()
+    {
+        final RingBuffer ringBuffer = newOneToOneRingBuffer();
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, 8));
+
+        assertFalse(ringBuffer.parkConsumer(LONG_PARK_NS));
+        assertEquals(0, ringBuffer.buffer().getIntVolatile(CAPACITY + CONSUMER_PARKED_OFFSET));
+
+        final SpinThenParkIdleStrategy idleStrategy = new SpinThenParkIdleStrategy(ringBuffer, 0, LONG_PARK_NS);
+        idleStrategy.idle(0);
+        idleStrategy.idle();
+    }
+
+    @Test
+    void shouldParkForTimeoutWhenRingBufferIsEmpty()
+    {
+        final RingBuffer ringBuffer = newManyToOneRingBuffer();
+
+        assertTrue(ringBuffer.parkConsumer(TimeUnit.MILLISECONDS.toNanos(1)));
+        assertEquals(0, ringBuffer.buffer().getIntVolatile(CAPACITY + CONSUMER_PARKED_OFFSET));
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldUnparkConsumerOnWriteToOneToOneRingBuffer() throws InterruptedException
+    {
+        shouldUnparkConsumer(newOneToOneRingBuffer(), false);
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldUnparkConsumerOnCommitToOneToOneRingBuffer() throws InterruptedException
+    {
+        shouldUnparkConsumer(newOneToOneRingBuffer(), true);
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldUnparkConsumerOnWriteToManyToOneRingBuffer() throws InterruptedException
+    {
+        shouldUnparkConsumer(newManyToOneRingBuffer(), false);
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldUnparkConsumerOnCommitToManyToOneRingBuffer() throws InterruptedException
+    {
+        shouldUnparkConsumer(newManyToOneRingBuffer(), true);
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldSpinThenParkUntilMessageIsWritten() throws InterruptedException
+    {
+        final RingBuffer ringBuffer = newManyToOneRingBuffer();
+        final SpinThenParkIdleStrategy idleStrategy = new SpinThenParkIdleStrategy(ringBuffer, 10, LONG_PARK_NS);
+        final AtomicBoolean isReceived = new AtomicBoolean();
+
+        final Thread consumer = new Thread(() ->
+        {
+            int workCount;
+            do
+            {
+                workCount = ringBuffer.read((msgTypeId, buffer, index, length) -> isReceived.set(true));
+                idleStrategy.idle(workCount);
+            }
+            while (0 == workCount);
+        });
+        consumer.start();
+
+        awaitParked(ringBuffer);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, 8));
+
+        consumer.join();
+        assertTrue(isReceived.get());
+    }
+
+    private void shouldUnparkConsumer(final RingBuffer ringBuffer, final boolean isClaim) throws InterruptedException
+    {
+        final AtomicBoolean isParked = new AtomicBoolean();
+        final Thread consumer = new Thread(() -> isParked.set(ringBuffer.parkConsumer(LONG_PARK_NS)));
+        consumer.start();
+
+        awaitParked(ringBuffer);
+        if (isClaim)
+        {
+            ringBuffer.commit(ringBuffer.tryClaim(MSG_TYPE_ID, 8));
+        }
+        else
+        {
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, 8));
+        }
+
+        consumer.join();
+        assertTrue(isParked.get());
+        assertEquals(0, ringBuffer.buffer().getIntVolatile(CAPACITY + CONSUMER_PARKED_OFFSET));
+    }
+
+    private static void awaitParked(final RingBuffer ringBuffer)
+    {
+        while (0 == ringBuffer.buffer().getIntVolatile(CAPACITY + CONSUMER_PARKED_OFFSET))
+        {
+            Thread.yield();
+        }
+    }
+
+    private static RingBuffer newOneToOneRingBuffer()
+    {
+        return new OneToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+    }
+
+    private static RingBuffer newManyToOneRingBuffer()
+    {
+        return new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.status;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.agrona.concurrent.status.CountersReader.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramCounterTest
+{
+    private static final int NUMBER_OF_COUNTERS = 256;
+    private static final long FREE_TO_REUSE_TIMEOUT = 1000;
+    private static final int TYPE_ID = 101;
+    private static final String LABEL = "latency";
+    private static final long HIGHEST_TRACKABLE_VALUE = 1_000_000;
+
+    private long currentTimestamp = 0;
+
+    private final UnsafeBuffer metadataBuffer =
+        new UnsafeBuffer(allocateDirect(NUMBER_OF_COUNTERS * METADATA_LENGTH));
+    private final UnsafeBuffer valuesBuffer =
+        new UnsafeBuffer(allocateDirect(NUMBER_OF_COUNTERS * COUNTER_LENGTH));
+    private final CountersManager manager = new CountersManager(
+        metadataBuffer, valuesBuffer, US_ASCII, () -> currentTimestamp, FREE_TO_REUSE_TIMEOUT);
+    private final CountersReader reader = new CountersReader(metadataBuffer, valuesBuffer, US_ASCII);
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 3, 4, 7, 10 })
+    void shouldMapValuesToContiguousBuckets(final int subBucketBits)
+    {
+        final int bucketCount = HistogramCounter.bucketCount(Long.MAX_VALUE, subBucketBits);
+        assertEquals((Long.SIZE - subBucketBits) << subBucketBits, bucketCount);
+        assertEquals(0, HistogramCounter.bucketLowestValue(0, subBucketBits));
+        assertEquals(Long.MAX_VALUE, HistogramCounter.bucketHighestValue(bucketCount - 1, subBucketBits));
+
+        for (int i = 0; i < bucketCount; i++)
+        {
+            final long lowestValue = HistogramCounter.bucketLowestValue(i, subBucketBits);
+            final long highestValue = HistogramCounter.bucketHighestValue(i, subBucketBits);
+
+            assertTrue(lowestValue <= highestValue);
+            assertEquals(i, HistogramCounter.bucketIndex(lowestValue, subBucketBits));
+            assertEquals(i, HistogramCounter.bucketIndex(highestValue, subBucketBits));
+
+            if (i > 0)
+            {
+                assertEquals(HistogramCounter.bucketHighestValue(i - 1, subBucketBits) + 1, lowestValue);
+            }
+
+            if (lowestValue >= (1L << subBucketBits))
+            {
+                assertTrue((highestValue - lowestValue) < (lowestValue >>> subBucketBits));
+            }
+        }
+    }
+
+    @Test
+    void shouldCountNegativeValuesInFirstBucket()
+    {
+        assertEquals(0, HistogramCounter.bucketIndex(-1, 3));
+        assertEquals(0, HistogramCounter.bucketIndex(Long.MIN_VALUE, 3));
+    }
+
+    @Test
+    void shouldRejectInvalidLayout()
+    {
+        assertThrows(IllegalArgumentException.class, () -> HistogramCounter.bucketCount(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> HistogramCounter.bucketCount(100, -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> HistogramCounter.bucketCount(100, HistogramCounter.MAX_SUB_BUCKET_BITS + 1));
+    }
+
+    @Test
+    void shouldAllocateHistogramAsContiguousRecords()
+    {
+        final AtomicCounter before = manager.newCounter("before");
+        final HistogramCounter histogram = manager.newHistogram(
+            LABEL, TYPE_ID, HIGHEST_TRACKABLE_VALUE, HistogramCounter.DEFAULT_SUB_BUCKET_BITS);
+        final AtomicCounter after = manager.newCounter("after");
+
+        final int recordCount = histogramRecordCount(histogram.bucketCount());
+        assertEquals(before.id() + 1, histogram.id());
+        assertEquals(histogram.id() + recordCount, after.id());
+        assertEquals(NUMBER_OF_COUNTERS - recordCount - 2, manager.available());
+
+        assertTrue(reader.isHistogram(histogram.id()));
+        assertFalse(reader.isHistogram(before.id()));
+        assertFalse(reader.isHistogram(after.id()));
+        assertEquals(RECORD_HISTOGRAM_BUCKETS, reader.getCounterState(histogram.id() + 1));
+        assertEquals(HistogramCounter.DEFAULT_SUB_BUCKET_BITS, reader.getHistogramSubBucketBits(histogram.id()));
+        assertEquals(histogram.bucketCount(), reader.getHistogramBucketCount(histogram.id()));
+        assertEquals(LABEL, reader.getCounterLabel(histogram.id()));
+        assertEquals(TYPE_ID, reader.getCounterTypeId(histogram.id()));
+        assertEquals(LABEL, histogram.label());
+
+        final List<String> labels = new ArrayList<>();
+        reader.forEach((counterId, label) -> labels.add(label));
+        assertEquals(List.of("before", LABEL, "after"), labels);
+    }
+
+    @Test
+    void shouldThrowIfNotAHistogram()
+    {
+        final int counterId = manager.allocate("counter");
+
+        assertThrows(IllegalArgumentException.class, () -> reader.getHistogramBucketCount(counterId));
+        assertThrows(IllegalArgumentException.class, () -> reader.getHistogramSubBucketBits(counterId));
+        assertFalse(reader.snapshotHistogram(counterId, new HistogramSnapshot()));
+    }
+
+    @Test
+    void shouldThrowIfHistogramDoesNotFit()
+    {
+        manager.allocate("counter");
+
+        assertThrows(IllegalStateException.class, () -> manager.allocateHistogram(LABEL, TYPE_ID, Long.MAX_VALUE, 8));
+        assertEquals(NUMBER_OF_COUNTERS - 1, manager.available());
+    }
+
+    @Test
+    void shouldRecordValuesAndComputePercentilesFromSnapshot()
+    {
+        final HistogramCounter histogram = manager.newHistogram(LABEL, TYPE_ID, HIGHEST_TRACKABLE_VALUE, 7);
+
+        for (int i = 1; i <= 1000; i++)
+        {
+            histogram.record(i);
+        }
+
+        assertEquals(1000, histogram.totalCount());
+        assertEquals(1000, reader.getCounterValue(histogram.id()));
+
+        final HistogramSnapshot snapshot = new HistogramSnapshot();
+        assertTrue(reader.snapshotHistogram(histogram.id(), snapshot));
+        assertEquals(1000, snapshot.totalCount());
+        assertEquals(histogram.bucketCount(), snapshot.bucketCount());
+
+        assertEquals(1, snapshot.valueAtPercentile(0.0));
+        assertEquals(501, snapshot.valueAtPercentile(50.0));
+        assertEquals(991, snapshot.valueAtPercentile(99.0));
+        assertEquals(999, snapshot.valueAtPercentile(99.9));
+        assertEquals(1003, snapshot.valueAtPercentile(100.0));
+        assertEquals(1003, snapshot.maxValue());
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.valueAtPercentile(100.1));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.valueAtPercentile(Double.NaN));
+    }
+
+    @Test
+    void shouldRecordWithSingleWriter()
+    {
+        final HistogramCounter histogram = manager.newHistogram(LABEL, TYPE_ID, HIGHEST_TRACKABLE_VALUE, 3);
+
+        histogram.recordRelease(5);
+        histogram.recordRelease(5);
+        histogram.recordRelease(1000);
+
+        final int bucketIndex = HistogramCounter.bucketIndex(5, 3);
+        assertEquals(2, histogram.count(bucketIndex));
+        assertEquals(3, histogram.totalCount());
+
+        final HistogramSnapshot snapshot = new HistogramSnapshot();
+        assertTrue(reader.snapshotHistogram(histogram.id(), snapshot));
+        assertEquals(2, snapshot.count(bucketIndex));
+        assertEquals(5, snapshot.valueAtPercentile(50.0));
+        final int maxBucketIndex = HistogramCounter.bucketIndex(1000, 3);
+        assertEquals(HistogramCounter.bucketHighestValue(maxBucketIndex, 3), snapshot.maxValue());
+    }
+
+    @Test
+    void shouldCountValuesAboveHighestTrackableValueInLastBucket()
+    {
+        final HistogramCounter histogram = manager.newHistogram(LABEL, TYPE_ID, 1000, 3);
+
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-7);
+
+        assertEquals(1, histogram.count(histogram.bucketCount() - 1));
+        assertEquals(1, histogram.count(0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.count(histogram.bucketCount()));
+    }
+
+    @Test
+    void shouldReuseSnapshotWithoutStaleCounts()
+    {
+        final HistogramCounter large = manager.newHistogram("large", TYPE_ID, HIGHEST_TRACKABLE_VALUE, 4);
+        final HistogramCounter small = manager.newHistogram("small", TYPE_ID, 100, 2);
+        large.record(HIGHEST_TRACKABLE_VALUE);
+        small.record(3);
+
+        final HistogramSnapshot snapshot = new HistogramSnapshot();
+        assertTrue(reader.snapshotHistogram(large.id(), snapshot));
+        assertTrue(reader.snapshotHistogram(small.id(), snapshot));
+
+        assertEquals(small.bucketCount(), snapshot.bucketCount());
+        assertEquals(1, snapshot.totalCount());
+        assertEquals(3, snapshot.maxValue());
+    }
+
+    @Test
+    void shouldFreeAllRecordsOfHistogramOnClose()
+    {
+        final HistogramCounter histogram = manager.newHistogram(LABEL, TYPE_ID, HIGHEST_TRACKABLE_VALUE, 3);
+        final int recordCount = histogramRecordCount(histogram.bucketCount());
+        histogram.record(42);
+
+        histogram.close();
+        histogram.close();
+
+        assertTrue(histogram.isClosed());
+        for (int i = 0; i < recordCount; i++)
+        {
+            assertEquals(RECORD_RECLAIMED, reader.getCounterState(histogram.id() + i));
+        }
+
+        assertFalse(reader.isHistogram(histogram.id()));
+        assertFalse(reader.snapshotHistogram(histogram.id(), new HistogramSnapshot()));
+        assertEquals(NUMBER_OF_COUNTERS - recordCount, manager.available());
+
+        currentTimestamp += FREE_TO_REUSE_TIMEOUT;
+        assertEquals(NUMBER_OF_COUNTERS, manager.available());
+        assertEquals(histogram.id(), manager.allocate("reused"));
+    }
+
+    @Test
+    void shouldNotFreeBucketRecordsDirectly()
+    {
+        final int counterId = manager.allocateHistogram(LABEL, TYPE_ID, HIGHEST_TRACKABLE_VALUE, 3);
+
+        assertThrows(IllegalStateException.class, () -> manager.free(counterId + 1));
+    }
+
+    @Test
+    void shouldNotFreeWhenDisconnected()
+    {
+        final HistogramCounter histogram = manager.newHistogram(LABEL, TYPE_ID, HIGHEST_TRACKABLE_VALUE, 3);
+
+        histogram.disconnectCountersManager();
+        histogram.close();
+
+        assertTrue(reader.isHistogram(histogram.id()));
+        assertNull(histogram.label());
+    }
+
+    @Test
+    void shouldRecordConcurrently() throws InterruptedException
+    {
+        final CountersManager manager = new ConcurrentCountersManager(metadataBuffer, valuesBuffer, US_ASCII);
+        final HistogramCounter histogram = manager.newHistogram(LABEL, TYPE_ID, HIGHEST_TRACKABLE_VALUE, 3);
+        final int recordsPerThread = 10_000;
+        final Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++)
+        {
+            final long value = (t + 1) * 100L;
+            threads[t] = new Thread(() ->
+            {
+                for (int i = 0; i < recordsPerThread; i++)
+                {
+                    histogram.record(value);
+                }
+            });
+            threads[t].start();
+        }
+
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        final HistogramSnapshot snapshot = new HistogramSnapshot();
+        assertTrue(reader.snapshotHistogram(histogram.id(), snapshot));
+        assertEquals((long)threads.length * recordsPerThread, snapshot.totalCount());
+        assertEquals((long)threads.length * recordsPerThread, histogram.totalCount());
+    }
+}
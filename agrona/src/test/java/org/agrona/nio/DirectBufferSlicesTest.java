@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.nio;
+
+import org.agrona.BufferUtil;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectBufferSlicesTest
+{
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRejectInvalidMaxSlices()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferSlices(0));
+    }
+
+    @Test
+    void shouldRejectBufferWithoutArrayOrByteBuffer()
+    {
+        final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(16);
+        final UnsafeBuffer buffer = new UnsafeBuffer(BufferUtil.address(byteBuffer), 16);
+
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferSlices(1).add(buffer, 0, 16));
+    }
+
+    @Test
+    void shouldRejectSliceOutsideBuffer()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[16]);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> new DirectBufferSlices(1).add(buffer, 8, 9));
+    }
+
+    @Test
+    void shouldRejectMoreThanMaxSlices()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[16]);
+        final DirectBufferSlices slices = new DirectBufferSlices(2).add(buffer, 0, 1);
+
+        assertThrows(IllegalStateException.class, () -> slices.addWrapped(buffer, 15, 2));
+        slices.add(buffer, 1, 1);
+        assertThrows(IllegalStateException.class, () -> slices.add(buffer, 2, 1));
+    }
+
+    @Test
+    void shouldGatherWriteAndScatterReadSlicesOfDifferentBuffers() throws IOException
+    {
+        final UnsafeBuffer arrayBuffer = new UnsafeBuffer(new byte[32], 4, 16);
+        final UnsafeBuffer heapByteBuffer = new UnsafeBuffer(ByteBuffer.allocate(32), 8, 16);
+        final ExpandableArrayBuffer expandableArrayBuffer = new ExpandableArrayBuffer(16);
+        final ExpandableDirectByteBuffer expandableDirectBuffer = new ExpandableDirectByteBuffer(16);
+        arrayBuffer.putStringWithoutLengthAscii(2, "Hello");
+        heapByteBuffer.putStringWithoutLengthAscii(0, ", ");
+        expandableArrayBuffer.putStringWithoutLengthAscii(10, "World");
+        expandableDirectBuffer.putStringWithoutLengthAscii(3, "!");
+
+        final DirectBufferSlices slices = new DirectBufferSlices(4)
+            .add(arrayBuffer, 2, 5)
+            .add(heapByteBuffer, 0, 2)
+            .add(expandableArrayBuffer, 10, 5)
+            .add(expandableDirectBuffer, 3, 1);
+
+        assertEquals(4, slices.count());
+        assertEquals(13, slices.remaining());
+
+        final Pipe pipe = Pipe.open();
+        try (Pipe.SinkChannel sink = pipe.sink(); Pipe.SourceChannel source = pipe.source())
+        {
+            assertEquals(13, slices.write(sink));
+            assertFalse(slices.hasRemaining());
+            assertEquals(0, slices.write(sink));
+
+            final UnsafeBuffer readBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(32));
+            slices.clear().add(readBuffer, 20, 8).addWrapped(readBuffer, 29, 5);
+
+            assertEquals(13, slices.read(source));
+            assertEquals("Hello, W", readBuffer.getStringWithoutLengthAscii(20, 8));
+            assertEquals("orl", readBuffer.getStringWithoutLengthAscii(29, 3));
+            assertEquals("d!", readBuffer.getStringWithoutLengthAscii(0, 2));
+        }
+    }
+
+    @Test
+    void shouldReuseViewsOfTheSameBuffer()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[16]);
+        final DirectBufferSlices slices = new DirectBufferSlices(2);
+
+        slices.addWrapped(buffer, 12, 8);
+        assertEquals(2, slices.count());
+        assertEquals(8, slices.remaining());
+
+        slices.clear().addWrapped(buffer, 0, 16);
+        assertEquals(1, slices.count());
+        assertEquals(16, slices.remaining());
+    }
+
+    @Test
+    void shouldWriteAndReadFileAtPosition() throws IOException
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[16]);
+        buffer.putStringWithoutLengthAscii(0, "0123456789abcdef");
+        final DirectBufferSlices slices = new DirectBufferSlices(2).addWrapped(buffer, 10, 12);
+
+        try (FileChannel channel = FileChannel.open(tempDir.resolve("slices.dat"), CREATE, READ, WRITE))
+        {
+            assertEquals(12, slices.write(channel, 100));
+            assertEquals(0, channel.position());
+            assertEquals(112, channel.size());
+
+            final ByteBuffer contents = ByteBuffer.allocate(12);
+            channel.read(contents, 100);
+            assertEquals("abcdef012345", new String(contents.array(), US_ASCII));
+
+            final UnsafeBuffer readBuffer = new UnsafeBuffer(new byte[8]);
+            slices.clear().add(readBuffer, 0, 8);
+            assertEquals(4, slices.read(channel, 108));
+            assertEquals("2345", readBuffer.getStringWithoutLengthAscii(0, 4));
+            assertTrue(slices.hasRemaining());
+            assertEquals(-1, slices.read(channel, 112));
+        }
+    }
+}
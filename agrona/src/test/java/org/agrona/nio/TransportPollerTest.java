@@ -0,0 +1,208 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.nio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.SelectionKey;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransportPollerTest
+{
+    private static final int PIPE_COUNT = 40;
+
+    private final List<Pipe> pipes = new ArrayList<>();
+    private final TransportPoller poller = new TransportPoller(true);
+
+    @BeforeEach
+    void before() throws IOException
+    {
+        for (int i = 0; i < PIPE_COUNT; i++)
+        {
+            final Pipe pipe = Pipe.open();
+            pipe.source().configureBlocking(false);
+            pipe.source().register(poller.selector, SelectionKey.OP_READ, i);
+            pipes.add(pipe);
+        }
+    }
+
+    @AfterEach
+    void after() throws IOException
+    {
+        poller.close();
+        for (final Pipe pipe : pipes)
+        {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+
+    @Test
+    void shouldInstallSelectedKeySetWithUngrowablePublicView() throws IOException
+    {
+        assertNotNull(poller.selectedKeySet);
+
+        pipes.get(3).sink().write(ByteBuffer.wrap(new byte[]{ 1 }));
+        final SelectionKey key = pipes.get(3).source().keyFor(poller.selector);
+        final long deadlineNs = System.nanoTime() + 5_000_000_000L;
+        while (poller.selectedKeySet.isEmpty() && System.nanoTime() < deadlineNs)
+        {
+            poller.selector.selectNow();
+        }
+
+        final Set<SelectionKey> selectedKeys = poller.selector.selectedKeys();
+        assertEquals(1, selectedKeys.size());
+        assertTrue(selectedKeys.contains(key));
+        assertThrows(UnsupportedOperationException.class, () -> selectedKeys.add(key));
+
+        assertTrue(selectedKeys.remove(key));
+        assertEquals(0, poller.selectedKeySet.size());
+    }
+
+    @Test
+    void shouldNotInstallSelectedKeySetByDefault() throws IOException
+    {
+        try (TransportPoller defaultPoller = new TransportPoller())
+        {
+            assertNull(defaultPoller.selectedKeySet);
+
+            final Pipe pipe = pipes.get(0);
+            final SelectionKey key = pipe.source().register(defaultPoller.selector, SelectionKey.OP_READ);
+            pipe.sink().write(ByteBuffer.wrap(new byte[]{ 1 }));
+
+            final long deadlineNs = System.nanoTime() + 5_000_000_000L;
+            while (defaultPoller.selector.selectedKeys().isEmpty() && System.nanoTime() < deadlineNs)
+            {
+                defaultPoller.selector.selectNow();
+            }
+
+            for (int i = 0; i < 5; i++)
+            {
+                defaultPoller.selector.selectNow();
+            }
+
+            assertEquals(Set.of(key), defaultPoller.selector.selectedKeys());
+
+            final List<SelectionKey> selected = new ArrayList<>();
+            assertEquals(1, defaultPoller.selectNow(selected::add));
+            assertEquals(List.of(key), selected);
+        }
+    }
+
+    @Test
+    void shouldPassEachReadyKeyToConsumer() throws IOException
+    {
+        final Set<Object> attachments = new HashSet<>();
+        assertEquals(0, poller.selectNow((key) -> attachments.add(key.attachment())));
+        assertTrue(attachments.isEmpty());
+
+        for (int i = 0; i < PIPE_COUNT; i += 2)
+        {
+            pipes.get(i).sink().write(ByteBuffer.wrap(new byte[]{ 1 }));
+        }
+
+        assertEquals(PIPE_COUNT / 2, selectNowUntil(PIPE_COUNT / 2, attachments));
+        for (int i = 0; i < PIPE_COUNT; i += 2)
+        {
+            assertTrue(attachments.contains(i));
+        }
+
+        attachments.clear();
+        assertEquals(PIPE_COUNT / 2, poller.selectNow((key) -> attachments.add(key.attachment())));
+        assertEquals(PIPE_COUNT / 2, attachments.size());
+        assertEquals(0, poller.selectedKeySet.size());
+    }
+
+    @Test
+    void shouldResetSelectedKeysWhenConsumerThrows() throws IOException
+    {
+        pipes.get(0).sink().write(ByteBuffer.wrap(new byte[]{ 1 }));
+        selectNowUntil(1, new HashSet<>());
+
+        assertThrows(IllegalStateException.class, () -> poller.selectNow(
+            (key) ->
+            {
+                throw new IllegalStateException();
+            }));
+        assertEquals(0, poller.selectedKeySet.size());
+    }
+
+    @Test
+    void shouldRemoveCancelledKeysAndClearWithoutProcessing() throws IOException
+    {
+        pipes.get(1).sink().write(ByteBuffer.wrap(new byte[]{ 1 }));
+        pipes.get(2).sink().write(ByteBuffer.wrap(new byte[]{ 1 }));
+        selectNowUntil(2, new HashSet<>());
+
+        pipes.get(1).source().keyFor(poller.selector).cancel();
+        poller.selectNowWithoutProcessing();
+        assertEquals(0, poller.selectedKeySet.size());
+
+        final Set<Object> attachments = new HashSet<>();
+        assertEquals(1, poller.selectNow((key) -> attachments.add(key.attachment())));
+        assertEquals(Set.of(2), attachments);
+    }
+
+    @Test
+    void shouldIterateAndRemoveFromSelectedKeySet()
+    {
+        final NioSelectedKeySet keySet = new NioSelectedKeySet(1);
+        final SelectionKey[] keys = new SelectionKey[3];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = pipes.get(i).source().keyFor(poller.selector);
+            assertTrue(keySet.add(keys[i]));
+        }
+
+        assertEquals(3, keySet.size());
+        assertEquals(4, keySet.capacity());
+        assertTrue(keySet.remove(keys[1]));
+        assertFalse(keySet.remove(keys[1]));
+
+        final List<SelectionKey> iterated = new ArrayList<>(keySet);
+        assertEquals(List.of(keys[0], keys[2]), iterated);
+
+        keySet.removeIf((key) -> key == keys[0]);
+        assertEquals(1, keySet.size());
+        assertSame(keys[2], keySet.keys()[0]);
+
+        keySet.clear();
+        assertEquals(0, keySet.size());
+        assertNull(keySet.keys()[0]);
+    }
+
+    private int selectNowUntil(final int expectedCount, final Set<Object> attachments)
+    {
+        // readiness of a pipe can be reported a little after the write on some platforms
+        final long deadlineNs = System.nanoTime() + 5_000_000_000L;
+        while (attachments.size() < expectedCount && System.nanoTime() < deadlineNs)
+        {
+            poller.selectNow((key) -> attachments.add(key.attachment()));
+        }
+
+        return attachments.size();
+    }
+}